@@ -63,6 +63,7 @@ import org.flowable.common.engine.impl.calendar.DurationBusinessCalendar;
 import org.flowable.common.engine.impl.calendar.MapBusinessCalendarManager;
 import org.flowable.common.engine.impl.cfg.BeansConfigurationHelper;
 import org.flowable.common.engine.impl.db.DbSchemaManager;
+import org.flowable.common.engine.impl.el.DefaultExpressionManager;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
@@ -95,6 +96,7 @@ import org.flowable.variable.service.impl.types.SerializableType;
 import org.flowable.variable.service.impl.types.ShortType;
 import org.flowable.variable.service.impl.types.StringType;
 import org.flowable.variable.service.impl.types.UUIDType;
+import org.flowable.variable.service.impl.types.VariableSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -133,6 +135,12 @@ public class AppEngineConfiguration extends AbstractEngineConfiguration implemen
     protected DeploymentCache<AppDefinitionCacheEntry> appDefinitionCache;
 
     protected ExpressionManager expressionManager;
+
+    /**
+     * If set to true, the expression manager (when it's a {@link DefaultExpressionManager}) creates the resolvers that don't depend on the variables once,
+     * instead of for every expression evaluation. Only the variable resolver is created per evaluation. False by default.
+     */
+    protected boolean sharedElResolversEnabled;
     protected DbSchemaManager identityLinkDbSchemaManager;
     protected DbSchemaManager variableDbSchemaManager;
 
@@ -145,6 +153,12 @@ public class AppEngineConfiguration extends AbstractEngineConfiguration implemen
     protected List<VariableType> customPostVariableTypes;
     protected VariableServiceConfiguration variableServiceConfiguration;
     protected boolean serializableVariableTypeTrackDeserializedObjects = true;
+
+    /**
+     * Serializes the values of variables of the type 'serializable' instead of Java serialization.
+     * Values stored with Java serialization before it was set can still be read.
+     */
+    protected VariableSerializer serializableVariableSerializer;
     protected ObjectMapper objectMapper = new ObjectMapper();
 
     protected BusinessCalendarManager businessCalendarManager;
@@ -258,6 +272,9 @@ public class AppEngineConfiguration extends AbstractEngineConfiguration implemen
         if (expressionManager == null) {
             expressionManager = new AppExpressionManager(beans);
         }
+        if (sharedElResolversEnabled && expressionManager instanceof DefaultExpressionManager) {
+            ((DefaultExpressionManager) expressionManager).setSharedElResolversEnabled(true);
+        }
     }
 
     @Override
@@ -393,7 +410,7 @@ public class AppEngineConfiguration extends AbstractEngineConfiguration implemen
             variableTypes.addType(new JsonType(getMaxLengthString(), objectMapper));
             variableTypes.addType(new LongJsonType(getMaxLengthString() + 1, objectMapper));
             variableTypes.addType(new ByteArrayType());
-            variableTypes.addType(new SerializableType(serializableVariableTypeTrackDeserializedObjects));
+            variableTypes.addType(new SerializableType(serializableVariableTypeTrackDeserializedObjects, serializableVariableSerializer));
             if (customPostVariableTypes != null) {
                 for (VariableType customVariableType : customPostVariableTypes) {
                     variableTypes.addType(customVariableType);
@@ -626,6 +643,15 @@ public class AppEngineConfiguration extends AbstractEngineConfiguration implemen
         return this;
     }
 
+    public boolean isSharedElResolversEnabled() {
+        return sharedElResolversEnabled;
+    }
+
+    public AppEngineConfiguration setSharedElResolversEnabled(boolean sharedElResolversEnabled) {
+        this.sharedElResolversEnabled = sharedElResolversEnabled;
+        return this;
+    }
+
     public DbSchemaManager getIdentityLinkDbSchemaManager() {
         return identityLinkDbSchemaManager;
     }
@@ -698,6 +724,15 @@ public class AppEngineConfiguration extends AbstractEngineConfiguration implemen
         return this;
     }
 
+    public VariableSerializer getSerializableVariableSerializer() {
+        return serializableVariableSerializer;
+    }
+
+    public AppEngineConfiguration setSerializableVariableSerializer(VariableSerializer serializableVariableSerializer) {
+        this.serializableVariableSerializer = serializableVariableSerializer;
+        return this;
+    }
+
     public ObjectMapper getObjectMapper() {
         return objectMapper;
     }
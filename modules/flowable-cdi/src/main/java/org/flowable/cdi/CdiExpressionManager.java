@@ -44,7 +44,7 @@ public class CdiExpressionManager extends ProcessExpressionManager {
             }
         }
         
-        if (arrayElResolverIndex > 0) {
+        if (arrayElResolverIndex >= 0) {
             elResolvers.add(arrayElResolverIndex, new CdiResolver());
         }
     }
@@ -12,13 +12,17 @@
  */
 package org.flowable.cmmn.engine;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.ServiceLoader;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 
@@ -134,6 +138,7 @@ import org.flowable.cmmn.engine.impl.persistence.entity.data.impl.MybatisResourc
 import org.flowable.cmmn.engine.impl.persistence.entity.data.impl.MybatisSentryPartInstanceDataManagerImpl;
 import org.flowable.cmmn.engine.impl.persistence.entity.data.impl.TableDataManagerImpl;
 import org.flowable.cmmn.engine.impl.persistence.entity.deploy.CaseDefinitionCacheEntry;
+import org.flowable.cmmn.engine.impl.persistence.entity.deploy.CaseDefinitionCacheEntryWeigher;
 import org.flowable.cmmn.engine.impl.process.ProcessInstanceService;
 import org.flowable.cmmn.engine.impl.runtime.CaseInstanceHelper;
 import org.flowable.cmmn.engine.impl.runtime.CaseInstanceHelperImpl;
@@ -142,6 +147,7 @@ import org.flowable.cmmn.engine.impl.scripting.CmmnVariableScopeResolverFactory;
 import org.flowable.cmmn.engine.impl.task.DefaultCmmnTaskVariableScopeResolver;
 import org.flowable.cmmn.image.CaseDiagramGenerator;
 import org.flowable.cmmn.image.impl.DefaultCaseDiagramGenerator;
+import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.delegate.FlowableFunctionDelegate;
 import org.flowable.common.engine.impl.AbstractEngineConfiguration;
 import org.flowable.common.engine.impl.EngineConfigurator;
@@ -159,17 +165,18 @@ import org.flowable.common.engine.impl.cfg.BeansConfigurationHelper;
 import org.flowable.common.engine.impl.cfg.IdGenerator;
 import org.flowable.common.engine.impl.db.AbstractDataManager;
 import org.flowable.common.engine.impl.db.DbSchemaManager;
+import org.flowable.common.engine.impl.el.DefaultExpressionManager;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.history.HistoryLevel;
 import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
-import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
 import org.flowable.common.engine.impl.scripting.BeansResolverFactory;
 import org.flowable.common.engine.impl.scripting.ResolverFactory;
 import org.flowable.common.engine.impl.scripting.ScriptBindingsFactory;
 import org.flowable.common.engine.impl.scripting.ScriptingEngines;
+import org.flowable.common.engine.impl.util.ReflectUtil;
 import org.flowable.form.api.FormFieldHandler;
 import org.flowable.identitylink.service.IdentityLinkEventHandler;
 import org.flowable.identitylink.service.IdentityLinkServiceConfiguration;
@@ -191,12 +198,17 @@ import org.flowable.job.service.impl.asyncexecutor.ExecuteAsyncRunnableFactory;
 import org.flowable.job.service.impl.asyncexecutor.FailedJobCommandFactory;
 import org.flowable.job.service.impl.asyncexecutor.JobManager;
 import org.flowable.job.service.impl.db.JobDbSchemaManager;
+import org.flowable.job.service.impl.history.async.AsyncHistoryJobBinaryHandler;
 import org.flowable.job.service.impl.history.async.AsyncHistoryJobHandler;
 import org.flowable.job.service.impl.history.async.AsyncHistoryJobZippedHandler;
 import org.flowable.job.service.impl.history.async.AsyncHistoryListener;
 import org.flowable.job.service.impl.history.async.AsyncHistorySession;
 import org.flowable.job.service.impl.history.async.AsyncHistorySessionFactory;
+import org.flowable.job.service.impl.history.async.AsyncHistorySink;
+import org.flowable.job.service.impl.history.async.AsyncHistorySinkListener;
 import org.flowable.job.service.impl.history.async.DefaultAsyncHistoryJobProducer;
+import org.flowable.job.service.impl.history.async.log.AsyncHistoryLogConsumer;
+import org.flowable.job.service.impl.history.async.log.AsyncHistoryLogSink;
 import org.flowable.job.service.impl.history.async.transformer.HistoryJsonTransformer;
 import org.flowable.task.service.InternalTaskAssignmentManager;
 import org.flowable.task.service.InternalTaskVariableScopeResolver;
@@ -228,6 +240,7 @@ import org.flowable.variable.service.impl.types.SerializableType;
 import org.flowable.variable.service.impl.types.ShortType;
 import org.flowable.variable.service.impl.types.StringType;
 import org.flowable.variable.service.impl.types.UUIDType;
+import org.flowable.variable.service.impl.types.VariableSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -291,14 +304,33 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     protected CaseDefinitionDiagramHelper caseDefinitionDiagramHelper;
 
     protected int caseDefinitionCacheLimit = -1;
+
+    /**
+     * The maximum total weight of the case definition cache, as estimated by the {@link CaseDefinitionCacheEntryWeigher}.
+     * Only used when the concurrent deployment cache is enabled. By default, no limit.
+     */
+    protected long caseDefinitionCacheMaxWeight = -1;
     protected DeploymentCache<CaseDefinitionCacheEntry> caseDefinitionCache;
 
+    /**
+     * When enabled, the sentries of a case definition are indexed on the plan item and lifecycle transition they listen to
+     * the first time its criteria are evaluated, and evaluating the criteria after a lifecycle transition only checks the criteria with a sentry
+     * listening to that transition or with an if part.
+     */
+    protected boolean enableIncrementalCriteriaEvaluation;
+
     protected HistoryLevel historyLevel = HistoryLevel.AUDIT;
 
     protected ExpressionManager expressionManager;
     protected List<FlowableFunctionDelegate> flowableFunctionDelegates;
     protected List<FlowableFunctionDelegate> customFlowableFunctionDelegates;
 
+    /**
+     * If set to true, the expression manager (when it's a {@link DefaultExpressionManager}) creates the resolvers that don't depend on the variables once,
+     * instead of for every expression evaluation. Only the variable resolver is created per evaluation. False by default.
+     */
+    protected boolean sharedElResolversEnabled;
+
     protected ScriptingEngines scriptingEngines;
     protected List<ResolverFactory> resolverFactories;
 
@@ -349,6 +381,12 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     protected VariableServiceConfiguration variableServiceConfiguration;
     protected InternalHistoryVariableManager internalHistoryVariableManager;
     protected boolean serializableVariableTypeTrackDeserializedObjects = true;
+
+    /**
+     * Serializes the values of variables of the type 'serializable' instead of Java serialization.
+     * Values stored with Java serialization before it was set can still be read.
+     */
+    protected VariableSerializer serializableVariableSerializer;
     protected ObjectMapper objectMapper = new ObjectMapper();
 
     // Set Http Client config defaults
@@ -437,6 +475,20 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
      */
     protected int asyncExecutorThreadPoolQueueSize = 100;
 
+    /**
+     * If set to true, each async job is executed on its own virtual thread instead of on the async executor thread pool, which suits jobs that mostly
+     * wait on I/O. Needs a Java runtime with virtual threads, otherwise a platform thread is created per job. Default value = false.
+     * <p>
+     * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected boolean asyncExecutorUseVirtualThreads;
+
+    /**
+     * The maximum number of async jobs executing at the same time when {@link #asyncExecutorUseVirtualThreads} is set. By default the maximum number
+     * of active database connections ({@link #jdbcMaxActiveConnections}) when set, otherwise {@link #asyncExecutorMaxPoolSize}.
+     */
+    protected int asyncExecutorMaxConcurrentJobs;
+
     /**
      * The queue onto which jobs will be placed before they are actually executed.
      * Threads form the async executor threadpool will take work from this queue.
@@ -504,6 +556,26 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
      */
     protected int asyncExecutorDefaultQueueSizeFullWaitTime;
 
+    /**
+     * If set to true, the async job acquisition thread adapts the number of jobs it acquires and the time it waits between two acquisitions
+     * to the previous acquisitions: the batch size grows while full batches are acquired and shrinks on optimistic locking collisions, and the wait time
+     * backs off exponentially (with a random jitter) on empty acquisitions and collisions. By default false: the static
+     * {@link #asyncExecutorMaxAsyncJobsDuePerAcquisition} and {@link #asyncExecutorDefaultAsyncJobAcquireWaitTime} are used.
+     * <p>
+     * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected boolean asyncExecutorAdaptiveAsyncJobAcquisitionEnabled;
+
+    /**
+     * The maximum number of async jobs acquired during one query when {@link #asyncExecutorAdaptiveAsyncJobAcquisitionEnabled} is set. Default value = 128.
+     */
+    protected int asyncExecutorMaxAdaptiveAsyncJobsDuePerAcquisition = 128;
+
+    /**
+     * The maximum time (in milliseconds) the async job acquisition thread backs off to when {@link #asyncExecutorAdaptiveAsyncJobAcquisitionEnabled} is set. Default value = 60 seconds.
+     */
+    protected int asyncExecutorMaxAsyncJobAcquireWaitTime = 60 * 1000;
+
     /**
      * When a job is acquired, it is locked so other async executors can't lock and execute it.
      * While doing this, the 'name' of the lock owner is written into a column of the job.
@@ -558,6 +630,13 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
      */
     protected int asyncExecutorResetExpiredJobsMaxTimeout = 24 * 60 * 60 * 1000;
 
+    /**
+     * If set to true, the async executor locks the jobs it acquires (async, timer and history jobs) with one bulk update statement,
+     * skipping the jobs that are locked by another executor in the meantime. By default false: each acquired job is locked with its own
+     * optimistically locked update, which fails the whole acquisition as soon as another executor got one of the jobs first.
+     */
+    protected boolean asyncExecutorBulkLockEnabled;
+
     /**
      * The default {@link AsyncExecutor} has a 'cleanup' thread that resets expired jobs so they can be re-acquired by other executors.
      * This setting defines the size of the page being used when fetching these expired jobs.
@@ -584,10 +663,25 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     protected boolean isAsyncHistoryEnabled;
     protected boolean asyncHistoryExecutorActivate;
     protected boolean isAsyncHistoryJsonGzipCompressionEnabled;
+    protected boolean isAsyncHistoryBinaryEncodingEnabled;
     protected boolean isAsyncHistoryJsonGroupingEnabled;
     protected boolean asyncHistoryExecutorMessageQueueMode;
     protected int asyncHistoryJsonGroupingThreshold = 10;
     protected AsyncHistoryListener asyncHistoryListener;
+    protected AsyncHistorySink asyncHistorySink;
+
+    /**
+     * Applies the records of the log of an {@link AsyncHistoryLogSink} to the history tables. Created at init when such a sink is set,
+     * started with the engine when the async history executor is activated and shut down when the engine is closed.
+     */
+    protected AsyncHistoryLogConsumer asyncHistoryLogConsumer;
+
+    /**
+     * The HTTP client shared by all HTTP tasks of the engine when {@link HttpClientConfig#isUseSharedClient()} is set.
+     * Created at init by the {@link SharedHttpClientFactory} and closed when the engine is closed.
+     */
+    protected Closeable sharedHttpClient;
+    protected SharedHttpClientFactory sharedHttpClientFactory;
 
     // More info: see similar async executor properties.
     protected int asyncHistoryExecutorNumberOfRetries = 10;
@@ -603,6 +697,7 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     protected int asyncHistoryExecutorAsyncJobLockTimeInMillis = 5 * 60 * 1000;
     protected int asyncHistoryExecutorResetExpiredJobsInterval = 60 * 1000;
     protected int asyncHistoryExecutorResetExpiredJobsPageSize = 3;
+    protected int asyncHistoryExecutorJobBatchSize = 1;
     protected boolean isAsyncHistoryExecutorAsyncJobAcquisitionEnabled = true;
     protected boolean isAsyncHistoryExecutorTimerJobAcquisitionEnabled = true;
     protected boolean isAsyncHistoryExecutorResetExpiredJobsEnabled = true;
@@ -708,6 +803,8 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         initJobServiceConfiguration();
         initAsyncExecutor();
         initAsyncHistoryExecutor();
+        initAsyncHistoryLogConsumer();
+        initSharedHttpClient();
         initScriptingEngines();
     }
 
@@ -769,6 +866,9 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         if (expressionManager == null) {
             expressionManager = new CmmnExpressionManager(beans);
         }
+        if (sharedElResolversEnabled && expressionManager instanceof DefaultExpressionManager) {
+            ((DefaultExpressionManager) expressionManager).setSharedElResolversEnabled(true);
+        }
         if (flowableFunctionDelegates == null) {
             flowableFunctionDelegates = new ArrayList<>();
         }
@@ -816,7 +916,11 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     }
 
     protected void initDefaultAsyncHistoryListener() {
-        asyncHistoryListener = new DefaultAsyncHistoryJobProducer();
+        if (asyncHistorySink != null) {
+            asyncHistoryListener = new AsyncHistorySinkListener(asyncHistorySink);
+        } else {
+            asyncHistoryListener = new DefaultAsyncHistoryJobProducer();
+        }
     }
 
     protected void initServices() {
@@ -947,11 +1051,7 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
 
     protected void initCaseDefinitionCache() {
         if (caseDefinitionCache == null) {
-            if (caseDefinitionCacheLimit <= 0) {
-                caseDefinitionCache = new DefaultDeploymentCache<>();
-            } else {
-                caseDefinitionCache = new DefaultDeploymentCache<>(caseDefinitionCacheLimit);
-            }
+            caseDefinitionCache = createDeploymentCache(caseDefinitionCacheLimit, caseDefinitionCacheMaxWeight, new CaseDefinitionCacheEntryWeigher());
         }
     }
 
@@ -1070,7 +1170,7 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
             variableTypes.addType(new JsonType(getMaxLengthString(), objectMapper));
             variableTypes.addType(new LongJsonType(getMaxLengthString() + 1, objectMapper));
             variableTypes.addType(new ByteArrayType());
-            variableTypes.addType(new SerializableType(serializableVariableTypeTrackDeserializedObjects));
+            variableTypes.addType(new SerializableType(serializableVariableTypeTrackDeserializedObjects, serializableVariableSerializer));
             if (customPostVariableTypes != null) {
                 for (VariableType customVariableType : customPostVariableTypes) {
                     variableTypes.addType(customVariableType);
@@ -1204,6 +1304,11 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
             asyncHistoryJobZippedHandler.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
             historyJobHandlers.put(asyncHistoryJobZippedHandler.getType(), asyncHistoryJobZippedHandler);
 
+            AsyncHistoryJobBinaryHandler asyncHistoryJobBinaryHandler = new AsyncHistoryJobBinaryHandler(CmmnAsyncHistoryConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_BINARY);
+            allHistoryJsonTransformers.forEach(asyncHistoryJobBinaryHandler::addHistoryJsonTransformer);
+            asyncHistoryJobBinaryHandler.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
+            historyJobHandlers.put(asyncHistoryJobBinaryHandler.getType(), asyncHistoryJobBinaryHandler);
+
             if (getCustomHistoryJobHandlers() != null) {
                 for (HistoryJobHandler customJobHandler : getCustomHistoryJobHandlers()) {
                     historyJobHandlers.put(customJobHandler.getType(), customJobHandler);
@@ -1288,6 +1393,7 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
             this.jobServiceConfiguration.setAsyncRunnableExecutionExceptionHandlers(exceptionHandlers);
             this.jobServiceConfiguration.setAsyncExecutorNumberOfRetries(this.asyncExecutorNumberOfRetries);
             this.jobServiceConfiguration.setAsyncExecutorResetExpiredJobsMaxTimeout(this.asyncExecutorResetExpiredJobsMaxTimeout);
+            this.jobServiceConfiguration.setAsyncExecutorBulkLockEnabled(this.asyncExecutorBulkLockEnabled);
     
             if (this.jobManager != null) {
                 this.jobServiceConfiguration.setJobManager(this.jobManager);
@@ -1302,7 +1408,9 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
             // Async history job config
             jobServiceConfiguration.setJobTypeAsyncHistory(CmmnAsyncHistoryConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY);
             jobServiceConfiguration.setJobTypeAsyncHistoryZipped(CmmnAsyncHistoryConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_ZIPPED);
+            jobServiceConfiguration.setJobTypeAsyncHistoryBinary(CmmnAsyncHistoryConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_BINARY);
             jobServiceConfiguration.setAsyncHistoryJsonGzipCompressionEnabled(isAsyncHistoryJsonGzipCompressionEnabled);
+            jobServiceConfiguration.setAsyncHistoryBinaryEncodingEnabled(isAsyncHistoryBinaryEncodingEnabled);
             jobServiceConfiguration.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
             jobServiceConfiguration.setAsyncHistoryJsonGroupingThreshold(asyncHistoryJsonGroupingThreshold);
             
@@ -1361,6 +1469,10 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
                 defaultAsyncExecutor.setThreadPoolQueue(asyncExecutorThreadPoolQueue);
             }
             defaultAsyncExecutor.setQueueSize(asyncExecutorThreadPoolQueueSize);
+
+            // Virtual threads
+            defaultAsyncExecutor.setUseVirtualThreads(asyncExecutorUseVirtualThreads);
+            defaultAsyncExecutor.setMaxConcurrentJobs(asyncExecutorMaxConcurrentJobs > 0 ? asyncExecutorMaxConcurrentJobs : jdbcMaxActiveConnections);
             
             // Thread flags
             defaultAsyncExecutor.setAsyncJobAcquisitionEnabled(isAsyncExecutorAsyncJobAcquisitionEnabled);
@@ -1374,6 +1486,11 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
             // Queue full wait time
             defaultAsyncExecutor.setDefaultQueueSizeFullWaitTimeInMillis(asyncExecutorDefaultQueueSizeFullWaitTime);
 
+            // Adaptive acquisition
+            defaultAsyncExecutor.setAdaptiveAsyncJobAcquisitionEnabled(asyncExecutorAdaptiveAsyncJobAcquisitionEnabled);
+            defaultAsyncExecutor.setMaxAdaptiveAsyncJobsDuePerAcquisition(asyncExecutorMaxAdaptiveAsyncJobsDuePerAcquisition);
+            defaultAsyncExecutor.setMaxAsyncJobAcquireWaitTimeInMillis(asyncExecutorMaxAsyncJobAcquireWaitTime);
+
             // Job locking
             defaultAsyncExecutor.setTimerLockTimeInMillis(asyncExecutorTimerLockTimeInMillis);
             defaultAsyncExecutor.setAsyncJobLockTimeInMillis(asyncExecutorAsyncJobLockTimeInMillis);
@@ -1437,6 +1554,9 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
                 defaultAsyncHistoryExecutor.setResetExpiredJobsInterval(asyncHistoryExecutorResetExpiredJobsInterval);
                 defaultAsyncHistoryExecutor.setResetExpiredJobsPageSize(asyncHistoryExecutorResetExpiredJobsPageSize);
     
+                // Batching
+                defaultAsyncHistoryExecutor.setHistoryJobBatchSize(asyncHistoryExecutorJobBatchSize);
+    
                 // Shutdown
                 defaultAsyncHistoryExecutor.setSecondsToWaitOnShutdown(asyncHistoryExecutorSecondsToWaitOnShutdown);
     
@@ -1462,6 +1582,40 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
             jobServiceConfiguration.setAsyncHistoryExecutorNumberOfRetries(asyncHistoryExecutorNumberOfRetries);
         }
     }
+
+    public void initAsyncHistoryLogConsumer() {
+        if (asyncHistoryLogConsumer == null && isAsyncHistoryEnabled && asyncHistorySink instanceof AsyncHistoryLogSink) {
+            asyncHistoryLogConsumer = new AsyncHistoryLogConsumer(commandExecutor, jobServiceConfiguration, ((AsyncHistoryLogSink) asyncHistorySink).getAsyncHistoryLog());
+        }
+    }
+
+    public void initSharedHttpClient() {
+        if (sharedHttpClient == null && httpClientConfig.isUseSharedClient()) {
+            if (sharedHttpClientFactory == null) {
+                ClassLoader classLoader = getClassLoader();
+                if (classLoader == null) {
+                    classLoader = ReflectUtil.getClassLoader();
+                }
+                Iterator<SharedHttpClientFactory> factories = ServiceLoader.load(SharedHttpClientFactory.class, classLoader).iterator();
+                if (!factories.hasNext()) {
+                    throw new FlowableException("A shared http client is configured, but no SharedHttpClientFactory was found. Is flowable-http on the classpath?");
+                }
+                sharedHttpClientFactory = factories.next();
+            }
+            sharedHttpClient = sharedHttpClientFactory.createSharedHttpClient(httpClientConfig);
+        }
+    }
+
+    public void closeSharedHttpClient() {
+        if (sharedHttpClient != null) {
+            try {
+                sharedHttpClient.close();
+            } catch (IOException e) {
+                LOGGER.warn("Could not close the shared http client", e);
+            }
+            sharedHttpClient = null;
+        }
+    }
     
     @Override
     protected List<EngineConfigurator> getEngineSpecificEngineConfigurators() {
@@ -1761,6 +1915,15 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isEnableIncrementalCriteriaEvaluation() {
+        return enableIncrementalCriteriaEvaluation;
+    }
+
+    public CmmnEngineConfiguration setEnableIncrementalCriteriaEvaluation(boolean enableIncrementalCriteriaEvaluation) {
+        this.enableIncrementalCriteriaEvaluation = enableIncrementalCriteriaEvaluation;
+        return this;
+    }
+
     public CmmnParser getCmmnParser() {
         return cmmnParser;
     }
@@ -1824,6 +1987,15 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public long getCaseDefinitionCacheMaxWeight() {
+        return caseDefinitionCacheMaxWeight;
+    }
+
+    public CmmnEngineConfiguration setCaseDefinitionCacheMaxWeight(long caseDefinitionCacheMaxWeight) {
+        this.caseDefinitionCacheMaxWeight = caseDefinitionCacheMaxWeight;
+        return this;
+    }
+
     public DeploymentCache<CaseDefinitionCacheEntry> getCaseDefinitionCache() {
         return caseDefinitionCache;
     }
@@ -1885,6 +2057,15 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isSharedElResolversEnabled() {
+        return sharedElResolversEnabled;
+    }
+
+    public CmmnEngineConfiguration setSharedElResolversEnabled(boolean sharedElResolversEnabled) {
+        this.sharedElResolversEnabled = sharedElResolversEnabled;
+        return this;
+    }
+
     public DelegateExpressionFieldInjectionMode getDelegateExpressionFieldInjectionMode() {
         return delegateExpressionFieldInjectionMode;
     }
@@ -2082,6 +2263,15 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public VariableSerializer getSerializableVariableSerializer() {
+        return serializableVariableSerializer;
+    }
+
+    public CmmnEngineConfiguration setSerializableVariableSerializer(VariableSerializer serializableVariableSerializer) {
+        this.serializableVariableSerializer = serializableVariableSerializer;
+        return this;
+    }
+
     public CaseDiagramGenerator getCaseDiagramGenerator() {
         return caseDiagramGenerator;
     }
@@ -2326,6 +2516,24 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isAsyncExecutorUseVirtualThreads() {
+        return asyncExecutorUseVirtualThreads;
+    }
+
+    public CmmnEngineConfiguration setAsyncExecutorUseVirtualThreads(boolean asyncExecutorUseVirtualThreads) {
+        this.asyncExecutorUseVirtualThreads = asyncExecutorUseVirtualThreads;
+        return this;
+    }
+
+    public int getAsyncExecutorMaxConcurrentJobs() {
+        return asyncExecutorMaxConcurrentJobs;
+    }
+
+    public CmmnEngineConfiguration setAsyncExecutorMaxConcurrentJobs(int asyncExecutorMaxConcurrentJobs) {
+        this.asyncExecutorMaxConcurrentJobs = asyncExecutorMaxConcurrentJobs;
+        return this;
+    }
+
     public BlockingQueue<Runnable> getAsyncExecutorThreadPoolQueue() {
         return asyncExecutorThreadPoolQueue;
     }
@@ -2389,6 +2597,33 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isAsyncExecutorAdaptiveAsyncJobAcquisitionEnabled() {
+        return asyncExecutorAdaptiveAsyncJobAcquisitionEnabled;
+    }
+
+    public CmmnEngineConfiguration setAsyncExecutorAdaptiveAsyncJobAcquisitionEnabled(boolean asyncExecutorAdaptiveAsyncJobAcquisitionEnabled) {
+        this.asyncExecutorAdaptiveAsyncJobAcquisitionEnabled = asyncExecutorAdaptiveAsyncJobAcquisitionEnabled;
+        return this;
+    }
+
+    public int getAsyncExecutorMaxAdaptiveAsyncJobsDuePerAcquisition() {
+        return asyncExecutorMaxAdaptiveAsyncJobsDuePerAcquisition;
+    }
+
+    public CmmnEngineConfiguration setAsyncExecutorMaxAdaptiveAsyncJobsDuePerAcquisition(int asyncExecutorMaxAdaptiveAsyncJobsDuePerAcquisition) {
+        this.asyncExecutorMaxAdaptiveAsyncJobsDuePerAcquisition = asyncExecutorMaxAdaptiveAsyncJobsDuePerAcquisition;
+        return this;
+    }
+
+    public int getAsyncExecutorMaxAsyncJobAcquireWaitTime() {
+        return asyncExecutorMaxAsyncJobAcquireWaitTime;
+    }
+
+    public CmmnEngineConfiguration setAsyncExecutorMaxAsyncJobAcquireWaitTime(int asyncExecutorMaxAsyncJobAcquireWaitTime) {
+        this.asyncExecutorMaxAsyncJobAcquireWaitTime = asyncExecutorMaxAsyncJobAcquireWaitTime;
+        return this;
+    }
+
     public String getAsyncExecutorLockOwner() {
         return asyncExecutorLockOwner;
     }
@@ -2434,6 +2669,15 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isAsyncExecutorBulkLockEnabled() {
+        return asyncExecutorBulkLockEnabled;
+    }
+
+    public CmmnEngineConfiguration setAsyncExecutorBulkLockEnabled(boolean asyncExecutorBulkLockEnabled) {
+        this.asyncExecutorBulkLockEnabled = asyncExecutorBulkLockEnabled;
+        return this;
+    }
+
     public int getAsyncExecutorResetExpiredJobsPageSize() {
         return asyncExecutorResetExpiredJobsPageSize;
     }
@@ -2525,6 +2769,19 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isAsyncHistoryBinaryEncodingEnabled() {
+        return isAsyncHistoryBinaryEncodingEnabled;
+    }
+
+    /**
+     * Stores the async history data in a compact binary format (see {@link org.flowable.job.service.impl.history.async.AsyncHistoryBinaryWriter})
+     * instead of json. When gzip compression is enabled too, grouped history data is also compressed.
+     */
+    public CmmnEngineConfiguration setAsyncHistoryBinaryEncodingEnabled(boolean isAsyncHistoryBinaryEncodingEnabled) {
+        this.isAsyncHistoryBinaryEncodingEnabled = isAsyncHistoryBinaryEncodingEnabled;
+        return this;
+    }
+
     public boolean isAsyncHistoryJsonGroupingEnabled() {
         return isAsyncHistoryJsonGroupingEnabled;
     }
@@ -2561,6 +2818,49 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public AsyncHistorySink getAsyncHistorySink() {
+        return asyncHistorySink;
+    }
+
+    /**
+     * Sets the destination of the async history data, instead of storing it as history jobs in the runtime database.
+     * The data written to the sink is not applied to the history tables by the async history executor,
+     * for example the data of an {@link AsyncHistoryLogSink} is applied by an {@link AsyncHistoryLogConsumer}.
+     * The log of an {@link AsyncHistoryLogSink} is closed when the engine is closed.
+     * Ignored when an {@link AsyncHistoryListener} is set.
+     */
+    public CmmnEngineConfiguration setAsyncHistorySink(AsyncHistorySink asyncHistorySink) {
+        this.asyncHistorySink = asyncHistorySink;
+        return this;
+    }
+
+    public AsyncHistoryLogConsumer getAsyncHistoryLogConsumer() {
+        return asyncHistoryLogConsumer;
+    }
+
+    public CmmnEngineConfiguration setAsyncHistoryLogConsumer(AsyncHistoryLogConsumer asyncHistoryLogConsumer) {
+        this.asyncHistoryLogConsumer = asyncHistoryLogConsumer;
+        return this;
+    }
+
+    public Closeable getSharedHttpClient() {
+        return sharedHttpClient;
+    }
+
+    public CmmnEngineConfiguration setSharedHttpClient(Closeable sharedHttpClient) {
+        this.sharedHttpClient = sharedHttpClient;
+        return this;
+    }
+
+    public SharedHttpClientFactory getSharedHttpClientFactory() {
+        return sharedHttpClientFactory;
+    }
+
+    public CmmnEngineConfiguration setSharedHttpClientFactory(SharedHttpClientFactory sharedHttpClientFactory) {
+        this.sharedHttpClientFactory = sharedHttpClientFactory;
+        return this;
+    }
+
     public int getAsyncHistoryExecutorNumberOfRetries() {
         return asyncHistoryExecutorNumberOfRetries;
     }
@@ -2677,6 +2977,19 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         this.asyncHistoryExecutorResetExpiredJobsPageSize = asyncHistoryExecutorResetExpiredJobsPageSize;
         return this;
     }
+
+    public int getAsyncHistoryExecutorJobBatchSize() {
+        return asyncHistoryExecutorJobBatchSize;
+    }
+
+    /**
+     * The maximum number of history jobs the default async history executor executes together in one transaction.
+     * Default 1: every history job is executed in its own transaction.
+     */
+    public CmmnEngineConfiguration setAsyncHistoryExecutorJobBatchSize(int asyncHistoryExecutorJobBatchSize) {
+        this.asyncHistoryExecutorJobBatchSize = asyncHistoryExecutorJobBatchSize;
+        return this;
+    }
     
     public boolean isAsyncHistoryExecutorAsyncJobAcquisitionEnabled() {
         return isAsyncHistoryExecutorAsyncJobAcquisitionEnabled;
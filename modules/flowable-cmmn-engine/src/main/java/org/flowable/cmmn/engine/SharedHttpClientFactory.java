@@ -0,0 +1,27 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.engine;
+
+import java.io.Closeable;
+
+/**
+ * Creates the HTTP client shared by all HTTP tasks of an engine when {@link HttpClientConfig#isUseSharedClient()} is set.
+ * The client is created when the engine is built and closed when the engine is closed.
+ * 
+ * The flowable-http module provides an implementation, found through the {@link java.util.ServiceLoader} when none is configured.
+ */
+public interface SharedHttpClientFactory {
+
+    Closeable createSharedHttpClient(HttpClientConfig httpClientConfig);
+
+}
@@ -23,6 +23,7 @@ import org.flowable.cmmn.engine.CmmnEngines;
 import org.flowable.cmmn.engine.impl.cmd.SchemaOperationsCmmnEngineBuild;
 import org.flowable.common.engine.impl.interceptor.CommandExecutor;
 import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.job.service.impl.history.async.log.AsyncHistoryLogSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,6 +63,10 @@ public class CmmnEngineImpl implements CmmnEngine {
         LOGGER.info("CmmnEngine {} created", name);
         
         CmmnEngines.registerCmmnEngine(this);
+
+        if (cmmnEngineConfiguration.getAsyncHistoryLogConsumer() != null && cmmnEngineConfiguration.isAsyncHistoryExecutorActivate()) {
+            cmmnEngineConfiguration.getAsyncHistoryLogConsumer().start();
+        }
     }
     
     @Override
@@ -80,6 +85,14 @@ public class CmmnEngineImpl implements CmmnEngine {
         if (asyncExecutor != null && asyncExecutor.isActive()) {
             asyncExecutor.shutdown();
         }
+
+        if (cmmnEngineConfiguration.getAsyncHistoryLogConsumer() != null) {
+            cmmnEngineConfiguration.getAsyncHistoryLogConsumer().shutdown();
+        }
+        if (cmmnEngineConfiguration.getAsyncHistorySink() instanceof AsyncHistoryLogSink) {
+            ((AsyncHistoryLogSink) cmmnEngineConfiguration.getAsyncHistorySink()).getAsyncHistoryLog().close();
+        }
+        cmmnEngineConfiguration.closeSharedHttpClient();
     }
     
     @Override
@@ -12,6 +12,8 @@
  */
 package org.flowable.cmmn.engine.impl.agenda;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Iterator;
 
 import org.flowable.cmmn.engine.impl.agenda.operation.ActivateAsyncPlanItemInstanceOperation;
@@ -56,7 +58,7 @@ public class DefaultCmmnEngineAgenda extends AbstractAgenda implements CmmnEngin
         
         int operationIndex = getOperationIndex(operation);
         if (operationIndex >= 0) {
-            operations.add(operationIndex, operation);
+            insertOperation(operationIndex, operation);
         } else {
             operations.addLast(operation);
         }
@@ -83,15 +85,30 @@ public class DefaultCmmnEngineAgenda extends AbstractAgenda implements CmmnEngin
         // - other operations are always planned before, as these can trigger new evaluation operations
         
         if (!operations.isEmpty() && !(operation instanceof EvaluateCriteriaOperation)) {
-            for (int i=0; i<operations.size(); i++) {
-                if (operations.get(i) instanceof EvaluateCriteriaOperation) {
+            int i = 0;
+            for (Runnable plannedOperation : operations) {
+                if (plannedOperation instanceof EvaluateCriteriaOperation) {
                     return i;
                 }
+                i++;
             }
         }
         return -1;
     }
 
+    /**
+     * Inserts the operation at the given index in the operations, by taking the operations after that index off the end of the queue
+     * and adding them back after the operation.
+     */
+    protected void insertOperation(int index, Runnable operation) {
+        Deque<Runnable> followingOperations = new ArrayDeque<>(operations.size() - index);
+        while (operations.size() > index) {
+            followingOperations.addFirst(operations.pollLast());
+        }
+        operations.addLast(operation);
+        operations.addAll(followingOperations);
+    }
+
     @Override
     public void planInitPlanModelOperation(CaseInstanceEntity caseInstanceEntity) {
         addOperation(new InitPlanModelInstanceOperation(commandContext, caseInstanceEntity), caseInstanceEntity.getId());
@@ -16,6 +16,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.flowable.cmmn.api.runtime.CaseInstanceState;
 import org.flowable.cmmn.api.runtime.PlanItemInstanceState;
 import org.flowable.cmmn.engine.impl.criteria.PlanItemLifeCycleEvent;
+import org.flowable.cmmn.engine.impl.criteria.SentryIndex;
 import org.flowable.cmmn.engine.impl.persistence.entity.CaseInstanceEntity;
 import org.flowable.cmmn.engine.impl.persistence.entity.CountingPlanItemInstanceEntity;
 import org.flowable.cmmn.engine.impl.persistence.entity.EntityWithSentryPartInstances;
@@ -58,6 +59,9 @@ public class EvaluateCriteriaOperation extends AbstractCaseInstanceOperation {
     // only the last evaluation planned on the agenda operation will have this true
     protected boolean evaluateCaseInstanceCompleted;
 
+    // null when all criteria are evaluated
+    protected Set<Criterion> affectedCriteria;
+
     public EvaluateCriteriaOperation(CommandContext commandContext, String caseInstanceEntityId) {
         super(commandContext, caseInstanceEntityId, null);
     }
@@ -71,6 +75,13 @@ public class EvaluateCriteriaOperation extends AbstractCaseInstanceOperation {
     public void run() {
         super.run();
 
+        if (CommandContextUtil.getCmmnEngineConfiguration(commandContext).isEnableIncrementalCriteriaEvaluation()) {
+            SentryIndex sentryIndex = CaseDefinitionUtil.getSentryIndex(caseInstanceEntity.getCaseDefinitionId());
+            if (sentryIndex != null) {
+                affectedCriteria = sentryIndex.getAffectedCriteria(planItemLifeCycleEvent);
+            }
+        }
+
         CriteriaEvaluationResult planModelExitCriteriaEvaluationResult = evaluateExitCriteria(caseInstanceEntity, getPlanModel(caseInstanceEntity));
         if (CriteriaEvaluationResult.SENTRY_SATISFIED.equals(planModelExitCriteriaEvaluationResult)) {
             CommandContextUtil.getAgenda(commandContext).planTerminateCaseInstanceOperation(caseInstanceEntity.getId(), false);
@@ -208,6 +219,11 @@ public class EvaluateCriteriaOperation extends AbstractCaseInstanceOperation {
     protected CriteriaEvaluationResult evaluateCriteria(EntityWithSentryPartInstances entityWithSentryPartInstances, List<Criterion> criteria) {
         boolean partTriggered = false;
         for (Criterion entryCriterion : criteria) {
+            if (affectedCriteria != null && !affectedCriteria.contains(entryCriterion)) {
+                // Neither listening to the current lifecycle event nor depending on variables: can't become satisfied now
+                continue;
+            }
+
             Sentry sentry = entryCriterion.getSentry();
 
             if (sentry.getOnParts().size() == 1 && sentry.getSentryIfPart() == null) { // No need to look into the satisfied onparts
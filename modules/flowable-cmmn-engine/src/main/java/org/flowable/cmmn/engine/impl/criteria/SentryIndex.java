@@ -0,0 +1,136 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.engine.impl.criteria;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.flowable.cmmn.model.Case;
+import org.flowable.cmmn.model.Criterion;
+import org.flowable.cmmn.model.PlanFragment;
+import org.flowable.cmmn.model.PlanItem;
+import org.flowable.cmmn.model.Sentry;
+import org.flowable.cmmn.model.SentryOnPart;
+import org.flowable.cmmn.model.Stage;
+
+/**
+ * The entry and exit criteria of a case, indexed on the source plan item and lifecycle transition of the on parts of their sentry.
+ * Built the first time it is needed for a case definition and used to only evaluate the criteria that can change after a {@link PlanItemLifeCycleEvent}.
+ */
+public class SentryIndex {
+
+    protected Map<String, Map<String, Set<Criterion>>> onPartCriteria = new HashMap<>();
+    protected Set<Criterion> ifPartCriteria = new HashSet<>();
+
+    public SentryIndex(Case caze) {
+        if (caze.getPlanModel() != null) {
+            addStage(caze.getPlanModel());
+        }
+    }
+
+    protected void addStage(Stage stage) {
+        for (Criterion criterion : stage.getExitCriteria()) {
+            addCriterion(criterion);
+        }
+        addPlanFragment(stage);
+    }
+
+    protected void addPlanFragment(PlanFragment planFragment) {
+        for (PlanItem planItem : planFragment.getPlanItems()) {
+            for (Criterion criterion : planItem.getEntryCriteria()) {
+                addCriterion(criterion);
+            }
+            for (Criterion criterion : planItem.getExitCriteria()) {
+                addCriterion(criterion);
+            }
+
+            if (planItem.getPlanItemDefinition() instanceof Stage) {
+                addStage((Stage) planItem.getPlanItemDefinition());
+            } else if (planItem.getPlanItemDefinition() instanceof PlanFragment) {
+                addPlanFragment((PlanFragment) planItem.getPlanItemDefinition());
+            }
+        }
+    }
+
+    protected void addCriterion(Criterion criterion) {
+        Sentry sentry = criterion.getSentry();
+        if (sentry == null) {
+            return;
+        }
+
+        for (SentryOnPart sentryOnPart : sentry.getOnParts()) {
+            Map<String, Set<Criterion>> transitionCriteria = onPartCriteria.get(sentryOnPart.getSourceRef());
+            if (transitionCriteria == null) {
+                transitionCriteria = new HashMap<>();
+                onPartCriteria.put(sentryOnPart.getSourceRef(), transitionCriteria);
+            }
+
+            Set<Criterion> criteria = transitionCriteria.get(sentryOnPart.getStandardEvent());
+            if (criteria == null) {
+                criteria = new HashSet<>();
+                transitionCriteria.put(sentryOnPart.getStandardEvent(), criteria);
+            }
+            criteria.add(criterion);
+        }
+
+        if (sentry.getSentryIfPart() != null) {
+            ifPartCriteria.add(criterion);
+        }
+    }
+
+    /**
+     * @return the criteria with an on part listening to the transition of the given event, never null
+     */
+    public Set<Criterion> getCriteria(PlanItemLifeCycleEvent planItemLifeCycleEvent) {
+        if (planItemLifeCycleEvent == null || planItemLifeCycleEvent.getPlanItem() == null) {
+            return Collections.emptySet();
+        }
+
+        Map<String, Set<Criterion>> transitionCriteria = onPartCriteria.get(planItemLifeCycleEvent.getPlanItem().getId());
+        if (transitionCriteria != null) {
+            Set<Criterion> criteria = transitionCriteria.get(planItemLifeCycleEvent.getTransition());
+            if (criteria != null) {
+                return criteria;
+            }
+        }
+        return Collections.emptySet();
+    }
+
+    /**
+     * @return the criteria that need to be evaluated after the given event: those listening to it and those with an if part.
+     *         Null when there is no event, for example when the criteria are evaluated after a variable change or on request,
+     *         in which case all criteria need to be evaluated.
+     */
+    public Set<Criterion> getAffectedCriteria(PlanItemLifeCycleEvent planItemLifeCycleEvent) {
+        if (planItemLifeCycleEvent == null || planItemLifeCycleEvent.getPlanItem() == null) {
+            return null;
+        }
+
+        Set<Criterion> criteria = getCriteria(planItemLifeCycleEvent);
+        if (criteria.isEmpty()) {
+            return ifPartCriteria;
+        }
+
+        Set<Criterion> affectedCriteria = new HashSet<>(criteria);
+        affectedCriteria.addAll(ifPartCriteria);
+        return affectedCriteria;
+    }
+
+    public Set<Criterion> getIfPartCriteria() {
+        return ifPartCriteria;
+    }
+
+}
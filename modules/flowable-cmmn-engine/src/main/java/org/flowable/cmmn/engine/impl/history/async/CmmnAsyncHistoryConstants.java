@@ -22,6 +22,7 @@ public interface CmmnAsyncHistoryConstants {
     
     String JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY = "cmmn-async-history";
     String JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_ZIPPED = "cmmn-async-history-zipped";
+    String JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_BINARY = "cmmn-async-history-binary";
     
     String TYPE_CASE_INSTANCE_END = "cmmn-case-instance-end";
     String TYPE_CASE_INSTANCE_START = "cmmn-case-instance-start";
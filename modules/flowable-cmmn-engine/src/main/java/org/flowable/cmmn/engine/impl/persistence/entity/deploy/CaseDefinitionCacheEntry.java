@@ -13,6 +13,7 @@
 package org.flowable.cmmn.engine.impl.persistence.entity.deploy;
 
 import org.flowable.cmmn.api.repository.CaseDefinition;
+import org.flowable.cmmn.engine.impl.criteria.SentryIndex;
 import org.flowable.cmmn.model.Case;
 import org.flowable.cmmn.model.CmmnModel;
 
@@ -21,6 +22,7 @@ public class CaseDefinitionCacheEntry {
     protected CaseDefinition caseDefinition;
     protected CmmnModel cmmnModel;
     protected Case caze;
+    protected volatile SentryIndex sentryIndex;
 
     public CaseDefinitionCacheEntry(CaseDefinition caseDefinition, CmmnModel cmmnModel, Case caze) {
         this.caseDefinition = caseDefinition;
@@ -52,4 +54,20 @@ public class CaseDefinitionCacheEntry {
         this.caze = caze;
     }
 
+    /**
+     * @return the sentry index of the case, built on first use
+     */
+    public SentryIndex getSentryIndex() {
+        SentryIndex sentryIndex = this.sentryIndex;
+        if (sentryIndex == null) {
+            sentryIndex = new SentryIndex(caze);
+            this.sentryIndex = sentryIndex;
+        }
+        return sentryIndex;
+    }
+
+    public void setSentryIndex(SentryIndex sentryIndex) {
+        this.sentryIndex = sentryIndex;
+    }
+
 }
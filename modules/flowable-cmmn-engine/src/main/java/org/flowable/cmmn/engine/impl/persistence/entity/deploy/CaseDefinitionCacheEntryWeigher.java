@@ -0,0 +1,41 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.engine.impl.persistence.entity.deploy;
+
+import org.flowable.cmmn.model.Case;
+import org.flowable.cmmn.model.CmmnModel;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWeigher;
+
+/**
+ * Weighs a {@link CaseDefinitionCacheEntry} by the size of its {@link CmmnModel}:
+ * the number of elements of its case (including the elements of stages) and the number of diagram elements.
+ */
+public class CaseDefinitionCacheEntryWeigher implements DeploymentCacheWeigher<CaseDefinitionCacheEntry> {
+
+    @Override
+    public long weigh(String id, CaseDefinitionCacheEntry cacheEntry) {
+        long weight = 1L;
+
+        Case caze = cacheEntry.getCase();
+        if (caze != null && caze.getAllCaseElements() != null) {
+            weight += caze.getAllCaseElements().size();
+        }
+
+        CmmnModel cmmnModel = cacheEntry.getCmmnModel();
+        if (cmmnModel != null) {
+            weight += cmmnModel.getLocationMap().size() + cmmnModel.getFlowLocationMap().size();
+        }
+        return weight;
+    }
+
+}
@@ -14,6 +14,7 @@ package org.flowable.cmmn.engine.impl.repository;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.cmmn.api.repository.CaseDefinition;
+import org.flowable.cmmn.engine.impl.criteria.SentryIndex;
 import org.flowable.cmmn.engine.impl.deployer.CmmnDeploymentManager;
 import org.flowable.cmmn.engine.impl.persistence.entity.CmmnDeploymentEntity;
 import org.flowable.cmmn.engine.impl.persistence.entity.deploy.CaseDefinitionCacheEntry;
@@ -64,4 +65,17 @@ public class CaseDefinitionUtil {
         return getCmmnModel(caseDefinitionId).getPrimaryCase();
     }
 
+    /**
+     * @return the sentry index of the case definition, or null when the case definition can't be found
+     */
+    public static SentryIndex getSentryIndex(String caseDefinitionId) {
+        CmmnDeploymentManager deploymentManager = CommandContextUtil.getCmmnEngineConfiguration().getDeploymentManager();
+        CaseDefinitionCacheEntry cacheEntry = deploymentManager.getCaseDefinitionCache().get(caseDefinitionId);
+        if (cacheEntry == null) {
+            deploymentManager.findDeployedCaseDefinitionById(caseDefinitionId);
+            cacheEntry = deploymentManager.getCaseDefinitionCache().get(caseDefinitionId);
+        }
+        return cacheEntry != null ? cacheEntry.getSentryIndex() : null;
+    }
+
 }
@@ -0,0 +1,112 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.flowable.cmmn.api.runtime.CaseInstance;
+import org.flowable.cmmn.api.runtime.PlanItemInstance;
+import org.flowable.cmmn.api.runtime.PlanItemInstanceState;
+import org.flowable.cmmn.engine.test.CmmnDeployment;
+import org.flowable.cmmn.engine.test.FlowableCmmnTestCase;
+import org.flowable.common.engine.impl.util.CollectionUtil;
+import org.junit.Test;
+
+/**
+ * Runs the same sentries with and without incremental criteria evaluation. The case definitions are deployed
+ * before the evaluation is enabled, so the sentry index is built when it is first needed.
+ */
+public class IncrementalCriteriaEvaluationTest extends FlowableCmmnTestCase {
+
+    @Test
+    @CmmnDeployment(resources = "org/flowable/cmmn/test/runtime/EntryCriteriaTest.testMultipleEntryCriteria.cmmn")
+    public void testOnParts() {
+        runWithAndWithoutIncrementalCriteriaEvaluation(() -> {
+            // 3 sentries, each completion should trigger the milestone
+            for (int i = 0; i < 3; i++) {
+                CaseInstance caseInstance = cmmnRuntimeService.createCaseInstanceBuilder().caseDefinitionKey("myCase").start();
+                List<PlanItemInstance> planItemInstances = cmmnRuntimeService.createPlanItemInstanceQuery()
+                        .caseInstanceId(caseInstance.getId())
+                        .planItemInstanceState(PlanItemInstanceState.ACTIVE)
+                        .orderByName().asc()
+                        .list();
+                assertEquals(3, planItemInstances.size());
+
+                cmmnRuntimeService.triggerPlanItemInstance(planItemInstances.get(i).getId());
+                assertEquals(1, cmmnHistoryService.createHistoricMilestoneInstanceQuery().milestoneInstanceCaseInstanceId(caseInstance.getId()).count());
+
+                for (PlanItemInstance planItemInstance : cmmnRuntimeService.createPlanItemInstanceQuery()
+                        .caseInstanceId(caseInstance.getId()).planItemInstanceState(PlanItemInstanceState.ACTIVE).list()) {
+                    cmmnRuntimeService.triggerPlanItemInstance(planItemInstance.getId());
+                }
+
+                assertEquals(1, cmmnHistoryService.createHistoricMilestoneInstanceQuery().milestoneInstanceCaseInstanceId(caseInstance.getId()).count());
+                assertCaseInstanceEnded(caseInstance);
+            }
+        });
+    }
+
+    @Test
+    @CmmnDeployment(resources = "org/flowable/cmmn/test/runtime/IfPartTest.testIfPartOnly.cmmn")
+    public void testIfPartOnly() {
+        runWithAndWithoutIncrementalCriteriaEvaluation(() -> {
+            CaseInstance caseInstance = cmmnRuntimeService.createCaseInstanceBuilder()
+                    .caseDefinitionKey("testIfPartOnly")
+                    .start();
+            assertEquals(1, cmmnRuntimeService.createPlanItemInstanceQuery().caseInstanceId(caseInstance.getId()).planItemInstanceStateActive().count());
+
+            cmmnRuntimeService.setVariables(caseInstance.getId(), CollectionUtil.singletonMap("variable", true));
+            assertEquals(2, cmmnRuntimeService.createPlanItemInstanceQuery().caseInstanceId(caseInstance.getId()).planItemInstanceStateActive().count());
+        });
+    }
+
+    @Test
+    @CmmnDeployment(resources = "org/flowable/cmmn/test/runtime/IfPartTest.testOnAndIfPart.cmmn")
+    public void testOnAndIfPart() {
+        runWithAndWithoutIncrementalCriteriaEvaluation(() -> {
+            CaseInstance caseInstance = cmmnRuntimeService.createCaseInstanceBuilder().caseDefinitionKey("testSimpleCondition").start();
+            PlanItemInstance planItemInstance = cmmnRuntimeService.createPlanItemInstanceQuery()
+                    .caseInstanceId(caseInstance.getId()).planItemInstanceStateActive().singleResult();
+            assertEquals("A", planItemInstance.getName());
+
+            // The on part is satisfied, but not the if part
+            cmmnRuntimeService.triggerPlanItemInstance(planItemInstance.getId());
+            planItemInstance = cmmnRuntimeService.createPlanItemInstanceQuery().caseInstanceId(caseInstance.getId()).singleResult();
+            assertEquals("B", planItemInstance.getName());
+            assertEquals(PlanItemInstanceState.AVAILABLE, planItemInstance.getState());
+
+            // Setting the variable evaluates the criteria without a lifecycle event
+            cmmnRuntimeService.setVariables(caseInstance.getId(), CollectionUtil.singletonMap("conditionVariable", true));
+            planItemInstance = cmmnRuntimeService.createPlanItemInstanceQuery().caseInstanceId(caseInstance.getId()).singleResult();
+            assertEquals("B", planItemInstance.getName());
+            assertEquals(PlanItemInstanceState.ACTIVE, planItemInstance.getState());
+
+            cmmnRuntimeService.triggerPlanItemInstance(planItemInstance.getId());
+            assertCaseInstanceEnded(caseInstance);
+        });
+    }
+
+    protected void runWithAndWithoutIncrementalCriteriaEvaluation(Runnable test) {
+        test.run();
+
+        cmmnEngineConfiguration.setEnableIncrementalCriteriaEvaluation(true);
+        try {
+            test.run();
+        } finally {
+            cmmnEngineConfiguration.setEnableIncrementalCriteriaEvaluation(false);
+        }
+    }
+
+}
@@ -27,6 +27,12 @@ public interface ContentService {
 
     InputStream getContentItemData(String contentItemId);
 
+    /**
+     * @return the {@link ContentObject} with the data of the content item, which is a {@link RangedContentObject} when the content storage supports reading a
+     *         part of the content.
+     */
+    ContentObject getContentItemContentObject(String contentItemId);
+
     void deleteContentItem(String contentItemId);
 
     void deleteContentItemsByProcessInstanceId(String processInstanceId);
@@ -0,0 +1,38 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.content.api;
+
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A {@link ContentObject} of which a part of the content can be read without reading all content before it, for example to answer HTTP range requests.
+ */
+public interface RangedContentObject extends ContentObject {
+
+    /**
+     * @return a new inputstream to read at most the given number of bytes from, starting at the given position in the content. Caller should close the
+     *         inputstream after usage to prevent resources leaking.
+     */
+    InputStream getContent(long start, long length);
+
+    /**
+     * Writes at most the given number of bytes, starting at the given position in the content, to the given channel. When the storage and the channel allow
+     * it, the bytes are transferred without being copied to the heap.
+     * 
+     * @return the number of bytes written
+     * @throws ContentStorageException
+     *             When an error occurred while reading or writing the content.
+     */
+    long transferTo(long start, long length, WritableByteChannel target);
+}
@@ -77,6 +77,18 @@ public class ContentEngineConfiguration extends AbstractEngineConfiguration impl
     protected String contentRootFolder;
     protected boolean createContentRootFolder = true;
 
+    /**
+     * The folder in which the chunks of content uploaded through the REST API are assembled until all of them are received.
+     * Defaults to a subfolder of the content root folder, so it is shared by all nodes sharing the content root folder.
+     * When a custom content storage is configured without a content root folder, it defaults to a folder in the temp directory of the node.
+     */
+    protected String contentUploadFolder;
+
+    /**
+     * The time in milliseconds after which an upload that did not receive any chunk anymore is considered abandoned, and its data is deleted.
+     */
+    protected long contentUploadExpirationTime = 24 * 60 * 60 * 1000L; // default: one day
+
     // ENTITY MANAGERS /////////////////////////////////////////////////
     protected ContentItemEntityManager contentItemEntityManager;
     protected TableDataManager tableDataManager;
@@ -145,6 +157,7 @@ public class ContentEngineConfiguration extends AbstractEngineConfiguration impl
         initDataManagers();
         initEntityManagers();
         initContentStorage();
+        initContentUploadFolder();
         initClock();
     }
 
@@ -193,6 +206,16 @@ public class ContentEngineConfiguration extends AbstractEngineConfiguration impl
         }
     }
 
+    public void initContentUploadFolder() {
+        if (contentUploadFolder == null) {
+            if (contentRootFolder != null) {
+                contentUploadFolder = contentRootFolder + File.separator + "uploads";
+            } else {
+                contentUploadFolder = System.getProperty("java.io.tmpdir") + File.separator + "flowable-content-uploads";
+            }
+        }
+    }
+
     // data model ///////////////////////////////////////////////////////////////
 
     @Override
@@ -461,6 +484,24 @@ public class ContentEngineConfiguration extends AbstractEngineConfiguration impl
         return this;
     }
 
+    public String getContentUploadFolder() {
+        return contentUploadFolder;
+    }
+
+    public ContentEngineConfiguration setContentUploadFolder(String contentUploadFolder) {
+        this.contentUploadFolder = contentUploadFolder;
+        return this;
+    }
+
+    public long getContentUploadExpirationTime() {
+        return contentUploadExpirationTime;
+    }
+
+    public ContentEngineConfiguration setContentUploadExpirationTime(long contentUploadExpirationTime) {
+        this.contentUploadExpirationTime = contentUploadExpirationTime;
+        return this;
+    }
+
     @Override
     public ContentEngineConfiguration setSqlSessionFactory(SqlSessionFactory sqlSessionFactory) {
         this.sqlSessionFactory = sqlSessionFactory;
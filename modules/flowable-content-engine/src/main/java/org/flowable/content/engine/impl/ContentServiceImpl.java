@@ -17,12 +17,14 @@ import java.io.InputStream;
 import org.flowable.common.engine.impl.service.CommonEngineServiceImpl;
 import org.flowable.content.api.ContentItem;
 import org.flowable.content.api.ContentItemQuery;
+import org.flowable.content.api.ContentObject;
 import org.flowable.content.api.ContentService;
 import org.flowable.content.engine.ContentEngineConfiguration;
 import org.flowable.content.engine.impl.cmd.CreateContentItemCmd;
 import org.flowable.content.engine.impl.cmd.DeleteContentItemCmd;
 import org.flowable.content.engine.impl.cmd.DeleteContentItemsByScopeCmd;
 import org.flowable.content.engine.impl.cmd.DeleteContentItemsCmd;
+import org.flowable.content.engine.impl.cmd.GetContentItemContentObjectCmd;
 import org.flowable.content.engine.impl.cmd.GetContentItemStreamCmd;
 import org.flowable.content.engine.impl.cmd.SaveContentItemCmd;
 
@@ -51,6 +53,11 @@ public class ContentServiceImpl extends CommonEngineServiceImpl<ContentEngineCon
         return commandExecutor.execute(new GetContentItemStreamCmd(contentItemId));
     }
 
+    @Override
+    public ContentObject getContentItemContentObject(String contentItemId) {
+        return commandExecutor.execute(new GetContentItemContentObjectCmd(contentItemId));
+    }
+
     @Override
     public void deleteContentItem(String contentItemId) {
         commandExecutor.execute(new DeleteContentItemCmd(contentItemId));
@@ -17,7 +17,9 @@ import java.io.Serializable;
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
 import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.content.engine.impl.ContentItemQueryImpl;
 import org.flowable.content.engine.impl.util.CommandContextUtil;
+import org.flowable.content.engine.impl.util.ContentItemUtil;
 
 /**
  * @author Tijs Rademakers
@@ -40,6 +42,10 @@ public class DeleteContentItemsByScopeCmd implements Command<Void>, Serializable
             throw new FlowableIllegalArgumentException("scopeId and scopeType are null");
         }
 
+        // The bulk delete only matches content items with both the scope id and type, and doesn't load them, so their content is deleted first
+        if (scopeId != null && scopeType != null) {
+            ContentItemUtil.deleteContentObjects(new ContentItemQueryImpl(commandContext).scopeId(scopeId).scopeType(scopeType).list());
+        }
         CommandContextUtil.getContentItemEntityManager().deleteContentItemsByScopeIdAndScopeType(scopeId, scopeType);
 
         return null;
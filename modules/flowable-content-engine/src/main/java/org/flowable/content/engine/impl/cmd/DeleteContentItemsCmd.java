@@ -18,7 +18,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
 import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.content.engine.impl.ContentItemQueryImpl;
 import org.flowable.content.engine.impl.util.CommandContextUtil;
+import org.flowable.content.engine.impl.util.ContentItemUtil;
 
 /**
  * @author Tijs Rademakers
@@ -43,12 +45,16 @@ public class DeleteContentItemsCmd implements Command<Void>, Serializable {
             throw new FlowableIllegalArgumentException("taskId, processInstanceId and caseId are null");
         }
 
+        // The bulk deletes don't load the content items, so their content is deleted first
         if (processInstanceId != null) {
+            ContentItemUtil.deleteContentObjects(new ContentItemQueryImpl(commandContext).processInstanceId(processInstanceId).list());
             CommandContextUtil.getContentItemEntityManager().deleteContentItemsByProcessInstanceId(processInstanceId);
 
         } else if (StringUtils.isNotEmpty(caseId)) {
+            ContentItemUtil.deleteContentObjects(new ContentItemQueryImpl(commandContext).scopeId(caseId).scopeType("cmmn").list());
             CommandContextUtil.getContentItemEntityManager().deleteContentItemsByScopeIdAndScopeType(caseId, "cmmn");
         } else {
+            ContentItemUtil.deleteContentObjects(new ContentItemQueryImpl(commandContext).taskId(taskId).list());
             CommandContextUtil.getContentItemEntityManager().deleteContentItemsByTaskId(taskId);
         }
 
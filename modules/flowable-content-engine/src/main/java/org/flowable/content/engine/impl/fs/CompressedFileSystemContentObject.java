@@ -0,0 +1,82 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.content.engine.impl.fs;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.flowable.content.api.ContentObject;
+import org.flowable.content.api.ContentStorageException;
+
+/**
+ * {@link ContentObject}, backed by a gzip compressed file.
+ */
+public class CompressedFileSystemContentObject implements ContentObject {
+
+    protected File file;
+    protected InputStream inputStream;
+    protected String id;
+    protected long length;
+
+    public CompressedFileSystemContentObject(File file, String id, long length) {
+        this.file = file;
+        this.id = id;
+        this.length = length;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public long getContentLength() {
+        return length;
+    }
+
+    @Override
+    public InputStream getContent() {
+        if (inputStream == null) {
+            FileInputStream fileInputStream = null;
+            try {
+                fileInputStream = new FileInputStream(file);
+                inputStream = new GZIPInputStream(fileInputStream);
+            } catch (FileNotFoundException e) {
+                throw new ContentStorageException("Error while opening file stream", e);
+            } catch (IOException e) {
+                closeQuietly(fileInputStream);
+                throw new ContentStorageException("Error while reading compressed file " + file.getAbsolutePath(), e);
+            }
+        }
+        return inputStream;
+    }
+
+    protected void closeQuietly(InputStream inputStream) {
+        if (inputStream != null) {
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                // Nothing to do, the stream is not used anymore
+            }
+        }
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+}
@@ -0,0 +1,330 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.content.engine.impl.fs;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.flowable.common.engine.impl.cfg.TransactionContext;
+import org.flowable.common.engine.impl.cfg.TransactionState;
+import org.flowable.common.engine.impl.context.Context;
+import org.flowable.content.api.ContentNotFoundException;
+import org.flowable.content.api.ContentObject;
+import org.flowable.content.api.ContentStorage;
+import org.flowable.content.api.ContentStorageException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of the {@link ContentStorage} that stores content under the SHA-256 hash of its bytes, so content that is stored many times, like the same
+ * document uploaded for thousands of process instances, takes the space of one file.
+ * <p>
+ * The files are placed in a tree of two folder levels named after the first characters of the hash, so no folder gets too many children, for example
+ * <code>3f/a2/3fa2...</code>. Next to each file, a properties file keeps the number of references to it. Creating content adds a reference, deleting content
+ * removes one and the file is deleted together with its last reference. The id of the returned {@link ContentObject} is the hash: all content items with the same
+ * content share the same id. Updating content therefore returns a new id when the content changes.
+ * <p>
+ * Optionally, files are stored gzip compressed when that makes them smaller (see {@link #setCompressionEnabled(boolean)}). Compressed content can only be read
+ * as a whole.
+ * <p>
+ * When content is created or deleted within a transaction of an engine, the reference count follows the outcome of that transaction: a reference that is
+ * added is removed again when the transaction rolls back, and a reference that is deleted is only removed after the transaction has committed. Content that is
+ * deleted therefore stays readable until the deletion is committed.
+ * <p>
+ * References are counted within one JVM, so the root folder should not be shared by engines running on different machines. Note that this implementation doesn't
+ * do anything with the passed metadata, nor returns it when requested!
+ */
+public class ContentAddressedFileSystemContentStorage implements ContentStorage {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContentAddressedFileSystemContentStorage.class);
+
+    protected static final String HASH_ALGORITHM = "SHA-256";
+    protected static final Pattern ID_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    protected static final String TEMP_FOLDER = "tmp";
+    protected static final String COMPRESSED_SUFFIX = ".gz";
+    protected static final String PROPERTIES_SUFFIX = ".properties";
+    protected static final String TEMP_SUFFIX = "_TEMP";
+
+    protected static final String REFERENCES_PROPERTY = "references";
+    protected static final String LENGTH_PROPERTY = "length";
+
+    // Number of locks the hashes are divided over
+    protected static final int LOCK_COUNT = 64;
+
+    protected File rootFolder;
+    protected File tempFolder;
+    protected boolean compressionEnabled;
+    protected FileSystemContentWriter contentWriter = new FileSystemContentWriter(HASH_ALGORITHM);
+    protected Object[] locks = new Object[LOCK_COUNT];
+
+    public ContentAddressedFileSystemContentStorage(File rootFolder) {
+        this.rootFolder = rootFolder;
+        this.tempFolder = new File(rootFolder, TEMP_FOLDER);
+        if (!tempFolder.exists() && !tempFolder.mkdirs()) {
+            LOGGER.warn("Could not create temporary content folder {}. This might impact the storage of content", tempFolder.getAbsolutePath());
+        }
+
+        for (int i = 0; i < LOCK_COUNT; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public ContentObject createContentObject(InputStream contentStream, Map<String, Object> metaData) {
+        // The hash is only known after the content is read, so it is first written to a temporary file
+        File tempFile = new File(tempFolder, UUID.randomUUID().toString());
+        try {
+            FileSystemContentObject tempContentObject = contentWriter.writeContent(contentStream, tempFile, null);
+            String id = tempContentObject.getChecksum();
+
+            synchronized (getLock(id)) {
+                Properties properties = readProperties(id);
+                if (properties == null) {
+                    storeContentFile(id, tempFile);
+                    properties = new Properties();
+                    properties.setProperty(LENGTH_PROPERTY, String.valueOf(tempContentObject.getContentLength()));
+                    properties.setProperty(REFERENCES_PROPERTY, "0");
+                }
+
+                long references = Long.parseLong(properties.getProperty(REFERENCES_PROPERTY)) + 1;
+                properties.setProperty(REFERENCES_PROPERTY, String.valueOf(references));
+                writeProperties(id, properties);
+
+                TransactionContext transactionContext = Context.getTransactionContext();
+                if (transactionContext != null) {
+                    transactionContext.addTransactionListener(TransactionState.ROLLED_BACK, commandContext -> removeReference(id));
+                }
+
+                return getContentObject(id, properties);
+            }
+
+        } catch (IOException e) {
+            throw new ContentStorageException("Could not write content to " + rootFolder.getAbsolutePath(), e);
+
+        } finally {
+            if (tempFile.exists() && !tempFile.delete()) {
+                LOGGER.warn("Could not delete temporary content file {}", tempFile.getAbsolutePath());
+            }
+        }
+    }
+
+    @Override
+    public ContentObject updateContentObject(String id, InputStream contentStream, Map<String, Object> metaData) {
+        // Fails when the content doesn't exist
+        getContentObject(id);
+
+        // Other content items can still reference the current content, so the new content is added as a reference and the old reference is removed.
+        // Within a transaction, the old reference is only removed when the transaction commits.
+        ContentObject contentObject = createContentObject(contentStream, metaData);
+        deleteContentObject(id);
+        return contentObject;
+    }
+
+    @Override
+    public ContentObject getContentObject(String id) {
+        validateId(id);
+        synchronized (getLock(id)) {
+            try {
+                Properties properties = readProperties(id);
+                if (properties == null) {
+                    throw new ContentNotFoundException("No content found for id " + id);
+                }
+                return getContentObject(id, properties);
+
+            } catch (IOException e) {
+                throw new ContentStorageException("Error while reading content with id " + id, e);
+            }
+        }
+    }
+
+    protected ContentObject getContentObject(String id, Properties properties) {
+        long length = Long.parseLong(properties.getProperty(LENGTH_PROPERTY));
+        File contentFile = getContentFile(id);
+        if (contentFile.exists()) {
+            return new FileSystemContentObject(contentFile, id, length);
+        }
+
+        File compressedContentFile = getCompressedContentFile(id);
+        if (compressedContentFile.exists()) {
+            return new CompressedFileSystemContentObject(compressedContentFile, id, length);
+        }
+
+        throw new ContentNotFoundException("No content found for id " + id);
+    }
+
+    @Override
+    public Map<String, Object> getMetaData() {
+        // This implementation doesn't support metadata
+        return null;
+    }
+
+    @Override
+    public void deleteContentObject(String id) {
+        // Fails when the content doesn't exist
+        getContentObject(id);
+
+        TransactionContext transactionContext = Context.getTransactionContext();
+        if (transactionContext != null) {
+            transactionContext.addTransactionListener(TransactionState.COMMITTED, commandContext -> {
+                try {
+                    removeReference(id);
+                } catch (ContentStorageException e) {
+                    // The deletion is already committed, the content is only left behind
+                    LOGGER.error("Could not remove a reference to content {}", id, e);
+                }
+            });
+        } else {
+            removeReference(id);
+        }
+    }
+
+    /**
+     * Removes a reference to the content, and deletes the content together with its last reference.
+     */
+    protected void removeReference(String id) {
+        synchronized (getLock(id)) {
+            try {
+                Properties properties = readProperties(id);
+                if (properties == null) {
+                    LOGGER.warn("Could not remove a reference to content {}, the content doesn't exist anymore", id);
+                    return;
+                }
+
+                long references = Long.parseLong(properties.getProperty(REFERENCES_PROPERTY)) - 1;
+                if (references > 0) {
+                    properties.setProperty(REFERENCES_PROPERTY, String.valueOf(references));
+                    writeProperties(id, properties);
+
+                } else {
+                    Files.deleteIfExists(getContentFile(id).toPath());
+                    Files.deleteIfExists(getCompressedContentFile(id).toPath());
+                    Files.delete(getPropertiesFile(id).toPath());
+                }
+
+            } catch (IOException e) {
+                throw new ContentStorageException("Error while deleting content with id " + id, e);
+            }
+        }
+    }
+
+    @Override
+    public String getContentStoreName() {
+        return "content-addressed-file";
+    }
+
+    protected void storeContentFile(String id, File tempFile) throws IOException {
+        File folder = getFolder(id);
+        if (!folder.exists() && !folder.mkdirs() && !folder.exists()) {
+            throw new ContentStorageException("Could not create content folder " + folder.getAbsolutePath());
+        }
+
+        if (compressionEnabled) {
+            File compressedTempFile = new File(tempFolder, tempFile.getName() + COMPRESSED_SUFFIX);
+            try {
+                try (InputStream inputStream = new FileInputStream(tempFile);
+                        OutputStream outputStream = new GZIPOutputStream(new FileOutputStream(compressedTempFile))) {
+                    IOUtils.copyLarge(inputStream, outputStream);
+                }
+
+                // Content that is already compressed, like images or archives, is stored as is
+                if (compressedTempFile.length() < tempFile.length()) {
+                    Files.move(compressedTempFile.toPath(), getCompressedContentFile(id).toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    return;
+                }
+
+            } finally {
+                Files.deleteIfExists(compressedTempFile.toPath());
+            }
+        }
+
+        Files.move(tempFile.toPath(), getContentFile(id).toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    protected Properties readProperties(String id) throws IOException {
+        File propertiesFile = getPropertiesFile(id);
+        if (!propertiesFile.exists()) {
+            return null;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream inputStream = new FileInputStream(propertiesFile)) {
+            properties.load(inputStream);
+        }
+        return properties;
+    }
+
+    protected void writeProperties(String id, Properties properties) throws IOException {
+        // Write a new file and rename it, so the reference count is never left half written
+        File propertiesFile = getPropertiesFile(id);
+        File tempPropertiesFile = new File(propertiesFile.getParentFile(), propertiesFile.getName() + TEMP_SUFFIX);
+        try (OutputStream outputStream = new FileOutputStream(tempPropertiesFile)) {
+            properties.store(outputStream, null);
+        }
+        Files.move(tempPropertiesFile.toPath(), propertiesFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    protected void validateId(String id) {
+        if (id == null || !ID_PATTERN.matcher(id).matches()) {
+            throw new ContentNotFoundException("No content found for id " + id);
+        }
+    }
+
+    protected Object getLock(String id) {
+        return locks[Math.abs(id.hashCode() % LOCK_COUNT)];
+    }
+
+    protected File getFolder(String id) {
+        return new File(new File(rootFolder, id.substring(0, 2)), id.substring(2, 4));
+    }
+
+    protected File getContentFile(String id) {
+        return new File(getFolder(id), id);
+    }
+
+    protected File getCompressedContentFile(String id) {
+        return new File(getFolder(id), id + COMPRESSED_SUFFIX);
+    }
+
+    protected File getPropertiesFile(String id) {
+        return new File(getFolder(id), id + PROPERTIES_SUFFIX);
+    }
+
+    public File getRootFolder() {
+        return rootFolder;
+    }
+
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    /**
+     * Stores new content gzip compressed when that makes it smaller. Content that was stored before is not affected. By default false.
+     */
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+}
@@ -15,10 +15,17 @@ package org.flowable.content.engine.impl.fs;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 
+import org.apache.commons.io.input.BoundedInputStream;
 import org.flowable.content.api.ContentObject;
 import org.flowable.content.api.ContentStorageException;
+import org.flowable.content.api.RangedContentObject;
 
 /**
  * 
@@ -26,12 +33,13 @@ import org.flowable.content.api.ContentStorageException;
  * 
  * @author Frederik Heremans
  */
-public class FileSystemContentObject implements ContentObject {
+public class FileSystemContentObject implements RangedContentObject {
 
     protected File file;
     protected InputStream inputStream;
     protected String id;
     protected Long length;
+    protected String checksum;
 
     public FileSystemContentObject(File file, String id) {
         this.file = file;
@@ -68,4 +76,57 @@ public class FileSystemContentObject implements ContentObject {
         return inputStream;
     }
 
+    @Override
+    public InputStream getContent(long start, long length) {
+        FileChannel fileChannel = null;
+        try {
+            fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            fileChannel.position(start);
+            return new BoundedInputStream(Channels.newInputStream(fileChannel), length);
+        } catch (IOException e) {
+            closeQuietly(fileChannel);
+            throw new ContentStorageException("Error while opening file stream", e);
+        }
+    }
+
+    @Override
+    public long transferTo(long start, long length, WritableByteChannel target) {
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long end = Math.min(start + length, fileChannel.size());
+            long position = start;
+            long transferred;
+            while (position < end && (transferred = fileChannel.transferTo(position, end - position, target)) > 0) {
+                position += transferred;
+            }
+            return Math.max(position - start, 0L);
+        } catch (IOException e) {
+            throw new ContentStorageException("Error while transferring content of file " + file.getAbsolutePath(), e);
+        }
+    }
+
+    protected void closeQuietly(FileChannel fileChannel) {
+        if (fileChannel != null) {
+            try {
+                fileChannel.close();
+            } catch (IOException e) {
+                // Nothing to do, the channel is not used anymore
+            }
+        }
+    }
+
+    /**
+     * @return the checksum calculated while the content was written, or null when no checksum was calculated
+     */
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
 }
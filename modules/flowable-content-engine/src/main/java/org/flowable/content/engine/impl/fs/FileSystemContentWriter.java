@@ -0,0 +1,114 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.content.engine.impl.fs;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.flowable.content.api.ContentStorageException;
+
+/**
+ * Writes content streams to files through a {@link FileChannel}, so the content is never held in memory as a whole.
+ */
+public class FileSystemContentWriter {
+
+    // Maximum number of bytes transferred in one call, larger transfers are done in multiple calls
+    protected static final long TRANSFER_SIZE = 8L * 1024L * 1024L;
+
+    protected String checksumAlgorithm;
+
+    /**
+     * @param checksumAlgorithm
+     *            the {@link MessageDigest} algorithm of the checksum calculated while writing, or null to not calculate a checksum
+     */
+    public FileSystemContentWriter(String checksumAlgorithm) {
+        this.checksumAlgorithm = checksumAlgorithm;
+    }
+
+    /**
+     * Writes the given stream to the given file, replacing its content.
+     * 
+     * @return a {@link FileSystemContentObject} for the written file, with the length and checksum of the content
+     */
+    public FileSystemContentObject writeContent(InputStream contentStream, File file, String id) throws IOException {
+        MessageDigest messageDigest = createMessageDigest();
+        long length;
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            length = transferFrom(contentStream, fileChannel, 0L, messageDigest);
+        }
+
+        FileSystemContentObject contentObject = new FileSystemContentObject(file, id, length);
+        if (messageDigest != null) {
+            contentObject.setChecksum(toHexString(messageDigest.digest()));
+        }
+        return contentObject;
+    }
+
+    /**
+     * Writes the given stream to the channel, starting at the given position. A {@link FileInputStream} is transferred without copying it through the heap
+     * when no checksum needs to be calculated.
+     * 
+     * @return the number of bytes written
+     */
+    public static long transferFrom(InputStream contentStream, FileChannel fileChannel, long position, MessageDigest messageDigest) throws IOException {
+        ReadableByteChannel sourceChannel;
+        if (messageDigest == null && contentStream instanceof FileInputStream) {
+            sourceChannel = ((FileInputStream) contentStream).getChannel();
+        } else if (messageDigest != null) {
+            sourceChannel = Channels.newChannel(new DigestInputStream(contentStream, messageDigest));
+        } else {
+            sourceChannel = Channels.newChannel(contentStream);
+        }
+
+        long written = 0L;
+        long transferred;
+        while ((transferred = fileChannel.transferFrom(sourceChannel, position + written, TRANSFER_SIZE)) > 0) {
+            written += transferred;
+        }
+        return written;
+    }
+
+    protected MessageDigest createMessageDigest() {
+        if (checksumAlgorithm == null) {
+            return null;
+        }
+
+        try {
+            return MessageDigest.getInstance(checksumAlgorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new ContentStorageException("Unknown checksum algorithm " + checksumAlgorithm, e);
+        }
+    }
+
+    public static String toHexString(byte[] bytes) {
+        StringBuilder hexString = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hexString.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hexString.toString();
+    }
+
+    public String getChecksumAlgorithm() {
+        return checksumAlgorithm;
+    }
+
+}
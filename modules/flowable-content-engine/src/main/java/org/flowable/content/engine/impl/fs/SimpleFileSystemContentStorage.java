@@ -15,7 +15,6 @@ package org.flowable.content.engine.impl.fs;
 import com.fasterxml.uuid.EthernetAddress;
 import com.fasterxml.uuid.Generators;
 import com.fasterxml.uuid.impl.TimeBasedGenerator;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.common.engine.api.FlowableObjectNotFoundException;
 import org.flowable.content.api.ContentMetaDataKeys;
@@ -26,7 +25,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Map;
@@ -38,6 +36,9 @@ import java.util.Map;
  *
  * The id of the returned {@link ContentObject} indicates in which folder it is stored.
  *
+ * Content is streamed to and from the files through file channels, so it is never held in memory as a whole.
+ * Optionally, a checksum of the content is calculated while it is written (see {@link #setChecksumAlgorithm(String)}).
+ *
  * @author Joram Barrez
  */
 public class SimpleFileSystemContentStorage implements ContentStorage {
@@ -64,6 +65,7 @@ public class SimpleFileSystemContentStorage implements ContentStorage {
     protected File processInstanceFolder;
     protected File caseFolder;
     protected File uncategorizedFolder;
+    protected FileSystemContentWriter contentWriter = new FileSystemContentWriter(null);
 
     public SimpleFileSystemContentStorage(File contentFolderRoot) {
         this.contentFolderRoot = contentFolderRoot;
@@ -94,10 +96,9 @@ public class SimpleFileSystemContentStorage implements ContentStorage {
     public ContentObject createContentObject(InputStream contentStream, Map<String, Object> metaData) {
         String uuid = UUID_GENERATOR.generate().toString();
         File file = getContentFile(metaData, uuid);
-        try (FileOutputStream fos = new FileOutputStream(file, false)) {
-            long length = IOUtils.copy(contentStream, fos);
+        try {
             String contentId = generateContentId(uuid, metaData);
-            return new FileSystemContentObject(file, contentId, length);
+            return contentWriter.writeContent(contentStream, file, contentId);
         } catch (IOException e) {
             throw new ContentStorageException("Could not write content to " + file.getAbsolutePath(), e);
         }
@@ -142,7 +143,7 @@ public class SimpleFileSystemContentStorage implements ContentStorage {
         File tempContentFile = new File(contentFile.getParentFile(), id + TEMP_SUFFIX);
         File oldContentFile = new File(contentFile.getParentFile(), id + OLD_SUFFIX);
         boolean tempFileCreated = false;
-        long length = -1;
+        FileSystemContentObject tempContentObject;
 
         try {
             if (!tempContentFile.createNewFile()) {
@@ -153,9 +154,7 @@ public class SimpleFileSystemContentStorage implements ContentStorage {
             tempFileCreated = true;
 
             // Write the actual content to the file
-            try (FileOutputStream tempOutputStream = new FileOutputStream(tempContentFile)) {
-                length = IOUtils.copy(contentStream, tempOutputStream);
-            }
+            tempContentObject = contentWriter.writeContent(contentStream, tempContentFile, id);
 
             // Rename the content file first
             if (contentFile.renameTo(oldContentFile)) {
@@ -184,7 +183,9 @@ public class SimpleFileSystemContentStorage implements ContentStorage {
             }
         }
 
-        return new FileSystemContentObject(contentFile, id, length);
+        FileSystemContentObject contentObject = new FileSystemContentObject(contentFile, id, tempContentObject.getContentLength());
+        contentObject.setChecksum(tempContentObject.getChecksum());
+        return contentObject;
     }
 
     @Override
@@ -247,6 +248,18 @@ public class SimpleFileSystemContentStorage implements ContentStorage {
         return "file";
     }
 
+    public String getChecksumAlgorithm() {
+        return contentWriter.getChecksumAlgorithm();
+    }
+
+    /**
+     * Sets the {@link java.security.MessageDigest} algorithm, for example 'SHA-256', of the checksum that is calculated while content is written.
+     * The checksum is available on the returned {@link FileSystemContentObject}. By default null, so no checksum is calculated.
+     */
+    public void setChecksumAlgorithm(String checksumAlgorithm) {
+        this.contentWriter = new FileSystemContentWriter(checksumAlgorithm);
+    }
+
     protected File getContentFile(Map<String, Object> metaData, String contentId) {
         return new File(createOrGetFolderBasedOnMetaData(metaData), contentId);
     }
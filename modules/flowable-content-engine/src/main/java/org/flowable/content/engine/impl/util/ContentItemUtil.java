@@ -0,0 +1,34 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.content.engine.impl.util;
+
+import java.util.List;
+
+import org.flowable.content.api.ContentItem;
+import org.flowable.content.api.ContentStorage;
+
+public class ContentItemUtil {
+
+    /**
+     * Deletes the stored content of the given content items, for content items that are deleted without being loaded as entities.
+     */
+    public static void deleteContentObjects(List<ContentItem> contentItems) {
+        ContentStorage contentStorage = CommandContextUtil.getContentEngineConfiguration().getContentStorage();
+        for (ContentItem contentItem : contentItems) {
+            if (contentItem.getContentStoreId() != null && contentItem.isContentAvailable()) {
+                contentStorage.deleteContentObject(contentItem.getContentStoreId());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.content.engine.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.content.api.ContentItem;
+import org.flowable.content.api.ContentNotFoundException;
+import org.flowable.content.api.ContentStorage;
+import org.flowable.content.engine.impl.cmd.DeleteContentItemCmd;
+import org.flowable.content.engine.impl.fs.ContentAddressedFileSystemContentStorage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Checks that the content items release their references to the content of a {@link ContentAddressedFileSystemContentStorage}.
+ */
+public class ContentAddressedContentItemTest extends AbstractFlowableContentTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    protected ContentStorage originalContentStorage;
+    protected ContentAddressedFileSystemContentStorage contentStorage;
+
+    @Before
+    public void useContentAddressedStorage() throws Exception {
+        originalContentStorage = contentEngineConfiguration.getContentStorage();
+        contentStorage = new ContentAddressedFileSystemContentStorage(temporaryFolder.newFolder("content"));
+        contentEngineConfiguration.setContentStorage(contentStorage);
+    }
+
+    @After
+    public void restoreContentStorage() {
+        contentEngineConfiguration.setContentStorage(originalContentStorage);
+    }
+
+    @Test
+    public void updateContentReleasesOldContent() throws Exception {
+        ContentItem contentItem = createContentItem("123456", "hello");
+        ContentItem otherContentItem = createContentItem("123456", "hello");
+        String sharedContentId = contentItem.getContentStoreId();
+        assertEquals(sharedContentId, otherContentItem.getContentStoreId());
+
+        contentService.saveContentItem(contentItem, new ByteArrayInputStream("hello world".getBytes("utf-8")));
+        assertNotEquals(sharedContentId, contentItem.getContentStoreId());
+        assertEquals("hello world", readContent(contentItem.getId()));
+
+        // The other content item still references the old content
+        assertEquals("hello", readContent(otherContentItem.getId()));
+
+        contentService.saveContentItem(otherContentItem, new ByteArrayInputStream("goodbye".getBytes("utf-8")));
+        assertContentDeleted(sharedContentId);
+
+        contentService.deleteContentItem(contentItem.getId());
+        contentService.deleteContentItem(otherContentItem.getId());
+    }
+
+    @Test
+    public void bulkDeleteReleasesContent() throws Exception {
+        ContentItem contentItem = createContentItem("123456", "hello");
+        createContentItem("123456", "hello");
+        ContentItem otherProcessContentItem = createContentItem("654321", "hello");
+        String contentId = contentItem.getContentStoreId();
+
+        contentService.deleteContentItemsByProcessInstanceId("123456");
+        assertEquals("hello", readContent(otherProcessContentItem.getId()));
+
+        contentService.deleteContentItemsByProcessInstanceId("654321");
+        assertContentDeleted(contentId);
+    }
+
+    @Test
+    public void rolledBackDeleteKeepsContent() throws Exception {
+        ContentItem contentItem = createContentItem("123456", "hello");
+
+        try {
+            contentEngineConfiguration.getCommandExecutor().execute(commandContext -> {
+                new DeleteContentItemCmd(contentItem.getId()).execute(commandContext);
+                throw new FlowableException("rollback");
+            });
+            fail("Expected exception");
+        } catch (FlowableException e) {
+            // expected
+        }
+
+        assertEquals("hello", readContent(contentItem.getId()));
+
+        contentService.deleteContentItem(contentItem.getId());
+        assertContentDeleted(contentItem.getContentStoreId());
+    }
+
+    protected ContentItem createContentItem(String processInstanceId, String content) throws Exception {
+        ContentItem contentItem = contentService.newContentItem();
+        contentItem.setName("testItem");
+        contentItem.setMimeType("text/plain");
+        contentItem.setProcessInstanceId(processInstanceId);
+        contentService.saveContentItem(contentItem, new ByteArrayInputStream(content.getBytes("utf-8")));
+        return contentItem;
+    }
+
+    protected String readContent(String contentItemId) throws Exception {
+        try (InputStream contentStream = contentService.getContentItemData(contentItemId)) {
+            return IOUtils.toString(contentStream, "utf-8");
+        }
+    }
+
+    protected void assertContentDeleted(String contentId) {
+        try {
+            contentStorage.getContentObject(contentId);
+            fail("Expected not found exception");
+        } catch (ContentNotFoundException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.content.engine.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.util.Collections;
+
+import org.apache.commons.io.IOUtils;
+import org.flowable.content.api.ContentNotFoundException;
+import org.flowable.content.api.ContentObject;
+import org.flowable.content.api.RangedContentObject;
+import org.flowable.content.engine.impl.fs.CompressedFileSystemContentObject;
+import org.flowable.content.engine.impl.fs.ContentAddressedFileSystemContentStorage;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ContentAddressedFileSystemContentStorageTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    protected ContentAddressedFileSystemContentStorage contentStorage;
+
+    @Before
+    public void createContentStorage() throws Exception {
+        contentStorage = new ContentAddressedFileSystemContentStorage(temporaryFolder.newFolder("content"));
+    }
+
+    @Test
+    public void storeIdenticalContentOnce() throws Exception {
+        ContentObject contentObject = createContentObject("hello");
+        ContentObject otherContentObject = createContentObject("hello");
+        ContentObject differentContentObject = createContentObject("goodbye");
+
+        assertEquals(contentObject.getId(), otherContentObject.getId());
+        assertNotEquals(contentObject.getId(), differentContentObject.getId());
+        assertEquals(5L, contentObject.getContentLength());
+
+        // Sharded by the start of the hash
+        File contentFile = new File(contentStorage.getRootFolder(), contentObject.getId().substring(0, 2) + File.separator
+                + contentObject.getId().substring(2, 4) + File.separator + contentObject.getId());
+        assertTrue(contentFile.exists());
+
+        // The content is kept until its last reference is deleted
+        contentStorage.deleteContentObject(contentObject.getId());
+        assertEquals("hello", readContent(contentObject.getId()));
+        assertTrue(contentFile.exists());
+
+        contentStorage.deleteContentObject(otherContentObject.getId());
+        assertFalse(contentFile.exists());
+        try {
+            contentStorage.getContentObject(contentObject.getId());
+            fail("Expected not found exception");
+        } catch (ContentNotFoundException e) {
+            // expected
+        }
+
+        assertEquals("goodbye", readContent(differentContentObject.getId()));
+    }
+
+    @Test
+    public void updateSharedContent() throws Exception {
+        ContentObject contentObject = createContentObject("hello");
+        createContentObject("hello");
+
+        ContentObject updatedContentObject = contentStorage.updateContentObject(contentObject.getId(),
+                new ByteArrayInputStream("hello world".getBytes("utf-8")), Collections.<String, Object>emptyMap());
+
+        assertNotEquals(contentObject.getId(), updatedContentObject.getId());
+        assertEquals("hello world", readContent(updatedContentObject.getId()));
+
+        // The other reference to the old content still works
+        assertEquals("hello", readContent(contentObject.getId()));
+        contentStorage.deleteContentObject(contentObject.getId());
+        try {
+            contentStorage.getContentObject(contentObject.getId());
+            fail("Expected not found exception");
+        } catch (ContentNotFoundException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void compressContent() throws Exception {
+        contentStorage.setCompressionEnabled(true);
+
+        StringBuilder compressibleContent = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            compressibleContent.append("This is compressible content. ");
+        }
+
+        ContentObject contentObject = createContentObject(compressibleContent.toString());
+        assertEquals(compressibleContent.length(), contentObject.getContentLength());
+
+        ContentObject storedContentObject = contentStorage.getContentObject(contentObject.getId());
+        assertTrue(storedContentObject instanceof CompressedFileSystemContentObject);
+        assertTrue(((CompressedFileSystemContentObject) storedContentObject).getFile().length() < compressibleContent.length());
+        assertEquals(compressibleContent.length(), storedContentObject.getContentLength());
+        assertEquals(compressibleContent.toString(), readContent(contentObject.getId()));
+
+        // Content that doesn't get smaller is stored as is
+        ContentObject smallContentObject = createContentObject("hi");
+        assertTrue(contentStorage.getContentObject(smallContentObject.getId()) instanceof RangedContentObject);
+        assertEquals("hi", readContent(smallContentObject.getId()));
+    }
+
+    protected ContentObject createContentObject(String content) throws Exception {
+        return contentStorage.createContentObject(new ByteArrayInputStream(content.getBytes("utf-8")), Collections.<String, Object>emptyMap());
+    }
+
+    protected String readContent(String id) throws Exception {
+        try (InputStream contentStream = contentStorage.getContentObject(id).getContent()) {
+            return IOUtils.toString(contentStream, "utf-8");
+        }
+    }
+
+}
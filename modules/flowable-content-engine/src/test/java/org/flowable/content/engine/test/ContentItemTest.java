@@ -19,13 +19,18 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
 
 import org.apache.commons.io.IOUtils;
 import org.flowable.common.engine.api.FlowableObjectNotFoundException;
 import org.flowable.content.api.ContentItem;
+import org.flowable.content.api.ContentObject;
+import org.flowable.content.api.RangedContentObject;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -132,6 +137,34 @@ public class ContentItemTest extends AbstractFlowableContentTest {
 
     }
 
+    @Test
+    public void readContentItemDataRange() throws Exception {
+        ContentItem contentItem = contentService.newContentItem();
+        contentItem.setName("testItem");
+        contentItem.setMimeType("text/plain");
+        contentItem.setTaskId("123456");
+        contentService.saveContentItem(contentItem, new ByteArrayInputStream("This is binary content".getBytes("utf-8")));
+
+        try {
+            ContentObject contentObject = contentService.getContentItemContentObject(contentItem.getId());
+            assertTrue(contentObject instanceof RangedContentObject);
+            assertEquals(22L, contentObject.getContentLength());
+
+            RangedContentObject rangedContentObject = (RangedContentObject) contentObject;
+            try (InputStream contentStream = rangedContentObject.getContent(8, 6)) {
+                assertEquals("binary", IOUtils.toString(contentStream, "utf-8"));
+            }
+
+            // The range is cut off at the end of the content
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            assertEquals(7L, rangedContentObject.transferTo(15, 100, Channels.newChannel(outputStream)));
+            assertEquals("content", outputStream.toString("utf-8"));
+
+        } finally {
+            contentService.deleteContentItem(contentItem.getId());
+        }
+    }
+
     @Test
     public void createSimpleUncategorizedContentItemWithoutIdWithData() throws Exception {
         ContentItem contentItem = contentService.newContentItem();
@@ -22,26 +22,46 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import io.swagger.annotations.Authorization;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CloseShieldInputStream;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
 import org.flowable.common.engine.api.FlowableObjectNotFoundException;
+import org.flowable.common.rest.exception.FlowableConflictException;
 import org.flowable.content.api.ContentItem;
+import org.flowable.content.api.ContentObject;
+import org.flowable.content.api.RangedContentObject;
+import org.flowable.content.engine.ContentEngine;
 import org.flowable.content.rest.ContentRestResponseFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * @author Tijs Rademakers
@@ -50,50 +70,118 @@ import java.io.InputStream;
 @Api(tags = { "Content item" }, description = "Manage content item data", authorizations = { @Authorization(value = "basicAuth") })
 public class ContentItemDataResource extends ContentItemBaseResource {
 
+    // bytes <first>-<last>/<total> for a chunk, bytes */<total> to ask for the upload status
+    protected static final Pattern CONTENT_RANGE_PATTERN = Pattern.compile("bytes (?:(\\d+)-(\\d+)|\\*)/(\\d+)");
+
+    // Chunked uploads are assembled in a file with this suffix, starting with a header holding the announced total length
+    protected static final String UPLOAD_FILE_SUFFIX = ".upload";
+    protected static final int UPLOAD_HEADER_LENGTH = 8;
+
+    // Total length in the header of an upload file that has been completed or expired, for requests that opened it before it was deleted
+    protected static final long REMOVED_UPLOAD_TOTAL_LENGTH = -1L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContentItemDataResource.class);
+
     @Autowired
     protected ContentRestResponseFactory contentRestResponseFactory;
 
+    @Autowired
+    protected ContentEngine contentEngine;
+
+    protected volatile long lastExpiredUploadsCheck;
+
     @ApiOperation(value = "Get the data of a content item", tags = {"Content item" },
-            notes = "The response body contains the binary content. By default, the content-type of the response is set to application/octet-stream unless the content item type contains a valid mime type.")
+            notes = "The response body contains the binary content. By default, the content-type of the response is set to application/octet-stream unless the content item type contains a valid mime type. "
+                    + "When the content storage supports it, a single byte range can be requested with a Range header.")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Indicates the content item was found and the requested content is returned."),
-            @ApiResponse(code = 404, message = "Indicates the content item was not found or the content item doesn’t have a binary stream available. Status message provides additional information.")
+            @ApiResponse(code = 206, message = "Indicates the content item was found and the requested range of the content is returned."),
+            @ApiResponse(code = 404, message = "Indicates the content item was not found or the content item doesn’t have a binary stream available. Status message provides additional information."),
+            @ApiResponse(code = 416, message = "Indicates the requested range is not part of the content.")
     })
     @GetMapping(value = "/content-service/content-items/{contentItemId}/data")
-    public ResponseEntity<byte[]> getContentItemData(@ApiParam(name = "contentItemId") @PathVariable("contentItemId") String contentItemId, HttpServletResponse response) {
+    public void getContentItemData(@ApiParam(name = "contentItemId") @PathVariable("contentItemId") String contentItemId,
+            HttpServletRequest request, HttpServletResponse response) {
 
         ContentItem contentItem = getContentItemFromRequest(contentItemId);
         if (!contentItem.isContentAvailable()) {
             throw new FlowableException("No data available for content item " + contentItemId);
         }
 
-        InputStream dataStream = contentService.getContentItemData(contentItemId);
-        if (dataStream == null) {
+        ContentObject contentObject = contentService.getContentItemContentObject(contentItemId);
+        if (contentObject == null) {
             throw new FlowableObjectNotFoundException("Content item with id '" + contentItemId + "' doesn't have content associated with it.");
         }
 
-        HttpHeaders responseHeaders = new HttpHeaders();
         MediaType mediaType = null;
         if (contentItem.getMimeType() != null) {
             try {
                 mediaType = MediaType.valueOf(contentItem.getMimeType());
-                responseHeaders.set("Content-Type", contentItem.getMimeType());
+                response.setContentType(contentItem.getMimeType());
             } catch (Exception e) {
                 // ignore if unknown media type
             }
         }
 
         if (mediaType == null) {
-            responseHeaders.set("Content-Type", "application/octet-stream");
+            response.setContentType("application/octet-stream");
+        }
+
+        long contentLength = contentObject.getContentLength();
+        long start = 0;
+        long length = contentLength;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (contentObject instanceof RangedContentObject) {
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+            if (rangeHeader != null) {
+                List<HttpRange> ranges = parseRanges(rangeHeader);
+
+                // Multiple ranges are answered with the full content, which is allowed by RFC 7233
+                if (ranges.size() == 1) {
+                    HttpRange range = ranges.get(0);
+                    start = range.getRangeStart(contentLength);
+                    long end = range.getRangeEnd(contentLength);
+                    if (start >= contentLength || end < start) {
+                        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + contentLength);
+                        response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                        return;
+                    }
+
+                    length = end - start + 1;
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + contentLength);
+                }
+            }
         }
 
+        response.setContentLengthLong(length);
+
         try {
-            return new ResponseEntity<>(IOUtils.toByteArray(dataStream), responseHeaders, HttpStatus.OK);
+            if (contentObject instanceof RangedContentObject) {
+                // Streams the content straight from the storage, without buffering it on the heap
+                ((RangedContentObject) contentObject).transferTo(start, length, Channels.newChannel(response.getOutputStream()));
+            } else {
+                try (InputStream dataStream = contentObject.getContent()) {
+                    IOUtils.copyLarge(dataStream, response.getOutputStream());
+                }
+            }
+            response.flushBuffer();
+
         } catch (Exception e) {
             throw new FlowableException("Error getting content item data " + contentItemId, e);
         }
     }
 
+    protected List<HttpRange> parseRanges(String rangeHeader) {
+        try {
+            return HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            throw new FlowableIllegalArgumentException("Invalid Range header: " + rangeHeader);
+        }
+    }
+
     @ApiOperation(value = "Save the content item data", tags = { "Content item" }, notes = "Save the content item data with an attached file"
             + "The request should be of type multipart/form-data. There should be a single file-part included with the binary value of the content item.")
     @ApiImplicitParams({
@@ -131,4 +219,217 @@ public class ContentItemDataResource extends ContentItemBaseResource {
         }
     }
 
+    @ApiOperation(value = "Upload a chunk of the content item data", tags = { "Content item" }, notes = "Uploads the content item data in chunks, so that an interrupted upload can be resumed. "
+            + "The request body contains the binary chunk and the Content-Range header its position, for example 'bytes 0-1048575/5000000'. Chunks must be uploaded in order. "
+            + "A request with Content-Range 'bytes */5000000' and no body returns the upload status. As long as not all data is received, the response has no body and its Range header "
+            + "tells which bytes were received. The content item data is saved when the last chunk is received. "
+            + "All chunks must announce the same total length, and only one chunk of a content item can be uploaded at the same time. "
+            + "Uploads that do not receive a chunk for longer than the upload expiration time of the content engine are deleted.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Indicates the last chunk was received and the content item data was saved."),
+            @ApiResponse(code = 202, message = "Indicates the chunk was received, but not all data is received yet."),
+            @ApiResponse(code = 400, message = "Indicates the Content-Range header is missing or invalid, or the body does not match the Content-Range header."),
+            @ApiResponse(code = 409, message = "Indicates the chunk does not continue the data received so far, announces another total length, or another chunk is being uploaded.")
+    })
+    @PutMapping(value = "/content-service/content-items/{contentItemId}/data", produces = "application/json")
+    public ContentItemResponse uploadContentItemDataChunk(@ApiParam(name = "contentItemId") @PathVariable("contentItemId") String contentItemId,
+            HttpServletRequest request, HttpServletResponse response) {
+
+        ContentItem contentItem = getContentItemFromRequest(contentItemId);
+
+        String contentRange = request.getHeader(HttpHeaders.CONTENT_RANGE);
+        Matcher matcher = contentRange != null ? CONTENT_RANGE_PATTERN.matcher(contentRange.trim()) : null;
+        if (matcher == null || !matcher.matches()) {
+            throw new FlowableIllegalArgumentException("A Content-Range header like 'bytes 0-1023/4096' is required to upload a chunk of content item data.");
+        }
+
+        long totalLength = Long.parseLong(matcher.group(3));
+        File uploadFolder = getUploadFolder();
+        deleteExpiredUploads(uploadFolder);
+
+        File uploadFile = new File(uploadFolder, contentItemId + UPLOAD_FILE_SUFFIX);
+        if (matcher.group(1) == null && !uploadFile.exists()) {
+            response.setStatus(HttpStatus.ACCEPTED.value());
+            return null;
+        }
+
+        long receivedLength;
+        try (FileChannel uploadChannel = FileChannel.open(uploadFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                FileLock uploadLock = lockUpload(uploadChannel, contentItemId)) {
+
+            long uploadTotalLength = readUploadTotalLength(uploadChannel, totalLength);
+            if (uploadTotalLength == REMOVED_UPLOAD_TOTAL_LENGTH) {
+                throw new FlowableConflictException("The upload of content item " + contentItemId + " was completed or expired by another request.");
+            }
+            if (uploadTotalLength != totalLength) {
+                throw new FlowableConflictException("Content item " + contentItemId + " is being uploaded with a total length of " + uploadTotalLength
+                        + " bytes, the Content-Range header announces " + totalLength + " bytes.");
+            }
+
+            long priorLength = uploadChannel.size() - UPLOAD_HEADER_LENGTH;
+            if (matcher.group(1) != null) {
+                long first = Long.parseLong(matcher.group(1));
+                long last = Long.parseLong(matcher.group(2));
+                if (last < first || last >= totalLength) {
+                    throw new FlowableIllegalArgumentException("Invalid Content-Range header: " + contentRange);
+                }
+
+                if (first > priorLength) {
+                    throw new FlowableConflictException("Chunk starts at byte " + first + ", but only " + priorLength
+                            + " bytes of content item " + contentItemId + " were received.");
+                }
+
+                long chunkLength = last - first + 1;
+                boolean chunkReceived = false;
+                try {
+                    long written = writeChunk(request.getInputStream(), uploadChannel, UPLOAD_HEADER_LENGTH + first, chunkLength);
+                    if (written != chunkLength) {
+                        throw new FlowableIllegalArgumentException("Chunk has " + written + " bytes, while the Content-Range header announces " + chunkLength + " bytes.");
+                    }
+
+                    // A chunk that is uploaded again replaces all data after it
+                    uploadChannel.truncate(UPLOAD_HEADER_LENGTH + last + 1);
+                    chunkReceived = true;
+
+                } finally {
+                    if (!chunkReceived) {
+                        // Drops whatever was written of a failed chunk, so the upload can be resumed from the data received before it
+                        uploadChannel.truncate(UPLOAD_HEADER_LENGTH + priorLength);
+                    }
+                }
+            }
+
+            receivedLength = uploadChannel.size() - UPLOAD_HEADER_LENGTH;
+            if (receivedLength >= totalLength) {
+                // Saved and removed while the upload is locked, so a concurrent request can not save it a second time
+                uploadChannel.position(UPLOAD_HEADER_LENGTH);
+                contentService.saveContentItem(contentItem, new CloseShieldInputStream(Channels.newInputStream(uploadChannel)));
+                removeUpload(uploadChannel, uploadFile);
+            }
+
+        } catch (IOException e) {
+            throw new FlowableException("Error while receiving data for content item " + contentItemId, e);
+        }
+
+        if (receivedLength < totalLength) {
+            if (receivedLength > 0) {
+                response.setHeader(HttpHeaders.RANGE, "bytes=0-" + (receivedLength - 1));
+            }
+            response.setStatus(HttpStatus.ACCEPTED.value());
+            return null;
+        }
+
+        response.setStatus(HttpStatus.CREATED.value());
+        return contentRestResponseFactory.createContentItemResponse(contentItem);
+    }
+
+    protected long writeChunk(InputStream chunkStream, FileChannel uploadChannel, long position, long chunkLength) throws IOException {
+        ReadableByteChannel chunkChannel = Channels.newChannel(chunkStream);
+        long written = 0;
+        long transferred;
+        while (written < chunkLength && (transferred = uploadChannel.transferFrom(chunkChannel, position + written, chunkLength - written)) > 0) {
+            written += transferred;
+        }
+
+        // More data than announced
+        if (written == chunkLength && chunkStream.read() != -1) {
+            written++;
+        }
+        return written;
+    }
+
+    protected FileLock lockUpload(FileChannel uploadChannel, String contentItemId) throws IOException {
+        FileLock uploadLock;
+        try {
+            uploadLock = uploadChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            uploadLock = null;
+        }
+
+        if (uploadLock == null) {
+            throw new FlowableConflictException("Another chunk of content item " + contentItemId + " is being uploaded.");
+        }
+        return uploadLock;
+    }
+
+    /**
+     * Returns the total length stored in the header of the upload file, or stores the given total length when the upload is new.
+     */
+    protected long readUploadTotalLength(FileChannel uploadChannel, long totalLength) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(UPLOAD_HEADER_LENGTH);
+        if (uploadChannel.size() < UPLOAD_HEADER_LENGTH) {
+            header.putLong(totalLength).flip();
+            uploadChannel.truncate(0);
+            while (header.hasRemaining()) {
+                uploadChannel.write(header, header.position());
+            }
+            return totalLength;
+        }
+
+        while (header.hasRemaining() && uploadChannel.read(header, header.position()) >= 0) {
+            // read the complete header
+        }
+        header.flip();
+        return header.getLong();
+    }
+
+    /**
+     * Deletes the upload file. Must be called while the upload is locked. The data is dropped and the header is marked as removed first,
+     * as a request that opened the file before it was deleted still gets the lock on it afterwards.
+     */
+    protected void removeUpload(FileChannel uploadChannel, File uploadFile) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(UPLOAD_HEADER_LENGTH);
+        header.putLong(REMOVED_UPLOAD_TOTAL_LENGTH).flip();
+        uploadChannel.truncate(UPLOAD_HEADER_LENGTH);
+        while (header.hasRemaining()) {
+            uploadChannel.write(header, header.position());
+        }
+        if (!uploadFile.delete() && uploadFile.exists()) {
+            LOGGER.warn("Could not delete upload file {}, it is deleted once it has expired", uploadFile.getAbsolutePath());
+        }
+    }
+
+    protected File getUploadFolder() {
+        File uploadFolder = new File(contentEngine.getContentEngineConfiguration().getContentUploadFolder());
+        if (!uploadFolder.exists() && !uploadFolder.mkdirs() && !uploadFolder.exists()) {
+            throw new FlowableException("Could not create upload folder " + uploadFolder.getAbsolutePath());
+        }
+        return uploadFolder;
+    }
+
+    /**
+     * Deletes the uploads that did not receive a chunk for longer than the upload expiration time of the content engine.
+     * The upload folder is checked at most once per expiration time, and uploads that are locked by a request are skipped.
+     */
+    protected void deleteExpiredUploads(File uploadFolder) {
+        long expirationTime = contentEngine.getContentEngineConfiguration().getContentUploadExpirationTime();
+        long now = System.currentTimeMillis();
+        if (now - lastExpiredUploadsCheck < expirationTime) {
+            return;
+        }
+        lastExpiredUploadsCheck = now;
+
+        File[] uploadFiles = uploadFolder.listFiles((dir, name) -> name.endsWith(UPLOAD_FILE_SUFFIX));
+        if (uploadFiles == null) {
+            return;
+        }
+
+        for (File uploadFile : uploadFiles) {
+            if (now - uploadFile.lastModified() < expirationTime) {
+                continue;
+            }
+
+            try (FileChannel uploadChannel = FileChannel.open(uploadFile.toPath(), StandardOpenOption.WRITE);
+                    FileLock uploadLock = uploadChannel.tryLock()) {
+                if (uploadLock != null) {
+                    LOGGER.debug("Deleting abandoned upload {}", uploadFile.getName());
+                    removeUpload(uploadChannel, uploadFile);
+                }
+
+            } catch (IOException | OverlappingFileLockException e) {
+                LOGGER.debug("Could not delete abandoned upload {} : {}", uploadFile.getName(), e.getMessage());
+            }
+        }
+    }
+
 }
@@ -13,8 +13,13 @@
 package org.flowable.content.rest.service.api.content;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpStatus;
@@ -22,6 +27,7 @@ import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.StringEntity;
 import org.flowable.content.api.ContentItem;
 import org.flowable.content.rest.ContentRestUrls;
@@ -95,6 +101,184 @@ public class ContentItemResourceTest extends BaseSpringContentRestTestCase {
         }
     }
 
+    public void testGetContentItemDataRange() throws Exception {
+        InputStream binaryContent = new ByteArrayInputStream("This is binary content".getBytes());
+        String contentItemId = createContentItem("test.pdf", "application/pdf", null,
+                "12345", null, null, "test", "test2", binaryContent);
+
+        try {
+            HttpGet httpGet = new HttpGet(SERVER_URL_PREFIX + ContentRestUrls.createRelativeResourceUrl(
+                    ContentRestUrls.URL_CONTENT_ITEM_DATA, contentItemId));
+            httpGet.setHeader("Range", "bytes=8-13");
+            CloseableHttpResponse response = executeRequest(httpGet, HttpStatus.SC_PARTIAL_CONTENT);
+            assertEquals("bytes 8-13/22", response.getFirstHeader("Content-Range").getValue());
+            assertEquals("binary", IOUtils.toString(response.getEntity().getContent()));
+            closeResponse(response);
+
+            // Suffix range
+            httpGet.setHeader("Range", "bytes=-7");
+            response = executeRequest(httpGet, HttpStatus.SC_PARTIAL_CONTENT);
+            assertEquals("content", IOUtils.toString(response.getEntity().getContent()));
+            closeResponse(response);
+
+            httpGet.setHeader("Range", "bytes=100-");
+            response = executeRequest(httpGet, HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            assertEquals("bytes */22", response.getFirstHeader("Content-Range").getValue());
+            closeResponse(response);
+
+        } finally {
+            contentService.deleteContentItem(contentItemId);
+        }
+    }
+
+    public void testUploadContentItemDataInChunks() throws Exception {
+        String contentItemId = createContentItem("test.txt", "text/plain", null,
+                "12345", null, null, "test", "test2");
+
+        try {
+            String url = SERVER_URL_PREFIX + ContentRestUrls.createRelativeResourceUrl(ContentRestUrls.URL_CONTENT_ITEM_DATA, contentItemId);
+
+            HttpPut httpPut = new HttpPut(url);
+            httpPut.setHeader("Content-Range", "bytes 0-7/22");
+            httpPut.setEntity(new ByteArrayEntity("This is ".getBytes()));
+            CloseableHttpResponse response = executeBinaryRequest(httpPut, HttpStatus.SC_ACCEPTED);
+            assertEquals("bytes=0-7", response.getFirstHeader("Range").getValue());
+            closeResponse(response);
+
+            // A chunk after a missing chunk is refused
+            httpPut = new HttpPut(url);
+            httpPut.setHeader("Content-Range", "bytes 15-21/22");
+            httpPut.setEntity(new ByteArrayEntity("content".getBytes()));
+            closeResponse(executeBinaryRequest(httpPut, HttpStatus.SC_CONFLICT));
+
+            // Resume from the upload status
+            httpPut = new HttpPut(url);
+            httpPut.setHeader("Content-Range", "bytes */22");
+            response = executeBinaryRequest(httpPut, HttpStatus.SC_ACCEPTED);
+            assertEquals("bytes=0-7", response.getFirstHeader("Range").getValue());
+            closeResponse(response);
+
+            assertFalse(contentService.createContentItemQuery().id(contentItemId).singleResult().isContentAvailable());
+
+            httpPut = new HttpPut(url);
+            httpPut.setHeader("Content-Range", "bytes 8-21/22");
+            httpPut.setEntity(new ByteArrayEntity("binary content".getBytes()));
+            response = executeBinaryRequest(httpPut, HttpStatus.SC_CREATED);
+            JsonNode responseNode = objectMapper.readTree(response.getEntity().getContent());
+            closeResponse(response);
+            assertEquals(contentItemId, responseNode.get("id").asText());
+
+            ContentItem contentItem = contentService.createContentItemQuery().id(contentItemId).singleResult();
+            assertTrue(contentItem.isContentAvailable());
+            assertEquals(22L, contentItem.getContentSize().longValue());
+            try (InputStream contentStream = contentService.getContentItemData(contentItemId)) {
+                assertEquals("This is binary content", IOUtils.toString(contentStream));
+            }
+
+        } finally {
+            contentService.deleteContentItem(contentItemId);
+        }
+    }
+
+    public void testUploadContentItemDataChunkFailures() throws Exception {
+        String contentItemId = createContentItem("test.txt", "text/plain", null,
+                "12345", null, null, "test", "test2");
+
+        try {
+            String url = SERVER_URL_PREFIX + ContentRestUrls.createRelativeResourceUrl(ContentRestUrls.URL_CONTENT_ITEM_DATA, contentItemId);
+
+            HttpPut httpPut = new HttpPut(url);
+            httpPut.setHeader("Content-Range", "bytes 0-7/22");
+            httpPut.setEntity(new ByteArrayEntity("This is ".getBytes()));
+            closeResponse(executeBinaryRequest(httpPut, HttpStatus.SC_ACCEPTED));
+
+            // The total length can not change during an upload
+            httpPut = new HttpPut(url);
+            httpPut.setHeader("Content-Range", "bytes 8-13/30");
+            httpPut.setEntity(new ByteArrayEntity("binary".getBytes()));
+            closeResponse(executeBinaryRequest(httpPut, HttpStatus.SC_CONFLICT));
+
+            // A chunk shorter than announced is dropped, the data received before it is kept
+            httpPut = new HttpPut(url);
+            httpPut.setHeader("Content-Range", "bytes 8-21/22");
+            httpPut.setEntity(new ByteArrayEntity("binary".getBytes()));
+            closeResponse(executeBinaryRequest(httpPut, HttpStatus.SC_BAD_REQUEST));
+
+            httpPut = new HttpPut(url);
+            httpPut.setHeader("Content-Range", "bytes */22");
+            CloseableHttpResponse response = executeBinaryRequest(httpPut, HttpStatus.SC_ACCEPTED);
+            assertEquals("bytes=0-7", response.getFirstHeader("Range").getValue());
+            closeResponse(response);
+
+            // Only one chunk of a content item can be uploaded at the same time
+            File uploadFile = new File(contentEngineConfiguration.getContentUploadFolder(), contentItemId + ".upload");
+            try (FileChannel uploadChannel = FileChannel.open(uploadFile.toPath(), StandardOpenOption.WRITE);
+                    FileLock uploadLock = uploadChannel.lock()) {
+                httpPut = new HttpPut(url);
+                httpPut.setHeader("Content-Range", "bytes 8-21/22");
+                httpPut.setEntity(new ByteArrayEntity("binary content".getBytes()));
+                closeResponse(executeBinaryRequest(httpPut, HttpStatus.SC_CONFLICT));
+            }
+
+            httpPut = new HttpPut(url);
+            httpPut.setHeader("Content-Range", "bytes 8-21/22");
+            httpPut.setEntity(new ByteArrayEntity("binary content".getBytes()));
+            closeResponse(executeBinaryRequest(httpPut, HttpStatus.SC_CREATED));
+            assertFalse(uploadFile.exists());
+
+            // A request that opened the upload file before it was removed finds it marked as removed
+            try (FileChannel uploadChannel = FileChannel.open(uploadFile.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(8);
+                header.putLong(-1L).flip();
+                uploadChannel.write(header);
+            }
+            httpPut = new HttpPut(url);
+            httpPut.setHeader("Content-Range", "bytes 0-21/22");
+            httpPut.setEntity(new ByteArrayEntity("This is binary content".getBytes()));
+            closeResponse(executeBinaryRequest(httpPut, HttpStatus.SC_CONFLICT));
+            assertTrue(uploadFile.delete());
+
+            try (InputStream contentStream = contentService.getContentItemData(contentItemId)) {
+                assertEquals("This is binary content", IOUtils.toString(contentStream));
+            }
+
+        } finally {
+            contentService.deleteContentItem(contentItemId);
+        }
+    }
+
+    public void testDeleteAbandonedUploads() throws Exception {
+        String contentItemId = createContentItem("test.txt", "text/plain", null,
+                "12345", null, null, "test", "test2");
+
+        long expirationTime = contentEngineConfiguration.getContentUploadExpirationTime();
+        try {
+            String url = SERVER_URL_PREFIX + ContentRestUrls.createRelativeResourceUrl(ContentRestUrls.URL_CONTENT_ITEM_DATA, contentItemId);
+
+            HttpPut httpPut = new HttpPut(url);
+            httpPut.setHeader("Content-Range", "bytes 0-7/22");
+            httpPut.setEntity(new ByteArrayEntity("This is ".getBytes()));
+            closeResponse(executeBinaryRequest(httpPut, HttpStatus.SC_ACCEPTED));
+
+            File uploadFile = new File(contentEngineConfiguration.getContentUploadFolder(), contentItemId + ".upload");
+            assertTrue(uploadFile.exists());
+            assertTrue(uploadFile.setLastModified(System.currentTimeMillis() - 60000L));
+
+            // The abandoned upload is deleted when the upload folder is checked, so the upload starts over
+            contentEngineConfiguration.setContentUploadExpirationTime(1L);
+            httpPut = new HttpPut(url);
+            httpPut.setHeader("Content-Range", "bytes */22");
+            CloseableHttpResponse response = executeBinaryRequest(httpPut, HttpStatus.SC_ACCEPTED);
+            assertNull(response.getFirstHeader("Range"));
+            closeResponse(response);
+            assertFalse(uploadFile.exists());
+
+        } finally {
+            contentEngineConfiguration.setContentUploadExpirationTime(expirationTime);
+            contentService.deleteContentItem(contentItemId);
+        }
+    }
+
     public void testUpdateContentItem() throws Exception {
         String contentItemId = createContentItem("test.pdf", "application/pdf", null,
                 "12345", null, null, "test", "test2");
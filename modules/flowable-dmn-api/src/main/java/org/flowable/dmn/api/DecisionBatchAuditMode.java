@@ -0,0 +1,38 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.api;
+
+/**
+ * How the executions of a decision batch are audited, see {@link ExecuteDecisionBatchBuilder#auditMode(DecisionBatchAuditMode)}.
+ */
+public enum DecisionBatchAuditMode {
+
+    /**
+     * The decision result and audit trail of every execution are returned and, when history is enabled, stored as a historic decision execution.
+     * All of these are kept in memory until the batch command ends, so this is only meant for small batches.
+     */
+    FULL,
+
+    /**
+     * Only the number of executions, failed executions and valid rules are kept for the batch. No history is written. This is the default.
+     * The decision results of the executions can be handed to a consumer, see {@link ExecuteDecisionBatchBuilder#resultConsumer(java.util.function.Consumer)}.
+     */
+    AGGREGATED,
+
+    /**
+     * Only the number of executions and failed executions are kept for the batch. No history is written.
+     * The decision results of the executions can be handed to a consumer, see {@link ExecuteDecisionBatchBuilder#resultConsumer(java.util.function.Consumer)}.
+     */
+    NONE
+
+}
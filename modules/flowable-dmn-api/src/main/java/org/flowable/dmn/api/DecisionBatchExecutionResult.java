@@ -0,0 +1,90 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The result of executing a decision for a batch of input variables, see {@link ExecuteDecisionBatchBuilder}.
+ */
+public class DecisionBatchExecutionResult {
+
+    protected List<List<Map<String, Object>>> decisionResults = new ArrayList<>();
+    protected List<DecisionExecutionAuditContainer> auditContainers = new ArrayList<>();
+    protected long executionCount;
+    protected long failedExecutionCount;
+    protected Map<Integer, Long> validRuleCounts = new TreeMap<>();
+
+    /**
+     * Adds the outcome of one execution of the batch.
+     *
+     * @param auditContainer the audit trail of the execution
+     * @param auditMode how much of the audit trail is kept
+     */
+    public void addExecution(DecisionExecutionAuditContainer auditContainer, DecisionBatchAuditMode auditMode) {
+        executionCount++;
+
+        if (Boolean.TRUE.equals(auditContainer.isFailed())) {
+            failedExecutionCount++;
+        }
+
+        if (auditMode == DecisionBatchAuditMode.NONE) {
+            return;
+        }
+
+        for (RuleExecutionAuditContainer ruleExecution : auditContainer.getRuleExecutions().values()) {
+            if (Boolean.TRUE.equals(ruleExecution.isValid())) {
+                Long count = validRuleCounts.get(ruleExecution.getRuleNumber());
+                validRuleCounts.put(ruleExecution.getRuleNumber(), count != null ? count + 1 : 1L);
+            }
+        }
+
+        if (auditMode == DecisionBatchAuditMode.FULL) {
+            decisionResults.add(auditContainer.getDecisionResult());
+            auditContainers.add(auditContainer);
+        }
+    }
+
+    /**
+     * @return the decision results of the executions, in the order of the input variables. Empty unless the batch was executed with {@link DecisionBatchAuditMode#FULL}.
+     */
+    public List<List<Map<String, Object>>> getDecisionResults() {
+        return decisionResults;
+    }
+
+    /**
+     * @return the audit trails of the executions, in the order of the input variables. Empty unless the batch was executed with {@link DecisionBatchAuditMode#FULL}.
+     */
+    public List<DecisionExecutionAuditContainer> getAuditContainers() {
+        return auditContainers;
+    }
+
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    public long getFailedExecutionCount() {
+        return failedExecutionCount;
+    }
+
+    /**
+     * @return for each rule number, the number of executions for which the rule was valid. Empty when the batch was executed with {@link DecisionBatchAuditMode#NONE}.
+     */
+    public Map<Integer, Long> getValidRuleCounts() {
+        return validRuleCounts;
+    }
+
+}
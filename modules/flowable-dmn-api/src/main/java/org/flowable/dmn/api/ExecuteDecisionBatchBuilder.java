@@ -0,0 +1,83 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.api;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Helper for executing a decision for many sets of input variables at once.
+ * 
+ * An instance can be obtained through {@link org.flowable.dmn.api.DmnRuleService#createExecuteDecisionBatchBuilder()}.
+ * 
+ * The decision is looked up once and all input variables are evaluated against it in a single command.
+ */
+public interface ExecuteDecisionBatchBuilder {
+
+    /**
+     * Set the key of the decision
+     **/
+    ExecuteDecisionBatchBuilder decisionKey(String decisionKey);
+
+    /**
+     * Set the parent deployment id
+     */
+    ExecuteDecisionBatchBuilder parentDeploymentId(String parentDeploymentId);
+
+    /**
+     * Set the tenantId
+     **/
+    ExecuteDecisionBatchBuilder tenantId(String tenantId);
+
+    /**
+     * Adds the input variables of one execution
+     */
+    ExecuteDecisionBatchBuilder variables(Map<String, Object> variables);
+
+    /**
+     * Adds the input variables of many executions
+     */
+    ExecuteDecisionBatchBuilder variablesList(Collection<Map<String, Object>> variablesList);
+
+    /**
+     * Sets a stream of input variables, which is consumed in chunks while the batch is executed.
+     * Can't be combined with {@link #variables(Map)} or {@link #variablesList(Collection)}.
+     */
+    ExecuteDecisionBatchBuilder variablesStream(Stream<Map<String, Object>> variablesStream);
+
+    /**
+     * Evaluates the input variables in parallel, using the common fork-join pool.
+     * Only use this for decisions of which the expressions don't depend on the current thread.
+     **/
+    ExecuteDecisionBatchBuilder parallel();
+
+    /**
+     * Sets how the executions are audited. {@link DecisionBatchAuditMode#AGGREGATED} by default.
+     **/
+    ExecuteDecisionBatchBuilder auditMode(DecisionBatchAuditMode auditMode);
+
+    /**
+     * Sets a consumer that gets the audit trail of every execution, in the order of the input variables and on the calling thread, for all audit modes.
+     * Use this to process the decision results of a large batch with {@link DecisionBatchAuditMode#AGGREGATED} or {@link DecisionBatchAuditMode#NONE},
+     * which don't keep the decision results in the {@link DecisionBatchExecutionResult}.
+     **/
+    ExecuteDecisionBatchBuilder resultConsumer(Consumer<DecisionExecutionAuditContainer> resultConsumer);
+
+    /**
+     * Executes the decision for all input variables
+     **/
+    DecisionBatchExecutionResult executeDecisionBatch();
+
+}
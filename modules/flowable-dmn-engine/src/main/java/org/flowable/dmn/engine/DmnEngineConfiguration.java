@@ -30,11 +30,11 @@ import org.flowable.common.engine.impl.HasExpressionManagerEngineConfiguration;
 import org.flowable.common.engine.impl.cfg.BeansConfigurationHelper;
 import org.flowable.common.engine.impl.db.DbSqlSessionFactory;
 import org.flowable.common.engine.impl.el.DefaultExpressionManager;
+import org.flowable.common.engine.impl.el.ExpressionCache;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
 import org.flowable.common.engine.impl.interceptor.SessionFactory;
-import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
 import org.flowable.common.engine.impl.runtime.Clock;
 import org.flowable.dmn.api.DmnEngineConfigurationApi;
@@ -42,6 +42,7 @@ import org.flowable.dmn.api.DmnHistoryService;
 import org.flowable.dmn.api.DmnManagementService;
 import org.flowable.dmn.api.DmnRepositoryService;
 import org.flowable.dmn.api.DmnRuleService;
+import org.flowable.dmn.engine.impl.CompiledRuleEngineExecutorImpl;
 import org.flowable.dmn.engine.impl.DmnEngineImpl;
 import org.flowable.dmn.engine.impl.DmnHistoryServiceImpl;
 import org.flowable.dmn.engine.impl.DmnManagementServiceImpl;
@@ -78,6 +79,7 @@ import org.flowable.dmn.engine.impl.hitpolicy.HitPolicyRuleOrder;
 import org.flowable.dmn.engine.impl.hitpolicy.HitPolicyUnique;
 import org.flowable.dmn.engine.impl.parser.DmnParseFactory;
 import org.flowable.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntry;
+import org.flowable.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntryWeigher;
 import org.flowable.dmn.engine.impl.persistence.deploy.Deployer;
 import org.flowable.dmn.engine.impl.persistence.deploy.DeploymentManager;
 import org.flowable.dmn.engine.impl.persistence.entity.DecisionTableEntityManager;
@@ -140,6 +142,19 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
 
     // EXPRESSION MANAGER /////////////////////////////////////////////
     protected ExpressionManager expressionManager;
+
+    /**
+     * If set to true, the expression manager (when it's a {@link DefaultExpressionManager}) creates the resolvers that don't depend on the variables once,
+     * instead of for every expression evaluation. Only the variable resolver is created per evaluation. False by default.
+     */
+    protected boolean sharedElResolversEnabled;
+
+    /**
+     * The maximum number of parsed expressions the expression manager (when it's a {@link DefaultExpressionManager}) keeps,
+     * so the rules of a decision aren't parsed again for every execution. 0 (the default) disables the cache.
+     */
+    protected int expressionCacheSize;
+
     protected List<FlowableFunctionDelegate> flowableFunctionDelegates;
     protected List<FlowableFunctionDelegate> customFlowableFunctionDelegates;
 
@@ -159,6 +174,12 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
     protected boolean historyEnabled;
 
     protected int decisionCacheLimit = -1; // By default, no limit
+
+    /**
+     * The maximum total weight of the decision cache, as estimated by the {@link DecisionTableCacheEntryWeigher}.
+     * Only used when the concurrent deployment cache is enabled. By default, no limit.
+     */
+    protected long decisionCacheMaxWeight = -1;
     protected DeploymentCache<DecisionTableCacheEntry> decisionCache;
 
     protected ObjectMapper objectMapper = new ObjectMapper();
@@ -184,6 +205,13 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
      */
     protected boolean strictMode = true;
 
+    /**
+     * Set this to true to evaluate decision tables with a {@link CompiledRuleEngineExecutorImpl} (when no ruleEngineExecutor is set):
+     * each input expression is evaluated once per execution and input entries comparing the input with a literal are looked up in an index
+     * instead of being evaluated one by one. The result and audit trail are the same. False by default.
+     */
+    protected boolean compiledDecisionTableEvaluationEnabled;
+
     public static DmnEngineConfiguration createDmnEngineConfigurationFromResourceDefault() {
         return createDmnEngineConfigurationFromResource("flowable.dmn.cfg.xml", "dmnEngineConfiguration");
     }
@@ -395,8 +423,15 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
         if (expressionManager == null) {
             expressionManager = new DefaultExpressionManager(beans);
         }
+        if (sharedElResolversEnabled && expressionManager instanceof DefaultExpressionManager) {
+            ((DefaultExpressionManager) expressionManager).setSharedElResolversEnabled(true);
+        }
 
         expressionManager.setFunctionDelegates(flowableFunctionDelegates);
+        if (expressionCacheSize > 0 && expressionManager instanceof DefaultExpressionManager
+                && ((DefaultExpressionManager) expressionManager).getExpressionCache() == null) {
+            ((DefaultExpressionManager) expressionManager).setExpressionCache(new ExpressionCache(expressionCacheSize));
+        }
     }
 
     // deployers
@@ -420,11 +455,7 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
 
         // Decision cache
         if (decisionCache == null) {
-            if (decisionCacheLimit <= 0) {
-                decisionCache = new DefaultDeploymentCache<>();
-            } else {
-                decisionCache = new DefaultDeploymentCache<>(decisionCacheLimit);
-            }
+            decisionCache = createDeploymentCache(decisionCacheLimit, decisionCacheMaxWeight, new DecisionTableCacheEntryWeigher());
         }
 
         deploymentManager = new DeploymentManager(decisionCache, this);
@@ -527,7 +558,11 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
     /////////////////////////////////////////////////////////////
     public void initRuleEngineExecutor() {
     	if (ruleEngineExecutor == null) {
-	        ruleEngineExecutor = new RuleEngineExecutorImpl(hitPolicyBehaviors, expressionManager, objectMapper);
+    	    if (compiledDecisionTableEvaluationEnabled) {
+    	        ruleEngineExecutor = new CompiledRuleEngineExecutorImpl(hitPolicyBehaviors, expressionManager, objectMapper);
+    	    } else {
+    	        ruleEngineExecutor = new RuleEngineExecutorImpl(hitPolicyBehaviors, expressionManager, objectMapper);
+    	    }
 	        
     	} else {
     	    if (ruleEngineExecutor.getExpressionManager() == null) {
@@ -716,6 +751,24 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
         return this;
     }
 
+    public boolean isSharedElResolversEnabled() {
+        return sharedElResolversEnabled;
+    }
+
+    public DmnEngineConfiguration setSharedElResolversEnabled(boolean sharedElResolversEnabled) {
+        this.sharedElResolversEnabled = sharedElResolversEnabled;
+        return this;
+    }
+
+    public int getExpressionCacheSize() {
+        return expressionCacheSize;
+    }
+
+    public DmnEngineConfiguration setExpressionCacheSize(int expressionCacheSize) {
+        this.expressionCacheSize = expressionCacheSize;
+        return this;
+    }
+
     public List<FlowableFunctionDelegate> getFlowableFunctionDelegates() {
         return flowableFunctionDelegates;
     }
@@ -770,6 +823,15 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
         return this;
     }
 
+    public long getDecisionCacheMaxWeight() {
+        return decisionCacheMaxWeight;
+    }
+
+    public DmnEngineConfiguration setDecisionCacheMaxWeight(long decisionCacheMaxWeight) {
+        this.decisionCacheMaxWeight = decisionCacheMaxWeight;
+        return this;
+    }
+
     public DeploymentCache<DecisionTableCacheEntry> getDecisionCache() {
         return decisionCache;
     }
@@ -944,6 +1006,15 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
         return this;
     }
 
+    public boolean isCompiledDecisionTableEvaluationEnabled() {
+        return compiledDecisionTableEvaluationEnabled;
+    }
+
+    public DmnEngineConfiguration setCompiledDecisionTableEvaluationEnabled(boolean compiledDecisionTableEvaluationEnabled) {
+        this.compiledDecisionTableEvaluationEnabled = compiledDecisionTableEvaluationEnabled;
+        return this;
+    }
+
     @Override
     public DmnEngineConfiguration setClock(Clock clock) {
         this.clock = clock;
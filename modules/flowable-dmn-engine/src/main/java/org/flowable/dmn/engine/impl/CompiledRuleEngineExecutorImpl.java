@@ -0,0 +1,86 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.flowable.common.engine.impl.el.ExpressionManager;
+import org.flowable.dmn.engine.impl.el.CompiledDecisionTable;
+import org.flowable.dmn.engine.impl.el.CompiledDecisionTableEvaluation;
+import org.flowable.dmn.engine.impl.el.ELExecutionContext;
+import org.flowable.dmn.engine.impl.hitpolicy.AbstractHitPolicy;
+import org.flowable.dmn.model.DecisionTable;
+import org.flowable.dmn.model.RuleInputClauseContainer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link RuleEngineExecutorImpl} that evaluates each input expression once per execution, and decides the input entries comparing
+ * the input with a literal through the indexes of a {@link CompiledDecisionTable} instead of evaluating them one by one with JUEL.
+ * Other entries are still evaluated with JUEL. The rules are walked in the same order, so the hit policies and the audit trail are unchanged.
+ */
+public class CompiledRuleEngineExecutorImpl extends RuleEngineExecutorImpl {
+
+    // Weak keys: the decision tables are owned by the decision cache
+    protected Map<DecisionTable, CompiledDecisionTable> compiledDecisionTables = Collections.synchronizedMap(new WeakHashMap<DecisionTable, CompiledDecisionTable>());
+
+    public CompiledRuleEngineExecutorImpl(Map<String, AbstractHitPolicy> hitPolicyBehaviors, ExpressionManager expressionManager, ObjectMapper objectMapper) {
+        super(hitPolicyBehaviors, expressionManager, objectMapper);
+    }
+
+    @Override
+    protected void evaluateDecisionTable(DecisionTable decisionTable, ELExecutionContext executionContext) {
+        if (decisionTable != null && executionContext != null) {
+            executionContext.setCompiledDecisionTableEvaluation(
+                    new CompiledDecisionTableEvaluation(getCompiledDecisionTable(decisionTable), executionContext.getStackVariables()));
+        }
+        super.evaluateDecisionTable(decisionTable, executionContext);
+    }
+
+    @Override
+    protected Boolean executeInputExpressionEvaluation(RuleInputClauseContainer ruleContainer, ELExecutionContext executionContext) {
+        CompiledDecisionTableEvaluation compiledDecisionTableEvaluation = executionContext.getCompiledDecisionTableEvaluation();
+        if (compiledDecisionTableEvaluation != null) {
+            Boolean result = compiledDecisionTableEvaluation.getInputEntryResult(ruleContainer);
+            if (result != null) {
+                return result;
+            }
+        }
+        return super.executeInputExpressionEvaluation(ruleContainer, executionContext);
+    }
+
+    protected CompiledDecisionTable getCompiledDecisionTable(DecisionTable decisionTable) {
+        CompiledDecisionTable compiledDecisionTable = compiledDecisionTables.get(decisionTable);
+        if (compiledDecisionTable == null) {
+            // Compiling a table twice when it's executed concurrently for the first time does no harm
+            compiledDecisionTable = new CompiledDecisionTable(decisionTable, expressionManager);
+            compiledDecisionTables.put(decisionTable, compiledDecisionTable);
+        }
+        return compiledDecisionTable;
+    }
+
+    /**
+     * Drops the compiled decision tables, for example when the expression manager has changed.
+     */
+    public void clearCompiledDecisionTables() {
+        compiledDecisionTables.clear();
+    }
+
+    @Override
+    public void setExpressionManager(ExpressionManager expressionManager) {
+        super.setExpressionManager(expressionManager);
+        clearCompiledDecisionTables();
+    }
+}
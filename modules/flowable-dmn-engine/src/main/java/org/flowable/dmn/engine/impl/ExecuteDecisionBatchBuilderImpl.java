@@ -0,0 +1,158 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.dmn.api.DecisionBatchAuditMode;
+import org.flowable.dmn.api.DecisionBatchExecutionResult;
+import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.api.ExecuteDecisionBatchBuilder;
+
+public class ExecuteDecisionBatchBuilderImpl implements ExecuteDecisionBatchBuilder {
+
+    protected DmnRuleServiceImpl ruleService;
+
+    protected String decisionKey;
+    protected String parentDeploymentId;
+    protected String tenantId;
+    protected List<Map<String, Object>> variablesList;
+    protected Stream<Map<String, Object>> variablesStream;
+    protected boolean parallel;
+    protected DecisionBatchAuditMode auditMode = DecisionBatchAuditMode.AGGREGATED;
+    protected Consumer<DecisionExecutionAuditContainer> resultConsumer;
+
+    public ExecuteDecisionBatchBuilderImpl(DmnRuleServiceImpl ruleService) {
+        this.ruleService = ruleService;
+    }
+
+    @Override
+    public ExecuteDecisionBatchBuilder decisionKey(String decisionKey) {
+        this.decisionKey = decisionKey;
+        return this;
+    }
+
+    @Override
+    public ExecuteDecisionBatchBuilder parentDeploymentId(String parentDeploymentId) {
+        this.parentDeploymentId = parentDeploymentId;
+        return this;
+    }
+
+    @Override
+    public ExecuteDecisionBatchBuilder tenantId(String tenantId) {
+        this.tenantId = tenantId;
+        return this;
+    }
+
+    @Override
+    public ExecuteDecisionBatchBuilder variables(Map<String, Object> variables) {
+        validateNoVariablesStream();
+        if (this.variablesList == null) {
+            this.variablesList = new ArrayList<>();
+        }
+        this.variablesList.add(variables);
+        return this;
+    }
+
+    @Override
+    public ExecuteDecisionBatchBuilder variablesList(Collection<Map<String, Object>> variablesList) {
+        validateNoVariablesStream();
+        if (this.variablesList == null) {
+            this.variablesList = new ArrayList<>();
+        }
+        if (variablesList != null) {
+            this.variablesList.addAll(variablesList);
+        }
+        return this;
+    }
+
+    @Override
+    public ExecuteDecisionBatchBuilder variablesStream(Stream<Map<String, Object>> variablesStream) {
+        if (variablesList != null) {
+            throw new FlowableIllegalArgumentException("Variables are already set, a variables stream can't be set as well");
+        }
+        this.variablesStream = variablesStream;
+        return this;
+    }
+
+    protected void validateNoVariablesStream() {
+        if (variablesStream != null) {
+            throw new FlowableIllegalArgumentException("A variables stream is already set, variables can't be added as well");
+        }
+    }
+
+    @Override
+    public ExecuteDecisionBatchBuilder parallel() {
+        this.parallel = true;
+        return this;
+    }
+
+    @Override
+    public ExecuteDecisionBatchBuilder auditMode(DecisionBatchAuditMode auditMode) {
+        if (auditMode == null) {
+            throw new FlowableIllegalArgumentException("auditMode is null");
+        }
+        this.auditMode = auditMode;
+        return this;
+    }
+
+    @Override
+    public ExecuteDecisionBatchBuilder resultConsumer(Consumer<DecisionExecutionAuditContainer> resultConsumer) {
+        this.resultConsumer = resultConsumer;
+        return this;
+    }
+
+    @Override
+    public DecisionBatchExecutionResult executeDecisionBatch() {
+        return ruleService.executeDecisionBatch(this);
+    }
+
+    public String getDecisionKey() {
+        return decisionKey;
+    }
+
+    public String getParentDeploymentId() {
+        return parentDeploymentId;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public List<Map<String, Object>> getVariablesList() {
+        return variablesList;
+    }
+
+    public Stream<Map<String, Object>> getVariablesStream() {
+        return variablesStream;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public DecisionBatchAuditMode getAuditMode() {
+        return auditMode;
+    }
+
+    public Consumer<DecisionExecutionAuditContainer> getResultConsumer() {
+        return resultConsumer;
+    }
+
+}
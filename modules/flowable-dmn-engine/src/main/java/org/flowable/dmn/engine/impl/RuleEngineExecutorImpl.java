@@ -73,7 +73,80 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
      */
     @Override
     public DecisionExecutionAuditContainer execute(Decision decision, ExecuteDecisionInfo executeDecisionInfo) {
+        DecisionTable currentDecisionTable = getDecisionTable(decision);
 
+        // create execution context and audit trail
+        ELExecutionContext executionContext = ELExecutionContextBuilder.build(decision, executeDecisionInfo.getVariables());
+
+        try {
+            evaluateDecision(currentDecisionTable, executionContext);
+
+        } finally {
+            // end audit trail
+            executionContext.getAuditContainer().stopAudit();
+
+            DmnEngineConfiguration dmnEngineConfiguration = CommandContextUtil.getDmnEngineConfiguration();
+            if (dmnEngineConfiguration.isHistoryEnabled()) {
+                recordDecisionExecution(executionContext.getAuditContainer(), executeDecisionInfo);
+            }
+        }
+
+        return executionContext.getAuditContainer();
+    }
+
+    /**
+     * Executes the given decision table like {@link #execute(Decision, ExecuteDecisionInfo)}, but without writing history.
+     * Nothing is written to the database, so decisions can be executed concurrently for different variables.
+     *
+     * @param decision  the DMN decision
+     * @param variables the input variables
+     * @return the audit trail of the execution
+     */
+    public DecisionExecutionAuditContainer executeWithoutHistory(Decision decision, Map<String, Object> variables) {
+        DecisionTable currentDecisionTable = getDecisionTable(decision);
+        ELExecutionContext executionContext = ELExecutionContextBuilder.build(decision, variables);
+
+        try {
+            evaluateDecision(currentDecisionTable, executionContext);
+
+        } finally {
+            executionContext.getAuditContainer().stopAudit();
+        }
+
+        return executionContext.getAuditContainer();
+    }
+
+    /**
+     * Inserts the historic decision execution for the given audit trail.
+     */
+    public void recordDecisionExecution(DecisionExecutionAuditContainer auditContainer, ExecuteDecisionInfo executeDecisionInfo) {
+        HistoricDecisionExecutionEntityManager historicDecisionExecutionEntityManager = CommandContextUtil.getDmnEngineConfiguration().getHistoricDecisionExecutionEntityManager();
+        HistoricDecisionExecutionEntity decisionExecutionEntity = historicDecisionExecutionEntityManager.create();
+        decisionExecutionEntity.setDecisionDefinitionId(executeDecisionInfo.getDecisionDefinitionId());
+        decisionExecutionEntity.setDeploymentId(executeDecisionInfo.getDeploymentId());
+        decisionExecutionEntity.setStartTime(auditContainer.getStartTime());
+        decisionExecutionEntity.setEndTime(auditContainer.getEndTime());
+        decisionExecutionEntity.setInstanceId(executeDecisionInfo.getInstanceId());
+        decisionExecutionEntity.setExecutionId(executeDecisionInfo.getExecutionId());
+        decisionExecutionEntity.setActivityId(executeDecisionInfo.getActivityId());
+        decisionExecutionEntity.setScopeType(executeDecisionInfo.getScopeType());
+        decisionExecutionEntity.setTenantId(executeDecisionInfo.getTenantId());
+
+        Boolean failed = auditContainer.isFailed();
+        if (BooleanUtils.isTrue(failed)) {
+            decisionExecutionEntity.setFailed(failed.booleanValue());
+        }
+
+        try {
+            decisionExecutionEntity.setExecutionJson(objectMapper.writeValueAsString(auditContainer));
+        } catch (Exception e) {
+            throw new FlowableException("Error writing execution json", e);
+        }
+
+        historicDecisionExecutionEntityManager.insert(decisionExecutionEntity);
+    }
+
+    protected DecisionTable getDecisionTable(Decision decision) {
         if (decision == null) {
             throw new IllegalArgumentException("no decision provided");
         }
@@ -82,56 +155,21 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
             throw new IllegalArgumentException("no decision table present in decision");
         }
 
-        DecisionTable currentDecisionTable = (DecisionTable) decision.getExpression();
-
-        // create execution context and audit trail
-        ELExecutionContext executionContext = ELExecutionContextBuilder.build(decision, executeDecisionInfo.getVariables());
+        return (DecisionTable) decision.getExpression();
+    }
 
+    protected void evaluateDecision(DecisionTable decisionTable, ELExecutionContext executionContext) {
         try {
-            sanityCheckDecisionTable(currentDecisionTable);
+            sanityCheckDecisionTable(decisionTable);
 
             // evaluate decision table
-            evaluateDecisionTable(currentDecisionTable, executionContext);
+            evaluateDecisionTable(decisionTable, executionContext);
 
         } catch (FlowableException fe) {
             LOGGER.error("decision table execution sanity check failed", fe);
             executionContext.getAuditContainer().setFailed();
             executionContext.getAuditContainer().setExceptionMessage(getExceptionMessage(fe));
-
-        } finally {
-            // end audit trail
-            executionContext.getAuditContainer().stopAudit();
-
-            DmnEngineConfiguration dmnEngineConfiguration = CommandContextUtil.getDmnEngineConfiguration();
-            if (dmnEngineConfiguration.isHistoryEnabled()) {
-                HistoricDecisionExecutionEntityManager historicDecisionExecutionEntityManager = dmnEngineConfiguration.getHistoricDecisionExecutionEntityManager();
-                HistoricDecisionExecutionEntity decisionExecutionEntity = historicDecisionExecutionEntityManager.create();
-                decisionExecutionEntity.setDecisionDefinitionId(executeDecisionInfo.getDecisionDefinitionId());
-                decisionExecutionEntity.setDeploymentId(executeDecisionInfo.getDeploymentId());
-                decisionExecutionEntity.setStartTime(executionContext.getAuditContainer().getStartTime());
-                decisionExecutionEntity.setEndTime(executionContext.getAuditContainer().getEndTime());
-                decisionExecutionEntity.setInstanceId(executeDecisionInfo.getInstanceId());
-                decisionExecutionEntity.setExecutionId(executeDecisionInfo.getExecutionId());
-                decisionExecutionEntity.setActivityId(executeDecisionInfo.getActivityId());
-                decisionExecutionEntity.setScopeType(executeDecisionInfo.getScopeType());
-                decisionExecutionEntity.setTenantId(executeDecisionInfo.getTenantId());
-
-                Boolean failed = executionContext.getAuditContainer().isFailed();
-                if (BooleanUtils.isTrue(failed)) {
-                    decisionExecutionEntity.setFailed(failed.booleanValue());
-                }
-
-                try {
-                    decisionExecutionEntity.setExecutionJson(objectMapper.writeValueAsString(executionContext.getAuditContainer()));
-                } catch (Exception e) {
-                    throw new FlowableException("Error writing execution json", e);
-                }
-
-                historicDecisionExecutionEntityManager.insert(decisionExecutionEntity);
-            }
         }
-
-        return executionContext.getAuditContainer();
     }
 
     protected void evaluateDecisionTable(DecisionTable decisionTable, ELExecutionContext executionContext) {
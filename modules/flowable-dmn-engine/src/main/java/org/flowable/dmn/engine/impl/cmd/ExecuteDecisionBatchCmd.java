@@ -0,0 +1,191 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandConfig;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+import org.flowable.dmn.api.DecisionBatchAuditMode;
+import org.flowable.dmn.api.DecisionBatchExecutionResult;
+import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.api.DmnDecisionTable;
+import org.flowable.dmn.engine.DmnEngineConfiguration;
+import org.flowable.dmn.engine.RuleEngineExecutor;
+import org.flowable.dmn.engine.impl.ExecuteDecisionBatchBuilderImpl;
+import org.flowable.dmn.engine.impl.ExecuteDecisionInfo;
+import org.flowable.dmn.engine.impl.RuleEngineExecutorImpl;
+import org.flowable.dmn.engine.impl.util.CommandContextUtil;
+import org.flowable.dmn.model.Decision;
+
+/**
+ * Executes one decision for many sets of input variables. The decision is resolved once and the input variables are evaluated in chunks:
+ * the executions of a chunk can run in parallel, each thread with its own command context, after which their history is written and their results are added on the command thread.
+ */
+public class ExecuteDecisionBatchCmd extends AbstractExecuteDecisionCmd implements Command<DecisionBatchExecutionResult> {
+
+    private static final long serialVersionUID = 1L;
+
+    protected static final int CHUNK_SIZE = 1000;
+
+    protected List<Map<String, Object>> variablesList;
+    protected boolean parallel;
+    protected DecisionBatchAuditMode auditMode;
+
+    // A stream and a consumer can't be serialized, they are only used when the command is executed in the same JVM as it was created
+    protected transient Stream<Map<String, Object>> variablesStream;
+    protected transient Consumer<DecisionExecutionAuditContainer> resultConsumer;
+
+    public ExecuteDecisionBatchCmd(ExecuteDecisionBatchBuilderImpl decisionBatchBuilder) {
+        super(decisionBatchBuilder.getDecisionKey(), null);
+        executeDecisionInfo.setParentDeploymentId(decisionBatchBuilder.getParentDeploymentId());
+        executeDecisionInfo.setTenantId(decisionBatchBuilder.getTenantId());
+
+        this.variablesList = decisionBatchBuilder.getVariablesList();
+        this.variablesStream = decisionBatchBuilder.getVariablesStream();
+        this.parallel = decisionBatchBuilder.isParallel();
+        this.auditMode = decisionBatchBuilder.getAuditMode();
+        this.resultConsumer = decisionBatchBuilder.getResultConsumer();
+    }
+
+    @Override
+    public DecisionBatchExecutionResult execute(CommandContext commandContext) {
+        if (getDecisionKey() == null) {
+            throw new FlowableIllegalArgumentException("decisionKey is null");
+        }
+
+        DmnEngineConfiguration dmnEngineConfiguration = CommandContextUtil.getDmnEngineConfiguration(commandContext);
+        DmnDecisionTable decisionTable = resolveDecisionTable(dmnEngineConfiguration.getDeploymentManager());
+        Decision decision = resolveDecision(dmnEngineConfiguration.getDeploymentManager(), decisionTable);
+
+        DecisionBatchExecutionResult batchExecutionResult = new DecisionBatchExecutionResult();
+
+        Iterator<Map<String, Object>> variablesIterator;
+        if (variablesStream != null) {
+            variablesIterator = variablesStream.iterator();
+        } else if (variablesList != null) {
+            variablesIterator = variablesList.iterator();
+        } else {
+            variablesIterator = Collections.emptyIterator();
+        }
+
+        List<Map<String, Object>> chunk = new ArrayList<>();
+        while (variablesIterator.hasNext()) {
+            chunk.add(variablesIterator.next());
+            if (chunk.size() == CHUNK_SIZE || !variablesIterator.hasNext()) {
+                executeChunk(chunk, decision, dmnEngineConfiguration, batchExecutionResult);
+                chunk.clear();
+            }
+        }
+
+        return batchExecutionResult;
+    }
+
+    protected void executeChunk(List<Map<String, Object>> chunk, Decision decision, DmnEngineConfiguration dmnEngineConfiguration,
+            DecisionBatchExecutionResult batchExecutionResult) {
+
+        List<Map<String, Object>> chunkVariables = new ArrayList<>(chunk.size());
+        for (Map<String, Object> variables : chunk) {
+            // The variables are changed by the execution, so each execution gets its own copy
+            chunkVariables.add(variables != null ? new HashMap<>(variables) : new HashMap<>());
+        }
+
+        RuleEngineExecutor ruleEngineExecutor = dmnEngineConfiguration.getRuleEngineExecutor();
+        if (!(ruleEngineExecutor instanceof RuleEngineExecutorImpl)) {
+            // A custom rule engine executor executes each decision with its own history handling
+            for (Map<String, Object> variables : chunkVariables) {
+                addExecution(ruleEngineExecutor.execute(decision, createExecuteDecisionInfo(variables)), batchExecutionResult);
+            }
+            return;
+        }
+
+        RuleEngineExecutorImpl ruleEngineExecutorImpl = (RuleEngineExecutorImpl) ruleEngineExecutor;
+
+        List<DecisionExecutionAuditContainer> auditContainers;
+        if (parallel) {
+            auditContainers = executeInParallel(chunkVariables, ruleEngineExecutorImpl, decision, dmnEngineConfiguration);
+        } else {
+            auditContainers = executeVariables(chunkVariables, ruleEngineExecutorImpl, decision);
+        }
+
+        boolean recordHistory = auditMode == DecisionBatchAuditMode.FULL && dmnEngineConfiguration.isHistoryEnabled();
+        for (int i = 0; i < auditContainers.size(); i++) {
+            DecisionExecutionAuditContainer auditContainer = auditContainers.get(i);
+            if (recordHistory) {
+                ruleEngineExecutorImpl.recordDecisionExecution(auditContainer, createExecuteDecisionInfo(chunkVariables.get(i)));
+            }
+            addExecution(auditContainer, batchExecutionResult);
+        }
+    }
+
+    protected void addExecution(DecisionExecutionAuditContainer auditContainer, DecisionBatchExecutionResult batchExecutionResult) {
+        batchExecutionResult.addExecution(auditContainer, auditMode);
+        if (resultConsumer != null) {
+            resultConsumer.accept(auditContainer);
+        }
+    }
+
+    protected List<DecisionExecutionAuditContainer> executeVariables(List<Map<String, Object>> variablesList, RuleEngineExecutorImpl ruleEngineExecutor, Decision decision) {
+        List<DecisionExecutionAuditContainer> auditContainers = new ArrayList<>(variablesList.size());
+        for (Map<String, Object> variables : variablesList) {
+            auditContainers.add(ruleEngineExecutor.executeWithoutHistory(decision, variables));
+        }
+        return auditContainers;
+    }
+
+    /**
+     * Splits the variables in one slice per thread of the common fork-join pool. The command context isn't thread-safe,
+     * so each slice is evaluated in its own command context, without a transaction.
+     */
+    protected List<DecisionExecutionAuditContainer> executeInParallel(List<Map<String, Object>> variablesList, RuleEngineExecutorImpl ruleEngineExecutor,
+            Decision decision, DmnEngineConfiguration dmnEngineConfiguration) {
+
+        CommandExecutor commandExecutor = dmnEngineConfiguration.getCommandExecutor();
+        CommandConfig commandConfig = commandExecutor.getDefaultConfig().transactionNotSupported();
+
+        int sliceSize = Math.max(1, (variablesList.size() + ForkJoinPool.getCommonPoolParallelism() - 1) / ForkJoinPool.getCommonPoolParallelism());
+        List<List<Map<String, Object>>> slices = new ArrayList<>();
+        for (int i = 0; i < variablesList.size(); i += sliceSize) {
+            slices.add(variablesList.subList(i, Math.min(i + sliceSize, variablesList.size())));
+        }
+
+        List<DecisionExecutionAuditContainer> auditContainers = new ArrayList<>(variablesList.size());
+        slices.parallelStream()
+                .map(slice -> commandExecutor.execute(commandConfig, commandContext -> executeVariables(slice, ruleEngineExecutor, decision)))
+                .forEachOrdered(auditContainers::addAll);
+        return auditContainers;
+    }
+
+    protected ExecuteDecisionInfo createExecuteDecisionInfo(Map<String, Object> variables) {
+        ExecuteDecisionInfo rowExecuteDecisionInfo = new ExecuteDecisionInfo();
+        rowExecuteDecisionInfo.setDecisionKey(executeDecisionInfo.getDecisionKey());
+        rowExecuteDecisionInfo.setDecisionDefinitionId(executeDecisionInfo.getDecisionDefinitionId());
+        rowExecuteDecisionInfo.setDeploymentId(executeDecisionInfo.getDeploymentId());
+        rowExecuteDecisionInfo.setParentDeploymentId(executeDecisionInfo.getParentDeploymentId());
+        rowExecuteDecisionInfo.setTenantId(executeDecisionInfo.getTenantId());
+        rowExecuteDecisionInfo.setVariables(variables);
+        return rowExecuteDecisionInfo;
+    }
+
+}
@@ -0,0 +1,63 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.el;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.common.engine.impl.el.ExpressionManager;
+import org.flowable.dmn.model.DecisionRule;
+import org.flowable.dmn.model.DecisionTable;
+import org.flowable.dmn.model.InputClause;
+import org.flowable.dmn.model.RuleInputClauseContainer;
+
+/**
+ * The input entries of a {@link DecisionTable}, indexed per input clause by {@link CompiledInputClause}.
+ * Created once per decision table and shared by all executions, see {@link CompiledDecisionTableEvaluation} for the state of one execution.
+ */
+public class CompiledDecisionTable {
+
+    protected Map<InputClause, CompiledInputClause> inputClauses = new IdentityHashMap<>();
+    protected Map<RuleInputClauseContainer, Integer> ruleIndexes = new IdentityHashMap<>();
+
+    public CompiledDecisionTable(DecisionTable decisionTable, ExpressionManager expressionManager) {
+        List<DecisionRule> rules = decisionTable.getRules();
+        for (int ruleIndex = 0; ruleIndex < rules.size(); ruleIndex++) {
+            for (RuleInputClauseContainer inputClauseContainer : rules.get(ruleIndex).getInputEntries()) {
+                InputClause inputClause = inputClauseContainer.getInputClause();
+                if (inputClause == null || inputClauseContainer.getInputEntry() == null) {
+                    continue;
+                }
+
+                CompiledInputClause compiledInputClause = inputClauses.get(inputClause);
+                if (compiledInputClause == null) {
+                    compiledInputClause = new CompiledInputClause(inputClause, expressionManager);
+                    inputClauses.put(inputClause, compiledInputClause);
+                }
+
+                String inputVariableType = inputClause.getInputExpression() != null ? inputClause.getInputExpression().getTypeRef() : null;
+                compiledInputClause.addInputEntry(ruleIndex, inputClauseContainer.getInputEntry().getText(), inputVariableType);
+                ruleIndexes.put(inputClauseContainer, ruleIndex);
+            }
+        }
+    }
+
+    public CompiledInputClause getInputClause(InputClause inputClause) {
+        return inputClauses.get(inputClause);
+    }
+
+    public Integer getRuleIndex(RuleInputClauseContainer inputClauseContainer) {
+        return ruleIndexes.get(inputClauseContainer);
+    }
+}
@@ -0,0 +1,56 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.el;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.flowable.dmn.model.InputClause;
+import org.flowable.dmn.model.RuleInputClauseContainer;
+
+/**
+ * The evaluation of a {@link CompiledDecisionTable} for one execution: every input expression is evaluated at most once,
+ * the first time an entry of its input clause is needed.
+ */
+public class CompiledDecisionTableEvaluation {
+
+    protected CompiledDecisionTable compiledDecisionTable;
+    protected Map<String, Object> variables;
+    protected Map<InputClause, CompiledInputClause.InputEntryMatches> inputEntryMatches = new IdentityHashMap<>();
+
+    public CompiledDecisionTableEvaluation(CompiledDecisionTable compiledDecisionTable, Map<String, Object> variables) {
+        this.compiledDecisionTable = compiledDecisionTable;
+        this.variables = variables;
+    }
+
+    /**
+     * @return the result of the given input entry, or null when it must be evaluated with JUEL
+     */
+    public Boolean getInputEntryResult(RuleInputClauseContainer inputClauseContainer) {
+        Integer ruleIndex = compiledDecisionTable.getRuleIndex(inputClauseContainer);
+        if (ruleIndex == null) {
+            return null;
+        }
+
+        InputClause inputClause = inputClauseContainer.getInputClause();
+        CompiledInputClause.InputEntryMatches matches;
+        if (inputEntryMatches.containsKey(inputClause)) {
+            matches = inputEntryMatches.get(inputClause);
+        } else {
+            matches = compiledDecisionTable.getInputClause(inputClause).evaluate(variables);
+            inputEntryMatches.put(inputClause, matches);
+        }
+
+        return matches != null ? matches.getResult(ruleIndex) : null;
+    }
+}
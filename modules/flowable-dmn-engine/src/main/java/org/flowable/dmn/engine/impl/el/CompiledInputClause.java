@@ -0,0 +1,268 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.el;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.impl.el.ExpressionManager;
+import org.flowable.common.engine.impl.el.VariableContainerWrapper;
+import org.flowable.dmn.model.InputClause;
+
+/**
+ * The input entries of all rules for one input clause of a decision table, indexed on their literal when they are a {@link SimpleUnaryTest}:
+ * equality tests in hash maps, comparisons in sorted maps. Rules are identified by their index in the decision table.
+ * <p>
+ * The index only decides the entries for which JUEL would come to the same result without type coercion: a string input compared with a string,
+ * a boolean with a boolean or a number with a number. All other entries are left undecided and must be evaluated with JUEL.
+ */
+public class CompiledInputClause {
+
+    protected static final Pattern PROPERTY_PATH = Pattern.compile("[A-Za-z_$][\\w$]*(\\.[A-Za-z_$][\\w$]*)*");
+
+    protected static final Set<String> RESERVED_WORDS = new HashSet<>(Arrays.asList(
+            "and", "or", "not", "eq", "ne", "lt", "gt", "le", "ge", "true", "false", "null", "empty", "div", "mod", "instanceof"));
+
+    // Integers up to this value convert to doubles without losing precision
+    protected static final long MAX_EXACT_INTEGER = 1L << 53;
+
+    protected Expression inputExpression;
+
+    protected BitSet complexTests = new BitSet();
+    protected BitSet stringTests = new BitSet();
+    protected BitSet booleanTests = new BitSet();
+    protected BitSet numberTests = new BitSet();
+
+    // String and Boolean literals
+    protected Map<Object, BitSet> equalTests = new HashMap<>();
+    protected Map<Object, BitSet> notEqualTests = new HashMap<>();
+    protected BitSet notEqualStringTests = new BitSet();
+    protected BitSet notEqualBooleanTests = new BitSet();
+
+    // Number literals, compared on their exact value
+    protected NavigableMap<BigDecimal, BitSet> numberEqualTests = new TreeMap<>();
+    protected NavigableMap<BigDecimal, BitSet> numberNotEqualTests = new TreeMap<>();
+    protected BitSet notEqualNumberTests = new BitSet();
+    protected NavigableMap<BigDecimal, BitSet> lessThanTests = new TreeMap<>();
+    protected NavigableMap<BigDecimal, BitSet> lessThanOrEqualTests = new TreeMap<>();
+    protected NavigableMap<BigDecimal, BitSet> greaterThanTests = new TreeMap<>();
+    protected NavigableMap<BigDecimal, BitSet> greaterThanOrEqualTests = new TreeMap<>();
+
+    public CompiledInputClause(InputClause inputClause, ExpressionManager expressionManager) {
+        String inputExpressionText = inputClause.getInputExpression() != null ? inputClause.getInputExpression().getText() : null;
+
+        // The input is only evaluated separately when that can't change the meaning of the entry expressions it is part of
+        if (inputExpressionText != null && PROPERTY_PATH.matcher(inputExpressionText).matches() && !isReservedWord(inputExpressionText)) {
+            this.inputExpression = expressionManager.createExpression("#{" + inputExpressionText + "}");
+        }
+    }
+
+    protected boolean isReservedWord(String inputExpressionText) {
+        for (String part : inputExpressionText.split("\\.")) {
+            if (RESERVED_WORDS.contains(part)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void addInputEntry(int ruleIndex, String inputEntryText, String inputVariableType) {
+        SimpleUnaryTest unaryTest = inputExpression != null ? SimpleUnaryTest.parse(inputEntryText, inputVariableType) : null;
+        if (unaryTest == null) {
+            complexTests.set(ruleIndex);
+            return;
+        }
+
+        Object value = unaryTest.getValue();
+        if (value instanceof BigDecimal) {
+            numberTests.set(ruleIndex);
+            BigDecimal number = (BigDecimal) value;
+            switch (unaryTest.getOperator()) {
+                case EQUAL:
+                    addRule(numberEqualTests, number, ruleIndex);
+                    break;
+                case NOT_EQUAL:
+                    addRule(numberNotEqualTests, number, ruleIndex);
+                    notEqualNumberTests.set(ruleIndex);
+                    break;
+                case LESS_THAN:
+                    addRule(lessThanTests, number, ruleIndex);
+                    break;
+                case LESS_THAN_OR_EQUAL:
+                    addRule(lessThanOrEqualTests, number, ruleIndex);
+                    break;
+                case GREATER_THAN:
+                    addRule(greaterThanTests, number, ruleIndex);
+                    break;
+                case GREATER_THAN_OR_EQUAL:
+                    addRule(greaterThanOrEqualTests, number, ruleIndex);
+                    break;
+            }
+
+        } else {
+            (value instanceof String ? stringTests : booleanTests).set(ruleIndex);
+            if (unaryTest.getOperator() == SimpleUnaryTest.Operator.EQUAL) {
+                addRule(equalTests, value, ruleIndex);
+            } else {
+                addRule(notEqualTests, value, ruleIndex);
+                (value instanceof String ? notEqualStringTests : notEqualBooleanTests).set(ruleIndex);
+            }
+        }
+    }
+
+    protected <K> void addRule(Map<K, BitSet> tests, K value, int ruleIndex) {
+        BitSet rules = tests.get(value);
+        if (rules == null) {
+            rules = new BitSet();
+            tests.put(value, rules);
+        }
+        rules.set(ruleIndex);
+    }
+
+    /**
+     * Evaluates the input expression with the given variables.
+     *
+     * @return the matches for the input, or null when the input can't be evaluated on its own
+     */
+    public InputEntryMatches evaluate(Map<String, Object> variables) {
+        if (inputExpression == null) {
+            return null;
+        }
+
+        Object input;
+        try {
+            input = inputExpression.getValue(new VariableContainerWrapper(variables));
+        } catch (Exception e) {
+            // Each entry will be evaluated with JUEL, which reports the error for the rule it occurs in
+            return null;
+        }
+
+        BitSet matching = new BitSet();
+        BitSet undecided = (BitSet) complexTests.clone();
+
+        if (input == null) {
+            // A literal is never equal to null, nor smaller or greater
+            matching.or(notEqualStringTests);
+            matching.or(notEqualBooleanTests);
+            matching.or(notEqualNumberTests);
+
+        } else if (input instanceof String || input instanceof Boolean) {
+            addRules(matching, equalTests.get(input));
+            BitSet notEqualRules = (BitSet) (input instanceof String ? notEqualStringTests : notEqualBooleanTests).clone();
+            removeRules(notEqualRules, notEqualTests.get(input));
+            matching.or(notEqualRules);
+
+            undecided.or(input instanceof String ? booleanTests : stringTests);
+            undecided.or(numberTests);
+
+        } else {
+            BigDecimal number = toExactNumber(input);
+            if (number == null) {
+                undecided.or(stringTests);
+                undecided.or(booleanTests);
+                undecided.or(numberTests);
+
+            } else {
+                addRules(matching, numberEqualTests.get(number));
+                BitSet notEqualRules = (BitSet) notEqualNumberTests.clone();
+                removeRules(notEqualRules, numberNotEqualTests.get(number));
+                matching.or(notEqualRules);
+
+                // input < literal, input <= literal, input > literal, input >= literal
+                addRules(matching, lessThanTests.tailMap(number, false));
+                addRules(matching, lessThanOrEqualTests.tailMap(number, true));
+                addRules(matching, greaterThanTests.headMap(number, false));
+                addRules(matching, greaterThanOrEqualTests.headMap(number, true));
+
+                undecided.or(stringTests);
+                undecided.or(booleanTests);
+            }
+        }
+
+        return new InputEntryMatches(matching, undecided);
+    }
+
+    /**
+     * The exact value of the given number, when JUEL compares it the same way with a number literal.
+     */
+    protected BigDecimal toExactNumber(Object input) {
+        if (input instanceof Long || input instanceof Integer || input instanceof Short || input instanceof Byte) {
+            long value = ((Number) input).longValue();
+            if (value > MAX_EXACT_INTEGER || value < -MAX_EXACT_INTEGER) {
+                return null;
+            }
+            return BigDecimal.valueOf(value);
+
+        } else if (input instanceof Double || input instanceof Float) {
+            double value = ((Number) input).doubleValue();
+            if (Double.isNaN(value) || Double.isInfinite(value) || (value == 0.0 && 1 / value < 0)) {
+                return null;
+            }
+            return new BigDecimal(value);
+        }
+        return null;
+    }
+
+    protected void addRules(BitSet matching, BitSet rules) {
+        if (rules != null) {
+            matching.or(rules);
+        }
+    }
+
+    protected void addRules(BitSet matching, Map<BigDecimal, BitSet> tests) {
+        for (BitSet rules : tests.values()) {
+            matching.or(rules);
+        }
+    }
+
+    protected void removeRules(BitSet matching, BitSet rules) {
+        if (rules != null) {
+            matching.andNot(rules);
+        }
+    }
+
+    /**
+     * The result of the input entries of one input clause for an evaluated input.
+     */
+    public static class InputEntryMatches {
+
+        protected BitSet matching;
+        protected BitSet undecided;
+
+        public InputEntryMatches(BitSet matching, BitSet undecided) {
+            this.matching = matching;
+            this.undecided = undecided;
+        }
+
+        /**
+         * @return the result of the entry of the given rule, or null when it must be evaluated with JUEL
+         */
+        public Boolean getResult(int ruleIndex) {
+            if (matching.get(ruleIndex)) {
+                return Boolean.TRUE;
+            } else if (undecided.get(ruleIndex)) {
+                return null;
+            }
+            return Boolean.FALSE;
+        }
+    }
+}
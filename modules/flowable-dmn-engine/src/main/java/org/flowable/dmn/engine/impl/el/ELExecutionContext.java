@@ -32,6 +32,9 @@ public class ELExecutionContext {
     protected Map<String, List<Object>> outputValues = new LinkedHashMap<>();
     protected BuiltinAggregator aggregator;
 
+    /** Set when the decision table is evaluated with its compiled input entries */
+    protected CompiledDecisionTableEvaluation compiledDecisionTableEvaluation;
+
     public void checkExecutionContext(String variableId) {
 
         if (StringUtils.isEmpty(variableId)) {
@@ -89,4 +92,12 @@ public class ELExecutionContext {
     public void setAggregator(BuiltinAggregator aggregator) {
         this.aggregator = aggregator;
     }
+
+    public CompiledDecisionTableEvaluation getCompiledDecisionTableEvaluation() {
+        return compiledDecisionTableEvaluation;
+    }
+
+    public void setCompiledDecisionTableEvaluation(CompiledDecisionTableEvaluation compiledDecisionTableEvaluation) {
+        this.compiledDecisionTableEvaluation = compiledDecisionTableEvaluation;
+    }
 }
@@ -0,0 +1,129 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.el;
+
+import java.math.BigDecimal;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * An input entry that compares the input with a literal, like <code>"gold"</code>, <code>&gt;= 10</code> or <code>!= true</code>.
+ * Such entries can be evaluated without JUEL, see {@link CompiledInputClause}.
+ * <p>
+ * Literal values are a {@link String}, a {@link Boolean} or, for numbers, the exact {@link BigDecimal} value of the number JUEL would parse.
+ */
+public class SimpleUnaryTest {
+
+    public enum Operator {
+        EQUAL, NOT_EQUAL, LESS_THAN, LESS_THAN_OR_EQUAL, GREATER_THAN, GREATER_THAN_OR_EQUAL
+    }
+
+    // JUEL parses integers as Long and decimals as Double; both are exact doubles within these limits
+    protected static final Pattern INTEGER_LITERAL = Pattern.compile("-?\\d{1,15}");
+    protected static final Pattern DECIMAL_LITERAL = Pattern.compile("-?\\d{1,15}\\.\\d{1,15}");
+
+    protected Operator operator;
+    protected Object value;
+
+    public SimpleUnaryTest(Operator operator, Object value) {
+        this.operator = operator;
+        this.value = value;
+    }
+
+    /**
+     * Parses the text of an input entry the way the {@link ELInputEntryExpressionPreParser} would.
+     *
+     * @return the test, or null when the entry is not a simple comparison with a literal
+     */
+    public static SimpleUnaryTest parse(String inputEntryText, String inputVariableType) {
+        if (StringUtils.isEmpty(inputEntryText) || inputEntryText.contains("fn_")
+                || inputEntryText.startsWith("#{") || inputEntryText.startsWith("${")) {
+            return null;
+        }
+
+        if (!"date".equals(inputVariableType) && !"number".equals(inputVariableType) && inputEntryText.startsWith(".")) {
+            return null;
+        }
+
+        Operator operator = Operator.EQUAL;
+        String literal = inputEntryText;
+        if (inputEntryText.length() >= 2 && StringUtils.startsWithAny(inputEntryText, ELInputEntryExpressionPreParser.OPERATORS)) {
+            if (inputEntryText.startsWith("==")) {
+                literal = inputEntryText.substring(2);
+            } else if (inputEntryText.startsWith("!=")) {
+                operator = Operator.NOT_EQUAL;
+                literal = inputEntryText.substring(2);
+            } else if (inputEntryText.startsWith("<=")) {
+                operator = Operator.LESS_THAN_OR_EQUAL;
+                literal = inputEntryText.substring(2);
+            } else if (inputEntryText.startsWith(">=")) {
+                operator = Operator.GREATER_THAN_OR_EQUAL;
+                literal = inputEntryText.substring(2);
+            } else if (inputEntryText.startsWith("<")) {
+                operator = Operator.LESS_THAN;
+                literal = inputEntryText.substring(1);
+            } else {
+                operator = Operator.GREATER_THAN;
+                literal = inputEntryText.substring(1);
+            }
+        }
+
+        Object value = parseLiteral(literal.trim());
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof BigDecimal) && operator != Operator.EQUAL && operator != Operator.NOT_EQUAL) {
+            // Comparing strings or booleans is left to JUEL
+            return null;
+        }
+        return new SimpleUnaryTest(operator, value);
+    }
+
+    protected static Object parseLiteral(String literal) {
+        if (literal.length() >= 2) {
+            char quote = literal.charAt(0);
+            if ((quote == '"' || quote == '\'') && literal.charAt(literal.length() - 1) == quote) {
+                String text = literal.substring(1, literal.length() - 1);
+                if (text.indexOf(quote) < 0 && text.indexOf('\\') < 0) {
+                    return text;
+                }
+                return null;
+            }
+        }
+
+        if ("true".equals(literal)) {
+            return Boolean.TRUE;
+        } else if ("false".equals(literal)) {
+            return Boolean.FALSE;
+        } else if (INTEGER_LITERAL.matcher(literal).matches()) {
+            return new BigDecimal(literal);
+        } else if (DECIMAL_LITERAL.matcher(literal).matches()) {
+            double value = Double.parseDouble(literal);
+            if (value == 0.0 && literal.startsWith("-")) {
+                // -0.0 is not equal to 0.0 for JUEL
+                return null;
+            }
+            return new BigDecimal(value);
+        }
+        return null;
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,36 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.persistence.deploy;
+
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWeigher;
+import org.flowable.dmn.model.Decision;
+import org.flowable.dmn.model.DecisionTable;
+
+/**
+ * Weighs a {@link DecisionTableCacheEntry} by the size of its decision table: the number of input and output entries of its rules.
+ */
+public class DecisionTableCacheEntryWeigher implements DeploymentCacheWeigher<DecisionTableCacheEntry> {
+
+    @Override
+    public long weigh(String id, DecisionTableCacheEntry cacheEntry) {
+        Decision decision = cacheEntry.getDecision();
+        if (decision == null || !(decision.getExpression() instanceof DecisionTable)) {
+            return 1L;
+        }
+
+        DecisionTable decisionTable = (DecisionTable) decision.getExpression();
+        long columnCount = decisionTable.getInputs().size() + decisionTable.getOutputs().size();
+        return 1L + columnCount + decisionTable.getRules().size() * columnCount;
+    }
+
+}
@@ -0,0 +1,119 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.api.DmnRuleService;
+import org.flowable.dmn.engine.DmnEngine;
+import org.flowable.dmn.engine.impl.CompiledRuleEngineExecutorImpl;
+import org.flowable.dmn.engine.test.DmnDeployment;
+import org.flowable.dmn.engine.test.FlowableDmnRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class CompiledDecisionTableTest {
+
+    @Rule
+    public FlowableDmnRule flowableDmnRule = new FlowableDmnRule("compiled.flowable.dmn.cfg.xml");
+
+    @Test
+    @DmnDeployment(resources = "org/flowable/dmn/engine/test/runtime/HitPolicyFirstTest.firstHitPolicy.dmn")
+    public void firstHitPolicy() {
+        DmnEngine dmnEngine = flowableDmnRule.getDmnEngine();
+        assertTrue(dmnEngine.getDmnEngineConfiguration().getRuleEngineExecutor() instanceof CompiledRuleEngineExecutorImpl);
+
+        DmnRuleService dmnRuleService = dmnEngine.getDmnRuleService();
+
+        Map<String, Object> result = dmnRuleService.createExecuteDecisionBuilder()
+                .decisionKey("decision1")
+                .variable("inputVariable1", 11)
+                .executeWithSingleResult();
+
+        assertEquals("gt 10", result.get("outputVariable1"));
+        assertEquals("result2", result.get("outputVariable2"));
+
+        result = dmnRuleService.createExecuteDecisionBuilder()
+                .decisionKey("decision1")
+                .variable("inputVariable1", 9.5)
+                .executeWithSingleResult();
+
+        assertEquals("lt 10", result.get("outputVariable1"));
+    }
+
+    @Test
+    @DmnDeployment(resources = "org/flowable/dmn/engine/test/runtime/StandaloneRuntimeTest.ruleUsageExample.dmn")
+    public void equalityTests() {
+        DmnRuleService dmnRuleService = flowableDmnRule.getDmnEngine().getDmnRuleService();
+
+        Map<String, Object> result = dmnRuleService.createExecuteDecisionBuilder()
+                .decisionKey("decision1")
+                .variable("inputVariable1", 2)
+                .variable("inputVariable2", "test2")
+                .executeWithSingleResult();
+
+        assertEquals("result2", result.get("outputVariable1"));
+
+        result = dmnRuleService.createExecuteDecisionBuilder()
+                .decisionKey("decision1")
+                .variable("inputVariable1", 1L)
+                .variable("inputVariable2", "test1")
+                .executeWithSingleResult();
+
+        assertEquals("result1", result.get("outputVariable1"));
+    }
+
+    @Test
+    @DmnDeployment
+    public void mixedInputEntries() {
+        DmnRuleService dmnRuleService = flowableDmnRule.getDmnEngine().getDmnRuleService();
+
+        DecisionExecutionAuditContainer result = dmnRuleService.createExecuteDecisionBuilder()
+                .decisionKey("decision1")
+                .variable("amount", 150.5)
+                .variable("category", "gold")
+                .executeWithAuditTrail();
+
+        assertFalse(result.isFailed());
+        List<Map<String, Object>> decisionResult = result.getDecisionResult();
+        assertEquals(2, decisionResult.size());
+        assertEquals("large gold", decisionResult.get(0).get("outcome"));
+        assertEquals("exact", decisionResult.get(1).get("outcome"));
+
+        assertTrue(result.getRuleExecutions().get(1).isValid());
+        assertFalse(result.getRuleExecutions().get(2).isValid());
+        assertFalse(result.getRuleExecutions().get(3).isValid());
+        assertTrue(result.getRuleExecutions().get(4).isValid());
+        assertEquals(2, result.getRuleExecutions().get(1).getConditionResults().size());
+        assertEquals(1, result.getRuleExecutions().get(2).getConditionResults().size());
+
+        result = dmnRuleService.createExecuteDecisionBuilder()
+                .decisionKey("decision1")
+                .variable("amount", 40)
+                .variable("category", "silver")
+                .executeWithAuditTrail();
+
+        assertFalse(result.isFailed());
+        decisionResult = result.getDecisionResult();
+        assertEquals(2, decisionResult.size());
+        assertEquals("small other", decisionResult.get(0).get("outcome"));
+        assertEquals("even", decisionResult.get(1).get("outcome"));
+    }
+
+}
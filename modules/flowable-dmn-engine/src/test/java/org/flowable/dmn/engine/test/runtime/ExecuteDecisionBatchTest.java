@@ -0,0 +1,127 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.flowable.dmn.api.DecisionBatchAuditMode;
+import org.flowable.dmn.api.DecisionBatchExecutionResult;
+import org.flowable.dmn.api.DmnHistoryService;
+import org.flowable.dmn.api.DmnRuleService;
+import org.flowable.dmn.engine.test.DmnDeployment;
+import org.flowable.dmn.engine.test.FlowableDmnRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ExecuteDecisionBatchTest {
+
+    @Rule
+    public FlowableDmnRule flowableDmnRule = new FlowableDmnRule();
+
+    @Test
+    @DmnDeployment(resources = "org/flowable/dmn/engine/test/runtime/HitPolicyFirstTest.firstHitPolicy.dmn")
+    public void executeBatchWithFullAudit() {
+        DmnRuleService dmnRuleService = flowableDmnRule.getDmnEngine().getDmnRuleService();
+        DmnHistoryService dmnHistoryService = flowableDmnRule.getDmnEngine().getDmnHistoryService();
+
+        List<Map<String, Object>> variablesList = new ArrayList<>();
+        variablesList.add(Collections.<String, Object>singletonMap("inputVariable1", 5));
+        variablesList.add(Collections.<String, Object>singletonMap("inputVariable1", 11));
+
+        DecisionBatchExecutionResult result = dmnRuleService.createExecuteDecisionBatchBuilder()
+                .decisionKey("decision1")
+                .variablesList(variablesList)
+                .variables(Collections.<String, Object>singletonMap("inputVariable1", 10))
+                .auditMode(DecisionBatchAuditMode.FULL)
+                .executeDecisionBatch();
+
+        assertEquals(3, result.getExecutionCount());
+        assertEquals(0, result.getFailedExecutionCount());
+        assertEquals("lt 10", result.getDecisionResults().get(0).get(0).get("outputVariable1"));
+        assertEquals("gt 10", result.getDecisionResults().get(1).get(0).get("outputVariable1"));
+        assertEquals("lt 20", result.getDecisionResults().get(2).get(0).get("outputVariable1"));
+
+        assertEquals(3, result.getAuditContainers().size());
+        assertTrue(result.getAuditContainers().get(1).getRuleExecutions().get(2).isValid());
+        assertEquals(1L, result.getValidRuleCounts().get(1).longValue());
+        assertEquals(1L, result.getValidRuleCounts().get(2).longValue());
+        assertEquals(1L, result.getValidRuleCounts().get(3).longValue());
+
+        assertEquals(3, dmnHistoryService.createHistoricDecisionExecutionQuery().decisionKey("decision1").count());
+    }
+
+    @Test
+    @DmnDeployment(resources = "org/flowable/dmn/engine/test/runtime/HitPolicyFirstTest.firstHitPolicy.dmn")
+    public void executeParallelBatchWithAggregatedAudit() {
+        DmnRuleService dmnRuleService = flowableDmnRule.getDmnEngine().getDmnRuleService();
+        DmnHistoryService dmnHistoryService = flowableDmnRule.getDmnEngine().getDmnHistoryService();
+
+        // More rows than fit in one chunk, audited aggregated by default
+        List<List<Map<String, Object>>> decisionResults = new ArrayList<>();
+        DecisionBatchExecutionResult result = dmnRuleService.createExecuteDecisionBatchBuilder()
+                .decisionKey("decision1")
+                .variablesStream(IntStream.range(0, 2500).mapToObj(i -> Collections.<String, Object>singletonMap("inputVariable1", i % 20)))
+                .parallel()
+                .resultConsumer(auditContainer -> decisionResults.add(auditContainer.getDecisionResult()))
+                .executeDecisionBatch();
+
+        assertEquals(2500, result.getExecutionCount());
+        assertEquals(0, result.getFailedExecutionCount());
+        assertEquals(2500, decisionResults.size());
+        for (int i = 0; i < 2500; i++) {
+            String expectedOutput = i % 20 < 10 ? "lt 10" : (i % 20 > 10 ? "gt 10" : "lt 20");
+            assertEquals(expectedOutput, decisionResults.get(i).get(0).get("outputVariable1"));
+        }
+
+        assertTrue(result.getDecisionResults().isEmpty());
+        assertTrue(result.getAuditContainers().isEmpty());
+        assertEquals(1250L, result.getValidRuleCounts().get(1).longValue());
+        assertEquals(1125L, result.getValidRuleCounts().get(2).longValue());
+        assertEquals(125L, result.getValidRuleCounts().get(3).longValue());
+
+        assertEquals(0, dmnHistoryService.createHistoricDecisionExecutionQuery().decisionKey("decision1").count());
+    }
+
+    @Test
+    @DmnDeployment(resources = "org/flowable/dmn/engine/test/runtime/HitPolicyFirstTest.firstHitPolicy.dmn")
+    public void executeBatchWithoutAudit() {
+        DmnRuleService dmnRuleService = flowableDmnRule.getDmnEngine().getDmnRuleService();
+        DmnHistoryService dmnHistoryService = flowableDmnRule.getDmnEngine().getDmnHistoryService();
+
+        List<List<Map<String, Object>>> decisionResults = new ArrayList<>();
+        DecisionBatchExecutionResult result = dmnRuleService.createExecuteDecisionBatchBuilder()
+                .decisionKey("decision1")
+                .variables(Collections.<String, Object>singletonMap("inputVariable1", 11))
+                .variables(Collections.<String, Object>singletonMap("inputVariable1", 5))
+                .auditMode(DecisionBatchAuditMode.NONE)
+                .resultConsumer(auditContainer -> decisionResults.add(auditContainer.getDecisionResult()))
+                .executeDecisionBatch();
+
+        assertEquals(2, result.getExecutionCount());
+        assertEquals("gt 10", decisionResults.get(0).get(0).get("outputVariable1"));
+        assertEquals("lt 10", decisionResults.get(1).get(0).get("outputVariable1"));
+        assertTrue(result.getDecisionResults().isEmpty());
+        assertTrue(result.getAuditContainers().isEmpty());
+        assertTrue(result.getValidRuleCounts().isEmpty());
+
+        assertEquals(0, dmnHistoryService.createHistoricDecisionExecutionQuery().decisionKey("decision1").count());
+    }
+
+}
@@ -50,9 +50,12 @@ public class SpringDmnExpressionManager extends DefaultExpressionManager {
     
     @Override
     protected ELResolver createElResolver(VariableContainer variableContainer) {
-        CompositeELResolver compositeElResolver = new CompositeELResolver();
-        compositeElResolver.add(createVariableElResolver(variableContainer));
+        return createVariableBoundElResolver(variableContainer);
+    }
 
+    @Override
+    protected ELResolver createSharedElResolver() {
+        CompositeELResolver compositeElResolver = new CompositeELResolver();
         if (beans != null) {
             // Only expose limited set of beans in expressions
             compositeElResolver.add(new ReadOnlyMapELResolver(beans));
@@ -69,6 +69,10 @@ import org.flowable.common.engine.impl.persistence.GenericManagerFactory;
 import org.flowable.common.engine.impl.persistence.StrongUuidGenerator;
 import org.flowable.common.engine.impl.persistence.cache.EntityCache;
 import org.flowable.common.engine.impl.persistence.cache.EntityCacheImpl;
+import org.flowable.common.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
+import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWeigher;
 import org.flowable.common.engine.impl.persistence.entity.Entity;
 import org.flowable.common.engine.impl.runtime.Clock;
 import org.flowable.common.engine.impl.service.CommonEngineServiceImpl;
@@ -168,6 +172,20 @@ public abstract class AbstractEngineConfiguration {
      */
     protected int maxNrOfStatementsInBulkInsert = 100;
 
+    /**
+     * If set to true, entities that support it (see {@link org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity}) flag themselves as dirty when changed,
+     * and only those flags are checked when flushing. No snapshot of the persistent state is taken when such entities are loaded.
+     * By default false: all cached entities are diffed against the persistent state snapshot taken when they were loaded.
+     */
+    protected boolean isDirtyTrackingEnabled;
+
+    /**
+     * If set to true, the entity updates and deletes of a flush are sent to the database as JDBC batches (one round trip per statement type instead of one per entity).
+     * The update count of every batched statement is still checked to detect concurrent modifications,
+     * so only enable this when the JDBC driver reports these counts for batches (eg. not the case for Oracle drivers before 12c). Default false.
+     */
+    protected boolean isJdbcBatchUpdatesEnabled;
+
     public int DEFAULT_MAX_NR_OF_STATEMENTS_BULK_INSERT_SQL_SERVER = 60; // currently Execution has most params (31). 2000 / 31 = 64.
 
     protected Set<Class<?>> customMybatisMappers;
@@ -244,6 +262,13 @@ public abstract class AbstractEngineConfiguration {
     protected List<EngineDeployer> customPreDeployers;
     protected List<EngineDeployer> customPostDeployers;
     protected List<EngineDeployer> deployers;
+
+    /**
+     * If set to true, the deployment caches the engine creates (eg. the process definition cache) are {@link ConcurrentDeploymentCache}s instead of {@link DefaultDeploymentCache}s.
+     * Such a cache is read without taking a lock, can be limited on the total weight of its entries besides their number, and keeps hit, miss and eviction statistics.
+     * Default false.
+     */
+    protected boolean concurrentDeploymentCacheEnabled;
     
     // CONFIGURATORS ////////////////////////////////////////////////////////////
 
@@ -598,6 +623,8 @@ public abstract class AbstractEngineConfiguration {
         dbSqlSessionFactory.setDatabaseCatalog(databaseCatalog);
         dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
         dbSqlSessionFactory.setMaxNrOfStatementsInBulkInsert(maxNrOfStatementsInBulkInsert);
+        dbSqlSessionFactory.setDirtyTrackingEnabled(isDirtyTrackingEnabled);
+        dbSqlSessionFactory.setJdbcBatchUpdatesEnabled(isJdbcBatchUpdatesEnabled);
 
         initDbSqlSessionFactoryEntitySettings();
 
@@ -852,6 +879,26 @@ public abstract class AbstractEngineConfiguration {
         }
     }    
 
+    // Deployment caches
+    // //////////////////////////////////////////////////////
+
+    /**
+     * Creates a deployment cache with the given limit on the number of entries (no limit when 0 or less).
+     * When the concurrent deployment cache is enabled, the cache can also be limited on the total weight of its entries, as estimated by the given weigher.
+     */
+    protected <T> DeploymentCache<T> createDeploymentCache(int cacheLimit, long cacheMaxWeight, DeploymentCacheWeigher<T> weigher) {
+        if (!concurrentDeploymentCacheEnabled) {
+            return cacheLimit <= 0 ? new DefaultDeploymentCache<>() : new DefaultDeploymentCache<>(cacheLimit);
+        }
+
+        ConcurrentDeploymentCache<T> deploymentCache = new ConcurrentDeploymentCache<>(cacheLimit);
+        if (cacheMaxWeight > 0) {
+            deploymentCache.setMaxWeight(cacheMaxWeight);
+            deploymentCache.setWeigher(weigher);
+        }
+        return deploymentCache;
+    }
+
     // getters and setters
     // //////////////////////////////////////////////////////
 
@@ -1235,6 +1282,33 @@ public abstract class AbstractEngineConfiguration {
         return this;
     }
 
+    public boolean isConcurrentDeploymentCacheEnabled() {
+        return concurrentDeploymentCacheEnabled;
+    }
+
+    public AbstractEngineConfiguration setConcurrentDeploymentCacheEnabled(boolean concurrentDeploymentCacheEnabled) {
+        this.concurrentDeploymentCacheEnabled = concurrentDeploymentCacheEnabled;
+        return this;
+    }
+
+    public boolean isDirtyTrackingEnabled() {
+        return isDirtyTrackingEnabled;
+    }
+
+    public AbstractEngineConfiguration setDirtyTrackingEnabled(boolean isDirtyTrackingEnabled) {
+        this.isDirtyTrackingEnabled = isDirtyTrackingEnabled;
+        return this;
+    }
+
+    public boolean isJdbcBatchUpdatesEnabled() {
+        return isJdbcBatchUpdatesEnabled;
+    }
+
+    public AbstractEngineConfiguration setJdbcBatchUpdatesEnabled(boolean isJdbcBatchUpdatesEnabled) {
+        this.isJdbcBatchUpdatesEnabled = isJdbcBatchUpdatesEnabled;
+        return this;
+    }
+
     public Set<Class<?>> getCustomMybatisMappers() {
         return customMybatisMappers;
     }
@@ -12,7 +12,8 @@
  */
 package org.flowable.common.engine.impl.agenda;
 
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
@@ -27,7 +28,7 @@ public abstract class AbstractAgenda implements Agenda {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractAgenda.class);
 
     protected CommandContext commandContext;
-    protected LinkedList<Runnable> operations = new LinkedList<>();
+    protected Deque<Runnable> operations = new ArrayDeque<>();
 
     public AbstractAgenda(CommandContext commandContext) {
         this.commandContext = commandContext;
@@ -67,7 +68,7 @@ public abstract class AbstractAgenda implements Agenda {
         }
     }
 
-    public LinkedList<Runnable> getOperations() {
+    public Deque<Runnable> getOperations() {
         return operations;
     }
 
@@ -23,6 +23,7 @@ import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.common.engine.impl.persistence.cache.CachedEntity;
 import org.flowable.common.engine.impl.persistence.cache.CachedEntityMatcher;
 import org.flowable.common.engine.impl.persistence.cache.EntityCache;
+import org.flowable.common.engine.impl.persistence.cache.IndexedCachedEntityMatcher;
 import org.flowable.common.engine.impl.persistence.entity.Entity;
 import org.flowable.common.engine.impl.persistence.entity.data.DataManager;
 
@@ -163,7 +164,7 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> implements
 
                 // Cache entities
                 if (cachedObjects != null && cachedEntityMatcher != null) {
-                    for (CachedEntity cachedObject : cachedObjects) {
+                    for (CachedEntity cachedObject : getCachedObjectCandidates(getManagedEntityClass(), cachedObjects, cachedEntityMatcher, parameter)) {
                         EntityImpl cachedEntity = (EntityImpl) cachedObject.getEntity();
                         if (cachedEntityMatcher.isRetained(result, cachedObjects, cachedEntity, parameter)) {
                             entityMap.put(cachedEntity.getId(), cachedEntity); // will overwrite db version with newer version
@@ -175,7 +176,7 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> implements
                     for (Class<? extends EntityImpl> entitySubClass : getManagedEntitySubClasses()) {
                         Collection<CachedEntity> subclassCachedObjects = getEntityCache().findInCacheAsCachedObjects(entitySubClass);
                         if (subclassCachedObjects != null) {
-                            for (CachedEntity subclassCachedObject : subclassCachedObjects) {
+                            for (CachedEntity subclassCachedObject : getCachedObjectCandidates(entitySubClass, subclassCachedObjects, cachedEntityMatcher, parameter)) {
                                 EntityImpl cachedSubclassEntity = (EntityImpl) subclassCachedObject.getEntity();
                                 if (cachedEntityMatcher.isRetained(result, cachedObjects, cachedSubclassEntity, parameter)) {
                                     entityMap.put(cachedSubclassEntity.getId(), cachedSubclassEntity); // will overwrite db version with newer version
@@ -212,7 +213,7 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> implements
 
         List<EntityImpl> result = new ArrayList<>(cachedObjects != null ? cachedObjects.size() : 1);
         if (cachedObjects != null && entityMatcher != null) {
-            for (CachedEntity cachedObject : cachedObjects) {
+            for (CachedEntity cachedObject : getCachedObjectCandidates(getManagedEntityClass(), cachedObjects, entityMatcher, parameter)) {
                 EntityImpl cachedEntity = (EntityImpl) cachedObject.getEntity();
                 if (entityMatcher.isRetained(null, cachedObjects, cachedEntity, parameter) && !dbSqlSession.isEntityToBeDeleted(cachedEntity)) {
                     result.add(cachedEntity);
@@ -224,7 +225,7 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> implements
             for (Class<? extends EntityImpl> entitySubClass : getManagedEntitySubClasses()) {
                 Collection<CachedEntity> subclassCachedObjects = getEntityCache().findInCacheAsCachedObjects(entitySubClass);
                 if (subclassCachedObjects != null) {
-                    for (CachedEntity subclassCachedObject : subclassCachedObjects) {
+                    for (CachedEntity subclassCachedObject : getCachedObjectCandidates(entitySubClass, subclassCachedObjects, entityMatcher, parameter)) {
                         EntityImpl cachedSubclassEntity = (EntityImpl) subclassCachedObject.getEntity();
                         if (entityMatcher.isRetained(null, cachedObjects, cachedSubclassEntity, parameter) && !dbSqlSession.isEntityToBeDeleted(cachedSubclassEntity)) {
                             result.add(cachedSubclassEntity);
@@ -236,6 +237,18 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> implements
 
         return result;
     }
+
+    /**
+     * Returns the cached entities that need to be checked with the given {@link CachedEntityMatcher}:
+     * when it is an {@link IndexedCachedEntityMatcher}, only the ones found in the index of the {@link EntityCache}, otherwise all of them.
+     */
+    protected Collection<CachedEntity> getCachedObjectCandidates(Class<?> entityClass, Collection<CachedEntity> cachedObjects,
+            CachedEntityMatcher<EntityImpl> cachedEntityMatcher, Object parameter) {
+        if (cachedEntityMatcher instanceof IndexedCachedEntityMatcher) {
+            return getEntityCache().findInCacheAsCachedObjects(entityClass, (IndexedCachedEntityMatcher<EntityImpl>) cachedEntityMatcher, parameter);
+        }
+        return cachedObjects;
+    }
     
     /**
      * Does a bulk delete, but also uses the provided {@link CachedEntityMatcher}
@@ -24,7 +24,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
+import org.apache.ibatis.transaction.managed.ManagedTransaction;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableOptimisticLockingException;
 import org.flowable.common.engine.impl.Page;
@@ -33,6 +38,7 @@ import org.flowable.common.engine.impl.interceptor.Session;
 import org.flowable.common.engine.impl.persistence.cache.CachedEntity;
 import org.flowable.common.engine.impl.persistence.cache.EntityCache;
 import org.flowable.common.engine.impl.persistence.entity.AlwaysUpdatedPersistentObject;
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.common.engine.impl.persistence.entity.Entity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +55,7 @@ public class DbSqlSession implements Session {
 
     protected EntityCache entityCache;
     protected SqlSession sqlSession;
+    protected SqlSession batchSqlSession; // Lazily created, only used when JDBC batching of updates and deletes is enabled
     protected DbSqlSessionFactory dbSqlSessionFactory;
     protected String connectionMetadataDefaultCatalog;
     protected String connectionMetadataDefaultSchema;
@@ -236,7 +243,7 @@ public class DbSqlSession implements Session {
             return null;
         }
 
-        entityCache.put(entity, true); // true -> store state so we can see later if it is updated later on
+        storeLoadedEntityInCache(entity);
         return entity;
     }
 
@@ -269,10 +276,24 @@ public class DbSqlSession implements Session {
         if (cachedEntity != null) {
             return cachedEntity;
         }
-        entityCache.put(entity, true);
+        storeLoadedEntityInCache(entity);
         return entity;
     }
 
+    /**
+     * Puts a freshly loaded {@link Entity} in the cache, in a way that allows to determine later on if it has been updated:
+     * either by resetting its dirty flag (when dirty tracking is enabled and supported by the entity) or by storing its current persistent state.
+     */
+    protected void storeLoadedEntityInCache(Entity entity) {
+        if (dbSqlSessionFactory.isDirtyTrackingEnabled() && entity instanceof DirtyTrackingEntity) {
+            ((DirtyTrackingEntity) entity).resetDirty();
+            CachedEntity cachedEntity = entityCache.put(entity, false); // false -> no state snapshot needed, the dirty flag is used
+            cachedEntity.setDirtyTracked(true);
+        } else {
+            entityCache.put(entity, true); // true -> store state so we can see later if it is updated later on
+        }
+    }
+
     // flush
     // ////////////////////////////////////////////////////////////////////
 
@@ -487,13 +508,13 @@ public class DbSqlSession implements Session {
     }
 
     protected void flushUpdates() {
-        for (Entity updatedObject : updatedObjects) {
-            String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
-            updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
+        if (dbSqlSessionFactory.isJdbcBatchUpdatesEnabled()) {
+            flushBatchUpdates();
+            return;
+        }
 
-            if (updateStatement == null) {
-                throw new FlowableException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
-            }
+        for (Entity updatedObject : updatedObjects) {
+            String updateStatement = getUpdateStatement(updatedObject);
 
             LOGGER.debug("updating: {}", updatedObject);
 
@@ -511,6 +532,49 @@ public class DbSqlSession implements Session {
         updatedObjects.clear();
     }
 
+    /**
+     * Sends all updates as JDBC batches on the same connection: one round trip per update statement type instead of one per entity.
+     * The update count of every row is verified afterwards, so concurrent modifications are still detected.
+     */
+    protected void flushBatchUpdates() {
+        if (updatedObjects.isEmpty()) {
+            return;
+        }
+
+        // A new JDBC batch is started each time the statement changes, hence the grouping per statement
+        Map<String, List<Entity>> updatedObjectsByStatement = new LinkedHashMap<>();
+        for (Entity updatedObject : updatedObjects) {
+            updatedObjectsByStatement.computeIfAbsent(getUpdateStatement(updatedObject), statement -> new ArrayList<>()).add(updatedObject);
+        }
+
+        SqlSession batchSqlSession = getBatchSqlSession();
+        for (Map.Entry<String, List<Entity>> entry : updatedObjectsByStatement.entrySet()) {
+            for (Entity updatedObject : entry.getValue()) {
+                LOGGER.debug("updating (batched): {}", updatedObject);
+                batchSqlSession.update(entry.getKey(), updatedObject);
+            }
+        }
+        flushBatchStatements(batchSqlSession, false);
+
+        // See https://activiti.atlassian.net/browse/ACT-1290
+        for (Entity updatedObject : updatedObjects) {
+            if (updatedObject instanceof HasRevision) {
+                ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
+            }
+        }
+        updatedObjects.clear();
+    }
+
+    protected String getUpdateStatement(Entity updatedObject) {
+        String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
+        updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
+
+        if (updateStatement == null) {
+            throw new FlowableException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
+        }
+        return updateStatement;
+    }
+
     protected void flushDeletes() {
 
         if (deletedObjects.size() == 0 && bulkDeleteOperations.size() == 0) {
@@ -553,12 +617,13 @@ public class DbSqlSession implements Session {
     }
 
     protected void flushDeleteEntities(Class<? extends Entity> entityClass, Collection<Entity> entitiesToDelete) {
+        if (dbSqlSessionFactory.isJdbcBatchUpdatesEnabled()) {
+            flushBatchDeleteEntities(entitiesToDelete);
+            return;
+        }
+
         for (Entity entity : entitiesToDelete) {
-            String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
-            deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
-            if (deleteStatement == null) {
-                throw new FlowableException("no delete statement for " + entity.getClass() + " in the ibatis mapping files");
-            }
+            String deleteStatement = getDeleteStatement(entity);
 
             // It only makes sense to check for optimistic locking exceptions
             // for objects that actually have a revision
@@ -573,8 +638,75 @@ public class DbSqlSession implements Session {
         }
     }
 
+    /**
+     * Sends the deletes of one entity class as a JDBC batch. The batch is executed before returning,
+     * so the ordering with the bulk deletes of the same entity class is kept.
+     */
+    protected void flushBatchDeleteEntities(Collection<Entity> entitiesToDelete) {
+        if (entitiesToDelete.isEmpty()) {
+            return;
+        }
+
+        SqlSession batchSqlSession = getBatchSqlSession();
+        for (Entity entity : entitiesToDelete) {
+            batchSqlSession.delete(getDeleteStatement(entity), entity);
+        }
+
+        // It only makes sense to check for optimistic locking exceptions
+        // for objects that actually have a revision
+        flushBatchStatements(batchSqlSession, true);
+    }
+
+    protected String getDeleteStatement(Entity entity) {
+        String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
+        deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
+        if (deleteStatement == null) {
+            throw new FlowableException("no delete statement for " + entity.getClass() + " in the ibatis mapping files");
+        }
+        return deleteStatement;
+    }
+
+    /**
+     * Executes the pending JDBC batches and checks the update count of every single statement in them.
+     * A count of 0 means the row was changed or removed by another transaction.
+     * Note that drivers returning {@link java.sql.Statement#SUCCESS_NO_INFO} for batched statements don't allow this check.
+     */
+    protected void flushBatchStatements(SqlSession batchSqlSession, boolean onlyCheckRevisionedEntities) {
+        List<BatchResult> batchResults = batchSqlSession.flushStatements();
+
+        // The regular session doesn't know about the statements executed through the batch session
+        sqlSession.clearCache();
+
+        for (BatchResult batchResult : batchResults) {
+            int[] updateCounts = batchResult.getUpdateCounts();
+            List<Object> parameterObjects = batchResult.getParameterObjects();
+            for (int i = 0; i < updateCounts.length; i++) {
+                Object entity = parameterObjects.get(i);
+                if (updateCounts[i] == 0 && (!onlyCheckRevisionedEntities || entity instanceof HasRevision)) {
+                    throw new FlowableOptimisticLockingException(entity + " was updated by another transaction concurrently");
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a MyBatis session using a batch executor on the connection of the regular session,
+     * so the batched statements take part in the same transaction.
+     */
+    protected SqlSession getBatchSqlSession() {
+        if (batchSqlSession == null) {
+            Configuration configuration = sqlSession.getConfiguration();
+            ManagedTransaction transaction = new ManagedTransaction(sqlSession.getConnection(), false); // false -> the connection is closed by the regular session
+            batchSqlSession = new DefaultSqlSession(configuration, configuration.newExecutor(transaction, ExecutorType.BATCH));
+        }
+        return batchSqlSession;
+    }
+
     @Override
     public void close() {
+        if (batchSqlSession != null) {
+            batchSqlSession.close();
+        }
         sqlSession.close();
     }
 
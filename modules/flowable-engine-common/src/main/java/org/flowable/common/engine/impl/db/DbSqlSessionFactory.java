@@ -62,6 +62,9 @@ public class DbSqlSessionFactory implements SessionFactory {
     protected Map<Class<?>, String> bulkInsertStatements = new ConcurrentHashMap<>();
 
     protected int maxNrOfStatementsInBulkInsert = 100;
+
+    protected boolean isDirtyTrackingEnabled;
+    protected boolean isJdbcBatchUpdatesEnabled;
     
     protected Map<String, Class<?>> logicalNameToClassMapping = new ConcurrentHashMap<>();
 
@@ -196,6 +199,22 @@ public class DbSqlSessionFactory implements SessionFactory {
         this.maxNrOfStatementsInBulkInsert = maxNrOfStatementsInBulkInsert;
     }
 
+    public boolean isDirtyTrackingEnabled() {
+        return isDirtyTrackingEnabled;
+    }
+
+    public void setDirtyTrackingEnabled(boolean isDirtyTrackingEnabled) {
+        this.isDirtyTrackingEnabled = isDirtyTrackingEnabled;
+    }
+
+    public boolean isJdbcBatchUpdatesEnabled() {
+        return isJdbcBatchUpdatesEnabled;
+    }
+
+    public void setJdbcBatchUpdatesEnabled(boolean isJdbcBatchUpdatesEnabled) {
+        this.isJdbcBatchUpdatesEnabled = isJdbcBatchUpdatesEnabled;
+    }
+
     public Map<Class<?>, String> getBulkInsertStatements() {
         return bulkInsertStatements;
     }
@@ -33,6 +33,12 @@ import org.flowable.common.engine.impl.javax.el.ValueExpression;
 /**
  * Default {@link ExpressionManager} implementation that contains the logic for creating 
  * and resolving {@link Expression} instances. 
+ * <p>
+ * When {@link #setSharedElResolversEnabled(boolean)} is set, the resolvers that don't depend on the {@link VariableContainer}
+ * (including the {@link BeanELResolver} and its bean property cache) are created once, and only the variable resolver
+ * is created for every evaluation.
+ * <p>
+ * When an {@link ExpressionCache} is set, the expressions created for the same text are reused instead of being parsed again.
  *
  * @author Tom Baeyens
  * @author Dave Syer
@@ -47,6 +53,11 @@ public class DefaultExpressionManager implements ExpressionManager {
     protected ELContext parsingElContext;
     protected Map<Object, Object> beans;
 
+    protected ExpressionCache expressionCache;
+
+    protected boolean sharedElResolversEnabled;
+    protected volatile ELResolver sharedElResolver;
+
     public DefaultExpressionManager() {
         this(null);
     }
@@ -58,6 +69,14 @@ public class DefaultExpressionManager implements ExpressionManager {
 
     @Override
     public Expression createExpression(String expression) {
+        ExpressionCache expressionCache = this.expressionCache;
+        if (expressionCache != null) {
+            Expression cachedExpression = expressionCache.get(expression);
+            if (cachedExpression != null) {
+                return cachedExpression;
+            }
+        }
+
         if (parsingElContext == null) {
             this.parsingElContext = new ParsingElContext(functionDelegates);
         } else if (parsingElContext.getFunctionMapper() != null && parsingElContext.getFunctionMapper() instanceof FlowableFunctionMapper) {
@@ -65,7 +84,11 @@ public class DefaultExpressionManager implements ExpressionManager {
         }
 
         ValueExpression valueExpression = expressionFactory.createValueExpression(parsingElContext, expression.trim(), Object.class);
-        return createJuelExpression(expression, valueExpression);
+        Expression juelExpression = createJuelExpression(expression, valueExpression);
+        if (expressionCache != null) {
+            expressionCache.put(expression, juelExpression);
+        }
+        return juelExpression;
     }
 
     protected Expression createJuelExpression(String expression, ValueExpression valueExpression) {
@@ -74,6 +97,9 @@ public class DefaultExpressionManager implements ExpressionManager {
 
     public void setExpressionFactory(ExpressionFactory expressionFactory) {
         this.expressionFactory = expressionFactory;
+        if (expressionCache != null) {
+            expressionCache.clear();
+        }
     }
     
     @Override
@@ -83,6 +109,10 @@ public class DefaultExpressionManager implements ExpressionManager {
     }
     
     protected ELResolver createElResolver(VariableContainer variableContainer) {
+        if (sharedElResolversEnabled) {
+            return createVariableBoundElResolver(variableContainer);
+        }
+
         List<ELResolver> elResolvers = new ArrayList<>();
         elResolvers.add(createVariableElResolver(variableContainer));
         if (beans != null) {
@@ -107,6 +137,56 @@ public class DefaultExpressionManager implements ExpressionManager {
         return compositeELResolver;
     }
     
+    /**
+     * Creates the resolver for one evaluation: the resolver of the given {@link VariableContainer}, followed by the
+     * shared resolvers (or a new instance of them when sharing is disabled).
+     */
+    protected ELResolver createVariableBoundElResolver(VariableContainer variableContainer) {
+        CompositeELResolver compositeELResolver = new CompositeELResolver();
+        compositeELResolver.add(createVariableElResolver(variableContainer));
+        compositeELResolver.add(sharedElResolversEnabled ? getSharedElResolver() : createSharedElResolver());
+        return compositeELResolver;
+    }
+
+    protected ELResolver getSharedElResolver() {
+        ELResolver elResolver = sharedElResolver;
+        if (elResolver == null) {
+            // Creating it twice when used concurrently for the first time does no harm
+            elResolver = createSharedElResolver();
+            sharedElResolver = elResolver;
+        }
+        return elResolver;
+    }
+
+    /**
+     * Creates the resolvers that don't depend on a {@link VariableContainer}. The result is reused for all evaluations
+     * when shared resolvers are enabled, so none of these resolvers should keep state of an evaluation.
+     * Note that the list passed to {@link #configureResolvers(List)} doesn't contain the variable resolver in this case.
+     */
+    protected ELResolver createSharedElResolver() {
+        List<ELResolver> elResolvers = new ArrayList<>();
+        if (beans != null) {
+            elResolvers.add(new ReadOnlyMapELResolver(beans));
+        }
+        elResolvers.add(new ArrayELResolver());
+        elResolvers.add(new ListELResolver());
+        elResolvers.add(new MapELResolver());
+        elResolvers.add(new JsonNodeELResolver());
+        ELResolver beanElResolver = createBeanElResolver();
+        if (beanElResolver != null) {
+            elResolvers.add(beanElResolver);
+        }
+
+        configureResolvers(elResolvers);
+
+        CompositeELResolver compositeELResolver = new CompositeELResolver();
+        for (ELResolver elResolver : elResolvers) {
+            compositeELResolver.add(elResolver);
+        }
+        compositeELResolver.add(new CouldNotResolvePropertyELResolver());
+        return compositeELResolver;
+    }
+
     protected void configureResolvers(List<ELResolver> elResolvers) {
         // to be extended if needed
     }
@@ -127,6 +207,7 @@ public class DefaultExpressionManager implements ExpressionManager {
     @Override
     public void setBeans(Map<Object, Object> beans) {
         this.beans = beans;
+        this.sharedElResolver = null;
     }
 
     @Override
@@ -137,5 +218,26 @@ public class DefaultExpressionManager implements ExpressionManager {
     @Override
     public void setFunctionDelegates(List<FlowableFunctionDelegate> functionDelegates) {
         this.functionDelegates = functionDelegates;
+        if (expressionCache != null) {
+            // The cached expressions were parsed with the previous functions
+            expressionCache.clear();
+        }
+    }
+
+    public ExpressionCache getExpressionCache() {
+        return expressionCache;
+    }
+
+    public void setExpressionCache(ExpressionCache expressionCache) {
+        this.expressionCache = expressionCache;
+    }
+
+    public boolean isSharedElResolversEnabled() {
+        return sharedElResolversEnabled;
+    }
+
+    public void setSharedElResolversEnabled(boolean sharedElResolversEnabled) {
+        this.sharedElResolversEnabled = sharedElResolversEnabled;
+        this.sharedElResolver = null;
     }
 }
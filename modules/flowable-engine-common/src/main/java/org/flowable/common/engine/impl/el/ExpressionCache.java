@@ -0,0 +1,173 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.flowable.common.engine.api.delegate.Expression;
+
+/**
+ * Bounded cache of the {@link Expression} instances created by the {@link DefaultExpressionManager}, keyed by the expression text.
+ * When the capacity is exceeded, the least recently used expressions are evicted.
+ * <p>
+ * Reads don't take a lock: as in the {@link org.flowable.common.engine.impl.persistence.deploy.ConcurrentDeploymentCache}, they record the
+ * access in a buffer, which is applied to the access order by the next write, or by a read once the buffer is full and the lock is free.
+ * Writes only happen after an expression has been parsed, and take the lock to update the access order.
+ * <p>
+ * The function delegates are not part of the key: an expression manager parses with a single list of function delegates,
+ * and clears its cache when that list is replaced.
+ * <p>
+ * Hits, misses and evictions are counted.
+ */
+public class ExpressionCache {
+
+    public static final String HIT_COUNT = "hitCount";
+    public static final String MISS_COUNT = "missCount";
+    public static final String EVICTION_COUNT = "evictionCount";
+    public static final String SIZE = "size";
+
+    // Number of recorded reads after which a read tries to apply them to the access order
+    protected static final int READ_BUFFER_DRAIN_THRESHOLD = 64;
+
+    // Number of recorded reads after which reads are no longer recorded until the buffer is drained
+    protected static final int READ_BUFFER_MAX_SIZE = 1024;
+
+    protected final ConcurrentHashMap<String, Expression> cache = new ConcurrentHashMap<>();
+
+    // Least recently used expression first, guarded by the lock
+    protected final LinkedHashMap<String, Expression> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+    protected final ReentrantLock lock = new ReentrantLock();
+    protected final Queue<String> readBuffer = new ConcurrentLinkedQueue<>();
+    protected final AtomicInteger readBufferSize = new AtomicInteger();
+    protected final int capacity;
+
+    protected final LongAdder hitCount = new LongAdder();
+    protected final LongAdder missCount = new LongAdder();
+    protected final LongAdder evictionCount = new LongAdder();
+
+    public ExpressionCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public Expression get(String expressionText) {
+        Expression expression = cache.get(expressionText);
+        if (expression != null) {
+            recordRead(expressionText);
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return expression;
+    }
+
+    public void put(String expressionText, Expression expression) {
+        lock.lock();
+        try {
+            drainReadBuffer();
+
+            if (cache.putIfAbsent(expressionText, expression) == null) {
+                accessOrder.put(expressionText, expression);
+                evict();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all expressions, for example because the functions they were parsed with have changed. The counters are kept.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            cache.clear();
+            accessOrder.clear();
+            readBuffer.clear();
+            readBufferSize.set(0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a read, without blocking: the read is applied to the access order later on.
+     */
+    protected void recordRead(String expressionText) {
+        int bufferSize = readBufferSize.get();
+        if (bufferSize < READ_BUFFER_MAX_SIZE) {
+            readBuffer.offer(expressionText);
+            bufferSize = readBufferSize.incrementAndGet();
+        }
+
+        if (bufferSize >= READ_BUFFER_DRAIN_THRESHOLD && lock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Moves the expressions that have been read to the end of the access order. Must be called with the lock held.
+     */
+    protected void drainReadBuffer() {
+        String expressionText;
+        while ((expressionText = readBuffer.poll()) != null) {
+            readBufferSize.decrementAndGet();
+            accessOrder.get(expressionText); // an access-ordered map moves the entry to the end
+        }
+    }
+
+    /**
+     * Evicts the least recently used expressions until the capacity is no longer exceeded. Must be called with the lock held.
+     */
+    protected void evict() {
+        Iterator<String> iterator = accessOrder.keySet().iterator();
+        while (accessOrder.size() > capacity && iterator.hasNext()) {
+            String eldestExpressionText = iterator.next();
+            iterator.remove();
+            if (cache.remove(eldestExpressionText) != null) {
+                evictionCount.increment();
+            }
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+}
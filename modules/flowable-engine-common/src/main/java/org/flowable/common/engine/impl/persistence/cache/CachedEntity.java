@@ -14,6 +14,7 @@ package org.flowable.common.engine.impl.persistence.cache;
 
 import java.util.HashMap;
 
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.common.engine.impl.persistence.entity.Entity;
 
 /**
@@ -32,6 +33,12 @@ public class CachedEntity {
      */
     protected Object originalPersistentState;
 
+    /**
+     * If true, the {@link Entity} is a {@link DirtyTrackingEntity} and its dirty flag is used to determine if it has been updated,
+     * instead of comparing its 'persistent state' with the original one.
+     */
+    protected boolean dirtyTracked;
+
     public CachedEntity(Entity entity, boolean storeState) {
         this.entity = entity;
         if (storeState) {
@@ -58,7 +65,18 @@ public class CachedEntity {
         this.originalPersistentState = originalPersistentState;
     }
 
+    public boolean isDirtyTracked() {
+        return dirtyTracked;
+    }
+
+    public void setDirtyTracked(boolean dirtyTracked) {
+        this.dirtyTracked = dirtyTracked;
+    }
+
     public boolean hasChanged() {
+        if (dirtyTracked) {
+            return ((DirtyTrackingEntity) entity).isDirty();
+        }
         return entity.getPersistentState() != null && !entity.getPersistentState().equals(originalPersistentState);
     }
 
@@ -59,6 +59,13 @@ public interface EntityCache extends Session {
      */
     <T> Collection<CachedEntity> findInCacheAsCachedObjects(Class<T> entityClass);
 
+    /**
+     * Returns the {@link CachedEntity} instances of the given type that can be retained by the given {@link IndexedCachedEntityMatcher} for the given parameter:
+     * the ones of which the indexed property has the value the matcher expects. The returned entities still need to be checked with the matcher.
+     * Returns null if no instances of the given type exist.
+     */
+    Collection<CachedEntity> findInCacheAsCachedObjects(Class<?> entityClass, IndexedCachedEntityMatcher<?> cachedEntityMatcher, Object parameter);
+
     /**
      * Removes the {@link Entity} of the given type with the given id from the cache.
      */
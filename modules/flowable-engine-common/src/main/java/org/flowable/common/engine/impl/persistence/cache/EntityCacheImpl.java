@@ -16,27 +16,57 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.flowable.common.engine.impl.persistence.entity.AbstractEntity;
 import org.flowable.common.engine.impl.persistence.entity.Entity;
+import org.flowable.common.engine.impl.persistence.entity.EntityPropertyChangeListener;
 
 /**
+ * Besides the cached entities per type, this cache keeps indexes on the properties used by {@link IndexedCachedEntityMatcher} instances.
+ * An index is created the first time such a matcher is used for a type, and is kept up to date with the changes the cached entities
+ * report through their {@link EntityPropertyChangeListener}.
+ *
  * @author Joram Barrez
  */
-public class EntityCacheImpl implements EntityCache {
+public class EntityCacheImpl implements EntityCache, EntityPropertyChangeListener {
 
     protected Map<Class<?>, Map<String, CachedEntity>> cachedObjects = new HashMap<>();
 
+    /**
+     * The cached type found for a requested supertype by {@link #findClassCacheByCheckingSubclasses(Class)} (null if none was found).
+     * Cleared when entities of a new type are cached.
+     */
+    protected Map<Class<?>, Class<?>> resolvedSubclasses;
+
+    /**
+     * The property indexes per cached type: { entityClass, { propertyName, index } }
+     */
+    protected Map<Class<?>, Map<String, PropertyIndex>> propertyIndexes;
+
     @Override
     public CachedEntity put(Entity entity, boolean storeState) {
         Map<String, CachedEntity> classCache = cachedObjects.get(entity.getClass());
         if (classCache == null) {
             classCache = new HashMap<>();
             cachedObjects.put(entity.getClass(), classCache);
+            resolvedSubclasses = null;
         }
         CachedEntity cachedObject = new CachedEntity(entity, storeState);
-        classCache.put(entity.getId(), cachedObject);
+        CachedEntity previousCachedObject = classCache.put(entity.getId(), cachedObject);
+
+        Map<String, PropertyIndex> classIndexes = propertyIndexes != null ? propertyIndexes.get(entity.getClass()) : null;
+        if (classIndexes != null) {
+            if (previousCachedObject != null) {
+                removeFromIndexes(classIndexes, previousCachedObject);
+            }
+            for (PropertyIndex index : classIndexes.values()) {
+                addToIndex(index, cachedObject);
+            }
+        }
+
         return cachedObject;
     }
 
@@ -62,11 +92,21 @@ public class EntityCacheImpl implements EntityCache {
     }
 
     protected Map<String, CachedEntity> findClassCacheByCheckingSubclasses(Class<?> entityClass) {
+        if (resolvedSubclasses == null) {
+            resolvedSubclasses = new HashMap<>();
+
+        } else if (resolvedSubclasses.containsKey(entityClass)) {
+            Class<?> subclass = resolvedSubclasses.get(entityClass);
+            return subclass != null ? cachedObjects.get(subclass) : null;
+        }
+
         for (Class<?> clazz : cachedObjects.keySet()) {
             if (entityClass.isAssignableFrom(clazz)) {
+                resolvedSubclasses.put(entityClass, clazz);
                 return cachedObjects.get(clazz);
             }
         }
+        resolvedSubclasses.put(entityClass, null);
         return null;
     }
 
@@ -76,7 +116,12 @@ public class EntityCacheImpl implements EntityCache {
         if (classCache == null) {
             return;
         }
-        classCache.remove(entityId);
+        CachedEntity cachedObject = classCache.remove(entityId);
+
+        Map<String, PropertyIndex> classIndexes = propertyIndexes != null ? propertyIndexes.get(entityClass) : null;
+        if (cachedObject != null && classIndexes != null) {
+            removeFromIndexes(classIndexes, cachedObject);
+        }
     }
 
     @Override
@@ -88,6 +133,91 @@ public class EntityCacheImpl implements EntityCache {
         return null;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<CachedEntity> findInCacheAsCachedObjects(Class<?> entityClass, IndexedCachedEntityMatcher<?> cachedEntityMatcher, Object parameter) {
+        Map<String, CachedEntity> classCache = cachedObjects.get(entityClass);
+        if (classCache == null) {
+            return null;
+        }
+
+        if (propertyIndexes == null) {
+            propertyIndexes = new HashMap<>();
+        }
+        Map<String, PropertyIndex> classIndexes = propertyIndexes.get(entityClass);
+        if (classIndexes == null) {
+            classIndexes = new HashMap<>();
+            propertyIndexes.put(entityClass, classIndexes);
+        }
+
+        String propertyName = cachedEntityMatcher.getIndexedPropertyName();
+        PropertyIndex index = classIndexes.get(propertyName);
+        if (index == null) {
+            index = new PropertyIndex((IndexedCachedEntityMatcher<Entity>) cachedEntityMatcher);
+            for (CachedEntity cachedObject : classCache.values()) {
+                addToIndex(index, cachedObject);
+            }
+            classIndexes.put(propertyName, index);
+        }
+
+        if (!index.isComplete()) {
+            // Changes of some entities can't be followed, so the index can't be trusted
+            return classCache.values();
+        }
+
+        Map<String, CachedEntity> indexedObjects = index.getCachedEntities(cachedEntityMatcher.getIndexedPropertyValueForParameter(parameter));
+        if (indexedObjects != null) {
+            return indexedObjects.values();
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void propertyChanged(Entity entity, String propertyName, Object oldValue, Object newValue) {
+        Map<String, PropertyIndex> classIndexes = propertyIndexes != null ? propertyIndexes.get(entity.getClass()) : null;
+        if (classIndexes == null) {
+            return;
+        }
+
+        PropertyIndex index = classIndexes.get(propertyName);
+        if (index != null) {
+            CachedEntity cachedObject = index.remove(oldValue, entity.getId());
+            if (cachedObject != null) {
+                index.add(cachedObject.getEntity() == entity ? newValue : oldValue, cachedObject);
+            }
+        }
+    }
+
+    protected void addToIndex(PropertyIndex index, CachedEntity cachedObject) {
+        Entity entity = cachedObject.getEntity();
+        if (entity instanceof AbstractEntity) {
+            AbstractEntity abstractEntity = (AbstractEntity) entity;
+            EntityPropertyChangeListener propertyChangeListener = abstractEntity.getPropertyChangeListener();
+            if (propertyChangeListener == null || propertyChangeListener == this) {
+                abstractEntity.setPropertyChangeListener(this);
+                index.add(index.getPropertyValue(entity), cachedObject);
+                return;
+            }
+        }
+
+        // Changes to this entity are not reported to this cache
+        index.setComplete(false);
+    }
+
+    protected void removeFromIndexes(Map<String, PropertyIndex> classIndexes, CachedEntity cachedObject) {
+        Entity entity = cachedObject.getEntity();
+        for (PropertyIndex index : classIndexes.values()) {
+            index.remove(index.getPropertyValue(entity), entity.getId());
+        }
+        releaseEntity(entity);
+    }
+
+    protected void releaseEntity(Entity entity) {
+        if (entity instanceof AbstractEntity && ((AbstractEntity) entity).getPropertyChangeListener() == this) {
+            ((AbstractEntity) entity).setPropertyChangeListener(null);
+        }
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> List<T> findInCache(Class<T> entityClass) {
@@ -115,11 +245,73 @@ public class EntityCacheImpl implements EntityCache {
 
     @Override
     public void close() {
-
+        // The entities can outlive the cache, they shouldn't keep reporting their changes to it
+        if (propertyIndexes != null) {
+            for (Class<?> indexedClass : propertyIndexes.keySet()) {
+                Map<String, CachedEntity> classCache = cachedObjects.get(indexedClass);
+                if (classCache != null) {
+                    for (CachedEntity cachedObject : classCache.values()) {
+                        releaseEntity(cachedObject.getEntity());
+                    }
+                }
+            }
+            propertyIndexes = null;
+        }
     }
 
     @Override
     public void flush() {
 
     }
+
+    /**
+     * The cached entities of one type, grouped by the value of one property.
+     */
+    protected static class PropertyIndex {
+
+        protected final IndexedCachedEntityMatcher<Entity> cachedEntityMatcher;
+        protected final Map<Object, Map<String, CachedEntity>> cachedEntitiesByValue = new HashMap<>();
+        protected boolean complete = true;
+
+        public PropertyIndex(IndexedCachedEntityMatcher<Entity> cachedEntityMatcher) {
+            this.cachedEntityMatcher = cachedEntityMatcher;
+        }
+
+        public Object getPropertyValue(Entity entity) {
+            return cachedEntityMatcher.getIndexedPropertyValue(entity);
+        }
+
+        public Map<String, CachedEntity> getCachedEntities(Object value) {
+            return cachedEntitiesByValue.get(value);
+        }
+
+        public void add(Object value, CachedEntity cachedObject) {
+            Map<String, CachedEntity> cachedObjects = cachedEntitiesByValue.get(value);
+            if (cachedObjects == null) {
+                cachedObjects = new LinkedHashMap<>();
+                cachedEntitiesByValue.put(value, cachedObjects);
+            }
+            cachedObjects.put(cachedObject.getEntity().getId(), cachedObject);
+        }
+
+        public CachedEntity remove(Object value, String entityId) {
+            Map<String, CachedEntity> cachedObjects = cachedEntitiesByValue.get(value);
+            if (cachedObjects == null) {
+                return null;
+            }
+            CachedEntity cachedObject = cachedObjects.remove(entityId);
+            if (cachedObjects.isEmpty()) {
+                cachedEntitiesByValue.remove(value);
+            }
+            return cachedObject;
+        }
+
+        public boolean isComplete() {
+            return complete;
+        }
+
+        public void setComplete(boolean complete) {
+            this.complete = complete;
+        }
+    }
 }
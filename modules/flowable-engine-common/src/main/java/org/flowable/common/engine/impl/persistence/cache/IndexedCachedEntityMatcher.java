@@ -0,0 +1,43 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.cache;
+
+import org.flowable.common.engine.impl.persistence.entity.AbstractEntity;
+import org.flowable.common.engine.impl.persistence.entity.Entity;
+
+/**
+ * A {@link CachedEntityMatcher} that only retains entities with a given value for one property, which allows the {@link EntityCache}
+ * to look up the candidate entities in an index on that property instead of checking every cached entity of the type.
+ * The matcher is still called for every candidate, so it can check other conditions too.
+ *
+ * The indexed property must be one of which the changes are reported by the entity (see {@link AbstractEntity#markDirty(String, Object, Object)}),
+ * otherwise the index can't follow the changes made to the cached entities.
+ */
+public interface IndexedCachedEntityMatcher<EntityImpl extends Entity> extends CachedEntityMatcher<EntityImpl> {
+
+    /**
+     * The name of the indexed property, as reported to the {@link org.flowable.common.engine.impl.persistence.entity.EntityPropertyChangeListener}.
+     */
+    String getIndexedPropertyName();
+
+    /**
+     * Returns the current value of the indexed property of the given entity.
+     */
+    Object getIndexedPropertyValue(EntityImpl entity);
+
+    /**
+     * Returns the value of the indexed property that retained entities have for the given query parameter.
+     */
+    Object getIndexedPropertyValueForParameter(Object parameter);
+
+}
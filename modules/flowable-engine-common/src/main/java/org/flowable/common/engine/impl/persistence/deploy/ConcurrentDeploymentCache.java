@@ -0,0 +1,346 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.deploy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deployment cache backed by a {@link ConcurrentHashMap}: reads don't take a lock, unlike the {@link DefaultDeploymentCache}
+ * with a limit, where every read reorders a synchronized access-ordered map.
+ * <p>
+ * The cache can be limited on the number of entries ({@link #setMaxSize(int)}) and on the total weight of the entries, as estimated by a
+ * {@link DeploymentCacheWeigher} ({@link #setMaxWeight(long)}). When a limit is exceeded, the least recently accessed entries are evicted.
+ * The access order is kept in an access-ordered map guarded by a lock. Reads don't take that lock: they record the access in a buffer,
+ * which is applied to the access order by the next write, or by a read once the buffer is full and the lock is free.
+ * Eviction then only removes the eldest entries of the access order.
+ * Entries that haven't been accessed for {@link #setExpireAfterAccessInMillis(long)} are evicted when read.
+ * <p>
+ * Hits, misses and evictions are counted and can be retrieved through {@link #getStatistics()}.
+ */
+public class ConcurrentDeploymentCache<T> implements DeploymentCache<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentDeploymentCache.class);
+
+    public static final String HIT_COUNT = "hitCount";
+    public static final String MISS_COUNT = "missCount";
+    public static final String EVICTION_COUNT = "evictionCount";
+    public static final String SIZE = "size";
+    public static final String TOTAL_WEIGHT = "totalWeight";
+
+    // Number of recorded reads after which a read tries to apply them to the access order
+    protected static final int READ_BUFFER_DRAIN_THRESHOLD = 64;
+
+    // Number of recorded reads after which reads are no longer recorded until the buffer is drained
+    protected static final int READ_BUFFER_MAX_SIZE = 1024;
+
+    protected final ConcurrentHashMap<String, CacheEntry<T>> cache = new ConcurrentHashMap<>();
+    protected final AtomicLong totalWeight = new AtomicLong();
+
+    // Least recently accessed entry first, guarded by the lock
+    protected final LinkedHashMap<String, CacheEntry<T>> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+    protected final ReentrantLock lock = new ReentrantLock();
+    protected final Queue<String> readBuffer = new ConcurrentLinkedQueue<>();
+    protected final AtomicInteger readBufferSize = new AtomicInteger();
+
+    protected int maxSize = -1;
+    protected long maxWeight = -1;
+    protected long expireAfterAccessInMillis = -1;
+    protected DeploymentCacheWeigher<T> weigher;
+
+    protected final LongAdder hitCount = new LongAdder();
+    protected final LongAdder missCount = new LongAdder();
+    protected final LongAdder evictionCount = new LongAdder();
+
+    /** Cache with no limit */
+    public ConcurrentDeploymentCache() {
+    }
+
+    /**
+     * Cache which keeps at most the given number of entries.
+     */
+    public ConcurrentDeploymentCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public T get(String id) {
+        CacheEntry<T> entry = cache.get(id);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+
+        long now = currentTimeMillis();
+        if (isExpired(entry, now)) {
+            lock.lock();
+            try {
+                if (removeEntry(id, entry)) {
+                    evictionCount.increment();
+                    LOGGER.trace("{} has not been accessed for {} ms and is evicted", id, expireAfterAccessInMillis);
+                }
+            } finally {
+                lock.unlock();
+            }
+            missCount.increment();
+            return null;
+        }
+
+        entry.lastAccessTime = now;
+        recordRead(id);
+        hitCount.increment();
+        return entry.value;
+    }
+
+    @Override
+    public boolean contains(String id) {
+        CacheEntry<T> entry = cache.get(id);
+        return entry != null && !isExpired(entry, currentTimeMillis());
+    }
+
+    @Override
+    public void add(String id, T object) {
+        CacheEntry<T> entry = new CacheEntry<>(object, weigh(id, object), currentTimeMillis());
+        lock.lock();
+        try {
+            drainReadBuffer();
+
+            CacheEntry<T> previousEntry = cache.put(id, entry);
+            accessOrder.put(id, entry);
+            totalWeight.addAndGet(entry.weight - (previousEntry != null ? previousEntry.weight : 0L));
+
+            evict(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        lock.lock();
+        try {
+            CacheEntry<T> entry = cache.get(id);
+            if (entry != null) {
+                removeEntry(id, entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            cache.clear();
+            accessOrder.clear();
+            readBuffer.clear();
+            readBufferSize.set(0);
+            totalWeight.set(0L);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the entry if it is still the cached one. Must be called with the lock held.
+     */
+    protected boolean removeEntry(String id, CacheEntry<T> entry) {
+        if (cache.remove(id, entry)) {
+            accessOrder.remove(id);
+            totalWeight.addAndGet(-entry.weight);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records a read, without blocking: the read is applied to the access order later on.
+     */
+    protected void recordRead(String id) {
+        if (maxSize <= 0 && maxWeight <= 0) {
+            return; // no eviction, so no access order needed
+        }
+
+        int bufferSize = readBufferSize.get();
+        if (bufferSize < READ_BUFFER_MAX_SIZE) {
+            readBuffer.offer(id);
+            bufferSize = readBufferSize.incrementAndGet();
+        }
+
+        if (bufferSize >= READ_BUFFER_DRAIN_THRESHOLD && lock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Moves the entries that have been read to the end of the access order. Must be called with the lock held.
+     */
+    protected void drainReadBuffer() {
+        String id;
+        while ((id = readBuffer.poll()) != null) {
+            readBufferSize.decrementAndGet();
+            accessOrder.get(id); // an access-ordered map moves the entry to the end
+        }
+    }
+
+    protected long weigh(String id, T object) {
+        if (weigher == null) {
+            return 1L;
+        }
+        return Math.max(1L, weigher.weigh(id, object));
+    }
+
+    protected boolean isExpired(CacheEntry<T> entry, long now) {
+        return expireAfterAccessInMillis > 0 && now - entry.lastAccessTime > expireAfterAccessInMillis;
+    }
+
+    protected boolean isLimitExceeded() {
+        return (maxSize > 0 && cache.size() > maxSize) || (maxWeight > 0 && totalWeight.get() > maxWeight);
+    }
+
+    /**
+     * Evicts the least recently accessed entries until the cache is within its limits again. The entry that has just been added,
+     * which is the most recently accessed one, is never evicted, even when it exceeds the limits on its own. Must be called with the lock held.
+     */
+    protected void evict(String addedId) {
+        Iterator<Map.Entry<String, CacheEntry<T>>> iterator = accessOrder.entrySet().iterator();
+        while (isLimitExceeded() && iterator.hasNext()) {
+            Map.Entry<String, CacheEntry<T>> eldest = iterator.next();
+            if (eldest.getKey().equals(addedId)) {
+                LOGGER.warn("{} with weight {} exceeds the maximum weight {} of the cache on its own, the cache limit is not enforced until it is evicted",
+                        addedId, eldest.getValue().weight, maxWeight);
+                break;
+            }
+
+            iterator.remove();
+            if (cache.remove(eldest.getKey(), eldest.getValue())) {
+                totalWeight.addAndGet(-eldest.getValue().weight);
+                evictionCount.increment();
+                LOGGER.trace("Cache limit is reached, {} will be evicted", eldest.getKey());
+            }
+        }
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public void setMaxWeight(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    public long getExpireAfterAccessInMillis() {
+        return expireAfterAccessInMillis;
+    }
+
+    public void setExpireAfterAccessInMillis(long expireAfterAccessInMillis) {
+        this.expireAfterAccessInMillis = expireAfterAccessInMillis;
+    }
+
+    public DeploymentCacheWeigher<T> getWeigher() {
+        return weigher;
+    }
+
+    public void setWeigher(DeploymentCacheWeigher<T> weigher) {
+        this.weigher = weigher;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public long getTotalWeight() {
+        return totalWeight.get();
+    }
+
+    /**
+     * Returns the statistics of this cache: {hitCount, missCount, evictionCount, size, totalWeight}.
+     */
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> statistics = new HashMap<>();
+        statistics.put(HIT_COUNT, getHitCount());
+        statistics.put(MISS_COUNT, getMissCount());
+        statistics.put(EVICTION_COUNT, getEvictionCount());
+        statistics.put(SIZE, (long) size());
+        statistics.put(TOTAL_WEIGHT, getTotalWeight());
+        return statistics;
+    }
+
+    // For testing purposes only
+    public Collection<T> getAll() {
+        List<T> values = new ArrayList<>(cache.size());
+        for (CacheEntry<T> entry : cache.values()) {
+            values.add(entry.value);
+        }
+        return values;
+    }
+
+    // For testing purposes only
+    public int size() {
+        return cache.size();
+    }
+
+    protected static class CacheEntry<T> {
+
+        protected final T value;
+        protected final long weight;
+        protected volatile long lastAccessTime;
+
+        public CacheEntry(T value, long weight, long lastAccessTime) {
+            this.value = value;
+            this.weight = weight;
+            this.lastAccessTime = lastAccessTime;
+        }
+    }
+
+}
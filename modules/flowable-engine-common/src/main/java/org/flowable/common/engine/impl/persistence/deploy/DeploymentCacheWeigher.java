@@ -0,0 +1,25 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.deploy;
+
+/**
+ * Estimates the memory weight of a cached deployment artifact, used by the {@link ConcurrentDeploymentCache} to limit the total weight of the cache.
+ */
+public interface DeploymentCacheWeigher<T> {
+
+    /**
+     * Returns the estimated weight of the given cached object, at least 1.
+     */
+    long weigh(String id, T object);
+
+}
@@ -12,6 +12,10 @@
  */
 package org.flowable.common.engine.impl.persistence.entity;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
 import org.flowable.common.engine.impl.db.HasRevision;
 
 /**
@@ -27,9 +31,19 @@ public abstract class AbstractEntity implements Entity, HasRevision {
     protected boolean isInserted;
     protected boolean isUpdated;
     protected boolean isDeleted;
+    protected boolean isDirty;
+    protected boolean isDirtyTracked;
     
     protected Object originalPersistentState;
 
+    // Set when the entity was marked dirty without knowing which property changed
+    protected boolean hasUntrackedChanges;
+
+    // The persistent state at the moment of resetDirty(), lazily rebuilt from the current state and the changed properties
+    protected Map<String, Object> dirtyTrackedOriginalState;
+
+    protected EntityPropertyChangeListener propertyChangeListener;
+
     @Override
     public String getId() {
         return id;
@@ -85,13 +99,83 @@ public abstract class AbstractEntity implements Entity, HasRevision {
         this.isDeleted = isDeleted;
     }
 
+    public boolean isDirty() {
+        return isDirty;
+    }
+
+    public void markDirty() {
+        this.isDirty = true;
+        this.hasUntrackedChanges = true;
+    }
+
+    public void resetDirty() {
+        this.isDirty = false;
+        this.isDirtyTracked = true;
+        this.hasUntrackedChanges = false;
+        this.originalPersistentState = new HashMap<>();
+        this.dirtyTrackedOriginalState = null;
+    }
+
+    /**
+     * Flags the entity as dirty when the new value of a persistent property differs from the old one.
+     * The old value is kept in the original persistent state, so that the update statement can determine which columns have changed.
+     * Only relevant for subclasses implementing {@link DirtyTrackingEntity}, after {@link #resetDirty()} has been called.
+     * The change is also reported to the {@link EntityPropertyChangeListener}, if any.
+     */
+    @SuppressWarnings("unchecked")
+    protected void markDirty(String propertyName, Object oldValue, Object newValue) {
+        if (isDirtyTracked && !Objects.equals(oldValue, newValue)) {
+            isDirty = true;
+            Map<String, Object> originalState = (Map<String, Object>) originalPersistentState;
+            if (!originalState.containsKey(propertyName)) {
+                originalState.put(propertyName, oldValue);
+                dirtyTrackedOriginalState = null;
+            }
+        }
+        firePropertyChanged(propertyName, oldValue, newValue);
+    }
+
+    protected void firePropertyChanged(String propertyName, Object oldValue, Object newValue) {
+        if (propertyChangeListener != null && !Objects.equals(oldValue, newValue)) {
+            propertyChangeListener.propertyChanged(this, propertyName, oldValue, newValue);
+        }
+    }
+
+    public EntityPropertyChangeListener getPropertyChangeListener() {
+        return propertyChangeListener;
+    }
+
+    public void setPropertyChangeListener(EntityPropertyChangeListener propertyChangeListener) {
+        this.propertyChangeListener = propertyChangeListener;
+    }
+
+    /**
+     * For a dirty tracked entity, the original persistent state is the current persistent state with the old values of the changed properties put back,
+     * so that the update statement only writes the columns that have actually changed.
+     * When the entity was marked dirty through {@link #markDirty()}, it is unknown what has changed, and only the old values of the known changes are returned.
+     */
     @Override
+    @SuppressWarnings("unchecked")
     public Object getOriginalPersistentState() {
-        return originalPersistentState;
+        if (!isDirtyTracked || hasUntrackedChanges || !(originalPersistentState instanceof Map)) {
+            return originalPersistentState;
+        }
+
+        if (dirtyTrackedOriginalState == null) {
+            Object persistentState = getPersistentState();
+            if (!(persistentState instanceof Map)) {
+                return originalPersistentState;
+            }
+            Map<String, Object> originalState = new HashMap<>((Map<String, Object>) persistentState);
+            originalState.putAll((Map<String, Object>) originalPersistentState);
+            dirtyTrackedOriginalState = originalState;
+        }
+        return dirtyTrackedOriginalState;
     }
 
     @Override
     public void setOriginalPersistentState(Object persistentState) {
         this.originalPersistentState = persistentState;
+        this.dirtyTrackedOriginalState = null;
     }
 }
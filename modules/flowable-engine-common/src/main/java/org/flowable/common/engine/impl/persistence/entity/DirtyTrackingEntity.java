@@ -0,0 +1,39 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.entity;
+
+/**
+ * An {@link Entity} that flags itself as dirty whenever one of the properties that make up its {@link #getPersistentState()} is changed.
+ *
+ * When dirty tracking is enabled on the DbSqlSessionFactory, such entities are not diffed against a snapshot of their persistent state at flush time:
+ * the dirty flag alone decides whether an update is needed.
+ */
+public interface DirtyTrackingEntity extends Entity {
+
+    /**
+     * Returns true if a persistent property has been changed since the last call to {@link #resetDirty()}.
+     */
+    boolean isDirty();
+
+    /**
+     * Flags the entity as changed, regardless of the actual property values.
+     */
+    void markDirty();
+
+    /**
+     * Flags the entity as unchanged: the current state becomes the reference for detecting later changes.
+     * Called when the entity is loaded in the entity cache.
+     */
+    void resetDirty();
+
+}
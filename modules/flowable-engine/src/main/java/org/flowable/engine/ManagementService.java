@@ -309,6 +309,18 @@ public interface ManagementService {
     /** get the list of properties. */
     Map<String, String> getProperties();
 
+    /**
+     * Get the statistics of the cache of parsed expressions: {hitCount, missCount, evictionCount, size}.
+     * Empty when no expression cache is configured (see expressionCacheSize on the process engine configuration).
+     */
+    Map<String, Long> getExpressionCacheStatistics();
+
+    /**
+     * Get the statistics of the process definition cache: {hitCount, missCount, evictionCount, size, totalWeight}.
+     * Empty when the process definition cache is not a concurrent deployment cache (see concurrentDeploymentCacheEnabled on the process engine configuration).
+     */
+    Map<String, Long> getProcessDefinitionCacheStatistics();
+
     /**
      * programmatic schema update on a given connection returning feedback about what happened
      */
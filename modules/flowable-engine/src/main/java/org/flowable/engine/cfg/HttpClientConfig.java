@@ -24,6 +24,13 @@ public class HttpClientConfig {
     protected int requestRetryLimit = 3;
     // https settings
     protected boolean disableCertVerify;
+    // connection pool settings, only used when the client is shared
+    protected boolean useSharedClient;
+    protected int maxConnections = 200;
+    protected int maxConnectionsPerRoute = 20;
+    protected int connectionKeepAlive = 60000;
+    // threads sending the requests of triggerable HTTP tasks, only used when the client is shared
+    protected int asyncRequestThreads = 10;
 
     public int getConnectTimeout() {
         return connectTimeout;
@@ -65,6 +72,53 @@ public class HttpClientConfig {
         this.disableCertVerify = disableCertVerify;
     }
 
+    public boolean isUseSharedClient() {
+        return useSharedClient;
+    }
+
+    /**
+     * When true, all HTTP tasks of the engine use one pooled client that keeps connections alive between requests,
+     * instead of creating and closing a client for every request. The client is created when the engine is built and closed with the engine.
+     */
+    public void setUseSharedClient(boolean useSharedClient) {
+        this.useSharedClient = useSharedClient;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    public int getConnectionKeepAlive() {
+        return connectionKeepAlive;
+    }
+
+    /**
+     * The maximum time in milliseconds an idle pooled connection is kept alive, also when the server allows a longer time.
+     */
+    public void setConnectionKeepAlive(int connectionKeepAlive) {
+        this.connectionKeepAlive = connectionKeepAlive;
+    }
+
+    public int getAsyncRequestThreads() {
+        return asyncRequestThreads;
+    }
+
+    public void setAsyncRequestThreads(int asyncRequestThreads) {
+        this.asyncRequestThreads = asyncRequestThreads;
+    }
+
     public void merge(HttpClientConfig other) {
         if (this.connectTimeout != other.getConnectTimeout()) {
             setConnectTimeout(other.getConnectTimeout());
@@ -85,5 +139,25 @@ public class HttpClientConfig {
         if (this.disableCertVerify != other.isDisableCertVerify()) {
             setDisableCertVerify(other.isDisableCertVerify());
         }
+
+        if (this.useSharedClient != other.isUseSharedClient()) {
+            setUseSharedClient(other.isUseSharedClient());
+        }
+
+        if (this.maxConnections != other.getMaxConnections()) {
+            setMaxConnections(other.getMaxConnections());
+        }
+
+        if (this.maxConnectionsPerRoute != other.getMaxConnectionsPerRoute()) {
+            setMaxConnectionsPerRoute(other.getMaxConnectionsPerRoute());
+        }
+
+        if (this.connectionKeepAlive != other.getConnectionKeepAlive()) {
+            setConnectionKeepAlive(other.getConnectionKeepAlive());
+        }
+
+        if (this.asyncRequestThreads != other.getAsyncRequestThreads()) {
+            setAsyncRequestThreads(other.getAsyncRequestThreads());
+        }
     }
 }
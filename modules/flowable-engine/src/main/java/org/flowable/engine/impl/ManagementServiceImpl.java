@@ -29,6 +29,8 @@ import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.cmd.DeleteEventLogEntry;
 import org.flowable.engine.impl.cmd.ExecuteCustomSqlCmd;
 import org.flowable.engine.impl.cmd.GetEventLogEntriesCmd;
+import org.flowable.engine.impl.cmd.GetExpressionCacheStatisticsCmd;
+import org.flowable.engine.impl.cmd.GetProcessDefinitionCacheStatisticsCmd;
 import org.flowable.engine.impl.cmd.GetPropertiesCmd;
 import org.flowable.engine.impl.cmd.GetTableCountCmd;
 import org.flowable.engine.impl.cmd.GetTableMetaDataCmd;
@@ -236,6 +238,16 @@ public class ManagementServiceImpl extends CommonEngineServiceImpl<ProcessEngine
         return commandExecutor.execute(new GetPropertiesCmd());
     }
 
+    @Override
+    public Map<String, Long> getExpressionCacheStatistics() {
+        return commandExecutor.execute(new GetExpressionCacheStatisticsCmd());
+    }
+
+    @Override
+    public Map<String, Long> getProcessDefinitionCacheStatistics() {
+        return commandExecutor.execute(new GetProcessDefinitionCacheStatisticsCmd());
+    }
+
     @Override
     public String databaseSchemaUpgrade(final Connection connection, final String catalog, final String schema) {
         CommandConfig config = commandExecutor.getDefaultConfig().transactionNotSupported();
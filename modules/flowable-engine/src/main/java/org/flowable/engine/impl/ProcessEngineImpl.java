@@ -98,6 +98,9 @@ public class ProcessEngineImpl implements ProcessEngine {
         if (asyncHistoryExecutor != null && asyncHistoryExecutor.isAutoActivate()) {
             asyncHistoryExecutor.start();
         }
+        if (processEngineConfiguration.getAsyncHistoryLogConsumer() != null && processEngineConfiguration.isAsyncHistoryExecutorActivate()) {
+            processEngineConfiguration.getAsyncHistoryLogConsumer().start();
+        }
     }
 
     @Override
@@ -110,6 +113,8 @@ public class ProcessEngineImpl implements ProcessEngine {
             asyncHistoryExecutor.shutdown();
         }
 
+        processEngineConfiguration.close();
+
         Runnable closeRunnable = processEngineConfiguration.getProcessEngineCloseRunnable();
         if (closeRunnable != null) {
             closeRunnable.run();
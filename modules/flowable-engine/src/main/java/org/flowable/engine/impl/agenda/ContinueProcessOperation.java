@@ -35,6 +35,7 @@ import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntityManager;
 import org.flowable.engine.impl.util.CommandContextUtil;
 import org.flowable.engine.impl.util.ProcessDefinitionUtil;
+import org.flowable.engine.impl.util.VariablePrefetchUtil;
 import org.flowable.engine.logging.LogMDC;
 import org.flowable.job.api.Job;
 import org.flowable.job.service.JobService;
@@ -90,6 +91,8 @@ public class ContinueProcessOperation extends AbstractOperation {
         
         execution.setActive(true);
 
+        VariablePrefetchUtil.prefetchVariables(execution, flowNode);
+
         // Check if it's the initial flow element. If so, we must fire the execution listeners for the process too
         if (flowNode.getIncomingFlows() != null
                 && flowNode.getIncomingFlows().size() == 0
@@ -330,4 +333,20 @@ public class ContinueProcessOperation extends AbstractOperation {
         }
     }
 
+    public boolean isForceSynchronousOperation() {
+        return forceSynchronousOperation;
+    }
+
+    public void setForceSynchronousOperation(boolean forceSynchronousOperation) {
+        this.forceSynchronousOperation = forceSynchronousOperation;
+    }
+
+    public boolean isInCompensation() {
+        return inCompensation;
+    }
+
+    public void setInCompensation(boolean inCompensation) {
+        this.inCompensation = inCompensation;
+    }
+
 }
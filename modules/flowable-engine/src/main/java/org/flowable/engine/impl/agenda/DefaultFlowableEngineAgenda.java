@@ -21,8 +21,6 @@ import org.flowable.engine.FlowableEngineAgenda;
 import org.flowable.engine.impl.delegate.ActivityBehavior;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.util.CommandContextUtil;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * For each API call (and thus {@link Command}) being executed, a new agenda instance is created. On this agenda, operations are put, which the {@link CommandExecutor} will keep executing until all
@@ -35,8 +33,6 @@ import org.slf4j.LoggerFactory;
  * @author Joram Barrez
  */
 public class DefaultFlowableEngineAgenda extends AbstractAgenda implements FlowableEngineAgenda {
-    
-    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultFlowableEngineAgenda.class);
 
     public DefaultFlowableEngineAgenda(CommandContext commandContext) {
         super(commandContext);
@@ -47,8 +43,7 @@ public class DefaultFlowableEngineAgenda extends AbstractAgenda implements Flowa
      */
     @Override
     public void planOperation(Runnable operation, ExecutionEntity executionEntity) {
-        operations.add(operation);
-        LOGGER.debug("Operation {} added to agenda", operation.getClass());
+        planOperation(operation);
 
         if (executionEntity != null) {
             CommandContextUtil.addInvolvedExecution(commandContext, executionEntity);
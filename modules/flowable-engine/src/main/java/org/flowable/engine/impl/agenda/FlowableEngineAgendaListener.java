@@ -0,0 +1,34 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.agenda;
+
+import java.util.Map;
+
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+
+/**
+ * Gets notified of the operations a {@link PooledFlowableEngineAgenda} has executed, when the agenda is closed at the end of a command.
+ */
+public interface FlowableEngineAgendaListener {
+
+    /**
+     * @param commandContext
+     *            The context of the command for which the operations were executed
+     * @param executedOperationCount
+     *            The number of operations executed for the command
+     * @param executedOperationCounts
+     *            The number of operations executed for the command, per operation type
+     */
+    void operationsExecuted(CommandContext commandContext, int executedOperationCount, Map<Class<?>, Integer> executedOperationCounts);
+
+}
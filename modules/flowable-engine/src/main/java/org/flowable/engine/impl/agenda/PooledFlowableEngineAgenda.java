@@ -0,0 +1,147 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.agenda;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.interceptor.CommandInvoker;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+
+/**
+ * An agenda that is cheaper to use for commands executing many operations, e.g. a straight-through process with many steps:
+ *
+ * <ul>
+ * <li>The {@link ContinueProcessOperation} and {@link TakeOutgoingSequenceFlowsOperation} instances are reused once the {@link CommandInvoker}
+ * has executed them (see {@link #operationExecuted(Runnable)}), up to {@link #maxPooledOperations} instances of each type.</li>
+ * <li>When {@link FlowableEngineAgendaListener} instances are set, the executed operations are counted per type and passed to the listeners
+ * when the agenda is closed.</li>
+ * </ul>
+ *
+ * As the operations are reused, they should not be referenced anymore after they have been executed.
+ */
+public class PooledFlowableEngineAgenda extends DefaultFlowableEngineAgenda {
+
+    protected int maxPooledOperations;
+    protected ArrayDeque<ContinueProcessOperation> continueProcessOperationPool = new ArrayDeque<>();
+    protected ArrayDeque<TakeOutgoingSequenceFlowsOperation> takeOutgoingSequenceFlowsOperationPool = new ArrayDeque<>();
+
+    protected List<FlowableEngineAgendaListener> agendaListeners;
+    protected int executedOperationCount;
+    protected Map<Class<?>, int[]> executedOperationCounts;
+
+    public PooledFlowableEngineAgenda(CommandContext commandContext, int maxPooledOperations, List<FlowableEngineAgendaListener> agendaListeners) {
+        super(commandContext);
+        this.maxPooledOperations = maxPooledOperations;
+        this.agendaListeners = agendaListeners;
+        if (agendaListeners != null && !agendaListeners.isEmpty()) {
+            this.executedOperationCounts = new HashMap<>();
+        }
+    }
+
+    @Override
+    public void planContinueProcessOperation(ExecutionEntity execution) {
+        planOperation(getContinueProcessOperation(execution, false, false), execution);
+    }
+
+    @Override
+    public void planContinueProcessSynchronousOperation(ExecutionEntity execution) {
+        planOperation(getContinueProcessOperation(execution, true, false), execution);
+    }
+
+    @Override
+    public void planContinueProcessInCompensation(ExecutionEntity execution) {
+        planOperation(getContinueProcessOperation(execution, false, true), execution);
+    }
+
+    @Override
+    public void planTakeOutgoingSequenceFlowsOperation(ExecutionEntity execution, boolean evaluateConditions) {
+        TakeOutgoingSequenceFlowsOperation operation = takeOutgoingSequenceFlowsOperationPool.poll();
+        if (operation != null) {
+            operation.setExecution(execution);
+            operation.setEvaluateConditions(evaluateConditions);
+        } else {
+            operation = new TakeOutgoingSequenceFlowsOperation(commandContext, execution, evaluateConditions);
+        }
+        planOperation(operation, execution);
+    }
+
+    protected ContinueProcessOperation getContinueProcessOperation(ExecutionEntity execution, boolean forceSynchronousOperation, boolean inCompensation) {
+        ContinueProcessOperation operation = continueProcessOperationPool.poll();
+        if (operation != null) {
+            operation.setExecution(execution);
+            operation.setForceSynchronousOperation(forceSynchronousOperation);
+            operation.setInCompensation(inCompensation);
+            return operation;
+        }
+        return new ContinueProcessOperation(commandContext, execution, forceSynchronousOperation, inCompensation);
+    }
+
+    /**
+     * Called by the {@link CommandInvoker} when the given operation, taken from this agenda, has been executed.
+     * Operations of the pooled types are reused for the next operations of that type planned on this agenda.
+     */
+    public void operationExecuted(Runnable operation) {
+        if (executedOperationCounts != null) {
+            executedOperationCount++;
+            int[] count = executedOperationCounts.get(operation.getClass());
+            if (count == null) {
+                count = new int[1];
+                executedOperationCounts.put(operation.getClass(), count);
+            }
+            count[0]++;
+        }
+
+        // Subclasses (e.g. the debug operations) are never reused, as they can hold more state
+        if (operation.getClass() == ContinueProcessOperation.class) {
+            if (continueProcessOperationPool.size() < maxPooledOperations) {
+                ContinueProcessOperation continueProcessOperation = (ContinueProcessOperation) operation;
+                continueProcessOperation.setExecution(null);
+                continueProcessOperationPool.push(continueProcessOperation);
+            }
+
+        } else if (operation.getClass() == TakeOutgoingSequenceFlowsOperation.class) {
+            if (takeOutgoingSequenceFlowsOperationPool.size() < maxPooledOperations) {
+                TakeOutgoingSequenceFlowsOperation takeOutgoingSequenceFlowsOperation = (TakeOutgoingSequenceFlowsOperation) operation;
+                takeOutgoingSequenceFlowsOperation.setExecution(null);
+                takeOutgoingSequenceFlowsOperationPool.push(takeOutgoingSequenceFlowsOperation);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executedOperationCounts != null) {
+            Map<Class<?>, Integer> counts = new HashMap<>(executedOperationCounts.size());
+            for (Map.Entry<Class<?>, int[]> entry : executedOperationCounts.entrySet()) {
+                counts.put(entry.getKey(), entry.getValue()[0]);
+            }
+            for (FlowableEngineAgendaListener agendaListener : agendaListeners) {
+                agendaListener.operationsExecuted(commandContext, executedOperationCount, counts);
+            }
+        }
+        super.close();
+    }
+
+    public int getMaxPooledOperations() {
+        return maxPooledOperations;
+    }
+
+    public int getExecutedOperationCount() {
+        return executedOperationCount;
+    }
+
+}
@@ -0,0 +1,51 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.agenda;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.FlowableEngineAgenda;
+import org.flowable.engine.FlowableEngineAgendaFactory;
+
+public class PooledFlowableEngineAgendaFactory implements FlowableEngineAgendaFactory {
+
+    protected int maxPooledOperations = 8;
+    protected List<FlowableEngineAgendaListener> agendaListeners = new ArrayList<>();
+
+    @Override
+    public FlowableEngineAgenda createAgenda(CommandContext commandContext) {
+        return new PooledFlowableEngineAgenda(commandContext, maxPooledOperations, agendaListeners);
+    }
+
+    public int getMaxPooledOperations() {
+        return maxPooledOperations;
+    }
+
+    public void setMaxPooledOperations(int maxPooledOperations) {
+        this.maxPooledOperations = maxPooledOperations;
+    }
+
+    public List<FlowableEngineAgendaListener> getAgendaListeners() {
+        return agendaListeners;
+    }
+
+    public void setAgendaListeners(List<FlowableEngineAgendaListener> agendaListeners) {
+        this.agendaListeners = agendaListeners;
+    }
+
+    public void addAgendaListener(FlowableEngineAgendaListener agendaListener) {
+        agendaListeners.add(agendaListener);
+    }
+}
@@ -40,6 +40,7 @@ import org.flowable.engine.impl.el.UelExpressionCondition;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntityManager;
 import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.impl.util.VariablePrefetchUtil;
 import org.flowable.engine.impl.util.condition.ConditionUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -131,6 +132,8 @@ public class TakeOutgoingSequenceFlowsOperation extends AbstractOperation {
         LOGGER.debug("Leaving flow node {} with id '{}' by following it's {} outgoing sequenceflow",
                 flowNode.getClass(), flowNode.getId(), flowNode.getOutgoingFlows().size());
 
+        VariablePrefetchUtil.prefetchVariables(execution, flowNode);
+
         // Get default sequence flow (if set)
         String defaultSequenceFlowId = null;
         if (flowNode instanceof Activity) {
@@ -362,4 +365,12 @@ public class TakeOutgoingSequenceFlowsOperation extends AbstractOperation {
         return true;
     }
 
+    public boolean isEvaluateConditions() {
+        return evaluateConditions;
+    }
+
+    public void setEvaluateConditions(boolean evaluateConditions) {
+        this.evaluateConditions = evaluateConditions;
+    }
+
 }
@@ -50,6 +50,7 @@ public class CachingAndArtifactsManager {
             BpmnModel bpmnModel = parsedDeployment.getBpmnModelForProcessDefinition(processDefinition);
             Process process = parsedDeployment.getProcessModelForProcessDefinition(processDefinition);
             ProcessDefinitionCacheEntry cacheEntry = new ProcessDefinitionCacheEntry(processDefinition, bpmnModel, process);
+            addVariableUsageToCacheEntry(cacheEntry, processEngineConfiguration);
             processDefinitionCache.add(processDefinition.getId(), cacheEntry);
             addDefinitionInfoToCache(processDefinition, processEngineConfiguration, commandContext);
 
@@ -69,10 +70,17 @@ public class CachingAndArtifactsManager {
             BpmnModel bpmnModel = parsedDeployment.getBpmnModelForProcessDefinition(processDefinition);
             Process process = parsedDeployment.getProcessModelForProcessDefinition(processDefinition);
             ProcessDefinitionCacheEntry cacheEntry = new ProcessDefinitionCacheEntry(processDefinition, bpmnModel, process);
+            addVariableUsageToCacheEntry(cacheEntry, processEngineConfiguration);
             processDefinitionCache.add(processDefinition.getId(), cacheEntry);
         }
     }
 
+    protected void addVariableUsageToCacheEntry(ProcessDefinitionCacheEntry cacheEntry, ProcessEngineConfigurationImpl processEngineConfiguration) {
+        if (processEngineConfiguration.isEnableVariablePrefetch() && cacheEntry.getProcess() != null) {
+            cacheEntry.setFlowNodeVariableNames(new VariableUsageAnalyzer().analyze(cacheEntry.getProcess()));
+        }
+    }
+
     protected void addDefinitionInfoToCache(ProcessDefinitionEntity processDefinition,
             ProcessEngineConfigurationImpl processEngineConfiguration, CommandContext commandContext) {
 
@@ -0,0 +1,199 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.bpmn.deployer;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.bpmn.model.Activity;
+import org.flowable.bpmn.model.BaseElement;
+import org.flowable.bpmn.model.CallActivity;
+import org.flowable.bpmn.model.ExtensionElement;
+import org.flowable.bpmn.model.FieldExtension;
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.bpmn.model.FlowableListener;
+import org.flowable.bpmn.model.IOParameter;
+import org.flowable.bpmn.model.ImplementationType;
+import org.flowable.bpmn.model.MultiInstanceLoopCharacteristics;
+import org.flowable.bpmn.model.Process;
+import org.flowable.bpmn.model.SequenceFlow;
+import org.flowable.bpmn.model.ServiceTask;
+import org.flowable.bpmn.model.TaskWithFieldExtensions;
+import org.flowable.bpmn.model.UserTask;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.IdentifierNode;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.Tree;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.TreeBuilder;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.Builder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Determines the names of the variables that the expressions of each flow node of a process refer to: the expressions of the flow node itself,
+ * of its listeners and field extensions, and the conditions of its outgoing sequence flows.
+ * Variables can also be listed explicitly, comma separated, in a <code>flowable:prefetchVariables</code> extension element of a flow node or the process.
+ * <p>
+ * The result is used to prefetch variables (see {@link org.flowable.engine.impl.util.VariablePrefetchUtil}), so it doesn't need to be complete:
+ * variables used in scripts or by Java code are fetched when they are read.
+ */
+public class VariableUsageAnalyzer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VariableUsageAnalyzer.class);
+
+    public static final String PREFETCH_VARIABLES_EXTENSION_ELEMENT = "prefetchVariables";
+
+    protected TreeBuilder treeBuilder = new Builder(Builder.Feature.METHOD_INVOCATIONS, Builder.Feature.VARARGS);
+
+    /**
+     * @return the names of the used variables, by flow node id. Flow nodes without used variables are not included.
+     */
+    public Map<String, Set<String>> analyze(Process process) {
+        Set<String> processVariableNames = new HashSet<>();
+        addExplicitVariableNames(process, processVariableNames);
+
+        Map<String, Set<String>> variableNamesByFlowNode = new HashMap<>();
+        for (FlowNode flowNode : process.findFlowElementsOfType(FlowNode.class, true)) {
+            Set<String> variableNames = new HashSet<>(processVariableNames);
+            addVariableNames(flowNode, variableNames);
+            for (SequenceFlow sequenceFlow : flowNode.getOutgoingFlows()) {
+                addVariableNames(sequenceFlow.getConditionExpression(), variableNames);
+                addVariableNames(sequenceFlow.getSkipExpression(), variableNames);
+            }
+
+            if (!variableNames.isEmpty()) {
+                variableNamesByFlowNode.put(flowNode.getId(), variableNames);
+            }
+        }
+        return variableNamesByFlowNode;
+    }
+
+    protected void addVariableNames(FlowNode flowNode, Set<String> variableNames) {
+        addExplicitVariableNames(flowNode, variableNames);
+        addListenerVariableNames(flowNode.getExecutionListeners(), variableNames);
+
+        if (flowNode instanceof Activity) {
+            MultiInstanceLoopCharacteristics loopCharacteristics = ((Activity) flowNode).getLoopCharacteristics();
+            if (loopCharacteristics != null) {
+                addVariableNames(loopCharacteristics.getLoopCardinality(), variableNames);
+                addVariableNames(loopCharacteristics.getInputDataItem(), variableNames);
+                addVariableNames(loopCharacteristics.getCompletionCondition(), variableNames);
+            }
+        }
+
+        if (flowNode instanceof TaskWithFieldExtensions) {
+            addFieldVariableNames(((TaskWithFieldExtensions) flowNode).getFieldExtensions(), variableNames);
+        }
+
+        if (flowNode instanceof ServiceTask) {
+            ServiceTask serviceTask = (ServiceTask) flowNode;
+            if (isExpressionImplementation(serviceTask.getImplementationType())) {
+                addVariableNames(serviceTask.getImplementation(), variableNames);
+            }
+            addVariableNames(serviceTask.getSkipExpression(), variableNames);
+
+        } else if (flowNode instanceof UserTask) {
+            UserTask userTask = (UserTask) flowNode;
+            addVariableNames(userTask.getName(), variableNames);
+            addVariableNames(userTask.getAssignee(), variableNames);
+            addVariableNames(userTask.getOwner(), variableNames);
+            addVariableNames(userTask.getPriority(), variableNames);
+            addVariableNames(userTask.getDueDate(), variableNames);
+            addVariableNames(userTask.getCategory(), variableNames);
+            addVariableNames(userTask.getFormKey(), variableNames);
+            addVariableNames(userTask.getSkipExpression(), variableNames);
+            addVariableNames(userTask.getCandidateUsers(), variableNames);
+            addVariableNames(userTask.getCandidateGroups(), variableNames);
+            addListenerVariableNames(userTask.getTaskListeners(), variableNames);
+
+        } else if (flowNode instanceof CallActivity) {
+            CallActivity callActivity = (CallActivity) flowNode;
+            addVariableNames(callActivity.getCalledElement(), variableNames);
+            addVariableNames(callActivity.getBusinessKey(), variableNames);
+            for (IOParameter inParameter : callActivity.getInParameters()) {
+                if (StringUtils.isNotEmpty(inParameter.getSource())) {
+                    variableNames.add(inParameter.getSource());
+                }
+                addVariableNames(inParameter.getSourceExpression(), variableNames);
+            }
+        }
+    }
+
+    protected void addListenerVariableNames(List<FlowableListener> listeners, Set<String> variableNames) {
+        if (listeners != null) {
+            for (FlowableListener listener : listeners) {
+                if (isExpressionImplementation(listener.getImplementationType())) {
+                    addVariableNames(listener.getImplementation(), variableNames);
+                }
+                addFieldVariableNames(listener.getFieldExtensions(), variableNames);
+            }
+        }
+    }
+
+    protected void addFieldVariableNames(List<FieldExtension> fieldExtensions, Set<String> variableNames) {
+        if (fieldExtensions != null) {
+            for (FieldExtension fieldExtension : fieldExtensions) {
+                addVariableNames(fieldExtension.getExpression(), variableNames);
+            }
+        }
+    }
+
+    protected boolean isExpressionImplementation(String implementationType) {
+        return ImplementationType.IMPLEMENTATION_TYPE_EXPRESSION.equals(implementationType)
+                || ImplementationType.IMPLEMENTATION_TYPE_DELEGATEEXPRESSION.equals(implementationType);
+    }
+
+    protected void addExplicitVariableNames(BaseElement element, Set<String> variableNames) {
+        List<ExtensionElement> extensionElements = element.getExtensionElements().get(PREFETCH_VARIABLES_EXTENSION_ELEMENT);
+        if (extensionElements != null) {
+            for (ExtensionElement extensionElement : extensionElements) {
+                for (String variableName : StringUtils.split(StringUtils.defaultString(extensionElement.getElementText()), ',')) {
+                    if (StringUtils.isNotBlank(variableName)) {
+                        variableNames.add(variableName.trim());
+                    }
+                }
+            }
+        }
+    }
+
+    protected void addVariableNames(Collection<String> texts, Set<String> variableNames) {
+        if (texts != null) {
+            for (String text : texts) {
+                addVariableNames(text, variableNames);
+            }
+        }
+    }
+
+    /**
+     * Adds the root identifiers of the given expression text. Identifiers that are not variables, like <code>execution</code> or beans, are added as well.
+     */
+    protected void addVariableNames(String text, Set<String> variableNames) {
+        if (text == null || (!text.contains("${") && !text.contains("#{"))) {
+            return;
+        }
+
+        try {
+            Tree tree = treeBuilder.build(text);
+            for (IdentifierNode identifierNode : tree.getIdentifierNodes()) {
+                variableNames.add(identifierNode.getName());
+            }
+        } catch (RuntimeException e) {
+            // The expression is validated when it is used
+            LOGGER.debug("Could not analyze expression {}", text, e);
+        }
+    }
+
+}
@@ -13,15 +13,19 @@
 
 package org.flowable.engine.impl.cfg;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
@@ -54,6 +58,8 @@ import org.flowable.common.engine.impl.callback.RuntimeInstanceStateChangeCallba
 import org.flowable.common.engine.impl.cfg.IdGenerator;
 import org.flowable.common.engine.impl.db.AbstractDataManager;
 import org.flowable.common.engine.impl.db.DbSchemaManager;
+import org.flowable.common.engine.impl.el.DefaultExpressionManager;
+import org.flowable.common.engine.impl.el.ExpressionCache;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.event.FlowableEventDispatcherImpl;
 import org.flowable.common.engine.impl.history.HistoryLevel;
@@ -66,13 +72,13 @@ import org.flowable.common.engine.impl.interceptor.SessionFactory;
 import org.flowable.common.engine.impl.persistence.GenericManagerFactory;
 import org.flowable.common.engine.impl.persistence.cache.EntityCache;
 import org.flowable.common.engine.impl.persistence.cache.EntityCacheImpl;
-import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
 import org.flowable.common.engine.impl.runtime.Clock;
 import org.flowable.common.engine.impl.scripting.BeansResolverFactory;
 import org.flowable.common.engine.impl.scripting.ResolverFactory;
 import org.flowable.common.engine.impl.scripting.ScriptBindingsFactory;
 import org.flowable.common.engine.impl.scripting.ScriptingEngines;
+import org.flowable.common.engine.impl.util.ReflectUtil;
 import org.flowable.engine.CandidateManager;
 import org.flowable.engine.DefaultCandidateManager;
 import org.flowable.engine.DynamicBpmnService;
@@ -91,6 +97,8 @@ import org.flowable.engine.RepositoryService;
 import org.flowable.engine.RuntimeService;
 import org.flowable.engine.TaskService;
 import org.flowable.engine.app.AppResourceConverter;
+import org.flowable.engine.cfg.HttpClientConfig;
+import org.flowable.engine.cfg.SharedHttpClientFactory;
 import org.flowable.engine.compatibility.DefaultFlowable5CompatibilityHandlerFactory;
 import org.flowable.engine.compatibility.Flowable5CompatibilityHandler;
 import org.flowable.engine.compatibility.Flowable5CompatibilityHandlerFactory;
@@ -110,6 +118,9 @@ import org.flowable.engine.impl.SchemaOperationProcessEngineClose;
 import org.flowable.engine.impl.TaskServiceImpl;
 import org.flowable.engine.impl.agenda.AgendaSessionFactory;
 import org.flowable.engine.impl.agenda.DefaultFlowableEngineAgendaFactory;
+import org.flowable.engine.impl.agenda.FlowableEngineAgendaListener;
+import org.flowable.engine.impl.agenda.PooledFlowableEngineAgenda;
+import org.flowable.engine.impl.agenda.PooledFlowableEngineAgendaFactory;
 import org.flowable.engine.impl.app.AppDeployer;
 import org.flowable.engine.impl.app.AppResourceConverterImpl;
 import org.flowable.engine.impl.bpmn.data.ItemInstance;
@@ -193,6 +204,7 @@ import org.flowable.engine.impl.history.DefaultHistoryTaskManager;
 import org.flowable.engine.impl.history.DefaultHistoryVariableManager;
 import org.flowable.engine.impl.history.HistoryManager;
 import org.flowable.engine.impl.history.async.AsyncHistoryManager;
+import org.flowable.engine.impl.history.async.DefaultHistoryJsonBatchMerger;
 import org.flowable.engine.impl.history.async.HistoryJsonConstants;
 import org.flowable.engine.impl.history.async.json.transformer.ActivityEndHistoryJsonTransformer;
 import org.flowable.engine.impl.history.async.json.transformer.ActivityFullHistoryJsonTransformer;
@@ -231,6 +243,7 @@ import org.flowable.engine.impl.jobexecutor.TimerSuspendProcessDefinitionHandler
 import org.flowable.engine.impl.jobexecutor.TriggerTimerEventJobHandler;
 import org.flowable.engine.impl.persistence.deploy.DeploymentManager;
 import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntryWeigher;
 import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionInfoCache;
 import org.flowable.engine.impl.persistence.entity.AttachmentEntityManager;
 import org.flowable.engine.impl.persistence.entity.AttachmentEntityManagerImpl;
@@ -322,12 +335,18 @@ import org.flowable.job.service.impl.asyncexecutor.ExecuteAsyncRunnableFactory;
 import org.flowable.job.service.impl.asyncexecutor.FailedJobCommandFactory;
 import org.flowable.job.service.impl.asyncexecutor.JobManager;
 import org.flowable.job.service.impl.db.JobDbSchemaManager;
+import org.flowable.job.service.impl.history.async.AsyncHistoryJobBinaryHandler;
 import org.flowable.job.service.impl.history.async.AsyncHistoryJobHandler;
 import org.flowable.job.service.impl.history.async.AsyncHistoryJobZippedHandler;
 import org.flowable.job.service.impl.history.async.AsyncHistoryListener;
 import org.flowable.job.service.impl.history.async.AsyncHistorySession;
 import org.flowable.job.service.impl.history.async.AsyncHistorySessionFactory;
+import org.flowable.job.service.impl.history.async.AsyncHistorySink;
+import org.flowable.job.service.impl.history.async.AsyncHistorySinkListener;
 import org.flowable.job.service.impl.history.async.DefaultAsyncHistoryJobProducer;
+import org.flowable.job.service.impl.history.async.HistoryJsonBatchMerger;
+import org.flowable.job.service.impl.history.async.log.AsyncHistoryLogConsumer;
+import org.flowable.job.service.impl.history.async.log.AsyncHistoryLogSink;
 import org.flowable.job.service.impl.history.async.transformer.HistoryJsonTransformer;
 import org.flowable.task.api.TaskQueryInterceptor;
 import org.flowable.task.api.history.HistoricTaskQueryInterceptor;
@@ -368,6 +387,7 @@ import org.flowable.variable.service.impl.types.SerializableType;
 import org.flowable.variable.service.impl.types.ShortType;
 import org.flowable.variable.service.impl.types.StringType;
 import org.flowable.variable.service.impl.types.UUIDType;
+import org.flowable.variable.service.impl.types.VariableSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -402,6 +422,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     // IDM ENGINE /////////////////////////////////////////////////////
     protected boolean disableIdmEngine;
 
+    // ID GENERATOR //////////////////////////////////////////////////////
+
+    /**
+     * When the default {@link DbIdGenerator} is used and this is set, the next id block is fetched in the background
+     * once the current block has this many ids (or less) left. 0 (the default) disables prefetching.
+     */
+    protected int idBlockPrefetchThreshold;
+
+    /**
+     * When the default {@link DbIdGenerator} is used and this is set, each thread takes this many ids at once from the current id block.
+     * Ids are then no longer increasing across threads. 0 (the default) hands out every id from the shared block.
+     */
+    protected int threadIdBlockSize;
+
     // DATA MANAGERS /////////////////////////////////////////////////////////////
 
     protected AttachmentDataManager attachmentDataManager;
@@ -449,9 +483,25 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     protected boolean isAsyncHistoryEnabled;
     protected boolean isAsyncHistoryJsonGzipCompressionEnabled;
+    protected boolean isAsyncHistoryBinaryEncodingEnabled;
+    protected HistoryJsonBatchMerger historyJsonBatchMerger;
     protected boolean isAsyncHistoryJsonGroupingEnabled;
     protected int asyncHistoryJsonGroupingThreshold = 10;
     protected AsyncHistoryListener asyncHistoryListener;
+    protected AsyncHistorySink asyncHistorySink;
+
+    /**
+     * Applies the records of the log of an {@link AsyncHistoryLogSink} to the history tables. Created at init when such a sink is set,
+     * started with the engine when the async history executor is activated and shut down when the engine is closed.
+     */
+    protected AsyncHistoryLogConsumer asyncHistoryLogConsumer;
+
+    /**
+     * The HTTP client shared by all HTTP tasks of the engine when {@link HttpClientConfig#isUseSharedClient()} is set.
+     * Created at init by the {@link SharedHttpClientFactory} and closed when the engine is closed.
+     */
+    protected Closeable sharedHttpClient;
+    protected SharedHttpClientFactory sharedHttpClientFactory;
 
     // Job Manager
 
@@ -480,6 +530,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected DeploymentManager deploymentManager;
 
     protected int processDefinitionCacheLimit = -1; // By default, no limit
+
+    /**
+     * The maximum total weight of the process definition cache, as estimated by the {@link ProcessDefinitionCacheEntryWeigher}.
+     * Only used when the concurrent deployment cache is enabled. By default, no limit.
+     */
+    protected long processDefinitionCacheMaxWeight = -1;
     protected DeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache;
 
     protected int processDefinitionInfoCacheLimit = -1; // By default, no limit
@@ -540,6 +596,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected int asyncExecutorThreadPoolQueueSize = 100;
 
+    /**
+     * If set to true, each async job is executed on its own virtual thread instead of on the async executor thread pool, which suits jobs that mostly
+     * wait on I/O. Needs a Java runtime with virtual threads, otherwise a platform thread is created per job. Default value = false.
+     * <p>
+     * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected boolean asyncExecutorUseVirtualThreads;
+
+    /**
+     * The maximum number of async jobs executing at the same time when {@link #asyncExecutorUseVirtualThreads} is set. By default the maximum number
+     * of active database connections ({@link #jdbcMaxActiveConnections}) when set, otherwise {@link #asyncExecutorMaxPoolSize}.
+     */
+    protected int asyncExecutorMaxConcurrentJobs;
+
     /**
      * The queue onto which jobs will be placed before they are actually executed. Threads form the async executor threadpool will take work from this queue.
      * <p>
@@ -598,6 +668,26 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected int asyncExecutorDefaultQueueSizeFullWaitTime;
 
+    /**
+     * If set to true, the async job acquisition thread adapts the number of jobs it acquires and the time it waits between two acquisitions
+     * to the previous acquisitions: the batch size grows while full batches are acquired and shrinks on optimistic locking collisions, and the wait time
+     * backs off exponentially (with a random jitter) on empty acquisitions and collisions. By default false: the static
+     * {@link #asyncExecutorMaxAsyncJobsDuePerAcquisition} and {@link #asyncExecutorDefaultAsyncJobAcquireWaitTime} are used.
+     * <p>
+     * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected boolean asyncExecutorAdaptiveAsyncJobAcquisitionEnabled;
+
+    /**
+     * The maximum number of async jobs acquired during one query when {@link #asyncExecutorAdaptiveAsyncJobAcquisitionEnabled} is set. Default value = 128.
+     */
+    protected int asyncExecutorMaxAdaptiveAsyncJobsDuePerAcquisition = 128;
+
+    /**
+     * The maximum time (in milliseconds) the async job acquisition thread backs off to when {@link #asyncExecutorAdaptiveAsyncJobAcquisitionEnabled} is set. Default value = 60 seconds.
+     */
+    protected int asyncExecutorMaxAsyncJobAcquireWaitTime = 60 * 1000;
+
     /**
      * When a job is acquired, it is locked so other async executors can't lock and execute it. While doing this, the 'name' of the lock owner is written into a column of the job.
      * <p>
@@ -648,6 +738,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected int asyncExecutorResetExpiredJobsMaxTimeout = 24 * 60 * 60 * 1000;
 
+    /**
+     * If set to true, the async executor locks the jobs it acquires (async, timer and history jobs) with one bulk update statement,
+     * skipping the jobs that are locked by another executor in the meantime. By default false: each acquired job is locked with its own
+     * optimistically locked update, which fails the whole acquisition as soon as another executor got one of the jobs first.
+     */
+    protected boolean asyncExecutorBulkLockEnabled;
+
     /**
      * The {@link AsyncExecutor} has a 'cleanup' thread that resets expired jobs so they can be re-acquired by other executors. This setting defines the size of the page being used when fetching these
      * expired jobs.
@@ -686,6 +783,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected int asyncHistoryExecutorAsyncJobLockTimeInMillis = 5 * 60 * 1000;
     protected int asyncHistoryExecutorResetExpiredJobsInterval = 60 * 1000;
     protected int asyncHistoryExecutorResetExpiredJobsPageSize = 3;
+    protected int asyncHistoryExecutorJobBatchSize = 1;
     protected boolean isAsyncHistoryExecutorAsyncJobAcquisitionEnabled = true;
     protected boolean isAsyncHistoryExecutorTimerJobAcquisitionEnabled = true;
     protected boolean isAsyncHistoryExecutorResetExpiredJobsEnabled = true;
@@ -752,7 +850,34 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected boolean serializableVariableTypeTrackDeserializedObjects = true;
 
+    /**
+     * Serializes the values of variables of the type 'serializable' instead of Java serialization.
+     * Values stored with Java serialization before it was set can still be read.
+     */
+    protected VariableSerializer serializableVariableSerializer;
+
+    /**
+     * If set to true, the variables that the expressions of a flow node refer to (see {@link org.flowable.engine.impl.bpmn.deployer.VariableUsageAnalyzer})
+     * are fetched with one query for the execution and its parents when the flow node is executed or left.
+     * Reading those variables then doesn't fetch all variables of the execution.
+     */
+    protected boolean enableVariablePrefetch;
+
     protected ExpressionManager expressionManager;
+
+    /**
+     * If set to true, the expression manager (when it's a {@link DefaultExpressionManager}) creates the resolvers that don't depend on the variables once,
+     * instead of for every expression evaluation. Only the variable resolver is created per evaluation. False by default.
+     */
+    protected boolean sharedElResolversEnabled;
+
+    /**
+     * The maximum number of parsed expressions the expression manager (when it's a {@link DefaultExpressionManager}) keeps,
+     * so expressions created again from the same text aren't parsed again. Statistics are available through {@link ManagementService#getExpressionCacheStatistics()}.
+     * 0 (the default) disables the cache.
+     */
+    protected int expressionCacheSize;
+
     protected List<String> customScriptingEngineClasses;
     protected ScriptingEngines scriptingEngines;
     protected List<ResolverFactory> resolverFactories;
@@ -828,6 +953,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     // agenda factory
     protected FlowableEngineAgendaFactory agendaFactory;
 
+    /**
+     * If set to true (and no agendaFactory is set), a {@link PooledFlowableEngineAgenda} is used: the most common operations are reused within a command
+     * instead of being created for every step. False by default.
+     */
+    protected boolean agendaOperationPoolingEnabled;
+
+    /**
+     * Listeners that get the number of operations executed per command. When set (and no agendaFactory is set), a {@link PooledFlowableEngineAgenda} is used,
+     * which only reuses operations when agendaOperationPoolingEnabled is true.
+     */
+    protected List<FlowableEngineAgendaListener> agendaListeners;
+
     protected DbSchemaManager identityLinkDbSchemaManager;
     protected DbSchemaManager variableDbSchemaManager;
     protected DbSchemaManager taskDbSchemaManager;
@@ -945,6 +1082,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         initJobServiceConfiguration();
         initAsyncExecutor();
         initAsyncHistoryExecutor();
+        initAsyncHistoryLogConsumer();
+        initSharedHttpClient();
         configuratorsAfterInit();
         afterInitTaskServiceConfiguration();
     }
@@ -1269,7 +1408,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
 
     protected void initDefaultAsyncHistoryListener() {
-        asyncHistoryListener = new DefaultAsyncHistoryJobProducer();
+        if (asyncHistorySink != null) {
+            asyncHistoryListener = new AsyncHistorySinkListener(asyncHistorySink);
+        } else {
+            asyncHistoryListener = new DefaultAsyncHistoryJobProducer();
+        }
     }
 
     public void initVariableServiceConfiguration() {
@@ -1393,6 +1536,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             this.jobServiceConfiguration.setAsyncRunnableExecutionExceptionHandlers(exceptionHandlers);
             this.jobServiceConfiguration.setAsyncExecutorNumberOfRetries(this.asyncExecutorNumberOfRetries);
             this.jobServiceConfiguration.setAsyncExecutorResetExpiredJobsMaxTimeout(this.asyncExecutorResetExpiredJobsMaxTimeout);
+            this.jobServiceConfiguration.setAsyncExecutorBulkLockEnabled(this.asyncExecutorBulkLockEnabled);
     
             if (this.jobManager != null) {
                 this.jobServiceConfiguration.setJobManager(this.jobManager);
@@ -1413,7 +1557,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             // Async history job config
             jobServiceConfiguration.setJobTypeAsyncHistory(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY);
             jobServiceConfiguration.setJobTypeAsyncHistoryZipped(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_ZIPPED);
+            jobServiceConfiguration.setJobTypeAsyncHistoryBinary(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_BINARY);
             jobServiceConfiguration.setAsyncHistoryJsonGzipCompressionEnabled(isAsyncHistoryJsonGzipCompressionEnabled);
+            jobServiceConfiguration.setAsyncHistoryBinaryEncodingEnabled(isAsyncHistoryBinaryEncodingEnabled);
             jobServiceConfiguration.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
             jobServiceConfiguration.setAsyncHistoryJsonGroupingThreshold(asyncHistoryJsonGroupingThreshold);
 
@@ -1483,11 +1629,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     public void initProcessDefinitionCache() {
         if (processDefinitionCache == null) {
-            if (processDefinitionCacheLimit <= 0) {
-                processDefinitionCache = new DefaultDeploymentCache<>();
-            } else {
-                processDefinitionCache = new DefaultDeploymentCache<>(processDefinitionCacheLimit);
-            }
+            processDefinitionCache = createDeploymentCache(processDefinitionCacheLimit, processDefinitionCacheMaxWeight, new ProcessDefinitionCacheEntryWeigher());
         }
     }
 
@@ -1503,21 +1645,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     public void initAppResourceCache() {
         if (appResourceCache == null) {
-            if (appResourceCacheLimit <= 0) {
-                appResourceCache = new DefaultDeploymentCache<>();
-            } else {
-                appResourceCache = new DefaultDeploymentCache<>(appResourceCacheLimit);
-            }
+            appResourceCache = createDeploymentCache(appResourceCacheLimit, -1, null);
         }
     }
 
     public void initKnowledgeBaseCache() {
         if (knowledgeBaseCache == null) {
-            if (knowledgeBaseCacheLimit <= 0) {
-                knowledgeBaseCache = new DefaultDeploymentCache<>();
-            } else {
-                knowledgeBaseCache = new DefaultDeploymentCache<>(knowledgeBaseCacheLimit);
-            }
+            knowledgeBaseCache = createDeploymentCache(knowledgeBaseCacheLimit, -1, null);
         }
     }
 
@@ -1779,6 +1913,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         if (isAsyncHistoryEnabled) {
             historyJobHandlers = new HashMap<>();
             
+            if (historyJsonBatchMerger == null) {
+                historyJsonBatchMerger = new DefaultHistoryJsonBatchMerger();
+            }
+
             List<HistoryJsonTransformer> allHistoryJsonTransformers = new ArrayList<>(initDefaultHistoryJsonTransformers());
             if (customHistoryJsonTransformers != null) {
                 allHistoryJsonTransformers.addAll(customHistoryJsonTransformers);
@@ -1787,13 +1925,21 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             AsyncHistoryJobHandler asyncHistoryJobHandler = new AsyncHistoryJobHandler(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY);
             allHistoryJsonTransformers.forEach(asyncHistoryJobHandler::addHistoryJsonTransformer);
             asyncHistoryJobHandler.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
+            asyncHistoryJobHandler.setHistoryJsonBatchMerger(historyJsonBatchMerger);
             historyJobHandlers.put(asyncHistoryJobHandler.getType(), asyncHistoryJobHandler);
 
             AsyncHistoryJobZippedHandler asyncHistoryJobZippedHandler = new AsyncHistoryJobZippedHandler(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_ZIPPED);
             allHistoryJsonTransformers.forEach(asyncHistoryJobZippedHandler::addHistoryJsonTransformer);
             asyncHistoryJobZippedHandler.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
+            asyncHistoryJobZippedHandler.setHistoryJsonBatchMerger(historyJsonBatchMerger);
             historyJobHandlers.put(asyncHistoryJobZippedHandler.getType(), asyncHistoryJobZippedHandler);
 
+            AsyncHistoryJobBinaryHandler asyncHistoryJobBinaryHandler = new AsyncHistoryJobBinaryHandler(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_BINARY);
+            allHistoryJsonTransformers.forEach(asyncHistoryJobBinaryHandler::addHistoryJsonTransformer);
+            asyncHistoryJobBinaryHandler.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
+            asyncHistoryJobBinaryHandler.setHistoryJsonBatchMerger(historyJsonBatchMerger);
+            historyJobHandlers.put(asyncHistoryJobBinaryHandler.getType(), asyncHistoryJobBinaryHandler);
+
             if (getCustomHistoryJobHandlers() != null) {
                 for (HistoryJobHandler customJobHandler : getCustomHistoryJobHandlers()) {
                     historyJobHandlers.put(customJobHandler.getType(), customJobHandler);
@@ -1858,6 +2004,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
                 defaultAsyncExecutor.setThreadPoolQueue(asyncExecutorThreadPoolQueue);
             }
             defaultAsyncExecutor.setQueueSize(asyncExecutorThreadPoolQueueSize);
+
+            // Virtual threads
+            defaultAsyncExecutor.setUseVirtualThreads(asyncExecutorUseVirtualThreads);
+            defaultAsyncExecutor.setMaxConcurrentJobs(asyncExecutorMaxConcurrentJobs > 0 ? asyncExecutorMaxConcurrentJobs : jdbcMaxActiveConnections);
             
             // Thread flags
             defaultAsyncExecutor.setAsyncJobAcquisitionEnabled(isAsyncExecutorAsyncJobAcquisitionEnabled);
@@ -1871,6 +2021,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             // Queue full wait time
             defaultAsyncExecutor.setDefaultQueueSizeFullWaitTimeInMillis(asyncExecutorDefaultQueueSizeFullWaitTime);
 
+            // Adaptive acquisition
+            defaultAsyncExecutor.setAdaptiveAsyncJobAcquisitionEnabled(asyncExecutorAdaptiveAsyncJobAcquisitionEnabled);
+            defaultAsyncExecutor.setMaxAdaptiveAsyncJobsDuePerAcquisition(asyncExecutorMaxAdaptiveAsyncJobsDuePerAcquisition);
+            defaultAsyncExecutor.setMaxAsyncJobAcquireWaitTimeInMillis(asyncExecutorMaxAsyncJobAcquireWaitTime);
+
             // Job locking
             defaultAsyncExecutor.setTimerLockTimeInMillis(asyncExecutorTimerLockTimeInMillis);
             defaultAsyncExecutor.setAsyncJobLockTimeInMillis(asyncExecutorAsyncJobLockTimeInMillis);
@@ -1933,6 +2088,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
                 defaultAsyncHistoryExecutor.setResetExpiredJobsInterval(asyncHistoryExecutorResetExpiredJobsInterval);
                 defaultAsyncHistoryExecutor.setResetExpiredJobsPageSize(asyncHistoryExecutorResetExpiredJobsPageSize);
     
+                // Batching
+                defaultAsyncHistoryExecutor.setHistoryJobBatchSize(asyncHistoryExecutorJobBatchSize);
+    
                 // Shutdown
                 defaultAsyncHistoryExecutor.setSecondsToWaitOnShutdown(asyncHistoryExecutorSecondsToWaitOnShutdown);
     
@@ -1965,6 +2123,40 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         }
     }
 
+    public void initAsyncHistoryLogConsumer() {
+        if (asyncHistoryLogConsumer == null && isAsyncHistoryEnabled && asyncHistorySink instanceof AsyncHistoryLogSink) {
+            asyncHistoryLogConsumer = new AsyncHistoryLogConsumer(commandExecutor, jobServiceConfiguration, ((AsyncHistoryLogSink) asyncHistorySink).getAsyncHistoryLog());
+        }
+    }
+
+    public void initSharedHttpClient() {
+        if (sharedHttpClient == null && httpClientConfig.isUseSharedClient()) {
+            if (sharedHttpClientFactory == null) {
+                ClassLoader classLoader = getClassLoader();
+                if (classLoader == null) {
+                    classLoader = ReflectUtil.getClassLoader();
+                }
+                Iterator<SharedHttpClientFactory> factories = ServiceLoader.load(SharedHttpClientFactory.class, classLoader).iterator();
+                if (!factories.hasNext()) {
+                    throw new FlowableException("A shared http client is configured, but no SharedHttpClientFactory was found. Is flowable-http on the classpath?");
+                }
+                sharedHttpClientFactory = factories.next();
+            }
+            sharedHttpClient = sharedHttpClientFactory.createSharedHttpClient(httpClientConfig);
+        }
+    }
+
+    protected void closeSharedHttpClient() {
+        if (sharedHttpClient != null) {
+            try {
+                sharedHttpClient.close();
+            } catch (IOException e) {
+                LOGGER.warn("Could not close the shared http client", e);
+            }
+            sharedHttpClient = null;
+        }
+    }
+
     // history
     // //////////////////////////////////////////////////////////////////
 
@@ -1996,12 +2188,34 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             if (dbIdGenerator.getCommandConfig() == null) {
                 dbIdGenerator.setCommandConfig(getDefaultCommandConfig().transactionRequiresNew());
             }
+            if (dbIdGenerator.getPrefetchThreshold() == 0) {
+                dbIdGenerator.setPrefetchThreshold(idBlockPrefetchThreshold);
+            }
+            if (dbIdGenerator.getThreadIdBlockSize() == 0) {
+                dbIdGenerator.setThreadIdBlockSize(threadIdBlockSize);
+            }
         }
         if (taskIdGenerator == null) {
             taskIdGenerator = idGenerator;
         }
     }
 
+    /**
+     * Releases the resources created by this configuration, such as background threads. Called when the process engine is closed.
+     */
+    public void close() {
+        if (idGenerator instanceof DbIdGenerator) {
+            ((DbIdGenerator) idGenerator).shutdown();
+        }
+        if (asyncHistoryLogConsumer != null) {
+            asyncHistoryLogConsumer.shutdown();
+        }
+        if (asyncHistorySink instanceof AsyncHistoryLogSink) {
+            ((AsyncHistoryLogSink) asyncHistorySink).getAsyncHistoryLog().close();
+        }
+        closeSharedHttpClient();
+    }
+
     // OTHER
     // ////////////////////////////////////////////////////////////////////
 
@@ -2051,7 +2265,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             variableTypes.addType(new JsonType(getMaxLengthString(), objectMapper));
             variableTypes.addType(new LongJsonType(getMaxLengthString() + 1, objectMapper));
             variableTypes.addType(new ByteArrayType());
-            variableTypes.addType(new SerializableType(serializableVariableTypeTrackDeserializedObjects));
+            variableTypes.addType(new SerializableType(serializableVariableTypeTrackDeserializedObjects, serializableVariableSerializer));
             variableTypes.addType(new CustomObjectType("item", ItemInstance.class));
             variableTypes.addType(new CustomObjectType("message", MessageInstance.class));
             if (customPostVariableTypes != null) {
@@ -2108,7 +2322,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         if (expressionManager == null) {
             expressionManager = new ProcessExpressionManager(delegateInterceptor, beans);
         }
+        if (sharedElResolversEnabled && expressionManager instanceof DefaultExpressionManager) {
+            ((DefaultExpressionManager) expressionManager).setSharedElResolversEnabled(true);
+        }
         expressionManager.setFunctionDelegates(flowableFunctionDelegates);
+        if (expressionCacheSize > 0 && expressionManager instanceof DefaultExpressionManager
+                && ((DefaultExpressionManager) expressionManager).getExpressionCache() == null) {
+            ((DefaultExpressionManager) expressionManager).setExpressionCache(new ExpressionCache(expressionCacheSize));
+        }
     }
 
     public void initBusinessCalendarManager() {
@@ -2124,7 +2345,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     public void initAgendaFactory() {
         if (this.agendaFactory == null) {
-            this.agendaFactory = new DefaultFlowableEngineAgendaFactory();
+            if (agendaOperationPoolingEnabled || (agendaListeners != null && !agendaListeners.isEmpty())) {
+                PooledFlowableEngineAgendaFactory pooledAgendaFactory = new PooledFlowableEngineAgendaFactory();
+                if (!agendaOperationPoolingEnabled) {
+                    pooledAgendaFactory.setMaxPooledOperations(0);
+                }
+                if (agendaListeners != null) {
+                    pooledAgendaFactory.setAgendaListeners(agendaListeners);
+                }
+                this.agendaFactory = pooledAgendaFactory;
+
+            } else {
+                this.agendaFactory = new DefaultFlowableEngineAgendaFactory();
+            }
         }
     }
 
@@ -2730,6 +2963,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         this.serializableVariableTypeTrackDeserializedObjects = serializableVariableTypeTrackDeserializedObjects;
     }
 
+    public VariableSerializer getSerializableVariableSerializer() {
+        return serializableVariableSerializer;
+    }
+
+    public ProcessEngineConfigurationImpl setSerializableVariableSerializer(VariableSerializer serializableVariableSerializer) {
+        this.serializableVariableSerializer = serializableVariableSerializer;
+        return this;
+    }
+
+    public boolean isEnableVariablePrefetch() {
+        return enableVariablePrefetch;
+    }
+
+    public ProcessEngineConfigurationImpl setEnableVariablePrefetch(boolean enableVariablePrefetch) {
+        this.enableVariablePrefetch = enableVariablePrefetch;
+        return this;
+    }
+
     @Override
     public ExpressionManager getExpressionManager() {
         return expressionManager;
@@ -2741,6 +2992,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isSharedElResolversEnabled() {
+        return sharedElResolversEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setSharedElResolversEnabled(boolean sharedElResolversEnabled) {
+        this.sharedElResolversEnabled = sharedElResolversEnabled;
+        return this;
+    }
+
+    public int getIdBlockPrefetchThreshold() {
+        return idBlockPrefetchThreshold;
+    }
+
+    public ProcessEngineConfigurationImpl setIdBlockPrefetchThreshold(int idBlockPrefetchThreshold) {
+        this.idBlockPrefetchThreshold = idBlockPrefetchThreshold;
+        return this;
+    }
+
+    public int getThreadIdBlockSize() {
+        return threadIdBlockSize;
+    }
+
+    public ProcessEngineConfigurationImpl setThreadIdBlockSize(int threadIdBlockSize) {
+        this.threadIdBlockSize = threadIdBlockSize;
+        return this;
+    }
+
+    public int getExpressionCacheSize() {
+        return expressionCacheSize;
+    }
+
+    public ProcessEngineConfigurationImpl setExpressionCacheSize(int expressionCacheSize) {
+        this.expressionCacheSize = expressionCacheSize;
+        return this;
+    }
+
     public BusinessCalendarManager getBusinessCalendarManager() {
         return businessCalendarManager;
     }
@@ -2840,6 +3127,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isAgendaOperationPoolingEnabled() {
+        return agendaOperationPoolingEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setAgendaOperationPoolingEnabled(boolean agendaOperationPoolingEnabled) {
+        this.agendaOperationPoolingEnabled = agendaOperationPoolingEnabled;
+        return this;
+    }
+
+    public List<FlowableEngineAgendaListener> getAgendaListeners() {
+        return agendaListeners;
+    }
+
+    public ProcessEngineConfigurationImpl setAgendaListeners(List<FlowableEngineAgendaListener> agendaListeners) {
+        this.agendaListeners = agendaListeners;
+        return this;
+    }
+
     public Map<String, JobHandler> getJobHandlers() {
         return jobHandlers;
     }
@@ -3122,6 +3427,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public long getProcessDefinitionCacheMaxWeight() {
+        return processDefinitionCacheMaxWeight;
+    }
+
+    public ProcessEngineConfigurationImpl setProcessDefinitionCacheMaxWeight(long processDefinitionCacheMaxWeight) {
+        this.processDefinitionCacheMaxWeight = processDefinitionCacheMaxWeight;
+        return this;
+    }
+
     public DeploymentCache<ProcessDefinitionCacheEntry> getProcessDefinitionCache() {
         return processDefinitionCache;
     }
@@ -3631,6 +3945,28 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isAsyncHistoryBinaryEncodingEnabled() {
+        return isAsyncHistoryBinaryEncodingEnabled;
+    }
+
+    /**
+     * Stores the async history data in a compact binary format (see {@link org.flowable.job.service.impl.history.async.AsyncHistoryBinaryWriter})
+     * instead of json. When gzip compression is enabled too, grouped history data is also compressed.
+     */
+    public ProcessEngineConfigurationImpl setAsyncHistoryBinaryEncodingEnabled(boolean isAsyncHistoryBinaryEncodingEnabled) {
+        this.isAsyncHistoryBinaryEncodingEnabled = isAsyncHistoryBinaryEncodingEnabled;
+        return this;
+    }
+
+    public HistoryJsonBatchMerger getHistoryJsonBatchMerger() {
+        return historyJsonBatchMerger;
+    }
+
+    public ProcessEngineConfigurationImpl setHistoryJsonBatchMerger(HistoryJsonBatchMerger historyJsonBatchMerger) {
+        this.historyJsonBatchMerger = historyJsonBatchMerger;
+        return this;
+    }
+
     public boolean isAsyncHistoryJsonGroupingEnabled() {
         return isAsyncHistoryJsonGroupingEnabled;
     }
@@ -3657,6 +3993,49 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public AsyncHistorySink getAsyncHistorySink() {
+        return asyncHistorySink;
+    }
+
+    /**
+     * Sets the destination of the async history data, instead of storing it as history jobs in the runtime database.
+     * The data written to the sink is not applied to the history tables by the async history executor,
+     * for example the data of an {@link AsyncHistoryLogSink} is applied by an {@link AsyncHistoryLogConsumer}.
+     * The log of an {@link AsyncHistoryLogSink} is closed when the engine is closed.
+     * Ignored when an {@link AsyncHistoryListener} is set.
+     */
+    public ProcessEngineConfigurationImpl setAsyncHistorySink(AsyncHistorySink asyncHistorySink) {
+        this.asyncHistorySink = asyncHistorySink;
+        return this;
+    }
+
+    public AsyncHistoryLogConsumer getAsyncHistoryLogConsumer() {
+        return asyncHistoryLogConsumer;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistoryLogConsumer(AsyncHistoryLogConsumer asyncHistoryLogConsumer) {
+        this.asyncHistoryLogConsumer = asyncHistoryLogConsumer;
+        return this;
+    }
+
+    public Closeable getSharedHttpClient() {
+        return sharedHttpClient;
+    }
+
+    public ProcessEngineConfigurationImpl setSharedHttpClient(Closeable sharedHttpClient) {
+        this.sharedHttpClient = sharedHttpClient;
+        return this;
+    }
+
+    public SharedHttpClientFactory getSharedHttpClientFactory() {
+        return sharedHttpClientFactory;
+    }
+
+    public ProcessEngineConfigurationImpl setSharedHttpClientFactory(SharedHttpClientFactory sharedHttpClientFactory) {
+        this.sharedHttpClientFactory = sharedHttpClientFactory;
+        return this;
+    }
+
     public JobManager getJobManager() {
         return jobManager;
     }
@@ -3967,6 +4346,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isAsyncExecutorUseVirtualThreads() {
+        return asyncExecutorUseVirtualThreads;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorUseVirtualThreads(boolean asyncExecutorUseVirtualThreads) {
+        this.asyncExecutorUseVirtualThreads = asyncExecutorUseVirtualThreads;
+        return this;
+    }
+
+    public int getAsyncExecutorMaxConcurrentJobs() {
+        return asyncExecutorMaxConcurrentJobs;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorMaxConcurrentJobs(int asyncExecutorMaxConcurrentJobs) {
+        this.asyncExecutorMaxConcurrentJobs = asyncExecutorMaxConcurrentJobs;
+        return this;
+    }
+
     public BlockingQueue<Runnable> getAsyncExecutorThreadPoolQueue() {
         return asyncExecutorThreadPoolQueue;
     }
@@ -4030,6 +4427,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isAsyncExecutorAdaptiveAsyncJobAcquisitionEnabled() {
+        return asyncExecutorAdaptiveAsyncJobAcquisitionEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorAdaptiveAsyncJobAcquisitionEnabled(boolean asyncExecutorAdaptiveAsyncJobAcquisitionEnabled) {
+        this.asyncExecutorAdaptiveAsyncJobAcquisitionEnabled = asyncExecutorAdaptiveAsyncJobAcquisitionEnabled;
+        return this;
+    }
+
+    public int getAsyncExecutorMaxAdaptiveAsyncJobsDuePerAcquisition() {
+        return asyncExecutorMaxAdaptiveAsyncJobsDuePerAcquisition;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorMaxAdaptiveAsyncJobsDuePerAcquisition(int asyncExecutorMaxAdaptiveAsyncJobsDuePerAcquisition) {
+        this.asyncExecutorMaxAdaptiveAsyncJobsDuePerAcquisition = asyncExecutorMaxAdaptiveAsyncJobsDuePerAcquisition;
+        return this;
+    }
+
+    public int getAsyncExecutorMaxAsyncJobAcquireWaitTime() {
+        return asyncExecutorMaxAsyncJobAcquireWaitTime;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorMaxAsyncJobAcquireWaitTime(int asyncExecutorMaxAsyncJobAcquireWaitTime) {
+        this.asyncExecutorMaxAsyncJobAcquireWaitTime = asyncExecutorMaxAsyncJobAcquireWaitTime;
+        return this;
+    }
+
     public String getAsyncExecutorLockOwner() {
         return asyncExecutorLockOwner;
     }
@@ -4075,6 +4499,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isAsyncExecutorBulkLockEnabled() {
+        return asyncExecutorBulkLockEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorBulkLockEnabled(boolean asyncExecutorBulkLockEnabled) {
+        this.asyncExecutorBulkLockEnabled = asyncExecutorBulkLockEnabled;
+        return this;
+    }
+
     public ExecuteAsyncRunnableFactory getAsyncExecutorExecuteAsyncRunnableFactory() {
         return asyncExecutorExecuteAsyncRunnableFactory;
     }
@@ -4237,6 +4670,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public int getAsyncHistoryExecutorJobBatchSize() {
+        return asyncHistoryExecutorJobBatchSize;
+    }
+
+    /**
+     * The maximum number of history jobs the default async history executor executes together in one transaction,
+     * merging their history data where possible. Default 1: every history job is executed in its own transaction.
+     */
+    public ProcessEngineConfigurationImpl setAsyncHistoryExecutorJobBatchSize(int asyncHistoryExecutorJobBatchSize) {
+        this.asyncHistoryExecutorJobBatchSize = asyncHistoryExecutorJobBatchSize;
+        return this;
+    }
+
     public boolean isAsyncExecutorMessageQueueMode() {
         return asyncExecutorMessageQueueMode;
     }
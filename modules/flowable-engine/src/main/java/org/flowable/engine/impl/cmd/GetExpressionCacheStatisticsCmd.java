@@ -0,0 +1,47 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flowable.common.engine.impl.el.DefaultExpressionManager;
+import org.flowable.common.engine.impl.el.ExpressionCache;
+import org.flowable.common.engine.impl.el.ExpressionManager;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.util.CommandContextUtil;
+
+public class GetExpressionCacheStatisticsCmd implements Command<Map<String, Long>>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Map<String, Long> execute(CommandContext commandContext) {
+        Map<String, Long> statistics = new HashMap<>();
+
+        ExpressionManager expressionManager = CommandContextUtil.getProcessEngineConfiguration(commandContext).getExpressionManager();
+        if (expressionManager instanceof DefaultExpressionManager) {
+            ExpressionCache expressionCache = ((DefaultExpressionManager) expressionManager).getExpressionCache();
+            if (expressionCache != null) {
+                statistics.put(ExpressionCache.HIT_COUNT, expressionCache.getHitCount());
+                statistics.put(ExpressionCache.MISS_COUNT, expressionCache.getMissCount());
+                statistics.put(ExpressionCache.EVICTION_COUNT, expressionCache.getEvictionCount());
+                statistics.put(ExpressionCache.SIZE, (long) expressionCache.size());
+            }
+        }
+        return statistics;
+    }
+
+}
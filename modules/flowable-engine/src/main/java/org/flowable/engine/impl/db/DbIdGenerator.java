@@ -1,9 +1,9 @@
 /* Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
  * You may obtain a copy of the License at
- * 
+ *
  *      http://www.apache.org/licenses/LICENSE-2.0
- * 
+ *
  * Unless required by applicable law or agreed to in writing, software
  * distributed under the License is distributed on an "AS IS" BASIS,
  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
@@ -13,37 +13,182 @@
 
 package org.flowable.engine.impl.db;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.flowable.common.engine.impl.cfg.IdGenerator;
 import org.flowable.common.engine.impl.db.IdBlock;
 import org.flowable.common.engine.impl.interceptor.CommandConfig;
 import org.flowable.common.engine.impl.interceptor.CommandExecutor;
 import org.flowable.engine.impl.cmd.GetNextIdBlockCmd;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
+ * Hands out ids from blocks of {@link #idBlockSize} ids reserved in the database.
+ * <p>
+ * Ids are taken from the current block with an atomic counter: only switching to a new block is synchronized.
+ * <p>
+ * When {@link #prefetchThreshold} is set, the next block is fetched in the background as soon as the current block has that many ids
+ * (or less) left, so threads don't wait for the database when the current block runs out.
+ * <p>
+ * When {@link #threadIdBlockSize} is set, each thread takes a sub block of that many ids from the current block at once and hands out ids from it
+ * without touching the shared counter. Ids are then no longer increasing across threads, and the unused ids of a sub block are lost when the thread dies.
+ *
  * @author Tom Baeyens
  */
 public class DbIdGenerator implements IdGenerator {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DbIdGenerator.class);
+
     protected int idBlockSize;
-    protected long nextId;
-    protected long lastId = -1;
+    protected int prefetchThreshold;
+    protected int threadIdBlockSize;
 
     protected CommandExecutor commandExecutor;
     protected CommandConfig commandConfig;
 
+    protected volatile IdRange currentRange = new IdRange(0, -1);
+    protected FutureTask<IdBlock> prefetchedBlock;
+    protected ExecutorService prefetchExecutorService;
+    protected boolean shutdown;
+
+    protected final ThreadLocal<IdRange> threadRange = new ThreadLocal<>();
+
     @Override
-    public synchronized String getNextId() {
-        if (lastId < nextId) {
+    public String getNextId() {
+        if (threadIdBlockSize > 1) {
+            return Long.toString(getNextThreadId());
+        }
+
+        while (true) {
+            IdRange range = currentRange;
+            long nextId = range.nextId.getAndIncrement();
+            if (nextId <= range.lastId) {
+                checkPrefetch(range, nextId);
+                return Long.toString(nextId);
+            }
+            getNewBlock(range);
+        }
+    }
+
+    protected long getNextThreadId() {
+        IdRange range = threadRange.get();
+        if (range != null) {
+            long nextId = range.nextId.getAndIncrement();
+            if (nextId <= range.lastId) {
+                return nextId;
+            }
+        }
+
+        range = reserveThreadRange();
+        threadRange.set(range);
+        return range.nextId.getAndIncrement();
+    }
+
+    protected IdRange reserveThreadRange() {
+        while (true) {
+            IdRange range = currentRange;
+            long firstId = range.nextId.getAndAdd(threadIdBlockSize);
+            if (firstId <= range.lastId) {
+                long lastId = Math.min(firstId + threadIdBlockSize - 1, range.lastId);
+                checkPrefetch(range, lastId);
+                return new IdRange(firstId, lastId);
+            }
+            getNewBlock(range);
+        }
+    }
+
+    /**
+     * Replaces the given exhausted range with a new block, unless another thread already did.
+     */
+    protected synchronized void getNewBlock(IdRange exhaustedRange) {
+        if (currentRange == exhaustedRange) {
             getNewBlock();
         }
-        long _nextId = nextId++;
-        return Long.toString(_nextId);
     }
 
+    /**
+     * Makes a new block of ids the current one. Subclasses can override this to get the new block in another way.
+     */
     protected synchronized void getNewBlock() {
-        IdBlock idBlock = commandExecutor.execute(commandConfig, new GetNextIdBlockCmd(idBlockSize));
-        this.nextId = idBlock.getNextId();
-        this.lastId = idBlock.getLastId();
+        IdBlock idBlock = takeNewBlock();
+        currentRange = new IdRange(idBlock.getNextId(), idBlock.getLastId());
+    }
+
+    protected IdBlock takeNewBlock() {
+        FutureTask<IdBlock> prefetched = prefetchedBlock;
+        prefetchedBlock = null;
+
+        if (prefetched != null) {
+            try {
+                return prefetched.get();
+
+            } catch (ExecutionException e) {
+                LOGGER.warn("Prefetching the next id block failed, fetching it again", e.getCause());
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.warn("Interrupted while waiting for the prefetched id block, fetching it again");
+            }
+        }
+
+        return fetchNewBlock();
+    }
+
+    protected IdBlock fetchNewBlock() {
+        return commandExecutor.execute(commandConfig, new GetNextIdBlockCmd(idBlockSize));
+    }
+
+    protected void checkPrefetch(IdRange range, long lastHandedOutId) {
+        if (prefetchThreshold > 0 && range.lastId - lastHandedOutId <= prefetchThreshold && range.prefetchTriggered.compareAndSet(false, true)) {
+            synchronized (this) {
+                if (currentRange == range && prefetchedBlock == null && !shutdown) {
+                    prefetchedBlock = new FutureTask<>(new Callable<IdBlock>() {
+
+                        @Override
+                        public IdBlock call() {
+                            return fetchNewBlock();
+                        }
+                    });
+                    getPrefetchExecutorService().execute(prefetchedBlock);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the thread prefetching id blocks, if any. Called when the engine is closed.
+     * Ids are still handed out afterwards, but blocks are no longer prefetched.
+     */
+    public synchronized void shutdown() {
+        shutdown = true;
+        if (prefetchedBlock != null) {
+            // A prefetch in progress is completed, but one that hasn't started yet is not done anymore
+            prefetchedBlock.cancel(false);
+            prefetchedBlock = null;
+        }
+        if (prefetchExecutorService != null) {
+            prefetchExecutorService.shutdown();
+            prefetchExecutorService = null;
+        }
+    }
+
+    protected synchronized ExecutorService getPrefetchExecutorService() {
+        if (prefetchExecutorService == null) {
+            // No thread is kept alive when no block is being prefetched
+            BasicThreadFactory threadFactory = new BasicThreadFactory.Builder().namingPattern("flowable-id-block-prefetch-%d").daemon(true).build();
+            prefetchExecutorService = new ThreadPoolExecutor(0, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory);
+        }
+        return prefetchExecutorService;
     }
 
     public int getIdBlockSize() {
@@ -54,6 +199,22 @@ public class DbIdGenerator implements IdGenerator {
         this.idBlockSize = idBlockSize;
     }
 
+    public int getPrefetchThreshold() {
+        return prefetchThreshold;
+    }
+
+    public void setPrefetchThreshold(int prefetchThreshold) {
+        this.prefetchThreshold = prefetchThreshold;
+    }
+
+    public int getThreadIdBlockSize() {
+        return threadIdBlockSize;
+    }
+
+    public void setThreadIdBlockSize(int threadIdBlockSize) {
+        this.threadIdBlockSize = threadIdBlockSize;
+    }
+
     public CommandExecutor getCommandExecutor() {
         return commandExecutor;
     }
@@ -69,4 +230,19 @@ public class DbIdGenerator implements IdGenerator {
     public void setCommandConfig(CommandConfig commandConfig) {
         this.commandConfig = commandConfig;
     }
+
+    /**
+     * A range of ids of which the next one is handed out with an atomic increment.
+     */
+    protected static class IdRange {
+
+        protected final AtomicLong nextId;
+        protected final long lastId;
+        protected final AtomicBoolean prefetchTriggered = new AtomicBoolean(false);
+
+        public IdRange(long nextId, long lastId) {
+            this.nextId = new AtomicLong(nextId);
+            this.lastId = lastId;
+        }
+    }
 }
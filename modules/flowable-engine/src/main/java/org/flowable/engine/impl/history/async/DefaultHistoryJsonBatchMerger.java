@@ -0,0 +1,139 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import static org.flowable.job.service.impl.history.async.util.AsyncHistoryJsonUtil.getDateFromJson;
+import static org.flowable.job.service.impl.history.async.util.AsyncHistoryJsonUtil.getStringFromJson;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.job.service.impl.history.async.HistoryJsonBatchMerger;
+import org.flowable.job.service.impl.history.async.transformer.HistoryJsonTransformer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Merges the process history data of history jobs that are executed together:
+ * <ul>
+ * <li>the start and end of the same activity become one {@link HistoryJsonConstants#TYPE_ACTIVITY_FULL activity-full},
+ * like {@link AsyncHistoryManager} does when an activity starts and ends in the same transaction</li>
+ * <li>of consecutive updates of the same variable, only the latest one is kept</li>
+ * </ul>
+ */
+public class DefaultHistoryJsonBatchMerger implements HistoryJsonBatchMerger {
+
+    @Override
+    public List<JsonNode> merge(List<JsonNode> historyNodes) {
+        List<JsonNode> mergedHistoryNodes = new ArrayList<>(historyNodes.size());
+        Map<String, ObjectNode> activityStartNodes = new HashMap<>();
+        Map<String, Integer> variableUpdateIndexes = new HashMap<>();
+
+        for (JsonNode historyNode : historyNodes) {
+            String type = historyNode.path(HistoryJsonTransformer.FIELD_NAME_TYPE).asText(null);
+            JsonNode data = historyNode.get(HistoryJsonTransformer.FIELD_NAME_DATA);
+            if (type == null || !(historyNode instanceof ObjectNode) || !(data instanceof ObjectNode)) {
+                mergedHistoryNodes.add(historyNode);
+                continue;
+            }
+
+            ObjectNode historicalData = (ObjectNode) data;
+            switch (type) {
+                case HistoryJsonConstants.TYPE_ACTIVITY_START:
+                    String activityStartKey = getActivityKey(historicalData);
+                    if (activityStartKey != null) {
+                        activityStartNodes.put(activityStartKey, (ObjectNode) historyNode);
+                    }
+                    mergedHistoryNodes.add(historyNode);
+                    break;
+
+                case HistoryJsonConstants.TYPE_ACTIVITY_END:
+                    String activityEndKey = getActivityKey(historicalData);
+                    ObjectNode activityStartNode = activityEndKey != null ? activityStartNodes.remove(activityEndKey) : null;
+                    if (activityStartNode != null) {
+                        mergeActivityEnd(activityStartNode, historicalData);
+                    } else {
+                        mergedHistoryNodes.add(historyNode);
+                    }
+                    break;
+
+                case HistoryJsonConstants.TYPE_VARIABLE_UPDATED:
+                    String variableId = getStringFromJson(historicalData, HistoryJsonConstants.ID);
+                    Integer previousUpdateIndex = variableId != null ? variableUpdateIndexes.get(variableId) : null;
+                    if (previousUpdateIndex == null) {
+                        mergedHistoryNodes.add(historyNode);
+                        if (variableId != null) {
+                            variableUpdateIndexes.put(variableId, mergedHistoryNodes.size() - 1);
+                        }
+
+                    } else if (!isOlderVariableUpdate(historicalData, mergedHistoryNodes.get(previousUpdateIndex))) {
+                        // The previous update is superseded: it is dropped and this one is applied at its own position
+                        mergedHistoryNodes.set(previousUpdateIndex, null);
+                        mergedHistoryNodes.add(historyNode);
+                        variableUpdateIndexes.put(variableId, mergedHistoryNodes.size() - 1);
+                    }
+                    // An update that is older than the previous one would be ignored by the transformer anyway
+                    break;
+
+                case HistoryJsonConstants.TYPE_VARIABLE_CREATED:
+                case HistoryJsonConstants.TYPE_VARIABLE_REMOVED:
+                    // Updates before a removal (or before the variable is created again) must still be applied in between
+                    variableUpdateIndexes.remove(getStringFromJson(historicalData, HistoryJsonConstants.ID));
+                    mergedHistoryNodes.add(historyNode);
+                    break;
+
+                default:
+                    mergedHistoryNodes.add(historyNode);
+            }
+        }
+
+        mergedHistoryNodes.removeIf(historyNode -> historyNode == null);
+        return mergedHistoryNodes;
+    }
+
+    protected String getActivityKey(ObjectNode historicalData) {
+        String executionId = getStringFromJson(historicalData, HistoryJsonConstants.EXECUTION_ID);
+        String activityId = getStringFromJson(historicalData, HistoryJsonConstants.ACTIVITY_ID);
+        if (executionId == null || activityId == null) {
+            return null;
+        }
+        return executionId + '|' + activityId;
+    }
+
+    protected void mergeActivityEnd(ObjectNode activityStartNode, ObjectNode activityEndData) {
+        ObjectNode activityStartData = (ObjectNode) activityStartNode.get(HistoryJsonTransformer.FIELD_NAME_DATA);
+        Iterator<Map.Entry<String, JsonNode>> fields = activityEndData.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            // The start time and the other data of the start are kept
+            if (!activityStartData.has(field.getKey()) || HistoryJsonConstants.END_TIME.equals(field.getKey())
+                    || HistoryJsonConstants.DELETE_REASON.equals(field.getKey())) {
+                activityStartData.set(field.getKey(), field.getValue());
+            }
+        }
+        activityStartNode.put(HistoryJsonTransformer.FIELD_NAME_TYPE, HistoryJsonConstants.TYPE_ACTIVITY_FULL);
+    }
+
+    protected boolean isOlderVariableUpdate(ObjectNode variableUpdateData, JsonNode previousVariableUpdateNode) {
+        Date time = getDateFromJson(variableUpdateData, HistoryJsonConstants.LAST_UPDATED_TIME);
+        Date previousTime = getDateFromJson((ObjectNode) previousVariableUpdateNode.get(HistoryJsonTransformer.FIELD_NAME_DATA),
+                HistoryJsonConstants.LAST_UPDATED_TIME);
+        return time != null && previousTime != null && time.before(previousTime);
+    }
+
+}
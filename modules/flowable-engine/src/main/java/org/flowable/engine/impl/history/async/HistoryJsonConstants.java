@@ -21,6 +21,8 @@ public interface HistoryJsonConstants {
     
     String JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_ZIPPED = "async-history-zipped"; // Backwards compatibility: process engine used this first before the handler was reused
     
+    String JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_BINARY = "async-history-binary";
+    
     String TYPE = "type";
     
     List<String> ORDERED_TYPES = Arrays.asList(
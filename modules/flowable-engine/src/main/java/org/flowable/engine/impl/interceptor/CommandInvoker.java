@@ -20,6 +20,7 @@ import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
 import org.flowable.engine.FlowableEngineAgenda;
 import org.flowable.engine.impl.agenda.AbstractOperation;
+import org.flowable.engine.impl.agenda.PooledFlowableEngineAgenda;
 import org.flowable.engine.impl.util.CommandContextUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,8 +69,13 @@ public class CommandInvoker extends AbstractCommandInterceptor {
 
     protected void executeOperations(final CommandContext commandContext) {
         while (!CommandContextUtil.getAgenda(commandContext).isEmpty()) {
-            Runnable runnable = CommandContextUtil.getAgenda(commandContext).getNextOperation();
+            FlowableEngineAgenda agenda = CommandContextUtil.getAgenda(commandContext);
+            Runnable runnable = agenda.getNextOperation();
             executeOperation(runnable);
+
+            if (agenda instanceof PooledFlowableEngineAgenda) {
+                ((PooledFlowableEngineAgenda) agenda).operationExecuted(runnable);
+            }
         }
     }
 
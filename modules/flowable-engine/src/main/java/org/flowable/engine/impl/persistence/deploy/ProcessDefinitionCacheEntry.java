@@ -13,6 +13,8 @@
 package org.flowable.engine.impl.persistence.deploy;
 
 import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
 
 import org.flowable.bpmn.model.BpmnModel;
 import org.flowable.bpmn.model.Process;
@@ -29,6 +31,9 @@ public class ProcessDefinitionCacheEntry implements Serializable {
     protected BpmnModel bpmnModel;
     protected Process process;
 
+    // The names of the variables used by the flow nodes, by flow node id; only set when variable prefetching is enabled
+    protected Map<String, Set<String>> flowNodeVariableNames;
+
     public ProcessDefinitionCacheEntry(ProcessDefinition processDefinition, BpmnModel bpmnModel, Process process) {
         this.processDefinition = processDefinition;
         this.bpmnModel = bpmnModel;
@@ -59,4 +64,12 @@ public class ProcessDefinitionCacheEntry implements Serializable {
         this.process = process;
     }
 
+    public Map<String, Set<String>> getFlowNodeVariableNames() {
+        return flowNodeVariableNames;
+    }
+
+    public void setFlowNodeVariableNames(Map<String, Set<String>> flowNodeVariableNames) {
+        this.flowNodeVariableNames = flowNodeVariableNames;
+    }
+
 }
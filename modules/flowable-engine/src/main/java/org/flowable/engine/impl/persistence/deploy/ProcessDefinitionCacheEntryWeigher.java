@@ -0,0 +1,41 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.persistence.deploy;
+
+import org.flowable.bpmn.model.BpmnModel;
+import org.flowable.bpmn.model.FlowElement;
+import org.flowable.bpmn.model.Process;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWeigher;
+
+/**
+ * Weighs a {@link ProcessDefinitionCacheEntry} by the size of its {@link BpmnModel}:
+ * the number of flow elements of all its processes (including the elements of sub processes) and the number of diagram elements.
+ */
+public class ProcessDefinitionCacheEntryWeigher implements DeploymentCacheWeigher<ProcessDefinitionCacheEntry> {
+
+    @Override
+    public long weigh(String id, ProcessDefinitionCacheEntry cacheEntry) {
+        BpmnModel bpmnModel = cacheEntry.getBpmnModel();
+        if (bpmnModel == null) {
+            return 1L;
+        }
+
+        long weight = 1L;
+        for (Process process : bpmnModel.getProcesses()) {
+            weight += process.findFlowElementsOfType(FlowElement.class, true).size();
+        }
+        weight += bpmnModel.getLocationMap().size() + bpmnModel.getFlowLocationMap().size();
+        return weight;
+    }
+
+}
@@ -88,6 +88,7 @@ public abstract class EventSubscriptionEntityImpl extends AbstractEntity impleme
 
     @Override
     public void setExecutionId(String executionId) {
+        firePropertyChanged("executionId", this.executionId, executionId);
         this.executionId = executionId;
     }
 
@@ -103,6 +104,7 @@ public abstract class EventSubscriptionEntityImpl extends AbstractEntity impleme
     public void setExecution(ExecutionEntity execution) {
         this.execution = execution;
         if (execution != null) {
+            firePropertyChanged("executionId", this.executionId, execution.getId());
             this.executionId = execution.getId();
             this.processInstanceId = execution.getProcessInstanceId();
         }
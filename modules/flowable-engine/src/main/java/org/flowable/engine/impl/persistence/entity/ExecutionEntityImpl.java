@@ -26,6 +26,7 @@ import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.impl.context.Context;
 import org.flowable.common.engine.impl.db.SuspensionState;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.engine.ProcessEngineConfiguration;
 import org.flowable.engine.impl.persistence.CountingExecutionEntity;
 import org.flowable.engine.impl.util.CommandContextUtil;
@@ -47,7 +48,7 @@ import org.flowable.variable.service.impl.persistence.entity.VariableScopeImpl;
  * @author Joram Barrez
  */
 
-public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionEntity, CountingExecutionEntity {
+public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionEntity, CountingExecutionEntity, DirtyTrackingEntity {
 
     private static final long serialVersionUID = 1L;
 
@@ -286,8 +287,10 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     public void setCurrentFlowElement(FlowElement currentFlowElement) {
         this.currentFlowElement = currentFlowElement;
         if (currentFlowElement != null) {
+            markDirty("activityId", this.activityId, currentFlowElement.getId());
             this.activityId = currentFlowElement.getId();
         } else {
+            markDirty("activityId", this.activityId, null);
             this.activityId = null;
         }
     }
@@ -334,6 +337,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setBusinessKey(String businessKey) {
+        markDirty("businessKey", this.businessKey, businessKey);
         this.businessKey = businessKey;
     }
 
@@ -346,6 +350,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setProcessDefinitionId(String processDefinitionId) {
+        markDirty("processDefinitionId", this.processDefinitionId, processDefinitionId);
         this.processDefinitionId = processDefinitionId;
     }
 
@@ -442,8 +447,10 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
         this.parent = (ExecutionEntityImpl) parent;
 
         if (parent != null) {
+            markDirty("parentId", this.parentId, parent.getId());
             this.parentId = parent.getId();
         } else {
+            markDirty("parentId", this.parentId, null);
             this.parentId = null;
         }
     }
@@ -468,11 +475,9 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
             superExecution.setSubProcessInstance(null);
         }
 
-        if (superExecution != null) {
-            this.superExecutionId = ((ExecutionEntityImpl) superExecution).getId();
-        } else {
-            this.superExecutionId = null;
-        }
+        String newSuperExecutionId = superExecution != null ? superExecution.getId() : null;
+        markDirty("superExecution", this.superExecutionId, newSuperExecutionId);
+        this.superExecutionId = newSuperExecutionId;
     }
 
     protected void ensureSuperExecutionInitialized() {
@@ -515,8 +520,10 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
         this.rootProcessInstance = (ExecutionEntityImpl) rootProcessInstance;
 
         if (rootProcessInstance != null) {
+            markDirty("rootProcessInstanceId", this.rootProcessInstanceId, rootProcessInstance.getId());
             this.rootProcessInstanceId = rootProcessInstance.getId();
         } else {
+            markDirty("rootProcessInstanceId", this.rootProcessInstanceId, null);
             this.rootProcessInstanceId = null;
         }
     }
@@ -528,6 +535,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setRootProcessInstanceId(String rootProcessInstanceId) {
+        markDirty("rootProcessInstanceId", this.rootProcessInstanceId, rootProcessInstanceId);
         this.rootProcessInstanceId = rootProcessInstanceId;
     }
 
@@ -540,12 +548,14 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setScope(boolean isScope) {
+        markDirty("isScope", this.isScope, isScope);
         this.isScope = isScope;
     }
 
     @Override
     public void forceUpdate() {
         this.forcedUpdate = true;
+        markDirty();
     }
 
     // VariableScopeImpl methods //////////////////////////////////////////////////////////////////
@@ -872,6 +882,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setParentId(String parentId) {
+        markDirty("parentId", this.parentId, parentId);
         this.parentId = parentId;
     }
 
@@ -887,6 +898,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setConcurrent(boolean isConcurrent) {
+        markDirty("isConcurrent", this.isConcurrent, isConcurrent);
         this.isConcurrent = isConcurrent;
     }
 
@@ -897,11 +909,13 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setActive(boolean isActive) {
+        markDirty("isActive", this.isActive, isActive);
         this.isActive = isActive;
     }
 
     @Override
     public void inactivate() {
+        markDirty("isActive", this.isActive, false);
         this.isActive = false;
     }
 
@@ -942,6 +956,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setSuspensionState(int suspensionState) {
+        markDirty("suspensionState", this.suspensionState, suspensionState);
         this.suspensionState = suspensionState;
     }
 
@@ -957,6 +972,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setEventScope(boolean isEventScope) {
+        markDirty("isEventScope", this.isEventScope, isEventScope);
         this.isEventScope = isEventScope;
     }
 
@@ -967,6 +983,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setMultiInstanceRoot(boolean isMultiInstanceRoot) {
+        markDirty("isMultiInstanceRoot", this.isMultiInstanceRoot, isMultiInstanceRoot);
         this.isMultiInstanceRoot = isMultiInstanceRoot;
     }
 
@@ -977,6 +994,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setCountEnabled(boolean isCountEnabled) {
+        markDirty("isCountEnabled", this.isCountEnabled, isCountEnabled);
         this.isCountEnabled = isCountEnabled;
     }
 
@@ -996,6 +1014,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setName(String name) {
+        markDirty("name", this.name, name);
         this.name = name;
     }
 
@@ -1050,6 +1069,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setLockTime(Date lockTime) {
+        markDirty("lockTime", this.lockTime, lockTime);
         this.lockTime = lockTime;
     }
 
@@ -1088,6 +1108,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setStartActivityId(String startActivityId) {
+        markDirty("startActivityId", this.startActivityId, startActivityId);
         this.startActivityId = startActivityId;
     }
 
@@ -1098,6 +1119,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setStartUserId(String startUserId) {
+        markDirty("startUserId", this.startUserId, startUserId);
         this.startUserId = startUserId;
     }
 
@@ -1108,6 +1130,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setStartTime(Date startTime) {
+        markDirty("startTime", this.startTime, startTime);
         this.startTime = startTime;
     }
 
@@ -1118,6 +1141,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setEventSubscriptionCount(int eventSubscriptionCount) {
+        markDirty("eventSubscriptionCount", this.eventSubscriptionCount, eventSubscriptionCount);
         this.eventSubscriptionCount = eventSubscriptionCount;
     }
 
@@ -1128,6 +1152,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setTaskCount(int taskCount) {
+        markDirty("taskCount", this.taskCount, taskCount);
         this.taskCount = taskCount;
     }
 
@@ -1138,6 +1163,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setJobCount(int jobCount) {
+        markDirty("jobCount", this.jobCount, jobCount);
         this.jobCount = jobCount;
     }
 
@@ -1148,6 +1174,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setTimerJobCount(int timerJobCount) {
+        markDirty("timerJobCount", this.timerJobCount, timerJobCount);
         this.timerJobCount = timerJobCount;
     }
 
@@ -1158,6 +1185,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setSuspendedJobCount(int suspendedJobCount) {
+        markDirty("suspendedJobCount", this.suspendedJobCount, suspendedJobCount);
         this.suspendedJobCount = suspendedJobCount;
     }
 
@@ -1168,6 +1196,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setDeadLetterJobCount(int deadLetterJobCount) {
+        markDirty("deadLetterJobCount", this.deadLetterJobCount, deadLetterJobCount);
         this.deadLetterJobCount = deadLetterJobCount;
     }
 
@@ -1178,6 +1207,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setVariableCount(int variableCount) {
+        markDirty("variableCount", this.variableCount, variableCount);
         this.variableCount = variableCount;
     }
 
@@ -1188,6 +1218,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setIdentityLinkCount(int identityLinkCount) {
+        markDirty("identityLinkCount", this.identityLinkCount, identityLinkCount);
         this.identityLinkCount = identityLinkCount;
     }
     
@@ -1198,6 +1229,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setCallbackId(String callbackId) {
+        markDirty("callbackId", this.callbackId, callbackId);
         this.callbackId = callbackId;
     }
 
@@ -1208,6 +1240,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
     @Override
     public void setCallbackType(String callbackType) {
+        markDirty("callbackType", this.callbackType, callbackType);
         this.callbackType = callbackType;
     }
 
@@ -15,12 +15,13 @@ package org.flowable.engine.impl.persistence.entity.data.impl.cachematcher;
 import java.util.Map;
 
 import org.flowable.common.engine.impl.persistence.cache.CachedEntityMatcherAdapter;
+import org.flowable.common.engine.impl.persistence.cache.IndexedCachedEntityMatcher;
 import org.flowable.engine.impl.persistence.entity.EventSubscriptionEntity;
 
 /**
  * @author Joram Barrez
  */
-public class EventSubscriptionsByExecutionAndTypeMatcher extends CachedEntityMatcherAdapter<EventSubscriptionEntity> {
+public class EventSubscriptionsByExecutionAndTypeMatcher extends CachedEntityMatcherAdapter<EventSubscriptionEntity> implements IndexedCachedEntityMatcher<EventSubscriptionEntity> {
 
     @Override
     public boolean isRetained(EventSubscriptionEntity eventSubscriptionEntity, Object parameter) {
@@ -32,4 +33,19 @@ public class EventSubscriptionsByExecutionAndTypeMatcher extends CachedEntityMat
                 && eventSubscriptionEntity.getExecutionId() != null && eventSubscriptionEntity.getExecutionId().equals(executionId);
     }
 
+    @Override
+    public String getIndexedPropertyName() {
+        return "executionId";
+    }
+
+    @Override
+    public Object getIndexedPropertyValue(EventSubscriptionEntity entity) {
+        return entity.getExecutionId();
+    }
+
+    @Override
+    public Object getIndexedPropertyValueForParameter(Object parameter) {
+        return ((Map<String, String>) parameter).get("executionId");
+    }
+
 }
\ No newline at end of file
@@ -13,16 +13,32 @@
 package org.flowable.engine.impl.persistence.entity.data.impl.cachematcher;
 
 import org.flowable.common.engine.impl.persistence.cache.CachedEntityMatcherAdapter;
+import org.flowable.common.engine.impl.persistence.cache.IndexedCachedEntityMatcher;
 import org.flowable.engine.impl.persistence.entity.EventSubscriptionEntity;
 
 /**
  * @author Joram Barrez
  */
-public class EventSubscriptionsByExecutionIdMatcher extends CachedEntityMatcherAdapter<EventSubscriptionEntity> {
+public class EventSubscriptionsByExecutionIdMatcher extends CachedEntityMatcherAdapter<EventSubscriptionEntity> implements IndexedCachedEntityMatcher<EventSubscriptionEntity> {
 
     @Override
     public boolean isRetained(EventSubscriptionEntity eventSubscriptionEntity, Object parameter) {
         return eventSubscriptionEntity.getExecutionId() != null && eventSubscriptionEntity.getExecutionId().equals((String) parameter);
     }
 
+    @Override
+    public String getIndexedPropertyName() {
+        return "executionId";
+    }
+
+    @Override
+    public Object getIndexedPropertyValue(EventSubscriptionEntity entity) {
+        return entity.getExecutionId();
+    }
+
+    @Override
+    public Object getIndexedPropertyValueForParameter(Object parameter) {
+        return parameter;
+    }
+
 }
\ No newline at end of file
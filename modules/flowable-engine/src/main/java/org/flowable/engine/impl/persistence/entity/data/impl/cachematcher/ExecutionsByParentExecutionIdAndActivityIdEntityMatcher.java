@@ -16,12 +16,13 @@ import java.util.Collection;
 import java.util.Map;
 
 import org.flowable.common.engine.impl.persistence.cache.CachedEntityMatcherAdapter;
+import org.flowable.common.engine.impl.persistence.cache.IndexedCachedEntityMatcher;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 
 /**
  * @author Joram Barrez
  */
-public class ExecutionsByParentExecutionIdAndActivityIdEntityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> {
+public class ExecutionsByParentExecutionIdAndActivityIdEntityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> implements IndexedCachedEntityMatcher<ExecutionEntity> {
 
     @Override
     public boolean isRetained(ExecutionEntity executionEntity, Object parameter) {
@@ -33,4 +34,19 @@ public class ExecutionsByParentExecutionIdAndActivityIdEntityMatcher extends Cac
                 && executionEntity.getActivityId() != null && activityIds.contains(executionEntity.getActivityId());
     }
 
+    @Override
+    public String getIndexedPropertyName() {
+        return "parentId";
+    }
+
+    @Override
+    public Object getIndexedPropertyValue(ExecutionEntity entity) {
+        return entity.getParentId();
+    }
+
+    @Override
+    public Object getIndexedPropertyValueForParameter(Object parameter) {
+        return ((Map<String, Object>) parameter).get("parentExecutionId");
+    }
+
 }
\ No newline at end of file
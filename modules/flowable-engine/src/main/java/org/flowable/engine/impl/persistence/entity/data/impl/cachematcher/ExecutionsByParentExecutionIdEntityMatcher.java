@@ -13,12 +13,13 @@
 package org.flowable.engine.impl.persistence.entity.data.impl.cachematcher;
 
 import org.flowable.common.engine.impl.persistence.cache.CachedEntityMatcherAdapter;
+import org.flowable.common.engine.impl.persistence.cache.IndexedCachedEntityMatcher;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 
 /**
  * @author Joram Barrez
  */
-public class ExecutionsByParentExecutionIdEntityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> {
+public class ExecutionsByParentExecutionIdEntityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> implements IndexedCachedEntityMatcher<ExecutionEntity> {
 
     @Override
     public boolean isRetained(ExecutionEntity entity, Object parameter) {
@@ -26,4 +27,19 @@ public class ExecutionsByParentExecutionIdEntityMatcher extends CachedEntityMatc
         return entity.getParentId() != null && entity.getParentId().equals((String) parameter);
     }
 
+    @Override
+    public String getIndexedPropertyName() {
+        return "parentId";
+    }
+
+    @Override
+    public Object getIndexedPropertyValue(ExecutionEntity entity) {
+        return entity.getParentId();
+    }
+
+    @Override
+    public Object getIndexedPropertyValueForParameter(Object parameter) {
+        return parameter;
+    }
+
 }
\ No newline at end of file
@@ -15,12 +15,13 @@ package org.flowable.engine.impl.persistence.entity.data.impl.cachematcher;
 import java.util.Map;
 
 import org.flowable.common.engine.impl.persistence.cache.CachedEntityMatcherAdapter;
+import org.flowable.common.engine.impl.persistence.cache.IndexedCachedEntityMatcher;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 
 /**
  * @author Joram Barrez
  */
-public class InactiveExecutionsInActivityAndProcInstMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> {
+public class InactiveExecutionsInActivityAndProcInstMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> implements IndexedCachedEntityMatcher<ExecutionEntity> {
 
     @Override
     public boolean isRetained(ExecutionEntity executionEntity, Object parameter) {
@@ -35,4 +36,19 @@ public class InactiveExecutionsInActivityAndProcInstMatcher extends CachedEntity
                 && executionEntity.getActivityId().equals(activityId);
     }
 
+    @Override
+    public String getIndexedPropertyName() {
+        return "activityId";
+    }
+
+    @Override
+    public Object getIndexedPropertyValue(ExecutionEntity entity) {
+        return entity.getActivityId();
+    }
+
+    @Override
+    public Object getIndexedPropertyValueForParameter(Object parameter) {
+        return ((Map<String, Object>) parameter).get("activityId");
+    }
+
 }
\ No newline at end of file
@@ -15,12 +15,13 @@ package org.flowable.engine.impl.persistence.entity.data.impl.cachematcher;
 import java.util.Map;
 
 import org.flowable.common.engine.impl.persistence.cache.CachedEntityMatcherAdapter;
+import org.flowable.common.engine.impl.persistence.cache.IndexedCachedEntityMatcher;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 
 /**
  * @author Joram Barrez
  */
-public class InactiveExecutionsInActivityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> {
+public class InactiveExecutionsInActivityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> implements IndexedCachedEntityMatcher<ExecutionEntity> {
 
     @Override
     public boolean isRetained(ExecutionEntity entity, Object parameter) {
@@ -29,4 +30,19 @@ public class InactiveExecutionsInActivityMatcher extends CachedEntityMatcherAdap
         return !entity.isActive() && entity.getActivityId() != null && entity.getActivityId().equals(activityId);
     }
 
+    @Override
+    public String getIndexedPropertyName() {
+        return "activityId";
+    }
+
+    @Override
+    public Object getIndexedPropertyValue(ExecutionEntity entity) {
+        return entity.getActivityId();
+    }
+
+    @Override
+    public Object getIndexedPropertyValueForParameter(Object parameter) {
+        return ((Map<String, Object>) parameter).get("activityId");
+    }
+
 }
\ No newline at end of file
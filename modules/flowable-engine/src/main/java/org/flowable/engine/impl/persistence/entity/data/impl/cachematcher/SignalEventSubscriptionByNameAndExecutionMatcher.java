@@ -15,13 +15,14 @@ package org.flowable.engine.impl.persistence.entity.data.impl.cachematcher;
 import java.util.Map;
 
 import org.flowable.common.engine.impl.persistence.cache.CachedEntityMatcherAdapter;
+import org.flowable.common.engine.impl.persistence.cache.IndexedCachedEntityMatcher;
 import org.flowable.engine.impl.persistence.entity.EventSubscriptionEntity;
 import org.flowable.engine.impl.persistence.entity.SignalEventSubscriptionEntity;
 
 /**
  * @author Joram Barrez
  */
-public class SignalEventSubscriptionByNameAndExecutionMatcher extends CachedEntityMatcherAdapter<EventSubscriptionEntity> {
+public class SignalEventSubscriptionByNameAndExecutionMatcher extends CachedEntityMatcherAdapter<EventSubscriptionEntity> implements IndexedCachedEntityMatcher<EventSubscriptionEntity> {
 
     @Override
     public boolean isRetained(EventSubscriptionEntity eventSubscriptionEntity, Object parameter) {
@@ -34,4 +35,19 @@ public class SignalEventSubscriptionByNameAndExecutionMatcher extends CachedEnti
                 && eventSubscriptionEntity.getEventName() != null && eventSubscriptionEntity.getEventName().equals(name);
     }
 
+    @Override
+    public String getIndexedPropertyName() {
+        return "executionId";
+    }
+
+    @Override
+    public Object getIndexedPropertyValue(EventSubscriptionEntity entity) {
+        return entity.getExecutionId();
+    }
+
+    @Override
+    public Object getIndexedPropertyValueForParameter(Object parameter) {
+        return ((Map<String, String>) parameter).get("executionId");
+    }
+
 }
\ No newline at end of file
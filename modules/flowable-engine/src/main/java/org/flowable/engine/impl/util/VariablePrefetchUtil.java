@@ -0,0 +1,100 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+import org.flowable.variable.service.impl.persistence.entity.VariableScopeImpl;
+
+/**
+ * Fetches the variables that a flow node uses, as determined by the {@link org.flowable.engine.impl.bpmn.deployer.VariableUsageAnalyzer},
+ * for an execution and its parents with one query.
+ */
+public class VariablePrefetchUtil {
+
+    public static void prefetchVariables(ExecutionEntity execution, FlowNode flowNode) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
+        if (!processEngineConfiguration.isEnableVariablePrefetch() || flowNode == null || execution.getProcessDefinitionId() == null) {
+            return;
+        }
+
+        ProcessDefinitionCacheEntry cacheEntry = processEngineConfiguration.getProcessDefinitionCache().get(execution.getProcessDefinitionId());
+        if (cacheEntry == null || cacheEntry.getFlowNodeVariableNames() == null) {
+            return;
+        }
+
+        Set<String> variableNames = cacheEntry.getFlowNodeVariableNames().get(flowNode.getId());
+        if (variableNames != null) {
+            prefetchVariables(execution, variableNames);
+        }
+    }
+
+    public static void prefetchVariables(ExecutionEntity execution, Set<String> variableNames) {
+        Map<String, VariableScopeImpl> scopes = new LinkedHashMap<>();
+        Map<String, Set<String>> scopeVariableNames = new LinkedHashMap<>();
+        Set<String> allVariableNames = new HashSet<>();
+
+        ExecutionEntity currentExecution = execution;
+        while (currentExecution != null) {
+            VariableScopeImpl scope = (VariableScopeImpl) currentExecution;
+            Set<String> variableNamesToPrefetch = scope.internalGetVariableNamesToPrefetch(variableNames);
+            if (!variableNamesToPrefetch.isEmpty()) {
+                if (currentExecution.isInserted()) {
+                    // A new execution only has the variables that were created for it in this command, which are cached already
+                    scope.internalSetPrefetchedVariableInstances(variableNamesToPrefetch, Collections.<VariableInstanceEntity>emptyList());
+                } else {
+                    scopes.put(currentExecution.getId(), scope);
+                    scopeVariableNames.put(currentExecution.getId(), variableNamesToPrefetch);
+                    allVariableNames.addAll(variableNamesToPrefetch);
+                }
+            }
+            currentExecution = currentExecution.getParent();
+        }
+
+        if (scopes.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<VariableInstanceEntity>> scopeVariableInstances = new LinkedHashMap<>();
+        for (String executionId : scopes.keySet()) {
+            scopeVariableInstances.put(executionId, new ArrayList<VariableInstanceEntity>());
+        }
+
+        List<VariableInstanceEntity> variableInstances = CommandContextUtil.getVariableService()
+                .findVariableInstancesByExecutionIdsAndNames(scopes.keySet(), allVariableNames);
+        for (VariableInstanceEntity variableInstance : variableInstances) {
+            List<VariableInstanceEntity> executionVariableInstances = scopeVariableInstances.get(variableInstance.getExecutionId());
+            if (executionVariableInstances != null && !variableInstance.isDeleted()
+                    && scopeVariableNames.get(variableInstance.getExecutionId()).contains(variableInstance.getName())) {
+                executionVariableInstances.add(variableInstance);
+            }
+        }
+
+        for (Map.Entry<String, VariableScopeImpl> scopeEntry : scopes.entrySet()) {
+            String executionId = scopeEntry.getKey();
+            scopeEntry.getValue().internalSetPrefetchedVariableInstances(scopeVariableNames.get(executionId), scopeVariableInstances.get(executionId));
+        }
+    }
+
+}
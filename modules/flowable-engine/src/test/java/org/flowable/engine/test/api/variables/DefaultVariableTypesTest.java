@@ -0,0 +1,125 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.variables;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.variable.api.types.VariableType;
+import org.flowable.variable.service.impl.types.BooleanType;
+import org.flowable.variable.service.impl.types.DateType;
+import org.flowable.variable.service.impl.types.DefaultVariableTypes;
+import org.flowable.variable.service.impl.types.IntegerType;
+import org.flowable.variable.service.impl.types.JsonType;
+import org.flowable.variable.service.impl.types.LongJsonType;
+import org.flowable.variable.service.impl.types.LongStringType;
+import org.flowable.variable.service.impl.types.LongType;
+import org.flowable.variable.service.impl.types.NullType;
+import org.flowable.variable.service.impl.types.SerializableType;
+import org.flowable.variable.service.impl.types.StringType;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class DefaultVariableTypesTest {
+
+    protected ObjectMapper objectMapper = new ObjectMapper();
+    protected DefaultVariableTypes variableTypes;
+    protected SerializableType serializableType;
+
+    @Before
+    public void setUp() {
+        serializableType = new SerializableType();
+        variableTypes = new DefaultVariableTypes()
+                .addType(new NullType())
+                .addType(new StringType(10))
+                .addType(new LongStringType(11))
+                .addType(new BooleanType())
+                .addType(new IntegerType())
+                .addType(new DateType())
+                .addType(new JsonType(10, objectMapper))
+                .addType(new LongJsonType(11, objectMapper))
+                .addType(serializableType);
+    }
+
+    @Test
+    public void testValueDependentTypes() {
+        // Resolving a type for a class must not change the type of other values of the class
+        for (int i = 0; i < 2; i++) {
+            assertEquals("null", variableTypes.findVariableType(null).getTypeName());
+            assertEquals("string", variableTypes.findVariableType("short").getTypeName());
+            assertEquals("longString", variableTypes.findVariableType(StringUtils.repeat('a', 20)).getTypeName());
+            assertEquals("boolean", variableTypes.findVariableType(Boolean.TRUE).getTypeName());
+            assertEquals("integer", variableTypes.findVariableType(1).getTypeName());
+            assertEquals("date", variableTypes.findVariableType(new Date()).getTypeName());
+            assertEquals("json", variableTypes.findVariableType(objectMapper.createObjectNode()).getTypeName());
+            ObjectNode longJson = objectMapper.createObjectNode().put("name", StringUtils.repeat('a', 20));
+            assertEquals("longJson", variableTypes.findVariableType(longJson).getTypeName());
+            assertEquals("serializable", variableTypes.findVariableType(new ArrayList<>()).getTypeName());
+            assertEquals("serializable", variableTypes.findVariableType(1L).getTypeName());
+        }
+    }
+
+    @Test
+    public void testAddAndRemoveTypes() {
+        assertEquals("serializable", variableTypes.findVariableType(1L).getTypeName());
+        assertEquals(-1, variableTypes.getTypeIndex("long"));
+
+        VariableType longType = new LongType();
+        variableTypes.addType(longType, 4);
+        assertSame(longType, variableTypes.findVariableType(1L));
+        assertEquals(4, variableTypes.getTypeIndex(longType));
+        assertEquals(6, variableTypes.getTypeIndex("date"));
+        assertEquals(9, variableTypes.getTypeIndex(serializableType));
+
+        variableTypes.removeType(longType);
+        assertEquals("serializable", variableTypes.findVariableType(1L).getTypeName());
+        assertEquals(-1, variableTypes.getTypeIndex(longType));
+        assertEquals(8, variableTypes.getTypeIndex(serializableType));
+
+        variableTypes.setTypesList(Arrays.<VariableType>asList(new NullType(), longType, serializableType));
+        assertSame(longType, variableTypes.findVariableType(1L));
+        assertEquals(2, variableTypes.getTypeIndex("serializable"));
+    }
+
+    @Test
+    public void testValueDependentCustomType() {
+        // A custom type that only stores even numbers, the other numbers are stored by the types after it
+        variableTypes.addType(new IntegerType() {
+
+            @Override
+            public String getTypeName() {
+                return "evenInteger";
+            }
+
+            @Override
+            public boolean isAbleToStore(Object value) {
+                return value instanceof Integer && ((Integer) value) % 2 == 0;
+            }
+
+        }, 1);
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals("evenInteger", variableTypes.findVariableType(2).getTypeName());
+            assertEquals("integer", variableTypes.findVariableType(3).getTypeName());
+        }
+    }
+
+}
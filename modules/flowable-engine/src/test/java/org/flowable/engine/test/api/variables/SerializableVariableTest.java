@@ -12,15 +12,27 @@
  */
 package org.flowable.engine.test.api.variables;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.flowable.engine.delegate.DelegateExecution;
 import org.flowable.engine.delegate.JavaDelegate;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntityImpl;
 import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
 import org.flowable.engine.runtime.ProcessInstance;
 import org.flowable.engine.test.Deployment;
+import org.flowable.variable.service.impl.types.SerializableType;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+import org.flowable.variable.service.impl.types.VariableSerializer;
 
 /**
  * @author Joram Barrez
@@ -42,6 +54,77 @@ public class SerializableVariableTest extends PluggableFlowableTestCase {
         assertEquals(2, testSerializableVariable.getNumber());
     }
 
+    @Deployment(resources = "org/flowable/engine/test/api/variables/SerializableVariableTest.testUpdateSerializableInServiceTask.bpmn20.xml")
+    public void testVariableSerializer() {
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("myVar", new TestSerializableVariable(1));
+        vars.put("otherVar", new TestSerializableVariable(10));
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("testUpdateSerializableInServiceTask", vars);
+
+        SerializableType serializableType = (SerializableType) processEngineConfiguration.getVariableTypes().getVariableType(SerializableType.TYPE_NAME);
+        TestVariableSerializer variableSerializer = new TestVariableSerializer();
+        serializableType.setVariableSerializer(variableSerializer);
+        try {
+            // The variables were stored with Java serialization, the changed one is stored with the serializer
+            org.flowable.task.api.Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+            taskService.complete(task.getId());
+            // Comparing with the stored bytes, writing the changed value and re-serializing the original value
+            assertEquals(3, variableSerializer.serializations);
+
+            TestSerializableVariable testSerializableVariable = (TestSerializableVariable) runtimeService.getVariable(processInstance.getId(), "myVar");
+            assertEquals(2, testSerializableVariable.getNumber());
+            assertEquals(1, variableSerializer.deserializations);
+            assertEquals(10, ((TestSerializableVariable) runtimeService.getVariable(processInstance.getId(), "otherVar")).getNumber());
+            assertEquals(1, variableSerializer.deserializations);
+
+            runtimeService.setVariable(processInstance.getId(), "otherVar", new TestSerializableVariable(20));
+            assertEquals(20, ((TestSerializableVariable) runtimeService.getVariable(processInstance.getId(), "otherVar")).getNumber());
+            assertEquals(2, variableSerializer.deserializations);
+
+        } finally {
+            serializableType.setVariableSerializer(null);
+        }
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/api/variables/SerializableVariableTest.testUpdateSerializableInServiceTask.bpmn20.xml")
+    public void testReadValueStoredWithOlderClassVersion() throws Exception {
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("myVar", new TestSerializableVariable(1));
+        vars.put("versionedVar", new TestVersionedVariableV1(5));
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("testUpdateSerializableInServiceTask", vars);
+
+        // Makes the stored value look like it was written by an older version of TestVersionedVariableV2, that didn't have the label field yet
+        managementService.executeCommand(commandContext -> {
+            ExecutionEntityImpl execution = (ExecutionEntityImpl) CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstance.getId());
+            VariableInstanceEntity variableInstance = execution.getVariableInstanceEntities().get("versionedVar");
+            variableInstance.setBytes(replace(variableInstance.getBytes(), "$TestVersionedVariableV1", "$TestVersionedVariableV2"));
+            return null;
+        });
+
+        TestVersionedVariableV2 versionedVariable = (TestVersionedVariableV2) runtimeService.getVariable(processInstance.getId(), "versionedVar");
+        assertEquals(5, versionedVariable.getNumber());
+        assertNull(versionedVariable.getLabel());
+
+        versionedVariable.setLabel("five");
+        runtimeService.setVariable(processInstance.getId(), "versionedVar", versionedVariable);
+        versionedVariable = (TestVersionedVariableV2) runtimeService.getVariable(processInstance.getId(), "versionedVar");
+        assertEquals(5, versionedVariable.getNumber());
+        assertEquals("five", versionedVariable.getLabel());
+    }
+
+    protected static byte[] replace(byte[] bytes, String target, String replacement) {
+        byte[] targetBytes = target.getBytes(StandardCharsets.UTF_8);
+        byte[] replacementBytes = replacement.getBytes(StandardCharsets.UTF_8);
+        byte[] result = bytes.clone();
+        for (int i = 0; i <= result.length - targetBytes.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(result, i, i + targetBytes.length), targetBytes)) {
+                System.arraycopy(replacementBytes, 0, result, i, replacementBytes.length);
+                return result;
+            }
+        }
+        throw new IllegalArgumentException(target + " not found");
+    }
+
     public static class TestUpdateSerializableVariableDelegate implements JavaDelegate {
 
         @Override
@@ -69,6 +152,71 @@ public class SerializableVariableTest extends PluggableFlowableTestCase {
             this.number = number;
         }
 
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof TestSerializableVariable && ((TestSerializableVariable) other).number == number;
+        }
+
+        @Override
+        public int hashCode() {
+            return number;
+        }
+
+    }
+
+    public static class TestVersionedVariableV1 implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+        private int number;
+
+        public TestVersionedVariableV1(int number) {
+            this.number = number;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+    }
+
+    // The next version of TestVersionedVariableV1, with the same serialVersionUID and an added field
+    public static class TestVersionedVariableV2 implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+        private String label;
+        private int number;
+
+        public int getNumber() {
+            return number;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public void setLabel(String label) {
+            this.label = label;
+        }
+
+    }
+
+    public static class TestVariableSerializer implements VariableSerializer {
+
+        protected int serializations;
+        protected int deserializations;
+
+        @Override
+        public void serialize(Object value, OutputStream outputStream) throws IOException {
+            serializations++;
+            new DataOutputStream(outputStream).writeInt(((TestSerializableVariable) value).getNumber());
+        }
+
+        @Override
+        public Object deserialize(InputStream inputStream) throws IOException {
+            deserializations++;
+            return new TestSerializableVariable(new DataInputStream(inputStream).readInt());
+        }
+
     }
 
 }
@@ -0,0 +1,91 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.variables;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.delegate.JavaDelegate;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.task.api.Task;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+
+public class VariablePrefetchTest extends ResourceFlowableTestCase {
+
+    public VariablePrefetchTest() {
+        super("org/flowable/engine/test/api/variables/VariablePrefetchTest.flowable.cfg.xml");
+    }
+
+    @Deployment
+    public void testPrefetchUsedVariables() {
+        Map<String, Object> variables = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            variables.put("other" + i, "value" + i);
+        }
+        variables.put("a", 1);
+        variables.put("b", 2);
+        variables.put("c", 10);
+        variables.put("d", 3);
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("variablePrefetch", variables);
+
+        RecordLoadedVariablesDelegate.loadedVariableCount = -1;
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        taskService.complete(task.getId());
+
+        // Only the variables used by the service task are fetched from the process instance
+        assertEquals(6L, RecordLoadedVariablesDelegate.inputValue);
+        assertEquals(3, RecordLoadedVariablesDelegate.loadedVariableCount);
+
+        task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertEquals("largeTask", task.getTaskDefinitionKey());
+
+        processInstance = runtimeService.startProcessInstanceByKey("variablePrefetch", variables);
+        runtimeService.setVariable(processInstance.getId(), "c", 5);
+        runtimeService.removeVariable(processInstance.getId(), "d");
+
+        task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        try {
+            taskService.complete(task.getId());
+            fail("Expected an exception for the removed variable");
+        } catch (Exception e) {
+            // The removed variable is not available for the expression
+        }
+
+        runtimeService.setVariable(processInstance.getId(), "d", 4);
+        taskService.complete(task.getId());
+        assertEquals(7L, RecordLoadedVariablesDelegate.inputValue);
+        task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertEquals("smallTask", task.getTaskDefinitionKey());
+    }
+
+    public static class RecordLoadedVariablesDelegate implements JavaDelegate {
+
+        protected static Object inputValue;
+        protected static int loadedVariableCount;
+
+        protected Expression input;
+
+        @Override
+        public void execute(DelegateExecution execution) {
+            inputValue = input.getValue(execution);
+            loadedVariableCount = CommandContextUtil.getEntityCache().findInCache(VariableInstanceEntity.class).size();
+        }
+
+    }
+
+}
@@ -0,0 +1,166 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.cfg;
+
+import java.util.Collections;
+
+import org.flowable.common.engine.impl.db.DbSqlSessionFactory;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.job.api.Job;
+import org.flowable.task.api.Task;
+import org.flowable.task.service.impl.persistence.entity.TaskEntity;
+
+/**
+ * Runs regular operations with dirty tracking enabled: entity changes must be flushed,
+ * entities that are only read must not be updated.
+ */
+public class DirtyTrackingTest extends PluggableFlowableTestCase {
+
+    protected boolean oldDirtyTrackingEnabled;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        oldDirtyTrackingEnabled = processEngineConfiguration.getDbSqlSessionFactory().isDirtyTrackingEnabled();
+        processEngineConfiguration.getDbSqlSessionFactory().setDirtyTrackingEnabled(true);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        processEngineConfiguration.getDbSqlSessionFactory().setDirtyTrackingEnabled(oldDirtyTrackingEnabled);
+        super.tearDown();
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testTaskAndVariableUpdates() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", Collections.singletonMap("myVar", (Object) "initial"));
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+
+        taskService.setAssignee(task.getId(), "kermit");
+        taskService.setPriority(task.getId(), 99);
+        assertEquals("kermit", taskService.createTaskQuery().taskId(task.getId()).singleResult().getAssignee());
+        assertEquals(99, taskService.createTaskQuery().taskId(task.getId()).singleResult().getPriority());
+
+        runtimeService.setVariable(processInstance.getId(), "myVar", "updated");
+        assertEquals("updated", runtimeService.getVariable(processInstance.getId(), "myVar"));
+
+        // Setting the same value again doesn't make the variable dirty
+        runtimeService.setVariable(processInstance.getId(), "myVar", "updated");
+        assertEquals("updated", runtimeService.getVariable(processInstance.getId(), "myVar"));
+
+        taskService.complete(task.getId());
+        assertProcessEnded(processInstance.getId());
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testReadOnlyAccessDoesNotUpdate() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        final String taskId = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getId();
+        final String processInstanceId = processInstance.getId();
+
+        int taskRevision = getTaskRevision(taskId);
+        int executionRevision = getExecutionRevision(processInstanceId);
+
+        managementService.executeCommand(new Command<Void>() {
+
+            @Override
+            public Void execute(CommandContext commandContext) {
+                TaskEntity taskEntity = CommandContextUtil.getTaskService(commandContext).getTask(taskId);
+                taskEntity.setAssignee(null); // same value as loaded
+                ExecutionEntity executionEntity = CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstanceId);
+                executionEntity.setActive(executionEntity.isActive());
+                return null;
+            }
+        });
+
+        assertEquals(taskRevision, getTaskRevision(taskId));
+        assertEquals(executionRevision, getExecutionRevision(processInstanceId));
+
+        taskService.setAssignee(taskId, "gonzo");
+        assertEquals(taskRevision + 1, getTaskRevision(taskId));
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskSubProcessWithTimer.bpmn20.xml")
+    public void testJobUpdates() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("startSimpleSubProcess");
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        taskService.complete(task.getId());
+
+        Job timerJob = managementService.createTimerJobQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertNotNull(timerJob);
+
+        managementService.setTimerJobRetries(timerJob.getId(), 7);
+        assertEquals(7, managementService.createTimerJobQuery().jobId(timerJob.getId()).singleResult().getRetries());
+
+        Job executableJob = managementService.moveTimerToExecutableJob(timerJob.getId());
+        managementService.executeJob(executableJob.getId());
+        assertProcessEnded(processInstance.getId());
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testUpdateOnlyWritesChangedColumns() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", "myBusinessKey");
+        final String processInstanceId = processInstance.getId();
+
+        String updateSql = managementService.executeCommand(new Command<String>() {
+
+            @Override
+            public String execute(CommandContext commandContext) {
+                ExecutionEntity executionEntity = CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstanceId);
+                executionEntity.setName("newName");
+
+                DbSqlSessionFactory dbSqlSessionFactory = CommandContextUtil.getDbSqlSession(commandContext).getDbSqlSessionFactory();
+                return dbSqlSessionFactory.getSqlSessionFactory().getConfiguration()
+                        .getMappedStatement(dbSqlSessionFactory.getUpdateStatement(executionEntity))
+                        .getBoundSql(executionEntity)
+                        .getSql();
+            }
+        });
+
+        assertTrue(updateSql, updateSql.contains("NAME_"));
+        assertFalse(updateSql, updateSql.contains("BUSINESS_KEY_"));
+        assertFalse(updateSql, updateSql.contains("PROC_DEF_ID_"));
+        assertFalse(updateSql, updateSql.contains("ROOT_PROC_INST_ID_"));
+        assertFalse(updateSql, updateSql.contains("SUSPENSION_STATE_"));
+
+        assertEquals("newName", runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceId).singleResult().getName());
+        assertEquals("myBusinessKey", runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceId).singleResult().getBusinessKey());
+    }
+
+    protected int getTaskRevision(final String taskId) {
+        return managementService.executeCommand(new Command<Integer>() {
+
+            @Override
+            public Integer execute(CommandContext commandContext) {
+                return CommandContextUtil.getTaskService(commandContext).getTask(taskId).getRevision();
+            }
+        });
+    }
+
+    protected int getExecutionRevision(final String executionId) {
+        return managementService.executeCommand(new Command<Integer>() {
+
+            @Override
+            public Integer execute(CommandContext commandContext) {
+                return CommandContextUtil.getExecutionEntityManager(commandContext).findById(executionId).getRevision();
+            }
+        });
+    }
+
+}
@@ -0,0 +1,101 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.cfg;
+
+import java.util.List;
+
+import org.flowable.common.engine.api.FlowableOptimisticLockingException;
+import org.flowable.common.engine.impl.cfg.TransactionPropagation;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandConfig;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.task.api.Task;
+import org.flowable.task.service.impl.persistence.entity.TaskEntity;
+
+/**
+ * Runs regular operations with the updates and deletes of a flush sent as JDBC batches.
+ */
+public class JdbcBatchUpdatesTest extends PluggableFlowableTestCase {
+
+    protected boolean oldJdbcBatchUpdatesEnabled;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        oldJdbcBatchUpdatesEnabled = processEngineConfiguration.getDbSqlSessionFactory().isJdbcBatchUpdatesEnabled();
+        processEngineConfiguration.getDbSqlSessionFactory().setJdbcBatchUpdatesEnabled(true);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        processEngineConfiguration.getDbSqlSessionFactory().setJdbcBatchUpdatesEnabled(oldJdbcBatchUpdatesEnabled);
+        super.tearDown();
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasks.bpmn20.xml")
+    public void testParallelMultiInstance() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("miParallelUserTasks");
+        List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).orderByTaskName().asc().list();
+        assertEquals(3, tasks.size());
+
+        for (Task task : tasks) {
+            taskService.setPriority(task.getId(), 10);
+        }
+        assertEquals(3, taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskPriority(10).count());
+
+        for (Task task : tasks) {
+            taskService.complete(task.getId());
+        }
+        assertProcessEnded(processInstance.getId());
+        assertEquals(0, runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).count());
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testConcurrentUpdateDetected() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        final String taskId = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getId();
+
+        try {
+            managementService.executeCommand(new Command<Void>() {
+
+                @Override
+                public Void execute(CommandContext commandContext) {
+                    TaskEntity taskEntity = CommandContextUtil.getTaskService(commandContext).getTask(taskId);
+
+                    // Another transaction changes the task in the meantime
+                    processEngineConfiguration.getCommandExecutor().execute(new CommandConfig(false, TransactionPropagation.REQUIRES_NEW), new Command<Void>() {
+
+                        @Override
+                        public Void execute(CommandContext commandContext) {
+                            CommandContextUtil.getTaskService(commandContext).getTask(taskId).setAssignee("gonzo");
+                            return null;
+                        }
+                    });
+
+                    taskEntity.setAssignee("kermit");
+                    return null;
+                }
+            });
+            fail("Expected optimistic locking exception");
+        } catch (FlowableOptimisticLockingException e) {
+            // expected
+        }
+
+        assertEquals("gonzo", taskService.createTaskQuery().taskId(taskId).singleResult().getAssignee());
+    }
+
+}
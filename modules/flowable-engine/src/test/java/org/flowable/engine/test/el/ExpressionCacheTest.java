@@ -0,0 +1,98 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.el;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.impl.el.DefaultExpressionManager;
+import org.flowable.common.engine.impl.el.ExpressionCache;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.test.Deployment;
+import org.flowable.variable.service.impl.el.NoExecutionVariableScope;
+
+/**
+ * Tests the {@link ExpressionCache} of the {@link DefaultExpressionManager}.
+ */
+public class ExpressionCacheTest extends ResourceFlowableTestCase {
+
+    public ExpressionCacheTest() {
+        super("org/flowable/engine/test/el/ExpressionCacheTest.flowable.cfg.xml");
+    }
+
+    public void testExpressionReused() {
+        DefaultExpressionManager expressionManager = (DefaultExpressionManager) processEngineConfiguration.getExpressionManager();
+        long hitCount = managementService.getExpressionCacheStatistics().get(ExpressionCache.HIT_COUNT);
+
+        Expression expression = expressionManager.createExpression("${1 + 2}");
+        assertSame(expression, expressionManager.createExpression("${1 + 2}"));
+        assertEquals(3L, expression.getValue(new NoExecutionVariableScope()));
+
+        assertEquals(hitCount + 1, managementService.getExpressionCacheStatistics().get(ExpressionCache.HIT_COUNT).longValue());
+    }
+
+    public void testCacheIsBounded() {
+        DefaultExpressionManager expressionManager = (DefaultExpressionManager) processEngineConfiguration.getExpressionManager();
+        long evictionCount = managementService.getExpressionCacheStatistics().get(ExpressionCache.EVICTION_COUNT);
+
+        Expression expression = expressionManager.createExpression("${'a'}");
+        expressionManager.createExpression("${'b'}");
+        expressionManager.createExpression("${'c'}");
+        expressionManager.createExpression("${'d'}");
+
+        Map<String, Long> statistics = managementService.getExpressionCacheStatistics();
+        assertEquals(3L, statistics.get(ExpressionCache.SIZE).longValue());
+        assertTrue(statistics.get(ExpressionCache.EVICTION_COUNT) > evictionCount);
+
+        // The oldest expression was evicted, so it is parsed again
+        long missCount = statistics.get(ExpressionCache.MISS_COUNT);
+        assertNotSame(expression, expressionManager.createExpression("${'a'}"));
+        assertEquals(missCount + 1, managementService.getExpressionCacheStatistics().get(ExpressionCache.MISS_COUNT).longValue());
+    }
+
+    public void testLeastRecentlyUsedExpressionIsEvicted() {
+        DefaultExpressionManager expressionManager = (DefaultExpressionManager) processEngineConfiguration.getExpressionManager();
+        expressionManager.getExpressionCache().clear();
+
+        Expression expressionA = expressionManager.createExpression("${'a'}");
+        Expression expressionB = expressionManager.createExpression("${'b'}");
+        expressionManager.createExpression("${'c'}");
+
+        // Reading 'a' makes 'b' the least recently used expression
+        assertSame(expressionA, expressionManager.createExpression("${'a'}"));
+        expressionManager.createExpression("${'d'}");
+
+        assertEquals(3, expressionManager.getExpressionCache().size());
+        assertSame(expressionA, expressionManager.createExpression("${'a'}"));
+        assertNotSame(expressionB, expressionManager.createExpression("${'b'}"));
+    }
+
+    public void testCacheClearedWhenFunctionsChange() {
+        DefaultExpressionManager expressionManager = (DefaultExpressionManager) processEngineConfiguration.getExpressionManager();
+        expressionManager.createExpression("${1 + 2}");
+        assertTrue(managementService.getExpressionCacheStatistics().get(ExpressionCache.SIZE) > 0);
+
+        expressionManager.setFunctionDelegates(expressionManager.getFunctionDelegates());
+        assertEquals(0L, managementService.getExpressionCacheStatistics().get(ExpressionCache.SIZE).longValue());
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/el/ExpressionManagerTest.testMethodExpressions.bpmn20.xml")
+    public void testProcessWithCachedExpressions() {
+        for (int i = 0; i < 3; i++) {
+            runtimeService.startProcessInstanceByKey("methodExpressionProcess", Collections.<String, Object>singletonMap("aString", "abcdefgh"));
+        }
+        assertEquals(0, runtimeService.createProcessInstanceQuery().processDefinitionKey("methodExpressionProcess").count());
+    }
+
+}
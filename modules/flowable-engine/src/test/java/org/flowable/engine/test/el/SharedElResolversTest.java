@@ -0,0 +1,59 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.el;
+
+import java.util.Collections;
+
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.impl.el.DefaultExpressionManager;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.variable.service.impl.el.NoExecutionVariableScope;
+
+/**
+ * Tests expressions evaluated with the shared resolvers of the {@link DefaultExpressionManager}.
+ */
+public class SharedElResolversTest extends ResourceFlowableTestCase {
+
+    public SharedElResolversTest() {
+        super("org/flowable/engine/test/el/SharedElResolversTest.flowable.cfg.xml");
+    }
+
+    public void testBeansAndMethodsResolved() {
+        DefaultExpressionManager expressionManager = (DefaultExpressionManager) processEngineConfiguration.getExpressionManager();
+        assertTrue(expressionManager.isSharedElResolversEnabled());
+
+        Expression expression = expressionManager.createExpression("${greeting.toUpperCase()}");
+        assertEquals("HELLO", expression.getValue(new NoExecutionVariableScope()));
+        assertEquals("HELLO", expression.getValue(new NoExecutionVariableScope()));
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/el/ExpressionManagerTest.testExecutionAvailable.bpmn20.xml")
+    public void testVariablesResolvedPerExecution() {
+        ProcessInstance processInstance1 = runtimeService.startProcessInstanceByKey("testExecutionAvailableProcess",
+                Collections.<String, Object>singletonMap("myVar", new ExecutionTestVariable()));
+        ProcessInstance processInstance2 = runtimeService.startProcessInstanceByKey("testExecutionAvailableProcess",
+                Collections.<String, Object>singletonMap("myVar", new ExecutionTestVariable()));
+
+        assertEquals("myValue", runtimeService.getVariable(processInstance1.getId(), "testVar"));
+        assertEquals("myValue", runtimeService.getVariable(processInstance2.getId(), "testVar"));
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/el/ExpressionManagerTest.testMethodExpressions.bpmn20.xml")
+    public void testMethodExpressions() {
+        runtimeService.startProcessInstanceByKey("methodExpressionProcess", Collections.<String, Object>singletonMap("aString", "abcdefgh"));
+        assertEquals(0, runtimeService.createProcessInstanceQuery().processDefinitionKey("methodExpressionProcess").count());
+    }
+
+}
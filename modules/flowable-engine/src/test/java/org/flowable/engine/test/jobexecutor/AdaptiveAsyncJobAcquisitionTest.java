@@ -0,0 +1,128 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import java.util.Random;
+
+import org.flowable.job.service.impl.asyncexecutor.AdaptiveAsyncJobAcquisition;
+import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link AdaptiveAsyncJobAcquisition}.
+ */
+public class AdaptiveAsyncJobAcquisitionTest {
+
+    protected DefaultAsyncJobExecutor asyncExecutor;
+
+    @Before
+    public void setUp() {
+        asyncExecutor = new DefaultAsyncJobExecutor();
+        asyncExecutor.setQueueSize(100);
+        asyncExecutor.setMaxAsyncJobsDuePerAcquisition(1);
+        asyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(1000);
+        asyncExecutor.setDefaultQueueSizeFullWaitTimeInMillis(200);
+    }
+
+    @Test
+    public void testBatchSizeGrowsOnFullAcquisitions() {
+        AdaptiveAsyncJobAcquisition acquisition = new AdaptiveAsyncJobAcquisition(asyncExecutor, 8, 10000, 0.0);
+        Assert.assertEquals(1, acquisition.getBatchSize(100));
+
+        Assert.assertEquals(0L, acquisition.jobsAcquired(1, 1, 0, 99));
+        Assert.assertEquals(2, acquisition.getBatchSize(100));
+        Assert.assertEquals(0L, acquisition.jobsAcquired(2, 2, 0, 98));
+        Assert.assertEquals(0L, acquisition.jobsAcquired(4, 4, 0, 96));
+        Assert.assertEquals(0L, acquisition.jobsAcquired(8, 8, 0, 92));
+        Assert.assertEquals(8, acquisition.getBatchSize());
+
+        // Never more than the remaining capacity
+        Assert.assertEquals(3, acquisition.getBatchSize(3));
+
+        // A partial acquisition keeps the batch size and waits the default time
+        Assert.assertEquals(1000L, acquisition.jobsAcquired(8, 5, 0, 95));
+        Assert.assertEquals(8, acquisition.getBatchSize());
+    }
+
+    @Test
+    public void testExponentialBackOffOnEmptyAcquisitions() {
+        AdaptiveAsyncJobAcquisition acquisition = new AdaptiveAsyncJobAcquisition(asyncExecutor, 8, 5000, 0.0);
+
+        Assert.assertEquals(1000L, acquisition.jobsAcquired(1, 0, 0, 100));
+        Assert.assertEquals(2000L, acquisition.jobsAcquired(1, 0, 0, 100));
+        Assert.assertEquals(4000L, acquisition.jobsAcquired(1, 0, 0, 100));
+        Assert.assertEquals(5000L, acquisition.jobsAcquired(1, 0, 0, 100));
+        Assert.assertEquals(5000L, acquisition.jobsAcquired(1, 0, 0, 100));
+
+        // Finding jobs again resets the back-off
+        Assert.assertEquals(0L, acquisition.jobsAcquired(1, 1, 0, 99));
+        Assert.assertEquals(1000L, acquisition.jobsAcquired(2, 0, 0, 100));
+    }
+
+    @Test
+    public void testCollisionShrinksBatchAndBacksOff() {
+        AdaptiveAsyncJobAcquisition acquisition = new AdaptiveAsyncJobAcquisition(asyncExecutor, 16, 10000, 0.0);
+        for (int i = 1; i <= 8; i *= 2) {
+            acquisition.jobsAcquired(i, i, 0, 100);
+        }
+        Assert.assertEquals(16, acquisition.getBatchSize());
+
+        Assert.assertEquals(1000L, acquisition.optimisticLockingCollision());
+        Assert.assertEquals(8, acquisition.getBatchSize());
+        Assert.assertEquals(2000L, acquisition.optimisticLockingCollision());
+        Assert.assertEquals(4, acquisition.getBatchSize());
+
+        // A full queue halves the batch size and waits the queue full wait time
+        Assert.assertEquals(200L, acquisition.jobsAcquired(4, 4, 2, 0));
+        Assert.assertEquals(2, acquisition.getBatchSize());
+    }
+
+    @Test
+    public void testJitter() {
+        AdaptiveAsyncJobAcquisition acquisition = new AdaptiveAsyncJobAcquisition(asyncExecutor, 8, 1000, 0.2, new Random(42));
+        for (int i = 0; i < 50; i++) {
+            long waitTime = acquisition.jobsAcquired(1, 0, 0, 100);
+            Assert.assertTrue("wait time " + waitTime, waitTime >= 800L && waitTime <= 1200L);
+        }
+    }
+
+    @Test
+    public void testBatchSizeLimitedByDrainRate() {
+        final long[] time = new long[] { 0L };
+        AdaptiveAsyncJobAcquisition acquisition = new AdaptiveAsyncJobAcquisition(asyncExecutor, 64, 10000, 0.0) {
+
+            @Override
+            protected long currentTimeMillis() {
+                return time[0];
+            }
+        };
+        for (int i = 1; i <= 32; i *= 2) {
+            acquisition.jobsAcquired(i, i, 0, 40);
+        }
+        Assert.assertEquals(64, acquisition.getBatchSize());
+
+        // The thread pool executed 10 jobs in 2 seconds while the queue never ran empty: 5 jobs per acquire wait time
+        time[0] = 2000L;
+        Assert.assertEquals(5, acquisition.getBatchSize(50));
+        Assert.assertEquals(0.005, acquisition.getDrainRate(), 0.0001);
+
+        // An emptied queue doesn't tell how fast the pool is, so it doesn't lower the rate
+        acquisition.jobsAcquired(5, 5, 0, 45);
+        time[0] = 2100L;
+        Assert.assertEquals(5, acquisition.getBatchSize(100));
+        Assert.assertEquals(0.005, acquisition.getDrainRate(), 0.0001);
+    }
+
+}
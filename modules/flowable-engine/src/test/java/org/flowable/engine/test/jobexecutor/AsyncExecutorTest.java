@@ -12,16 +12,24 @@
  */
 package org.flowable.engine.test.jobexecutor;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.context.Context;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.engine.ProcessEngine;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
 import org.flowable.engine.impl.test.JobTestHelper;
 import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.job.api.Job;
 import org.flowable.job.api.JobInfo;
 import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
 import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncJobExecutor;
@@ -165,6 +173,80 @@ public class AsyncExecutorTest {
 
     }
 
+    @Test
+    public void testAsyncJobsCreatedInSameTransaction() {
+
+        ProcessEngine processEngine = null;
+
+        try {
+
+            // Deploy
+            processEngine = createProcessEngine(true);
+            setClockToCurrentTime(processEngine);
+            deploy(processEngine, "AsyncExecutorTest.testAsyncJobsCreatedInSameTransaction.bpmn20.xml");
+
+            // Start process instance, which creates three async jobs in the same transaction. Wait for all jobs to be done
+            ProcessInstance processInstance = processEngine.getRuntimeService().startProcessInstanceByKey("asyncScripts");
+            waitForAllJobsBeingExecuted(processEngine);
+
+            // Verify if all is as expected
+            Assert.assertEquals(0, processEngine.getManagementService().createJobQuery().count());
+            Assert.assertEquals(3, processEngine.getTaskService().createTaskQuery().processInstanceId(processInstance.getId()).taskName("Task after script").count());
+
+            // All jobs are handed off to the async executor directly after the transaction, without acquiring them
+            Assert.assertEquals(3, getAsyncExecutorJobCount(processEngine));
+
+            // and they are handed off together, as one batch in the same command
+            Collection<List<JobInfo>> batches = ((CountingAsyncExecutor) processEngine.getProcessEngineConfiguration().getAsyncExecutor()).getHandedOffBatches();
+            Assert.assertEquals(1, batches.size());
+            List<JobInfo> batch = batches.iterator().next();
+            Assert.assertEquals(3, batch.size());
+            for (JobInfo job : batch) {
+                Assert.assertEquals(processInstance.getId(), ((Job) job).getProcessInstanceId());
+            }
+            Assert.assertEquals(3, batch.stream().map(JobInfo::getId).distinct().count());
+
+        } finally {
+
+            // Clean up
+            cleanup(processEngine);
+
+        }
+
+    }
+
+    @Test
+    public void testAsyncJobsExecutedOnVirtualThreads() {
+
+        ProcessEngine processEngine = null;
+
+        try {
+
+            // Deploy
+            processEngine = createProcessEngine(true, null, true);
+            setClockToCurrentTime(processEngine);
+            deploy(processEngine, "AsyncExecutorTest.testAsyncJobsCreatedInSameTransaction.bpmn20.xml");
+
+            // Start process instance, which creates three async jobs while only two can execute at the same time. Wait for all jobs to be done
+            ProcessInstance processInstance = processEngine.getRuntimeService().startProcessInstanceByKey("asyncScripts");
+            waitForAllJobsBeingExecuted(processEngine);
+
+            // Verify if all is as expected
+            Assert.assertEquals(0, processEngine.getManagementService().createJobQuery().count());
+            Assert.assertEquals(3, processEngine.getTaskService().createTaskQuery().processInstanceId(processInstance.getId()).taskName("Task after script").count());
+
+            // All permits are released again
+            Assert.assertEquals(2, processEngine.getProcessEngineConfiguration().getAsyncExecutor().getRemainingCapacity());
+
+        } finally {
+
+            // Clean up
+            cleanup(processEngine);
+
+        }
+
+    }
+
     @Test
     public void testAsyncFailingScript() {
 
@@ -219,6 +301,10 @@ public class AsyncExecutorTest {
     }
 
     private ProcessEngine createProcessEngine(boolean enableAsyncExecutor, Date time) {
+        return createProcessEngine(enableAsyncExecutor, time, false);
+    }
+
+    private ProcessEngine createProcessEngine(boolean enableAsyncExecutor, Date time, boolean useVirtualThreads) {
         ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
         processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:activiti-AsyncExecutorTest;DB_CLOSE_DELAY=1000");
         processEngineConfiguration.setDatabaseSchemaUpdate("true");
@@ -229,6 +315,10 @@ public class AsyncExecutorTest {
             CountingAsyncExecutor countingAsyncExecutor = new CountingAsyncExecutor();
             countingAsyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(50); // To avoid waiting too long when a retry happens
             countingAsyncExecutor.setDefaultTimerJobAcquireWaitTimeInMillis(50);
+            if (useVirtualThreads) {
+                countingAsyncExecutor.setUseVirtualThreads(true);
+                countingAsyncExecutor.setMaxConcurrentJobs(2);
+            }
             processEngineConfiguration.setAsyncExecutor(countingAsyncExecutor);
         }
 
@@ -285,10 +375,16 @@ public class AsyncExecutorTest {
 
         private AtomicInteger counter = new AtomicInteger(0);
 
+        // The handed off jobs, grouped by the command context they were handed off in
+        private Map<CommandContext, List<JobInfo>> handedOffBatches = new IdentityHashMap<>();
+
         @Override
         public boolean executeAsyncJob(JobInfo job) {
             LOGGER.info("About to execute job {}", job.getId());
             counter.incrementAndGet();
+            synchronized (handedOffBatches) {
+                handedOffBatches.computeIfAbsent(Context.getCommandContext(), commandContext -> new ArrayList<>()).add(job);
+            }
             boolean success = super.executeAsyncJob(job);
             LOGGER.info("Handed off job {} to async executor (retries={})", job.getId(), job.getRetries());
             return success;
@@ -302,6 +398,12 @@ public class AsyncExecutorTest {
             this.counter = counter;
         }
 
+        public Collection<List<JobInfo>> getHandedOffBatches() {
+            synchronized (handedOffBatches) {
+                return new ArrayList<>(handedOffBatches.values());
+            }
+        }
+
     }
 
 }
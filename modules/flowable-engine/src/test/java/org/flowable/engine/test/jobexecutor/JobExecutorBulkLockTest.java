@@ -0,0 +1,187 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.job.api.Job;
+import org.flowable.job.service.impl.asyncexecutor.AcquiredJobEntities;
+import org.flowable.job.service.impl.asyncexecutor.AcquiredTimerJobEntities;
+import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.job.service.impl.cmd.AcquireJobsCmd;
+import org.flowable.job.service.impl.cmd.AcquireTimerJobsCmd;
+import org.flowable.job.service.impl.cmd.ExecuteAsyncJobCmd;
+import org.flowable.job.service.impl.persistence.entity.JobEntity;
+import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
+import org.flowable.job.service.impl.persistence.entity.TimerJobEntity;
+
+/**
+ * Tests the acquisition of jobs when they are locked with one bulk update.
+ */
+public class JobExecutorBulkLockTest extends JobExecutorTestCase {
+
+    static final long SOME_TIME = 928374923546L;
+    static final long SECOND = 1000;
+
+    protected boolean oldBulkLockEnabled;
+    protected int oldMaxAsyncJobsDuePerAcquisition;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        oldBulkLockEnabled = processEngineConfiguration.getJobServiceConfiguration().isAsyncExecutorBulkLockEnabled();
+        processEngineConfiguration.getJobServiceConfiguration().setAsyncExecutorBulkLockEnabled(true);
+        oldMaxAsyncJobsDuePerAcquisition = processEngineConfiguration.getAsyncExecutor().getMaxAsyncJobsDuePerAcquisition();
+        processEngineConfiguration.getAsyncExecutor().setMaxAsyncJobsDuePerAcquisition(10);
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        processEngineConfiguration.getJobServiceConfiguration().setAsyncExecutorBulkLockEnabled(oldBulkLockEnabled);
+        processEngineConfiguration.getAsyncExecutor().setMaxAsyncJobsDuePerAcquisition(oldMaxAsyncJobsDuePerAcquisition);
+        super.tearDown();
+    }
+
+    public void testAcquireJobs() {
+        final AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+        CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+
+        final List<String> jobIds = commandExecutor.execute(new Command<List<String>>() {
+
+            @Override
+            public List<String> execute(CommandContext commandContext) {
+                List<String> jobIds = new ArrayList<>();
+                for (int i = 0; i < 3; i++) {
+                    JobEntity message = createTweetMessage("message " + i);
+                    CommandContextUtil.getJobService(commandContext).scheduleAsyncJob(message);
+                    jobIds.add(message.getId());
+                }
+                return jobIds;
+            }
+        });
+
+        AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+        assertEquals(3, acquiredJobs.size());
+        for (JobInfoEntity acquiredJob : acquiredJobs.getJobs()) {
+            assertTrue(jobIds.contains(acquiredJob.getId()));
+            assertEquals(asyncExecutor.getLockOwner(), acquiredJob.getLockOwner());
+            assertNotNull(acquiredJob.getLockExpirationTime());
+        }
+
+        // Already locked jobs are not acquired again
+        assertEquals(0, commandExecutor.execute(new AcquireJobsCmd(asyncExecutor)).size());
+
+        for (String jobId : jobIds) {
+            commandExecutor.execute(new ExecuteAsyncJobCmd(jobId));
+        }
+        assertEquals(3, tweetHandler.getMessages().size());
+        assertEquals(0, managementService.createJobQuery().count());
+    }
+
+    public void testJobsLockedByOtherOwnerAreSkipped() {
+        CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+
+        final List<String> jobIds = commandExecutor.execute(new Command<List<String>>() {
+
+            @Override
+            public List<String> execute(CommandContext commandContext) {
+                List<String> jobIds = new ArrayList<>();
+                for (int i = 0; i < 2; i++) {
+                    JobEntity message = createTweetMessage("message " + i);
+                    CommandContextUtil.getJobService(commandContext).scheduleAsyncJob(message);
+                    jobIds.add(message.getId());
+                }
+                return jobIds;
+            }
+        });
+
+        final Date lockExpirationTime = new Date(processEngineConfiguration.getClock().getCurrentTime().getTime() + 60 * SECOND);
+        List<JobEntity> lockedJobs = commandExecutor.execute(new Command<List<JobEntity>>() {
+
+            @Override
+            public List<JobEntity> execute(CommandContext commandContext) {
+                return processEngineConfiguration.getJobServiceConfiguration().getJobEntityManager()
+                        .lockJobs(Arrays.asList(jobIds.get(0)), "otherOwner", lockExpirationTime);
+            }
+        });
+        assertEquals(1, lockedJobs.size());
+
+        lockedJobs = commandExecutor.execute(new Command<List<JobEntity>>() {
+
+            @Override
+            public List<JobEntity> execute(CommandContext commandContext) {
+                return processEngineConfiguration.getJobServiceConfiguration().getJobEntityManager()
+                        .lockJobs(jobIds, "myOwner", lockExpirationTime);
+            }
+        });
+        assertEquals(1, lockedJobs.size());
+        assertEquals(jobIds.get(1), lockedJobs.get(0).getId());
+        assertEquals("myOwner", lockedJobs.get(0).getLockOwner());
+
+        for (String jobId : jobIds) {
+            commandExecutor.execute(new ExecuteAsyncJobCmd(jobId));
+        }
+        assertEquals(0, managementService.createJobQuery().count());
+    }
+
+    public void testAcquireTimerJobs() {
+        processEngineConfiguration.getClock().setCurrentTime(new Date(SOME_TIME));
+
+        AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+        CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+
+        String jobId = commandExecutor.execute(new Command<String>() {
+
+            @Override
+            public String execute(CommandContext commandContext) {
+                TimerJobEntity timer = createTweetTimer("i'm coding a test", new Date(SOME_TIME + (10 * SECOND)));
+                CommandContextUtil.getTimerJobService(commandContext).scheduleTimerJob(timer);
+                return timer.getId();
+            }
+        });
+
+        AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
+        assertEquals(0, acquiredJobs.size());
+
+        processEngineConfiguration.getClock().setCurrentTime(new Date(SOME_TIME + (20 * SECOND)));
+
+        acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
+        assertEquals(1, acquiredJobs.size());
+        assertEquals(0, commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor)).size());
+
+        final TimerJobEntity timerJob = acquiredJobs.getJobs().iterator().next();
+        assertEquals(jobId, timerJob.getId());
+        assertEquals(asyncExecutor.getLockOwner(), timerJob.getLockOwner());
+
+        // The acquired timer job has the revision set by the lock update, as it is deleted with a revision check when moved
+        Job executableJob = commandExecutor.execute(new Command<Job>() {
+
+            @Override
+            public Job execute(CommandContext commandContext) {
+                return processEngineConfiguration.getJobServiceConfiguration().getJobManager().moveTimerJobToExecutableJob(timerJob);
+            }
+        });
+        commandExecutor.execute(new ExecuteAsyncJobCmd(executableJob.getId()));
+
+        assertEquals("i'm coding a test", tweetHandler.getMessages().get(0));
+        assertEquals(1, tweetHandler.getMessages().size());
+    }
+
+}
@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.examples.runtime;
+
+import java.util.Map;
+
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.agenda.ContinueProcessOperation;
+import org.flowable.engine.impl.agenda.FlowableEngineAgendaListener;
+import org.flowable.engine.impl.agenda.PooledFlowableEngineAgenda;
+import org.flowable.engine.impl.agenda.PooledFlowableEngineAgendaFactory;
+import org.flowable.engine.impl.agenda.TakeOutgoingSequenceFlowsOperation;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.task.api.Task;
+
+/**
+ * Tests the {@link PooledFlowableEngineAgenda}.
+ */
+public class PooledAgendaTest extends ResourceFlowableTestCase {
+
+    protected static int maxExecutedOperationCount;
+    protected static Map<Class<?>, Integer> maxExecutedOperationCounts;
+
+    public PooledAgendaTest() {
+        super("org/flowable/examples/runtime/PooledAgendaTest.flowable.cfg.xml");
+    }
+
+    @Deployment(resources = "org/flowable/examples/runtime/PooledAgendaTest.bpmn20.xml")
+    public void testStraightThroughProcess() {
+        assertTrue(processEngineConfiguration.getAgendaFactory() instanceof PooledFlowableEngineAgendaFactory);
+
+        maxExecutedOperationCount = 0;
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("straightThrough");
+
+        assertEquals(2, taskService.createTaskQuery().processInstanceId(processInstance.getId()).count());
+
+        // 20 tasks, the start event and the fork are continued and left
+        int continueCount = maxExecutedOperationCounts.get(ContinueProcessOperation.class);
+        int takeOutgoingCount = maxExecutedOperationCounts.get(TakeOutgoingSequenceFlowsOperation.class);
+        assertTrue("continue operations " + continueCount, continueCount >= 22);
+        assertTrue("take outgoing sequence flows operations " + takeOutgoingCount, takeOutgoingCount >= 22);
+
+        int total = 0;
+        for (Integer count : maxExecutedOperationCounts.values()) {
+            total += count;
+        }
+        assertEquals(maxExecutedOperationCount, total);
+
+        for (Task task : taskService.createTaskQuery().processInstanceId(processInstance.getId()).list()) {
+            taskService.complete(task.getId());
+        }
+        assertProcessEnded(processInstance.getId());
+    }
+
+    public void testPlannedOperationsAreVisibleThroughTheAgendaAccessors() {
+        final Runnable operation = new Runnable() {
+
+            @Override
+            public void run() {
+            }
+        };
+
+        PooledFlowableEngineAgenda agenda = new PooledFlowableEngineAgenda(null, 10, null);
+        assertTrue(agenda.isEmpty());
+
+        agenda.planOperation(operation);
+        assertFalse(agenda.isEmpty());
+        assertEquals(1, agenda.getOperations().size());
+        assertSame(operation, agenda.peekOperation());
+
+        // The operations are the live list of the agenda
+        agenda.getOperations().clear();
+        assertTrue(agenda.isEmpty());
+
+        agenda.planOperation(operation);
+        assertSame(operation, agenda.getNextOperation());
+        assertTrue(agenda.isEmpty());
+        assertTrue(agenda.getOperations().isEmpty());
+    }
+
+    public static class CountingAgendaListener implements FlowableEngineAgendaListener {
+
+        @Override
+        public void operationsExecuted(CommandContext commandContext, int executedOperationCount, Map<Class<?>, Integer> executedOperationCounts) {
+            if (executedOperationCount > maxExecutedOperationCount) {
+                maxExecutedOperationCount = executedOperationCount;
+                maxExecutedOperationCounts = executedOperationCounts;
+            }
+        }
+    }
+
+}
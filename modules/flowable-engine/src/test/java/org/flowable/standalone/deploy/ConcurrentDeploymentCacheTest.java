@@ -0,0 +1,162 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.deploy;
+
+import java.text.MessageFormat;
+import java.util.Map;
+
+import org.flowable.common.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWeigher;
+import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.repository.Deployment;
+import org.flowable.engine.repository.ProcessDefinition;
+
+public class ConcurrentDeploymentCacheTest extends ResourceFlowableTestCase {
+
+    public ConcurrentDeploymentCacheTest() {
+        super("org/flowable/standalone/deploy/deployment.cache.weight.test.flowable.cfg.xml");
+    }
+
+    public void testDeploymentCacheWeightLimit() {
+        @SuppressWarnings("unchecked")
+        ConcurrentDeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache = (ConcurrentDeploymentCache<ProcessDefinitionCacheEntry>) processEngineConfiguration.getProcessDefinitionCache();
+        assertEquals(0, processDefinitionCache.size());
+
+        String processDefinitionTemplate = DeploymentCacheTestUtil.readTemplateFile("/org/flowable/standalone/deploy/deploymentCacheTest.bpmn20.xml");
+        for (int i = 1; i <= 5; i++) {
+            repositoryService.createDeployment().addString("Process " + i + ".bpmn20.xml", MessageFormat.format(processDefinitionTemplate, i)).deploy();
+
+            // Max weight 20, every process definition weighs 6
+            assertEquals(Math.min(i, 3), processDefinitionCache.size());
+            assertEquals(6 * Math.min(i, 3), processDefinitionCache.getTotalWeight());
+        }
+        assertEquals(2, processDefinitionCache.getEvictionCount());
+
+        // An evicted process definition is a miss and is put in the cache again
+        ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().processDefinitionKey("myProcess1").singleResult();
+        long missCount = processDefinitionCache.getMissCount();
+        runtimeService.startProcessInstanceById(processDefinition.getId());
+        assertTrue(processDefinitionCache.getMissCount() > missCount);
+        assertNotNull(processDefinitionCache.get(processDefinition.getId()));
+        assertEquals(3, processDefinitionCache.size());
+
+        long hitCount = processDefinitionCache.getHitCount();
+        runtimeService.startProcessInstanceById(processDefinition.getId());
+        assertTrue(processDefinitionCache.getHitCount() > hitCount);
+
+        Map<String, Long> statistics = managementService.getProcessDefinitionCacheStatistics();
+        assertEquals(Long.valueOf(processDefinitionCache.getHitCount()), statistics.get(ConcurrentDeploymentCache.HIT_COUNT));
+        assertEquals(Long.valueOf(processDefinitionCache.getMissCount()), statistics.get(ConcurrentDeploymentCache.MISS_COUNT));
+        assertEquals(Long.valueOf(3), statistics.get(ConcurrentDeploymentCache.EVICTION_COUNT));
+        assertEquals(Long.valueOf(3), statistics.get(ConcurrentDeploymentCache.SIZE));
+        assertEquals(Long.valueOf(18), statistics.get(ConcurrentDeploymentCache.TOTAL_WEIGHT));
+
+        // Cleanup
+        for (Deployment deployment : repositoryService.createDeploymentQuery().list()) {
+            repositoryService.deleteDeployment(deployment.getId(), true);
+        }
+        assertEquals(0, processDefinitionCache.getTotalWeight());
+    }
+
+    public void testLeastRecentlyAccessedEntryIsEvicted() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>(2);
+        cache.add("a", "A");
+        cache.add("b", "B");
+        assertEquals("A", cache.get("a"));
+
+        cache.add("c", "C");
+        assertEquals(2, cache.size());
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    public void testAccessOrderWithManyReads() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>(3);
+        cache.add("a", "A");
+        cache.add("b", "B");
+        cache.add("c", "C");
+
+        // More reads than fit in the read buffer: the access order is still applied
+        for (int i = 0; i < 2000; i++) {
+            cache.get("a");
+            cache.get("c");
+        }
+
+        cache.add("d", "D");
+        assertFalse(cache.contains("b"));
+
+        cache.get("a");
+        cache.add("e", "E");
+        assertFalse(cache.contains("c"));
+        assertTrue(cache.contains("a"));
+        assertTrue(cache.contains("d"));
+        assertTrue(cache.contains("e"));
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    public void testEntryExceedingMaxWeightIsKept() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>();
+        cache.setMaxWeight(10L);
+        cache.setWeigher(new DeploymentCacheWeigher<String>() {
+
+            @Override
+            public long weigh(String id, String object) {
+                return object.length();
+            }
+        });
+        cache.add("a", "AAAA");
+        cache.add("b", "BBBB");
+
+        // Heavier than the whole cache: all other entries are evicted, but the added entry is kept
+        cache.add("c", "CCCCCCCCCCCC");
+        assertEquals(1, cache.size());
+        assertEquals("CCCCCCCCCCCC", cache.get("c"));
+        assertEquals(12, cache.getTotalWeight());
+        assertEquals(2, cache.getEvictionCount());
+
+        // The next entry evicts it again
+        cache.add("d", "DDDD");
+        assertFalse(cache.contains("c"));
+        assertEquals("DDDD", cache.get("d"));
+        assertEquals(4, cache.getTotalWeight());
+    }
+
+    public void testExpireAfterAccess() {
+        final long[] time = new long[] { 0L };
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<String>() {
+
+            @Override
+            protected long currentTimeMillis() {
+                return time[0];
+            }
+        };
+        cache.setExpireAfterAccessInMillis(1000L);
+        cache.add("a", "A");
+        cache.add("b", "B");
+
+        time[0] = 800L;
+        assertEquals("A", cache.get("a"));
+
+        time[0] = 1500L;
+        assertEquals("A", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+}
@@ -0,0 +1,167 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.entitycache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.bpmn.model.UserTask;
+import org.flowable.common.engine.impl.persistence.cache.CachedEntity;
+import org.flowable.common.engine.impl.persistence.cache.EntityCacheImpl;
+import org.flowable.common.engine.impl.persistence.cache.IndexedCachedEntityMatcher;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.flowable.engine.impl.persistence.entity.data.impl.cachematcher.ExecutionsByParentExecutionIdEntityMatcher;
+import org.flowable.engine.impl.persistence.entity.data.impl.cachematcher.InactiveExecutionsInActivityAndProcInstMatcher;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the property indexes of the {@link EntityCacheImpl}.
+ */
+public class EntityCacheImplTest {
+
+    protected EntityCacheImpl entityCache;
+    protected ExecutionsByParentExecutionIdEntityMatcher byParentMatcher = new ExecutionsByParentExecutionIdEntityMatcher();
+
+    @Before
+    public void setUp() {
+        entityCache = new EntityCacheImpl();
+    }
+
+    @Test
+    public void testIndexedLookup() {
+        ExecutionEntityImpl parent1 = createExecution("p1", null);
+        ExecutionEntityImpl parent2 = createExecution("p2", null);
+        for (int i = 0; i < 10; i++) {
+            createExecution("c" + i, i % 2 == 0 ? parent1 : parent2);
+        }
+
+        Assert.assertEquals(5, findByParent("p1").size());
+        Assert.assertEquals(5, findByParent("p2").size());
+        Assert.assertTrue(findByParent("unknown").isEmpty());
+
+        // Entities cached after the index was created are indexed too
+        createExecution("c10", parent1);
+        Assert.assertEquals(6, findByParent("p1").size());
+    }
+
+    @Test
+    public void testIndexFollowsChanges() {
+        ExecutionEntityImpl parent1 = createExecution("p1", null);
+        ExecutionEntityImpl parent2 = createExecution("p2", null);
+        ExecutionEntityImpl child = createExecution("c1", parent1);
+        Assert.assertEquals(1, findByParent("p1").size());
+
+        child.setParent(parent2);
+        Assert.assertTrue(findByParent("p1").isEmpty());
+        Assert.assertEquals(1, findByParent("p2").size());
+
+        child.setParentId(null);
+        Assert.assertTrue(findByParent("p2").isEmpty());
+
+        child.setParentId("p1");
+        entityCache.cacheRemove(ExecutionEntityImpl.class, "c1");
+        Assert.assertTrue(findByParent("p1").isEmpty());
+        Assert.assertNull(child.getPropertyChangeListener());
+    }
+
+    @Test
+    public void testMatcherStillAppliedToIndexedEntities() {
+        ExecutionEntityImpl processInstance = createExecution("p1", null);
+        ExecutionEntityImpl child1 = createExecution("c1", processInstance);
+        ExecutionEntityImpl child2 = createExecution("c2", processInstance);
+        UserTask userTask = new UserTask();
+        userTask.setId("task");
+        child1.setCurrentFlowElement(userTask);
+        child2.setCurrentFlowElement(userTask);
+        child2.setActive(false);
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("activityId", "task");
+        parameters.put("processInstanceId", "p1");
+
+        InactiveExecutionsInActivityAndProcInstMatcher matcher = new InactiveExecutionsInActivityAndProcInstMatcher();
+        Collection<CachedEntity> candidates = entityCache.findInCacheAsCachedObjects(ExecutionEntityImpl.class, matcher, parameters);
+        Assert.assertEquals(2, candidates.size());
+
+        List<ExecutionEntity> retained = new ArrayList<>();
+        for (CachedEntity candidate : candidates) {
+            if (matcher.isRetained((ExecutionEntity) candidate.getEntity(), parameters)) {
+                retained.add((ExecutionEntity) candidate.getEntity());
+            }
+        }
+        Assert.assertEquals(1, retained.size());
+        Assert.assertSame(child2, retained.get(0));
+    }
+
+    @Test
+    public void testEntityReportingToOtherCacheIsNotIndexed() {
+        ExecutionEntityImpl parent = createExecution("p1", null);
+        ExecutionEntityImpl child = createExecution("c1", parent);
+
+        EntityCacheImpl otherEntityCache = new EntityCacheImpl();
+        otherEntityCache.put(child, false);
+        otherEntityCache.findInCacheAsCachedObjects(ExecutionEntityImpl.class, byParentMatcher, "p1");
+        Assert.assertSame(otherEntityCache, child.getPropertyChangeListener());
+
+        // The index can't follow the changes of the child, so all cached executions are returned
+        Assert.assertEquals(2, findByParent("p1").size());
+
+        otherEntityCache.close();
+        Assert.assertNull(child.getPropertyChangeListener());
+    }
+
+    @Test
+    public void testCloseReleasesEntities() {
+        ExecutionEntityImpl parent = createExecution("p1", null);
+        ExecutionEntityImpl child = createExecution("c1", parent);
+        findByParent("p1");
+        Assert.assertSame(entityCache, child.getPropertyChangeListener());
+
+        entityCache.close();
+        Assert.assertNull(parent.getPropertyChangeListener());
+        Assert.assertNull(child.getPropertyChangeListener());
+    }
+
+    @Test
+    public void testFindBySupertype() {
+        Assert.assertNull(entityCache.findInCache(ExecutionEntity.class, "p1"));
+        ExecutionEntityImpl execution = createExecution("p1", null);
+        Assert.assertSame(execution, entityCache.findInCache(ExecutionEntity.class, "p1"));
+        Assert.assertEquals(1, entityCache.findInCache(ExecutionEntity.class).size());
+    }
+
+    protected ExecutionEntityImpl createExecution(String id, ExecutionEntityImpl parent) {
+        ExecutionEntityImpl execution = new ExecutionEntityImpl();
+        execution.setId(id);
+        if (parent != null) {
+            execution.setParent(parent);
+            execution.setProcessInstanceId(parent.getId());
+        } else {
+            execution.setProcessInstanceId(id);
+        }
+        entityCache.put(execution, false);
+        return execution;
+    }
+
+    protected Collection<CachedEntity> findByParent(String parentId) {
+        IndexedCachedEntityMatcher<ExecutionEntity> matcher = byParentMatcher;
+        return entityCache.findInCacheAsCachedObjects(ExecutionEntityImpl.class, matcher, parentId);
+    }
+
+}
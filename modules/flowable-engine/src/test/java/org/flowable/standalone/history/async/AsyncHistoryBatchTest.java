@@ -0,0 +1,137 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history.async;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.flowable.engine.history.HistoricActivityInstance;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.history.async.DefaultHistoryJsonBatchMerger;
+import org.flowable.engine.impl.history.async.HistoryJsonConstants;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncHistoryJobExecutor;
+import org.flowable.job.service.impl.history.async.transformer.HistoryJsonTransformer;
+import org.flowable.task.api.Task;
+import org.flowable.task.api.history.HistoricTaskInstance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class AsyncHistoryBatchTest extends CustomConfigurationFlowableTestCase {
+
+    @Override
+    protected String getEngineName() {
+        return "asyncHistoryBatchTest";
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setAsyncHistoryEnabled(true);
+        processEngineConfiguration.setAsyncHistoryExecutorJobBatchSize(50);
+        processEngineConfiguration.setAsyncFailedJobWaitTime(100);
+        processEngineConfiguration.setDefaultFailedJobWaitTime(100);
+        processEngineConfiguration.setAsyncHistoryExecutorNumberOfRetries(10);
+        processEngineConfiguration.setAsyncHistoryExecutorDefaultAsyncJobAcquireWaitTime(100);
+        processEngineConfiguration.setAsyncExecutorActivate(false);
+    }
+
+    public void testBatchedHistoryJobs() {
+        assertTrue(((DefaultAsyncHistoryJobExecutor) processEngineConfiguration.getAsyncHistoryExecutor()).isHistoryJobBatchingEnabled());
+
+        deployOneTaskTestProcess();
+        List<String> processInstanceIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+            processInstanceIds.add(processInstanceId);
+
+            runtimeService.setVariable(processInstanceId, "counter", 0);
+            for (int j = 1; j <= 5; j++) {
+                runtimeService.setVariable(processInstanceId, "counter", j);
+            }
+        }
+
+        // The task start and end are in different jobs, which can be merged when executed together
+        for (Task task : taskService.createTaskQuery().list()) {
+            taskService.complete(task.getId());
+        }
+        assertTrue(managementService.createHistoryJobQuery().count() > 50);
+
+        waitForHistoryJobExecutorToProcessAllJobs(10000L, 100L);
+
+        for (String processInstanceId : processInstanceIds) {
+            assertNotNull(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstanceId).singleResult().getEndTime());
+
+            List<HistoricActivityInstance> historicActivityInstances = historyService.createHistoricActivityInstanceQuery()
+                    .processInstanceId(processInstanceId).list();
+            assertEquals(3, historicActivityInstances.size());
+            for (HistoricActivityInstance historicActivityInstance : historicActivityInstances) {
+                assertNotNull(historicActivityInstance.getStartTime());
+                assertNotNull(historicActivityInstance.getEndTime());
+                assertNotNull(historicActivityInstance.getDurationInMillis());
+            }
+
+            HistoricTaskInstance historicTaskInstance = historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstanceId).singleResult();
+            assertNotNull(historicTaskInstance.getEndTime());
+
+            assertEquals(5, historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstanceId).variableName("counter").singleResult().getValue());
+        }
+    }
+
+    public void testMergeHistoryData() {
+        ObjectMapper objectMapper = processEngineConfiguration.getObjectMapper();
+        JsonNode activityStart = createHistoryNode(objectMapper, HistoryJsonConstants.TYPE_ACTIVITY_START, "execution1", "task1");
+        ((ObjectNode) activityStart.get(HistoryJsonTransformer.FIELD_NAME_DATA)).put(HistoryJsonConstants.START_TIME, "2020-01-01T10:00:00.000Z");
+        JsonNode activityEnd = createHistoryNode(objectMapper, HistoryJsonConstants.TYPE_ACTIVITY_END, "execution1", "task1");
+        ((ObjectNode) activityEnd.get(HistoryJsonTransformer.FIELD_NAME_DATA)).put(HistoryJsonConstants.END_TIME, "2020-01-01T10:05:00.000Z");
+        JsonNode otherActivityEnd = createHistoryNode(objectMapper, HistoryJsonConstants.TYPE_ACTIVITY_END, "execution2", "task1");
+
+        JsonNode variableUpdate1 = createVariableNode(objectMapper, HistoryJsonConstants.TYPE_VARIABLE_UPDATED, "2020-01-01T10:01:00.000Z");
+        JsonNode variableUpdate2 = createVariableNode(objectMapper, HistoryJsonConstants.TYPE_VARIABLE_UPDATED, "2020-01-01T10:02:00.000Z");
+        JsonNode variableRemoved = createVariableNode(objectMapper, HistoryJsonConstants.TYPE_VARIABLE_REMOVED, "2020-01-01T10:03:00.000Z");
+
+        List<JsonNode> mergedNodes = new DefaultHistoryJsonBatchMerger().merge(new ArrayList<>(Arrays.asList(
+                activityStart, variableUpdate1, variableUpdate2, variableRemoved, activityEnd, otherActivityEnd)));
+
+        assertEquals(4, mergedNodes.size());
+        assertSame(activityStart, mergedNodes.get(0));
+        assertEquals(HistoryJsonConstants.TYPE_ACTIVITY_FULL, activityStart.get(HistoryJsonTransformer.FIELD_NAME_TYPE).asText());
+        JsonNode activityData = activityStart.get(HistoryJsonTransformer.FIELD_NAME_DATA);
+        assertEquals("2020-01-01T10:00:00.000Z", activityData.get(HistoryJsonConstants.START_TIME).asText());
+        assertEquals("2020-01-01T10:05:00.000Z", activityData.get(HistoryJsonConstants.END_TIME).asText());
+        assertSame(variableUpdate2, mergedNodes.get(1));
+        assertSame(variableRemoved, mergedNodes.get(2));
+        assertSame(otherActivityEnd, mergedNodes.get(3));
+    }
+
+    protected JsonNode createHistoryNode(ObjectMapper objectMapper, String type, String executionId, String activityId) {
+        ObjectNode historyNode = objectMapper.createObjectNode();
+        historyNode.put(HistoryJsonTransformer.FIELD_NAME_TYPE, type);
+        ObjectNode data = historyNode.putObject(HistoryJsonTransformer.FIELD_NAME_DATA);
+        data.put(HistoryJsonConstants.EXECUTION_ID, executionId);
+        data.put(HistoryJsonConstants.ACTIVITY_ID, activityId);
+        return historyNode;
+    }
+
+    protected JsonNode createVariableNode(ObjectMapper objectMapper, String type, String time) {
+        ObjectNode historyNode = objectMapper.createObjectNode();
+        historyNode.put(HistoryJsonTransformer.FIELD_NAME_TYPE, type);
+        ObjectNode data = historyNode.putObject(HistoryJsonTransformer.FIELD_NAME_DATA);
+        data.put(HistoryJsonConstants.ID, "variable1");
+        data.put(HistoryJsonConstants.LAST_UPDATED_TIME, time);
+        return historyNode;
+    }
+
+}
@@ -0,0 +1,118 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history.async;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+/**
+ * Compares the encode, gzip and decode time of the async history binary format with json, for the history nodes of {@link AsyncHistoryBinaryFormatTest}.
+ * Not a test: timings depend on the machine, so this is run by hand, e.g. from the IDE.
+ * <p>
+ * Arguments (optional): the number of history nodes (default 1000) and the number of measured iterations (default 200).
+ */
+public class AsyncHistoryBinaryFormatBenchmark {
+
+    protected static final String[] PHASES = { "encode", "gzip", "gunzip + decode" };
+
+    protected AsyncHistoryBinaryFormatTest formatTest = new AsyncHistoryBinaryFormatTest();
+    protected ObjectMapper objectMapper = formatTest.objectMapper;
+
+    // Keeps the results alive, so the work can't be optimized away
+    protected long sink;
+
+    public static void main(String[] args) throws IOException {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        new AsyncHistoryBinaryFormatBenchmark().run(nodeCount, iterations);
+    }
+
+    public void run(int nodeCount, int iterations) throws IOException {
+        ArrayNode historyNodes = formatTest.createHistoryNodes(nodeCount);
+
+        byte[] json = objectMapper.writeValueAsBytes(historyNodes);
+        byte[] binary = formatTest.write(historyNodes);
+        System.out.println(String.format("%d history nodes: json %d bytes, gzipped %d bytes; binary %d bytes, gzipped %d bytes",
+                nodeCount, json.length, formatTest.gzip(json).length, binary.length, formatTest.gzip(binary).length));
+
+        // Warm up with the same number of iterations
+        measure(historyNodes, iterations, new long[3], new long[3]);
+
+        long[] jsonTimes = new long[3];
+        long[] binaryTimes = new long[3];
+        measure(historyNodes, iterations, jsonTimes, binaryTimes);
+
+        for (int phase = 0; phase < PHASES.length; phase++) {
+            System.out.println(String.format("%-16s json %8.3f ms, binary %8.3f ms", PHASES[phase],
+                    jsonTimes[phase] / (double) iterations / 1000000.0, binaryTimes[phase] / (double) iterations / 1000000.0));
+        }
+        System.out.println(String.format("%-16s json %8.3f ms, binary %8.3f ms", "total",
+                sum(jsonTimes) / (double) iterations / 1000000.0, sum(binaryTimes) / (double) iterations / 1000000.0));
+        System.out.println("(" + sink + ")");
+    }
+
+    protected void measure(ArrayNode historyNodes, int iterations, long[] jsonTimes, long[] binaryTimes) throws IOException {
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            byte[] json = objectMapper.writeValueAsBytes(historyNodes);
+            long encoded = System.nanoTime();
+            byte[] gzippedJson = formatTest.gzip(json);
+            long gzipped = System.nanoTime();
+            JsonNode jsonNode = objectMapper.readTree(gunzip(gzippedJson));
+            long decoded = System.nanoTime();
+            jsonTimes[0] += encoded - start;
+            jsonTimes[1] += gzipped - encoded;
+            jsonTimes[2] += decoded - gzipped;
+            sink += jsonNode.size();
+
+            start = System.nanoTime();
+            byte[] binary = formatTest.write(historyNodes);
+            encoded = System.nanoTime();
+            byte[] gzippedBinary = formatTest.gzip(binary);
+            gzipped = System.nanoTime();
+            JsonNode binaryNode = formatTest.read(gzippedBinary, true);
+            decoded = System.nanoTime();
+            binaryTimes[0] += encoded - start;
+            binaryTimes[1] += gzipped - encoded;
+            binaryTimes[2] += decoded - gzipped;
+            sink += binaryNode.size();
+        }
+    }
+
+    protected byte[] gunzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = gzipInputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+        }
+        return outputStream.toByteArray();
+    }
+
+    protected long sum(long[] times) {
+        long sum = 0;
+        for (long time : times) {
+            sum += time;
+        }
+        return sum;
+    }
+
+}
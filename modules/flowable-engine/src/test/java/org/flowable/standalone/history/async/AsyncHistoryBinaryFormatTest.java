@@ -0,0 +1,148 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.flowable.job.service.impl.history.async.AsyncHistoryBinaryReader;
+import org.flowable.job.service.impl.history.async.AsyncHistoryBinaryWriter;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class AsyncHistoryBinaryFormatTest {
+
+    protected ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("string", "Some text with non-ascii characters: éè€");
+        node.put("emptyString", "");
+        node.put("int", -5);
+        node.put("long", Long.MIN_VALUE);
+        node.put("double", -1.5e300);
+        node.put("decimal", new BigDecimal("12345678901234567890.123456789"));
+        node.set("bigInteger", objectMapper.getNodeFactory().numberNode(new BigInteger("123456789012345678901234567890")));
+        node.put("true", true);
+        node.put("false", false);
+        node.putNull("null");
+        node.put("binary", new byte[] { 1, 2, 3, -128 });
+        node.putArray("array").add(1).add("string").addNull().addObject().put("string", "string");
+        node.putObject("object").putObject("nested").put("long", Long.MAX_VALUE);
+
+        StringBuilder longText = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            longText.append(i);
+        }
+        node.put("longString", longText.toString());
+        node.put("repeatedLongString", longText.toString());
+
+        assertEquals(node, read(write(node), false));
+    }
+
+    @Test
+    public void testSizeComparedToJson() throws IOException {
+        ArrayNode historyNodes = createHistoryNodes(1000);
+
+        byte[] json = objectMapper.writeValueAsBytes(historyNodes);
+        byte[] gzippedJson = gzip(json);
+        byte[] binary = write(historyNodes);
+        byte[] gzippedBinary = gzip(binary);
+
+        assertEquals(historyNodes, read(binary, false));
+        assertEquals(historyNodes, read(gzippedBinary, true));
+
+        // Field names, types and ids are repeated in every history node: the binary format writes them only once
+        assertTrue(binary.length < json.length / 2);
+        assertTrue(gzippedBinary.length < gzippedJson.length);
+    }
+
+    @Test
+    public void testReadNodesHandsOverArrayElements() throws IOException {
+        ArrayNode historyNodes = createHistoryNodes(10);
+        byte[] binary = write(historyNodes);
+
+        List<JsonNode> readNodes = new ArrayList<>();
+        new AsyncHistoryBinaryReader(new ByteArrayInputStream(binary), objectMapper.getNodeFactory()).readNodes(readNodes::add);
+
+        assertEquals(10, readNodes.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(historyNodes.get(i), readNodes.get(i));
+        }
+
+        ObjectNode historyNode = (ObjectNode) historyNodes.get(0);
+        readNodes.clear();
+        new AsyncHistoryBinaryReader(new ByteArrayInputStream(write(historyNode)), objectMapper.getNodeFactory()).readNodes(readNodes::add);
+        assertEquals(1, readNodes.size());
+        assertEquals(historyNode, readNodes.get(0));
+    }
+
+    protected ArrayNode createHistoryNodes(int count) {
+        ArrayNode arrayNode = objectMapper.createArrayNode();
+        for (int i = 0; i < count; i++) {
+            ObjectNode historyNode = arrayNode.addObject();
+            historyNode.put("type", i % 2 == 0 ? "activity-start" : "activity-end");
+            ObjectNode data = historyNode.putObject("data");
+            data.put("processInstanceId", "process-" + (i / 100));
+            data.put("processDefinitionId", "oneTaskProcess:1:4");
+            data.put("executionId", "execution-" + (i / 10));
+            data.put("activityId", "activity" + (i % 7));
+            data.put("activityName", "Activity " + (i % 7));
+            data.put("activityType", "userTask");
+            data.put("startTime", "2018-03-01T10:15:30.123Z");
+            data.put("tenantId", "");
+            data.put("counter", i);
+        }
+        return arrayNode;
+    }
+
+    protected byte[] write(JsonNode node) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        AsyncHistoryBinaryWriter writer = new AsyncHistoryBinaryWriter(outputStream);
+        writer.writeNode(node);
+        writer.flush();
+        return outputStream.toByteArray();
+    }
+
+    protected JsonNode read(byte[] bytes, boolean gzipped) throws IOException {
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes);
+        if (gzipped) {
+            return new AsyncHistoryBinaryReader(new GZIPInputStream(inputStream), objectMapper.getNodeFactory()).readNode();
+        }
+        return new AsyncHistoryBinaryReader(inputStream, objectMapper.getNodeFactory()).readNode();
+    }
+
+    protected byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(bytes);
+        }
+        return outputStream.toByteArray();
+    }
+
+}
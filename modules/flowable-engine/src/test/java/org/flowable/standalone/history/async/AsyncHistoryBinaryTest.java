@@ -0,0 +1,94 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history.async;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.history.async.HistoryJsonConstants;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.flowable.job.api.HistoryJob;
+import org.flowable.job.api.Job;
+import org.flowable.variable.api.history.HistoricVariableInstance;
+
+public class AsyncHistoryBinaryTest extends CustomConfigurationFlowableTestCase {
+
+    @Override
+    protected String getEngineName() {
+        return "asyncHistoryBinaryTest";
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setAsyncHistoryEnabled(true);
+        processEngineConfiguration.setAsyncHistoryBinaryEncodingEnabled(true);
+        processEngineConfiguration.setAsyncHistoryJsonGzipCompressionEnabled(true);
+        processEngineConfiguration.setAsyncHistoryJsonGroupingEnabled(true);
+        processEngineConfiguration.setAsyncHistoryJsonGroupingThreshold(5);
+        processEngineConfiguration.setAsyncFailedJobWaitTime(100);
+        processEngineConfiguration.setDefaultFailedJobWaitTime(100);
+        processEngineConfiguration.setAsyncHistoryExecutorNumberOfRetries(10);
+        processEngineConfiguration.setAsyncHistoryExecutorDefaultAsyncJobAcquireWaitTime(100);
+        processEngineConfiguration.setAsyncExecutorActivate(false);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        for (Job job : managementService.createJobQuery().list()) {
+            if (job.getJobHandlerType().equals(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_BINARY)) {
+                managementService.deleteJob(job.getId());
+            }
+        }
+
+        super.tearDown();
+    }
+
+    public void testOneTaskProcessWithVariables() {
+        deployOneTaskTestProcess();
+
+        Date date = new Date();
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("stringVar", "Some text with non-ascii characters: éè€");
+        variables.put("longVar", Long.MAX_VALUE);
+        variables.put("intVar", -123);
+        variables.put("doubleVar", 12.34);
+        variables.put("booleanVar", true);
+        variables.put("dateVar", date);
+        variables.put("nullVar", null);
+        String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables).getId();
+
+        // Below the grouping threshold: no compression
+        List<HistoryJob> jobs = managementService.createHistoryJobQuery().list();
+        assertFalse(jobs.isEmpty());
+        for (HistoryJob job : jobs) {
+            assertEquals(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_BINARY, job.getJobHandlerType());
+        }
+        waitForHistoryJobExecutorToProcessAllJobs(5000L, 100L);
+
+        taskService.complete(taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult().getId());
+        waitForHistoryJobExecutorToProcessAllJobs(5000L, 100L);
+
+        assertNotNull(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstanceId).singleResult().getEndTime());
+        assertEquals(3, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstanceId).finished().count());
+
+        Map<String, Object> historicVariables = new HashMap<>();
+        for (HistoricVariableInstance historicVariableInstance : historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstanceId).list()) {
+            historicVariables.put(historicVariableInstance.getVariableName(), historicVariableInstance.getValue());
+        }
+        assertEquals(variables, historicVariables);
+    }
+
+}
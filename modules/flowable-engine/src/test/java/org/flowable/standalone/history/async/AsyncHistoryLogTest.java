@@ -0,0 +1,141 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history.async;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.job.service.impl.history.async.log.AsyncHistoryLog;
+import org.flowable.job.service.impl.history.async.log.AsyncHistoryLogRecord;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AsyncHistoryLogTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void appendAndReadAcrossSegments() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        List<String> payloads = new ArrayList<>();
+        List<Long> offsets = new ArrayList<>();
+        try (AsyncHistoryLog log = new AsyncHistoryLog(directory, 64, true)) {
+            for (int i = 0; i < 30; i++) {
+                String payload = "record-" + i + StringUtils.repeat('x', i % 7);
+                payloads.add(payload);
+                offsets.add(log.append(payload.getBytes(StandardCharsets.UTF_8)));
+            }
+            // A record that is larger than a segment gets a segment of its own
+            payloads.add(StringUtils.repeat('y', 200));
+            offsets.add(log.append(payloads.get(30).getBytes(StandardCharsets.UTF_8)));
+
+            assertTrue(directory.listFiles((dir, name) -> name.endsWith(".log")).length > 5);
+            assertRecords(payloads, offsets, log.read(0, 100));
+
+            // Reading from an offset in between, in chunks
+            List<AsyncHistoryLogRecord> records = new ArrayList<>();
+            long offset = offsets.get(10);
+            List<AsyncHistoryLogRecord> chunk;
+            while (!(chunk = log.read(offset, 3)).isEmpty()) {
+                assertTrue(chunk.size() <= 3);
+                records.addAll(chunk);
+                offset = chunk.get(chunk.size() - 1).getNextOffset();
+            }
+            assertRecords(payloads.subList(10, 31), offsets.subList(10, 31), records);
+        }
+
+        try (AsyncHistoryLog log = new AsyncHistoryLog(directory, 64, true)) {
+            assertRecords(payloads, offsets, log.read(0, 100));
+            payloads.add("after reopen");
+            offsets.add(log.append("after reopen".getBytes(StandardCharsets.UTF_8)));
+            assertRecords(payloads, offsets, log.read(0, 100));
+        }
+    }
+
+    @Test
+    public void incompleteRecordDiscarded() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        long endOffset;
+        try (AsyncHistoryLog log = new AsyncHistoryLog(directory, 1024, false)) {
+            log.append("first".getBytes(StandardCharsets.UTF_8));
+            log.append("second".getBytes(StandardCharsets.UTF_8));
+            endOffset = log.getEndOffset();
+        }
+
+        // A record of which the data wasn't completely written when the machine crashed
+        try (RandomAccessFile segmentFile = new RandomAccessFile(new File(directory, String.format("%020d.log", 0)), "rw")) {
+            segmentFile.seek(endOffset);
+            segmentFile.writeInt(100);
+            segmentFile.writeInt(12345);
+            segmentFile.write("partial".getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (AsyncHistoryLog log = new AsyncHistoryLog(directory, 1024, false)) {
+            assertEquals(endOffset, log.getEndOffset());
+            long offset = log.append("third".getBytes(StandardCharsets.UTF_8));
+            assertEquals(endOffset, offset);
+
+            List<AsyncHistoryLogRecord> records = log.read(0, 10);
+            assertEquals(3, records.size());
+            assertEquals("third", new String(records.get(2).getPayload(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void committedOffsetsAndSegmentDeletion() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        long offset;
+        try (AsyncHistoryLog log = new AsyncHistoryLog(directory, 64, true)) {
+            for (int i = 0; i < 20; i++) {
+                log.append(("record-" + i).getBytes(StandardCharsets.UTF_8));
+            }
+            assertEquals(0L, log.getCommittedOffset("consumer"));
+
+            offset = log.read(0, 10).get(9).getNextOffset();
+            log.commitOffset("consumer", offset);
+        }
+
+        try (AsyncHistoryLog log = new AsyncHistoryLog(directory, 64, true)) {
+            assertEquals(offset, log.getCommittedOffset("consumer"));
+            assertEquals(0L, log.getCommittedOffset("otherConsumer"));
+
+            log.deleteSegmentsBefore(offset);
+            assertTrue(log.getStartOffset() > 0);
+            assertTrue(log.getStartOffset() <= offset);
+
+            // Reading before the start of the log continues at the start, the records after the offset are still there
+            List<AsyncHistoryLogRecord> records = log.read(0, 100);
+            assertEquals("record-19", new String(records.get(records.size() - 1).getPayload(), StandardCharsets.UTF_8));
+            assertEquals(10, log.read(offset, 100).size());
+        }
+    }
+
+    protected void assertRecords(List<String> payloads, List<Long> offsets, List<AsyncHistoryLogRecord> records) {
+        assertEquals(payloads.size(), records.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(offsets.get(i).longValue(), records.get(i).getOffset());
+            assertArrayEquals(payloads.get(i).getBytes(StandardCharsets.UTF_8), records.get(i).getPayload());
+        }
+    }
+
+}
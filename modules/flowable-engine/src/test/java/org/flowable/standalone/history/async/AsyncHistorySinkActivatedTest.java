@@ -0,0 +1,78 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history.async;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.flowable.job.service.impl.history.async.log.AsyncHistoryLog;
+import org.flowable.job.service.impl.history.async.log.AsyncHistoryLogSink;
+import org.flowable.task.api.Task;
+
+public class AsyncHistorySinkActivatedTest extends CustomConfigurationFlowableTestCase {
+
+    protected File logDirectory;
+    protected AsyncHistoryLog asyncHistoryLog;
+
+    @Override
+    protected String getEngineName() {
+        return "asyncHistorySinkActivatedTest";
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        try {
+            logDirectory = Files.createTempDirectory("flowable-async-history-log").toFile();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        asyncHistoryLog = new AsyncHistoryLog(logDirectory, 4096, true);
+
+        processEngineConfiguration.setAsyncHistoryEnabled(true);
+        processEngineConfiguration.setAsyncHistorySink(new AsyncHistoryLogSink(asyncHistoryLog));
+        processEngineConfiguration.setAsyncExecutorActivate(false);
+        processEngineConfiguration.setAsyncHistoryExecutorActivate(true);
+    }
+
+    @Override
+    protected void closeDownProcessEngine() {
+        super.closeDownProcessEngine();
+        try {
+            // Closing the engine stops the consumer and closes the log, which releases the segment files
+            assertTrue(asyncHistoryLog.isClosed());
+        } finally {
+            FileUtils.deleteQuietly(logDirectory);
+        }
+    }
+
+    public void testConsumerStartedWithEngine() throws Exception {
+        deployOneTaskTestProcess();
+        String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+        Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+        taskService.complete(task.getId());
+
+        long maxWaitTime = System.currentTimeMillis() + 10000L;
+        while (historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstanceId).finished().count() == 0) {
+            if (System.currentTimeMillis() > maxWaitTime) {
+                fail("The async history log was not consumed");
+            }
+            Thread.sleep(50L);
+        }
+
+        assertEquals(0, managementService.createHistoryJobQuery().count());
+    }
+
+}
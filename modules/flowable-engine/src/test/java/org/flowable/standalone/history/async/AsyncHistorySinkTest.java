@@ -0,0 +1,136 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history.async;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.flowable.engine.history.HistoricActivityInstance;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.history.async.HistoryJsonConstants;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.flowable.job.api.HistoryJob;
+import org.flowable.job.service.impl.history.async.log.AsyncHistoryLog;
+import org.flowable.job.service.impl.history.async.log.AsyncHistoryLogConsumer;
+import org.flowable.job.service.impl.history.async.log.AsyncHistoryLogSink;
+import org.flowable.task.api.Task;
+
+public class AsyncHistorySinkTest extends CustomConfigurationFlowableTestCase {
+
+    protected File logDirectory;
+    protected AsyncHistoryLog asyncHistoryLog;
+
+    @Override
+    protected String getEngineName() {
+        return "asyncHistorySinkTest";
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        try {
+            logDirectory = Files.createTempDirectory("flowable-async-history-log").toFile();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        asyncHistoryLog = new AsyncHistoryLog(logDirectory, 4096, true);
+
+        processEngineConfiguration.setAsyncHistoryEnabled(true);
+        processEngineConfiguration.setAsyncHistorySink(new AsyncHistoryLogSink(asyncHistoryLog));
+        processEngineConfiguration.setAsyncExecutorActivate(false);
+        processEngineConfiguration.setAsyncHistoryExecutorActivate(false);
+    }
+
+    @Override
+    protected void closeDownProcessEngine() {
+        super.closeDownProcessEngine();
+        asyncHistoryLog.close();
+        FileUtils.deleteQuietly(logDirectory);
+    }
+
+    public void testHistoryFromLog() {
+        deployOneTaskTestProcess();
+        for (int i = 0; i < 20; i++) {
+            String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+            runtimeService.setVariable(processInstanceId, "counter", i);
+            Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+            taskService.complete(task.getId());
+        }
+
+        // Nothing is stored in the runtime database
+        assertEquals(0, managementService.createHistoryJobQuery().count());
+        assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+        assertTrue(asyncHistoryLog.getEndOffset() > 4096);
+
+        // The engine creates the consumer of the log, but doesn't start it as the async history executor isn't activated
+        AsyncHistoryLogConsumer consumer = processEngineConfiguration.getAsyncHistoryLogConsumer();
+        assertNotNull(consumer);
+        assertSame(asyncHistoryLog, consumer.getAsyncHistoryLog());
+        consumer.setMaxRecordsPerTransaction(7);
+        assertEquals(60, consumer.drain());
+        assertEquals(0, consumer.drain());
+        assertEquals(consumer.getOffset(), asyncHistoryLog.getCommittedOffset(AsyncHistoryLogConsumer.DEFAULT_CONSUMER_NAME));
+
+        assertEquals(20, historyService.createHistoricProcessInstanceQuery().finished().count());
+        assertEquals(20, historyService.createHistoricTaskInstanceQuery().finished().count());
+        assertEquals(20, historyService.createHistoricVariableInstanceQuery().variableName("counter").count());
+        List<HistoricActivityInstance> historicActivityInstances = historyService.createHistoricActivityInstanceQuery().list();
+        assertEquals(60, historicActivityInstances.size());
+        for (HistoricActivityInstance historicActivityInstance : historicActivityInstances) {
+            assertNotNull(historicActivityInstance.getEndTime());
+        }
+
+        // Deleting history is async history data as well
+        long offset = consumer.getOffset();
+        historyService.createHistoricProcessInstanceQuery().list()
+                .forEach(historicProcessInstance -> historyService.deleteHistoricProcessInstance(historicProcessInstance.getId()));
+        assertEquals(20, historyService.createHistoricProcessInstanceQuery().count());
+        assertEquals(20, consumer.drain());
+        assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+        assertEquals(0, historyService.createHistoricActivityInstanceQuery().count());
+
+        // Replaying the log gives the same result
+        consumer.replayFrom(asyncHistoryLog.getStartOffset());
+        assertEquals(80, consumer.drain());
+        assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+        assertTrue(consumer.getOffset() > offset);
+        assertEquals(0, managementService.createHistoryJobQuery().count());
+    }
+
+    public void testNotApplicableRecordStoredAsHistoryJob() {
+        deployOneTaskTestProcess();
+        String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+        long completeOffset = asyncHistoryLog.getEndOffset();
+        taskService.complete(taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult().getId());
+
+        // Skipping the start of the process means the completion can't be applied
+        AsyncHistoryLogConsumer consumer = new AsyncHistoryLogConsumer(processEngineConfiguration.getCommandExecutor(),
+                processEngineConfiguration.getJobServiceConfiguration(), asyncHistoryLog);
+        consumer.replayFrom(completeOffset);
+        consumer.setMaxRetries(2);
+        assertEquals(0, consumer.drain());
+        assertEquals(completeOffset, consumer.getOffset());
+        assertEquals(0, managementService.createHistoryJobQuery().count());
+
+        assertEquals(1, consumer.drain());
+        assertEquals(asyncHistoryLog.getEndOffset(), consumer.getOffset());
+        List<HistoryJob> historyJobs = managementService.createHistoryJobQuery().list();
+        assertFalse(historyJobs.isEmpty());
+        for (HistoryJob historyJob : historyJobs) {
+            assertEquals(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY, historyJob.getJobHandlerType());
+            managementService.deleteHistoryJob(historyJob.getId());
+        }
+    }
+
+}
@@ -54,7 +54,8 @@ public class AsyncHistoryTest extends CustomConfigurationFlowableTestCase {
 
         for (Job job : managementService.createJobQuery().list()) {
             if (job.getJobHandlerType().equals(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY)
-                    || job.getJobHandlerType().equals(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_ZIPPED)) {
+                    || job.getJobHandlerType().equals(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_ZIPPED)
+                    || job.getJobHandlerType().equals(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_BINARY)) {
                 managementService.deleteJob(job.getId());
             }
         }
@@ -78,7 +79,9 @@ public class AsyncHistoryTest extends CustomConfigurationFlowableTestCase {
             
             assertEquals(expectedNrOfJobs, jobs.size());
             for (HistoryJob job : jobs) {
-                if (processEngineConfiguration.isAsyncHistoryJsonGzipCompressionEnabled()) {
+                if (processEngineConfiguration.isAsyncHistoryBinaryEncodingEnabled()) {
+                    assertEquals(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_BINARY, job.getJobHandlerType());
+                } else if (processEngineConfiguration.isAsyncHistoryJsonGzipCompressionEnabled()) {
                     assertEquals(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY_ZIPPED, job.getJobHandlerType());
                 } else {
                     assertEquals(HistoryJsonConstants.JOB_HANDLER_TYPE_DEFAULT_ASYNC_HISTORY, job.getJobHandlerType());
@@ -0,0 +1,165 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.idgenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.flowable.common.engine.impl.db.IdBlock;
+import org.flowable.engine.impl.db.DbIdGenerator;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link DbIdGenerator} against an in-memory id block sequence.
+ */
+public class DbIdGeneratorTest {
+
+    @Test
+    public void testIdsFromConsecutiveBlocks() {
+        TestDbIdGenerator idGenerator = new TestDbIdGenerator(10);
+        for (int i = 1; i <= 25; i++) {
+            Assert.assertEquals(Integer.toString(i), idGenerator.getNextId());
+        }
+        Assert.assertEquals(3, idGenerator.fetchCount.get());
+    }
+
+    @Test
+    public void testUniqueIdsWithConcurrentThreads() throws Exception {
+        assertUniqueIds(new TestDbIdGenerator(100), 64, 1000);
+    }
+
+    @Test
+    public void testUniqueIdsWithPrefetch() throws Exception {
+        TestDbIdGenerator idGenerator = new TestDbIdGenerator(100);
+        idGenerator.setPrefetchThreshold(20);
+        assertUniqueIds(idGenerator, 64, 1000);
+    }
+
+    @Test
+    public void testUniqueIdsWithThreadIdBlocks() throws Exception {
+        TestDbIdGenerator idGenerator = new TestDbIdGenerator(100);
+        idGenerator.setThreadIdBlockSize(8);
+        idGenerator.setPrefetchThreshold(20);
+        assertUniqueIds(idGenerator, 64, 1000);
+    }
+
+    @Test
+    public void testNextBlockIsPrefetched() throws Exception {
+        TestDbIdGenerator idGenerator = new TestDbIdGenerator(10);
+        idGenerator.setPrefetchThreshold(3);
+
+        for (int i = 1; i <= 6; i++) {
+            idGenerator.getNextId();
+        }
+        Assert.assertEquals(1, idGenerator.fetchCount.get());
+
+        // 3 ids left in the block: the next block is fetched in the background
+        idGenerator.getNextId();
+        Assert.assertTrue(idGenerator.prefetched.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(2, idGenerator.fetchCount.get());
+
+        for (int i = 8; i <= 12; i++) {
+            Assert.assertEquals(Integer.toString(i), idGenerator.getNextId());
+        }
+        Assert.assertEquals(2, idGenerator.fetchCount.get());
+    }
+
+    @Test
+    public void testNewBlockHookCanBeOverridden() {
+        final AtomicInteger newBlockCount = new AtomicInteger();
+        TestDbIdGenerator idGenerator = new TestDbIdGenerator(10) {
+
+            @Override
+            protected synchronized void getNewBlock() {
+                newBlockCount.incrementAndGet();
+                super.getNewBlock();
+            }
+        };
+
+        for (int i = 1; i <= 25; i++) {
+            Assert.assertEquals(Integer.toString(i), idGenerator.getNextId());
+        }
+        Assert.assertEquals(3, newBlockCount.get());
+    }
+
+    @Test
+    public void testNoPrefetchAfterShutdown() {
+        TestDbIdGenerator idGenerator = new TestDbIdGenerator(10);
+        idGenerator.setPrefetchThreshold(3);
+        idGenerator.shutdown();
+
+        for (int i = 1; i <= 25; i++) {
+            Assert.assertEquals(Integer.toString(i), idGenerator.getNextId());
+        }
+        Assert.assertEquals(3, idGenerator.fetchCount.get());
+    }
+
+    protected void assertUniqueIds(final DbIdGenerator idGenerator, int nrOfThreads, final int idsPerThread) throws Exception {
+        final Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(nrOfThreads);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < nrOfThreads; i++) {
+                futures.add(executorService.submit(new Callable<Void>() {
+
+                    @Override
+                    public Void call() {
+                        for (int j = 0; j < idsPerThread; j++) {
+                            ids.add(idGenerator.getNextId());
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        Assert.assertEquals(nrOfThreads * idsPerThread, ids.size());
+    }
+
+    static class TestDbIdGenerator extends DbIdGenerator {
+
+        protected final AtomicLong dbValue = new AtomicLong(1);
+        protected final AtomicInteger fetchCount = new AtomicInteger();
+        protected final CountDownLatch prefetched = new CountDownLatch(1);
+
+        TestDbIdGenerator(int idBlockSize) {
+            setIdBlockSize(idBlockSize);
+        }
+
+        @Override
+        protected IdBlock fetchNewBlock() {
+            long nextId = dbValue.getAndAdd(idBlockSize);
+            fetchCount.incrementAndGet();
+            if (nextId > 1) {
+                prefetched.countDown();
+            }
+            return new IdBlock(nextId, nextId + idBlockSize - 1);
+        }
+    }
+
+}
@@ -27,7 +27,6 @@ import org.flowable.common.engine.impl.el.DefaultExpressionManager;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
-import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
 import org.flowable.editor.form.converter.FormJsonConverter;
 import org.flowable.form.api.FormEngineConfigurationApi;
@@ -50,6 +49,7 @@ import org.flowable.form.engine.impl.parser.FormDefinitionParseFactory;
 import org.flowable.form.engine.impl.persistence.deploy.Deployer;
 import org.flowable.form.engine.impl.persistence.deploy.DeploymentManager;
 import org.flowable.form.engine.impl.persistence.deploy.FormDefinitionCacheEntry;
+import org.flowable.form.engine.impl.persistence.deploy.FormDefinitionCacheEntryWeigher;
 import org.flowable.form.engine.impl.persistence.entity.FormDefinitionEntityManager;
 import org.flowable.form.engine.impl.persistence.entity.FormDefinitionEntityManagerImpl;
 import org.flowable.form.engine.impl.persistence.entity.FormDeploymentEntityManager;
@@ -114,6 +114,12 @@ public class FormEngineConfiguration extends AbstractEngineConfiguration
 
     protected ExpressionManager expressionManager;
 
+    /**
+     * If set to true, the expression manager (when it's a {@link DefaultExpressionManager}) creates the resolvers that don't depend on the variables once,
+     * instead of for every expression evaluation. Only the variable resolver is created per evaluation. False by default.
+     */
+    protected boolean sharedElResolversEnabled;
+
     protected FormJsonConverter formJsonConverter = new FormJsonConverter();
 
     protected ObjectMapper objectMapper = new ObjectMapper();
@@ -132,6 +138,12 @@ public class FormEngineConfiguration extends AbstractEngineConfiguration
     protected DeploymentManager deploymentManager;
 
     protected int formDefinitionCacheLimit = -1; // By default, no limit
+
+    /**
+     * The maximum total weight of the form definition cache, as estimated by the {@link FormDefinitionCacheEntryWeigher}.
+     * Only used when the concurrent deployment cache is enabled. By default, no limit.
+     */
+    protected long formDefinitionCacheMaxWeight = -1;
     protected DeploymentCache<FormDefinitionCacheEntry> formDefinitionCache;
 
     public static FormEngineConfiguration createFormEngineConfigurationFromResourceDefault() {
@@ -218,6 +230,9 @@ public class FormEngineConfiguration extends AbstractEngineConfiguration
         if (expressionManager == null) {
             expressionManager = new DefaultExpressionManager();
         }
+        if (sharedElResolversEnabled && expressionManager instanceof DefaultExpressionManager) {
+            ((DefaultExpressionManager) expressionManager).setSharedElResolversEnabled(true);
+        }
     }
 
     // Data managers
@@ -385,11 +400,7 @@ public class FormEngineConfiguration extends AbstractEngineConfiguration
 
         // Decision cache
         if (formDefinitionCache == null) {
-            if (formDefinitionCacheLimit <= 0) {
-                formDefinitionCache = new DefaultDeploymentCache<>();
-            } else {
-                formDefinitionCache = new DefaultDeploymentCache<>(formDefinitionCacheLimit);
-            }
+            formDefinitionCache = createDeploymentCache(formDefinitionCacheLimit, formDefinitionCacheMaxWeight, new FormDefinitionCacheEntryWeigher());
         }
 
         deploymentManager = new DeploymentManager(formDefinitionCache, this);
@@ -519,6 +530,15 @@ public class FormEngineConfiguration extends AbstractEngineConfiguration
         return this;
     }
 
+    public long getFormDefinitionCacheMaxWeight() {
+        return formDefinitionCacheMaxWeight;
+    }
+
+    public FormEngineConfiguration setFormDefinitionCacheMaxWeight(long formDefinitionCacheMaxWeight) {
+        this.formDefinitionCacheMaxWeight = formDefinitionCacheMaxWeight;
+        return this;
+    }
+
     public DeploymentCache<FormDefinitionCacheEntry> getFormDefinitionCache() {
         return formDefinitionCache;
     }
@@ -620,6 +640,15 @@ public class FormEngineConfiguration extends AbstractEngineConfiguration
         return this;
     }
 
+    public boolean isSharedElResolversEnabled() {
+        return sharedElResolversEnabled;
+    }
+
+    public FormEngineConfiguration setSharedElResolversEnabled(boolean sharedElResolversEnabled) {
+        this.sharedElResolversEnabled = sharedElResolversEnabled;
+        return this;
+    }
+
     public FormJsonConverter getFormJsonConverter() {
         return formJsonConverter;
     }
@@ -0,0 +1,33 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.form.engine.impl.persistence.deploy;
+
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWeigher;
+
+/**
+ * Weighs a {@link FormDefinitionCacheEntry} by the length of its form definition json, one unit per {@link #CHARACTERS_PER_UNIT} characters.
+ */
+public class FormDefinitionCacheEntryWeigher implements DeploymentCacheWeigher<FormDefinitionCacheEntry> {
+
+    public static final int CHARACTERS_PER_UNIT = 100;
+
+    @Override
+    public long weigh(String id, FormDefinitionCacheEntry cacheEntry) {
+        String formDefinitionJson = cacheEntry.getFormDefinitionJson();
+        if (formDefinitionJson == null) {
+            return 1L;
+        }
+        return 1L + formDefinitionJson.length() / CHARACTERS_PER_UNIT;
+    }
+
+}
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Header;
@@ -69,11 +70,20 @@ public class HttpActivityExecutor {
 
     protected final Timer timer = new Timer(true);
     protected final HttpClientBuilder clientBuilder;
+    protected final PooledHttpClient pooledHttpClient;
     protected final ErrorPropagator errorPropagator;
     protected ObjectMapper objectMapper;
 
     public HttpActivityExecutor(HttpClientBuilder clientBuilder, ErrorPropagator errorPropagator, ObjectMapper objectMapper) {
         this.clientBuilder = clientBuilder;
+        this.pooledHttpClient = null;
+        this.errorPropagator = errorPropagator;
+        this.objectMapper = objectMapper;
+    }
+
+    public HttpActivityExecutor(PooledHttpClient pooledHttpClient, ErrorPropagator errorPropagator, ObjectMapper objectMapper) {
+        this.clientBuilder = null;
+        this.pooledHttpClient = pooledHttpClient;
         this.errorPropagator = errorPropagator;
         this.objectMapper = objectMapper;
     }
@@ -86,7 +96,7 @@ public class HttpActivityExecutor {
 
         CloseableHttpClient client = null;
         try {
-            client = clientBuilder.build();
+            client = pooledHttpClient != null ? pooledHttpClient.getClient() : clientBuilder.build();
 
             HttpResponse response = perform(client, variableContainer, request, flowableHttpRequestHandler, flowableHttpResponseHandler,
                     socketTimeout,
@@ -94,85 +104,143 @@ public class HttpActivityExecutor {
                     connectionRequestTimeout);
             // Save response fields
             if (response != null) {
-                // Save response body only by default
-                if (request.isSaveResponse()) {
-                    if (request.isSaveResponseTransient()) {
-                        variableContainer.setTransientVariable(request.getPrefix() + "ResponseProtocol", response.getProtocol());
-                        variableContainer.setTransientVariable(request.getPrefix() + "ResponseStatusCode", response.getStatusCode());
-                        variableContainer.setTransientVariable(request.getPrefix() + "ResponseReason", response.getReason());
-                        variableContainer.setTransientVariable(request.getPrefix() + "ResponseHeaders", response.getHeaders());
-                    } else {
-                        variableContainer.setVariable(request.getPrefix() + "ResponseProtocol", response.getProtocol());
-                        variableContainer.setVariable(request.getPrefix() + "ResponseStatusCode", response.getStatusCode());
-                        variableContainer.setVariable(request.getPrefix() + "ResponseReason", response.getReason());
-                        variableContainer.setVariable(request.getPrefix() + "ResponseHeaders", response.getHeaders());
-                    }
-                }
-
-                if (!response.isBodyResponseHandled()) {
-                    String varName = StringUtils.isNotEmpty(responseVariableName) ? responseVariableName : request.getPrefix() + "ResponseBody";
-                    Object varValue = request.isSaveResponseAsJson() ? objectMapper.readTree(response.getBody()) : response.getBody();
-                    if (request.isSaveResponseTransient()) {
-                        variableContainer.setTransientVariable(varName, varValue);
-                    } else {
-                        variableContainer.setVariable(varName, varValue);
-                    }
-                }
+                processResponse(request, response, variableContainer, responseVariableName);
+            }
 
-                // Handle http status codes
-                if ((request.isNoRedirects() && response.getStatusCode() >= 300) || response.getStatusCode() >= 400) {
+        } catch (Exception e) {
+            handleException(e, request, variableContainer, executionId, mapExceptions);
 
-                    String code = Integer.toString(response.statusCode);
+        } finally {
+            // The shared client stays open for the next requests
+            if (pooledHttpClient == null && client != null) {
+                try {
+                    client.close();
+                    LOGGER.debug("HTTP client is closed");
+                } catch (Throwable e) {
+                    LOGGER.error("Could not close http client", e);
+                }
+            }
+        }
 
-                    Set<String> handleCodes = request.getHandleCodes();
-                    if (handleCodes != null && !handleCodes.isEmpty()) {
-                        if (handleCodes.contains(code)
-                                || (code.startsWith("5") && handleCodes.contains("5XX"))
-                                || (code.startsWith("4") && handleCodes.contains("4XX"))
-                                || (code.startsWith("3") && handleCodes.contains("3XX"))) {
+    }
 
-                            errorPropagator.propagateError(variableContainer, code);
-                            return;
-                        }
-                    }
+    /**
+     * Whether requests can be sent without blocking the calling thread, which needs a {@link PooledHttpClient}.
+     */
+    public boolean isAsyncSupported() {
+        return pooledHttpClient != null;
+    }
 
-                    Set<String> failCodes = request.getFailCodes();
-                    if (failCodes != null && !failCodes.isEmpty()) {
-                        if (failCodes.contains(code)
-                                || (code.startsWith("5") && failCodes.contains("5XX"))
-                                || (code.startsWith("4") && failCodes.contains("4XX"))
-                                || (code.startsWith("3") && failCodes.contains("3XX"))) {
+    /**
+     * Sends the request on a thread of the {@link PooledHttpClient}. The request handler needs to be invoked before calling this method,
+     * and the response is to be processed with {@link #completeAsync} in a transaction in which the execution is available.
+     */
+    public CompletableFuture<HttpResponse> executeAsync(HttpRequest request, int socketTimeout, int connectTimeout, int connectionRequestTimeout) {
+        if (pooledHttpClient == null) {
+            throw new FlowableException("Sending HTTP requests asynchronously is only possible with a shared HTTP client");
+        }
+        return pooledHttpClient.executeAsync(() -> sendRequest(pooledHttpClient.getClient(), request, socketTimeout, connectTimeout, connectionRequestTimeout));
+    }
 
-                            throw new FlowableException("HTTP" + code);
-                        }
-                    }
+    /**
+     * Processes the outcome of a request sent with {@link #executeAsync} the same way {@link #execute} processes a response.
+     *
+     * @param response the response, null when the request failed
+     * @param failure the reason the request failed, null when a response was received
+     */
+    public void completeAsync(HttpRequest request, HttpResponse response, Throwable failure, VariableContainer variableContainer, String executionId,
+                              HttpResponseHandler flowableHttpResponseHandler, String responseVariableName, List<MapExceptionEntry> mapExceptions) {
+        try {
+            if (failure != null) {
+                if (failure instanceof FlowableException) {
+                    throw (FlowableException) failure;
                 }
+                throw new FlowableException("HTTP request failed", failure);
+            }
+
+            if (handleResponse(variableContainer, response, flowableHttpResponseHandler)) {
+                processResponse(request, response, variableContainer, responseVariableName);
             }
 
         } catch (Exception e) {
-            if (request.isIgnoreErrors()) {
-                LOGGER.info("Error ignored while processing http task in execution {}", executionId, e);
-                variableContainer.setVariable(request.getPrefix() + "ErrorMessage", e.getMessage());
+            handleException(e, request, variableContainer, executionId, mapExceptions);
+        }
+    }
+
+    protected void processResponse(HttpRequest request, HttpResponse response, VariableContainer variableContainer, String responseVariableName) throws IOException {
+        // Save response body only by default
+        if (request.isSaveResponse()) {
+            if (request.isSaveResponseTransient()) {
+                variableContainer.setTransientVariable(request.getPrefix() + "ResponseProtocol", response.getProtocol());
+                variableContainer.setTransientVariable(request.getPrefix() + "ResponseStatusCode", response.getStatusCode());
+                variableContainer.setTransientVariable(request.getPrefix() + "ResponseReason", response.getReason());
+                variableContainer.setTransientVariable(request.getPrefix() + "ResponseHeaders", response.getHeaders());
             } else {
-                if (!errorPropagator.mapException(e, variableContainer, mapExceptions)) {
-                    if (e instanceof FlowableException) {
-                        throw (FlowableException) e;
-                    } else {
-                        throw new FlowableException("Error occurred while processing http task in execution " + executionId, e);
-                    }
+                variableContainer.setVariable(request.getPrefix() + "ResponseProtocol", response.getProtocol());
+                variableContainer.setVariable(request.getPrefix() + "ResponseStatusCode", response.getStatusCode());
+                variableContainer.setVariable(request.getPrefix() + "ResponseReason", response.getReason());
+                variableContainer.setVariable(request.getPrefix() + "ResponseHeaders", response.getHeaders());
+            }
+        }
+
+        if (!response.isBodyResponseHandled()) {
+            String varName = StringUtils.isNotEmpty(responseVariableName) ? responseVariableName : request.getPrefix() + "ResponseBody";
+            Object varValue = request.isSaveResponseAsJson() ? objectMapper.readTree(response.getBody()) : response.getBody();
+            if (request.isSaveResponseTransient()) {
+                variableContainer.setTransientVariable(varName, varValue);
+            } else {
+                variableContainer.setVariable(varName, varValue);
+            }
+        }
+
+        // Handle http status codes
+        if ((request.isNoRedirects() && response.getStatusCode() >= 300) || response.getStatusCode() >= 400) {
+
+            String code = Integer.toString(response.statusCode);
+
+            Set<String> handleCodes = request.getHandleCodes();
+            if (handleCodes != null && !handleCodes.isEmpty()) {
+                if (handleCodes.contains(code)
+                        || (code.startsWith("5") && handleCodes.contains("5XX"))
+                        || (code.startsWith("4") && handleCodes.contains("4XX"))
+                        || (code.startsWith("3") && handleCodes.contains("3XX"))) {
+
+                    errorPropagator.propagateError(variableContainer, code);
+                    return;
                 }
             }
-        } finally {
-            try {
-                client.close();
-                LOGGER.debug("HTTP client is closed");
-            } catch (Throwable e) {
-                LOGGER.error("Could not close http client", e);
+
+            Set<String> failCodes = request.getFailCodes();
+            if (failCodes != null && !failCodes.isEmpty()) {
+                if (failCodes.contains(code)
+                        || (code.startsWith("5") && failCodes.contains("5XX"))
+                        || (code.startsWith("4") && failCodes.contains("4XX"))
+                        || (code.startsWith("3") && failCodes.contains("3XX"))) {
+
+                    throw new FlowableException("HTTP" + code);
+                }
             }
         }
+    }
 
+    public void handleException(Exception e, HttpRequest request, VariableContainer variableContainer, String executionId, List<MapExceptionEntry> mapExceptions) {
+        if (request.isIgnoreErrors()) {
+            LOGGER.info("Error ignored while processing http task in execution {}", executionId, e);
+            variableContainer.setVariable(request.getPrefix() + "ErrorMessage", e.getMessage());
+        } else {
+            if (!errorPropagator.mapException(e, variableContainer, mapExceptions)) {
+                if (e instanceof FlowableException) {
+                    throw (FlowableException) e;
+                } else {
+                    throw new FlowableException("Error occurred while processing http task in execution " + executionId, e);
+                }
+            }
+        }
     }
 
+    public PooledHttpClient getPooledHttpClient() {
+        return pooledHttpClient;
+    }
 
     // HttpRequest validation
     public void validate(final HttpRequest request) throws FlowableException {
@@ -200,9 +268,24 @@ public class HttpActivityExecutor {
                                 HttpResponseHandler httpResponseHandler,
                                 int socketTimeout, int connectTimeout, int connectionRequestTimeout) {
 
-        HttpRequestBase request;
-        CloseableHttpResponse response = null;
+        if (!handleRequest(execution, requestInfo, client, httpRequestHandler)) {
+            return null;
+        }
 
+        HttpResponse responseInfo = sendRequest(client, requestInfo, socketTimeout, connectTimeout, connectionRequestTimeout);
+
+        if (!handleResponse(execution, responseInfo, httpResponseHandler)) {
+            return null;
+        }
+        return responseInfo;
+    }
+
+    /**
+     * Invokes the request handler.
+     *
+     * @return false when the handler threw a {@link BpmnError}, which has been propagated
+     */
+    public boolean handleRequest(VariableContainer execution, HttpRequest requestInfo, CloseableHttpClient client, HttpRequestHandler httpRequestHandler) {
         try {
             if (httpRequestHandler != null) {
                 httpRequestHandler.handleHttpRequest(execution, requestInfo, client);
@@ -210,11 +293,47 @@ public class HttpActivityExecutor {
         } catch (Exception e) {
             if (e instanceof BpmnError) {
                 ErrorPropagation.propagateError(((BpmnError) e), ((DelegateExecution) execution));
-                return null;
+                return false;
             }
 
             throw new FlowableException("Exception while invoking HttpRequestHandler: " + e.getMessage(), e);
         }
+        return true;
+    }
+
+    /**
+     * Invokes the response handler.
+     *
+     * @return false when the handler threw a {@link BpmnError}, which has been propagated
+     */
+    public boolean handleResponse(VariableContainer execution, HttpResponse responseInfo, HttpResponseHandler httpResponseHandler) {
+        try {
+            if (httpResponseHandler != null) {
+                httpResponseHandler.handleHttpResponse(execution, responseInfo);
+            }
+        } catch (Exception e) {
+            if (e instanceof BpmnError) {
+                ErrorPropagation.propagateError(((BpmnError) e), ((DelegateExecution) execution));
+                return false;
+            }
+
+            throw new FlowableException("Exception while invoking HttpResponseHandler: " + e.getMessage(), e);
+        }
+        return true;
+    }
+
+    /**
+     * Sends the request and reads the response, without invoking any handler.
+     */
+    public HttpResponse sendRequest(CloseableHttpClient client, HttpRequest requestInfo, int socketTimeout, int connectTimeout, int connectionRequestTimeout) {
+        HttpRequestBase request;
+        CloseableHttpResponse response = null;
+        long startTime = System.currentTimeMillis();
+        boolean failed = true;
+
+        if (pooledHttpClient != null) {
+            pooledHttpClient.requestStarted();
+        }
 
         try {
             URIBuilder uri = new URIBuilder(requestInfo.getUrl());
@@ -285,19 +404,7 @@ public class HttpActivityExecutor {
                 responseInfo.setBody(EntityUtils.toString(response.getEntity()));
             }
 
-            try {
-                if ( httpResponseHandler!= null) {
-                    httpResponseHandler.handleHttpResponse(execution, responseInfo);
-                }
-            } catch (Exception e) {
-                if (e instanceof BpmnError) {
-                    ErrorPropagation.propagateError(((BpmnError) e), ((DelegateExecution) execution));
-                    return null;
-                }
-
-                throw new FlowableException("Exception while invoking HttpResponseHandler: " + e.getMessage(), e);
-            }
-
+            failed = false;
             return responseInfo;
 
         } catch (final ClientProtocolException e) {
@@ -307,6 +414,9 @@ public class HttpActivityExecutor {
         } catch (final URISyntaxException e) {
             throw new FlowableException("Invalid URL exception occurred", e);
         } finally {
+            if (pooledHttpClient != null) {
+                pooledHttpClient.requestEnded(System.currentTimeMillis() - startTime, failed);
+            }
             if (response != null) {
                 try {
                     response.close();
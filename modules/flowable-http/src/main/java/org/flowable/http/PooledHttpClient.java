@@ -0,0 +1,133 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.http;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.flowable.common.engine.api.FlowableException;
+
+/**
+ * An HTTP client shared by all HTTP tasks of an engine. Connections are pooled and kept alive between requests,
+ * so a request to a host that was called before doesn't need a new TCP and TLS handshake.
+ * <p>
+ * The client also sends the requests of triggerable HTTP tasks on its own threads, and keeps counters of the executed requests.
+ * <p>
+ * It is created by the engine configuration when the engine is built, and closed with the engine.
+ */
+public class PooledHttpClient implements Closeable {
+
+    protected CloseableHttpClient client;
+    protected ExecutorService requestExecutor;
+
+    protected AtomicLong requestCount = new AtomicLong();
+    protected AtomicLong failedRequestCount = new AtomicLong();
+    protected AtomicLong activeRequestCount = new AtomicLong();
+    protected AtomicLong totalRequestTime = new AtomicLong();
+
+    public PooledHttpClient(HttpClientBuilder httpClientBuilder, int maxConnections, int maxConnectionsPerRoute, int connectionKeepAlive, int asyncRequestThreads) {
+        this.client = httpClientBuilder
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setKeepAliveStrategy(createKeepAliveStrategy(connectionKeepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(connectionKeepAlive, TimeUnit.MILLISECONDS)
+                .build();
+
+        BasicThreadFactory threadFactory = new BasicThreadFactory.Builder().namingPattern("flowable-http-request-%d").daemon(true).build();
+        this.requestExecutor = Executors.newFixedThreadPool(asyncRequestThreads, threadFactory);
+    }
+
+    protected ConnectionKeepAliveStrategy createKeepAliveStrategy(int connectionKeepAlive) {
+        return (response, context) -> {
+            long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            if (keepAlive < 0 || keepAlive > connectionKeepAlive) {
+                return connectionKeepAlive;
+            }
+            return keepAlive;
+        };
+    }
+
+    /**
+     * Calls the given request on one of the threads of this client.
+     */
+    public <T> CompletableFuture<T> executeAsync(Callable<T> request) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        requestExecutor.execute(() -> {
+            try {
+                future.complete(request.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    public void requestStarted() {
+        activeRequestCount.incrementAndGet();
+    }
+
+    public void requestEnded(long duration, boolean failed) {
+        activeRequestCount.decrementAndGet();
+        requestCount.incrementAndGet();
+        totalRequestTime.addAndGet(duration);
+        if (failed) {
+            failedRequestCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void close() {
+        requestExecutor.shutdown();
+        try {
+            client.close();
+        } catch (IOException e) {
+            throw new FlowableException("Could not close http client", e);
+        }
+    }
+
+    public CloseableHttpClient getClient() {
+        return client;
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getFailedRequestCount() {
+        return failedRequestCount.get();
+    }
+
+    public long getActiveRequestCount() {
+        return activeRequestCount.get();
+    }
+
+    /**
+     * @return the total time in milliseconds of all executed requests
+     */
+    public long getTotalRequestTime() {
+        return totalRequestTime.get();
+    }
+
+}
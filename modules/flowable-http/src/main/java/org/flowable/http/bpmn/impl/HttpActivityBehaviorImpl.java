@@ -20,7 +20,9 @@ import static org.flowable.http.ExpressionUtils.getStringFromField;
 import static org.flowable.http.ExpressionUtils.getStringSetFromField;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLSession;
@@ -39,7 +41,11 @@ import org.flowable.bpmn.model.ImplementationType;
 import org.flowable.bpmn.model.MapExceptionEntry;
 import org.flowable.bpmn.model.ServiceTask;
 import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.FlowableOptimisticLockingException;
 import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.impl.cfg.TransactionState;
+import org.flowable.common.engine.impl.context.Context;
+import org.flowable.engine.RuntimeService;
 import org.flowable.engine.cfg.HttpClientConfig;
 import org.flowable.engine.delegate.DelegateExecution;
 import org.flowable.engine.impl.bpmn.behavior.AbstractBpmnActivityBehavior;
@@ -49,6 +55,8 @@ import org.flowable.engine.impl.el.FixedValue;
 import org.flowable.engine.impl.util.CommandContextUtil;
 import org.flowable.http.HttpActivityExecutor;
 import org.flowable.http.HttpRequest;
+import org.flowable.http.HttpResponse;
+import org.flowable.http.PooledHttpClient;
 import org.flowable.http.bpmn.impl.handler.ClassDelegateHttpHandler;
 import org.flowable.http.bpmn.impl.handler.DelegateExpressionHttpHandler;
 import org.flowable.http.delegate.HttpRequestHandler;
@@ -69,6 +77,12 @@ public class HttpActivityBehaviorImpl extends AbstractBpmnActivityBehavior {
     private static final long serialVersionUID = 1L;
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpActivityBehaviorImpl.class);
 
+    // Transient variable passing the outcome of an asynchronously sent request to the trigger of the execution
+    protected static final String ASYNC_RESULT_VARIABLE_NAME = "_flowableHttpAsyncResult";
+
+    // How many times triggering the execution with the outcome of an asynchronously sent request is tried on concurrent modification
+    protected static final int ASYNC_RESULT_TRIGGER_ATTEMPTS = 3;
+
     // HttpRequest method (GET,POST,PUT etc)
     protected Expression requestMethod;
     // HttpRequest URL (http://flowable.org)
@@ -108,7 +122,21 @@ public class HttpActivityBehaviorImpl extends AbstractBpmnActivityBehavior {
     protected HttpActivityExecutor httpActivityExecutor;
 
     public HttpActivityBehaviorImpl() {
-        HttpClientConfig config = CommandContextUtil.getProcessEngineConfiguration().getHttpClientConfig();
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
+        PooledHttpClient pooledHttpClient = (PooledHttpClient) processEngineConfiguration.getSharedHttpClient();
+        if (pooledHttpClient != null) {
+            this.httpActivityExecutor = new HttpActivityExecutor(pooledHttpClient, new ProcessErrorPropagator(), processEngineConfiguration.getObjectMapper());
+
+        } else {
+            this.httpActivityExecutor = new HttpActivityExecutor(createHttpClientBuilder(processEngineConfiguration.getHttpClientConfig()), new ProcessErrorPropagator(), 
+                    processEngineConfiguration.getObjectMapper());
+        }
+    }
+
+    /**
+     * Creates a client builder with the https and retry settings of the given configuration.
+     */
+    public static HttpClientBuilder createHttpClientBuilder(HttpClientConfig config) {
         HttpClientBuilder httpClientBuilder = HttpClientBuilder.create();
 
         // https settings
@@ -136,8 +164,7 @@ public class HttpActivityBehaviorImpl extends AbstractBpmnActivityBehavior {
         }
         httpClientBuilder.setRetryHandler(new DefaultHttpRequestRetryHandler(retryCount, false));
 
-        this.httpActivityExecutor = new HttpActivityExecutor(httpClientBuilder, new ProcessErrorPropagator(), 
-                CommandContextUtil.getProcessEngineConfiguration().getObjectMapper());
+        return httpClientBuilder;
     }
 
     @Override
@@ -202,6 +229,12 @@ public class HttpActivityBehaviorImpl extends AbstractBpmnActivityBehavior {
         ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
         HttpClientConfig httpClientConfig = CommandContextUtil.getProcessEngineConfiguration().getHttpClientConfig();
 
+        if (httpServiceTask.isTriggerable() && httpActivityExecutor.isAsyncSupported()) {
+            // The execution waits until the response triggers it
+            executeAsync(execution, request, processEngineConfiguration, httpClientConfig);
+            return;
+        }
+
         httpActivityExecutor.execute(
                 request,
                 execution,
@@ -217,6 +250,82 @@ public class HttpActivityBehaviorImpl extends AbstractBpmnActivityBehavior {
         leave(execution);
     }
 
+    /**
+     * Sends the request after the current transaction has committed, without blocking a thread while waiting for the response.
+     * The response is processed in {@link #trigger(DelegateExecution, String, Object)}.
+     * <p>
+     * The request is bounded by the socket, connect and connection request timeouts of the {@link HttpClientConfig}: when it times out,
+     * the execution is triggered with the failure, which is handled like the failure of a synchronous request.
+     * <p>
+     * The request in flight is only kept in memory. When the engine is closed before the response arrives, or the execution can't be
+     * triggered with the response, the execution keeps waiting in the task. It can then be moved on with {@link RuntimeService#trigger(String)},
+     * which leaves the task without a response.
+     */
+    protected void executeAsync(DelegateExecution execution, HttpRequest request, ProcessEngineConfigurationImpl processEngineConfiguration,
+            HttpClientConfig httpClientConfig) {
+
+        try {
+            HttpRequestHandler httpRequestHandler = createHttpRequestHandler(httpServiceTask.getHttpRequestHandler(), processEngineConfiguration);
+            if (!httpActivityExecutor.handleRequest(execution, request, httpActivityExecutor.getPooledHttpClient().getClient(), httpRequestHandler)) {
+                // The request handler has decided not to send the request
+                leave(execution);
+                return;
+            }
+
+        } catch (Exception e) {
+            httpActivityExecutor.handleException(e, request, execution, execution.getId(), mapExceptions);
+            leave(execution);
+            return;
+        }
+
+        String executionId = execution.getId();
+        RuntimeService runtimeService = processEngineConfiguration.getRuntimeService();
+        Context.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, commandContext -> httpActivityExecutor
+                .executeAsync(request, httpClientConfig.getSocketTimeout(), httpClientConfig.getConnectTimeout(), httpClientConfig.getConnectionRequestTimeout())
+                .whenComplete((response, failure) -> {
+                    Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                    triggerWithAsyncResult(runtimeService, executionId, new AsyncHttpResult(request, response, cause));
+                }));
+    }
+
+    protected void triggerWithAsyncResult(RuntimeService runtimeService, String executionId, AsyncHttpResult asyncHttpResult) {
+        for (int attempt = 1; attempt <= ASYNC_RESULT_TRIGGER_ATTEMPTS; attempt++) {
+            try {
+                runtimeService.trigger(executionId, null, Collections.<String, Object>singletonMap(ASYNC_RESULT_VARIABLE_NAME, asyncHttpResult));
+                return;
+
+            } catch (FlowableOptimisticLockingException e) {
+                if (attempt == ASYNC_RESULT_TRIGGER_ATTEMPTS) {
+                    LOGGER.error("Could not trigger execution {} with the response of the http task after {} attempts, it keeps waiting in the task",
+                            executionId, attempt, e);
+                }
+
+            } catch (Exception e) {
+                LOGGER.error("Could not trigger execution {} with the response of the http task, it keeps waiting in the task", executionId, e);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void trigger(DelegateExecution execution, String signalName, Object signalData) {
+        AsyncHttpResult asyncHttpResult = (AsyncHttpResult) execution.getTransientVariable(ASYNC_RESULT_VARIABLE_NAME);
+        if (asyncHttpResult != null) {
+            ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
+            httpActivityExecutor.completeAsync(
+                    asyncHttpResult.request,
+                    asyncHttpResult.response,
+                    asyncHttpResult.failure,
+                    execution,
+                    execution.getId(),
+                    createHttpResponseHandler(httpServiceTask.getHttpResponseHandler(), processEngineConfiguration),
+                    getStringFromField(responseVariableName, execution),
+                    mapExceptions);
+        }
+
+        leave(execution);
+    }
+
     protected HttpRequestHandler createHttpRequestHandler(FlowableHttpRequestHandler handler, ProcessEngineConfigurationImpl processEngineConfiguration) {
         HttpRequestHandler requestHandler = null;
 
@@ -271,4 +380,17 @@ public class HttpActivityBehaviorImpl extends AbstractBpmnActivityBehavior {
         this.httpServiceTask = (HttpServiceTask) serviceTask;
     }
 
+    protected static class AsyncHttpResult {
+
+        protected HttpRequest request;
+        protected HttpResponse response;
+        protected Throwable failure;
+
+        public AsyncHttpResult(HttpRequest request, HttpResponse response, Throwable failure) {
+            this.request = request;
+            this.response = response;
+            this.failure = failure;
+        }
+    }
+
 }
@@ -45,6 +45,7 @@ import org.flowable.http.ExpressionUtils;
 import org.flowable.http.HttpActivityExecutor;
 import org.flowable.http.HttpRequest;
 import org.flowable.http.NopErrorPropagator;
+import org.flowable.http.PooledHttpClient;
 import org.flowable.http.cmmn.impl.handler.ClassDelegateHttpHandler;
 import org.flowable.http.cmmn.impl.handler.DelegateExpressionHttpHandler;
 import org.flowable.http.delegate.HttpRequestHandler;
@@ -96,7 +97,21 @@ public class CmmnHttpActivityBehaviorImpl extends CoreCmmnActivityBehavior {
     protected HttpActivityExecutor httpActivityExecutor;
 
     public CmmnHttpActivityBehaviorImpl() {
-        org.flowable.cmmn.engine.HttpClientConfig config = CommandContextUtil.getCmmnEngineConfiguration().getHttpClientConfig();
+        CmmnEngineConfiguration cmmnEngineConfiguration = CommandContextUtil.getCmmnEngineConfiguration();
+        PooledHttpClient pooledHttpClient = (PooledHttpClient) cmmnEngineConfiguration.getSharedHttpClient();
+        if (pooledHttpClient != null) {
+            this.httpActivityExecutor = new HttpActivityExecutor(pooledHttpClient, new NopErrorPropagator(), cmmnEngineConfiguration.getObjectMapper());
+
+        } else {
+            this.httpActivityExecutor = new HttpActivityExecutor(createHttpClientBuilder(cmmnEngineConfiguration.getHttpClientConfig()), new NopErrorPropagator(), 
+                    cmmnEngineConfiguration.getObjectMapper());
+        }
+    }
+
+    /**
+     * Creates a client builder with the https and retry settings of the given configuration.
+     */
+    public static HttpClientBuilder createHttpClientBuilder(HttpClientConfig config) {
         HttpClientBuilder httpClientBuilder = HttpClientBuilder.create();
 
         // https settings
@@ -124,8 +139,7 @@ public class CmmnHttpActivityBehaviorImpl extends CoreCmmnActivityBehavior {
         }
         httpClientBuilder.setRetryHandler(new DefaultHttpRequestRetryHandler(retryCount, false));
 
-        this.httpActivityExecutor = new HttpActivityExecutor(httpClientBuilder, new NopErrorPropagator(), 
-                CommandContextUtil.getCmmnEngineConfiguration().getObjectMapper());
+        return httpClientBuilder;
     }
 
 
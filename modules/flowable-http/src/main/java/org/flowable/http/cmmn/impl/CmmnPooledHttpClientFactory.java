@@ -0,0 +1,32 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.http.cmmn.impl;
+
+import java.io.Closeable;
+
+import org.flowable.cmmn.engine.HttpClientConfig;
+import org.flowable.cmmn.engine.SharedHttpClientFactory;
+import org.flowable.http.PooledHttpClient;
+
+/**
+ * Creates the {@link PooledHttpClient} shared by the HTTP tasks of an engine. Found by the engine through the {@link java.util.ServiceLoader}.
+ */
+public class CmmnPooledHttpClientFactory implements SharedHttpClientFactory {
+
+    @Override
+    public Closeable createSharedHttpClient(HttpClientConfig httpClientConfig) {
+        return new PooledHttpClient(CmmnHttpActivityBehaviorImpl.createHttpClientBuilder(httpClientConfig), httpClientConfig.getMaxConnections(),
+                httpClientConfig.getMaxConnectionsPerRoute(), httpClientConfig.getConnectionKeepAlive(), httpClientConfig.getAsyncRequestThreads());
+    }
+
+}
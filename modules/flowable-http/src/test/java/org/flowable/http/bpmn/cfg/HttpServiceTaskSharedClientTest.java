@@ -0,0 +1,53 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.http.bpmn.cfg;
+
+import org.flowable.engine.ProcessEngineConfiguration;
+import org.flowable.engine.test.Deployment;
+import org.flowable.http.PooledHttpClient;
+
+public class HttpServiceTaskSharedClientTest extends HttpServiceTaskCfgTestCase {
+
+    public HttpServiceTaskSharedClientTest() {
+        super("flowable.cfg.xml");
+    }
+
+    @Override
+    protected void additionalConfiguration(ProcessEngineConfiguration processEngineConfiguration) {
+        processEngineConfiguration
+                .getHttpClientConfig()
+                .setUseSharedClient(true);
+    }
+
+    @Deployment
+    public void testTriggerableGet() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            String procId = runtimeService.startProcessInstanceByKey("triggerableGet").getId();
+
+            // The execution waits in the http task until the response has arrived
+            long timeout = System.currentTimeMillis() + 10000;
+            while (taskService.createTaskQuery().processInstanceId(procId).count() == 0 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(50);
+            }
+
+            assertEquals(1, taskService.createTaskQuery().processInstanceId(procId).count());
+            assertEquals(200, runtimeService.getVariable(procId, "httpGetResponseStatusCode"));
+        }
+
+        // All requests were sent with the client created by the engine
+        PooledHttpClient pooledHttpClient = (PooledHttpClient) processEngineConfiguration.getSharedHttpClient();
+        assertEquals(3, pooledHttpClient.getRequestCount());
+        assertEquals(0, pooledHttpClient.getFailedRequestCount());
+        assertEquals(0, pooledHttpClient.getActiveRequestCount());
+    }
+}
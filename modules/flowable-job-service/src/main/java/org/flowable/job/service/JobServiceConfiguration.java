@@ -113,6 +113,7 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
     protected AsyncExecutor asyncExecutor;
     protected int asyncExecutorNumberOfRetries;
     protected int asyncExecutorResetExpiredJobsMaxTimeout;
+    protected boolean asyncExecutorBulkLockEnabled;
     
     protected String jobExecutionScope;
     protected Map<String, JobHandler> jobHandlers;
@@ -129,8 +130,10 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
     
     protected String jobTypeAsyncHistory;
     protected String jobTypeAsyncHistoryZipped;
+    protected String jobTypeAsyncHistoryBinary;
     
     protected boolean asyncHistoryJsonGzipCompressionEnabled;
+    protected boolean asyncHistoryBinaryEncodingEnabled;
     protected boolean asyncHistoryJsonGroupingEnabled;
     protected boolean asyncHistoryExecutorMessageQueueMode;
     protected int asyncHistoryJsonGroupingThreshold = 10;
@@ -562,6 +565,15 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
         return this;
     }
 
+    public boolean isAsyncExecutorBulkLockEnabled() {
+        return asyncExecutorBulkLockEnabled;
+    }
+
+    public JobServiceConfiguration setAsyncExecutorBulkLockEnabled(boolean asyncExecutorBulkLockEnabled) {
+        this.asyncExecutorBulkLockEnabled = asyncExecutorBulkLockEnabled;
+        return this;
+    }
+
     @Override
     public ObjectMapper getObjectMapper() {
         return objectMapper;
@@ -615,6 +627,14 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
         this.jobTypeAsyncHistoryZipped = jobTypeAsyncHistoryZipped;
     }
 
+    public String getJobTypeAsyncHistoryBinary() {
+        return jobTypeAsyncHistoryBinary;
+    }
+
+    public void setJobTypeAsyncHistoryBinary(String jobTypeAsyncHistoryBinary) {
+        this.jobTypeAsyncHistoryBinary = jobTypeAsyncHistoryBinary;
+    }
+
     public boolean isAsyncHistoryJsonGzipCompressionEnabled() {
         return asyncHistoryJsonGzipCompressionEnabled;
     }
@@ -623,6 +643,14 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
         this.asyncHistoryJsonGzipCompressionEnabled = asyncHistoryJsonGzipCompressionEnabled;
     }
 
+    public boolean isAsyncHistoryBinaryEncodingEnabled() {
+        return asyncHistoryBinaryEncodingEnabled;
+    }
+
+    public void setAsyncHistoryBinaryEncodingEnabled(boolean asyncHistoryBinaryEncodingEnabled) {
+        this.asyncHistoryBinaryEncodingEnabled = asyncHistoryBinaryEncodingEnabled;
+    }
+
     public boolean isAsyncHistoryJsonGroupingEnabled() {
         return asyncHistoryJsonGroupingEnabled;
     }
@@ -55,6 +55,10 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
     protected int defaultAsyncJobAcquireWaitTimeInMillis = 10 * 1000;
     protected int defaultQueueSizeFullWaitTime;
 
+    protected boolean adaptiveAsyncJobAcquisitionEnabled;
+    protected int maxAdaptiveAsyncJobsDuePerAcquisition = 128;
+    protected int maxAsyncJobAcquireWaitTimeInMillis = 60 * 1000;
+
     protected String lockOwner = UUID.randomUUID().toString();
     protected int timerLockTimeInMillis = 5 * 60 * 1000;
     protected int asyncJobLockTimeInMillis = 5 * 60 * 1000;
@@ -142,6 +146,14 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
             String acquireJobsRunnableName = acquireRunnableThreadName != null ? acquireRunnableThreadName : "flowable-acquire-async-jobs";
             asyncJobsDueRunnable = new AcquireAsyncJobsDueRunnable(acquireJobsRunnableName, this, jobEntityManagerToUse);
         }
+
+        if (adaptiveAsyncJobAcquisitionEnabled && asyncJobsDueRunnable != null && asyncJobsDueRunnable.getAdaptiveAcquisition() == null) {
+            asyncJobsDueRunnable.setAdaptiveAcquisition(createAdaptiveAsyncJobAcquisition());
+        }
+    }
+
+    protected AdaptiveAsyncJobAcquisition createAdaptiveAsyncJobAcquisition() {
+        return new AdaptiveAsyncJobAcquisition(this, maxAdaptiveAsyncJobsDuePerAcquisition, maxAsyncJobAcquireWaitTimeInMillis, 0.2);
     }
 
     protected abstract void startAdditionalComponents();
@@ -303,6 +315,34 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
         this.defaultQueueSizeFullWaitTime = defaultQueueSizeFullWaitTime;
     }
 
+    public boolean isAdaptiveAsyncJobAcquisitionEnabled() {
+        return adaptiveAsyncJobAcquisitionEnabled;
+    }
+
+    public void setAdaptiveAsyncJobAcquisitionEnabled(boolean adaptiveAsyncJobAcquisitionEnabled) {
+        this.adaptiveAsyncJobAcquisitionEnabled = adaptiveAsyncJobAcquisitionEnabled;
+    }
+
+    public int getMaxAdaptiveAsyncJobsDuePerAcquisition() {
+        return maxAdaptiveAsyncJobsDuePerAcquisition;
+    }
+
+    public void setMaxAdaptiveAsyncJobsDuePerAcquisition(int maxAdaptiveAsyncJobsDuePerAcquisition) {
+        this.maxAdaptiveAsyncJobsDuePerAcquisition = maxAdaptiveAsyncJobsDuePerAcquisition;
+    }
+
+    public int getMaxAsyncJobAcquireWaitTimeInMillis() {
+        return maxAsyncJobAcquireWaitTimeInMillis;
+    }
+
+    public void setMaxAsyncJobAcquireWaitTimeInMillis(int maxAsyncJobAcquireWaitTimeInMillis) {
+        this.maxAsyncJobAcquireWaitTimeInMillis = maxAsyncJobAcquireWaitTimeInMillis;
+    }
+
+    public AcquireAsyncJobsDueRunnable getAsyncJobsDueRunnable() {
+        return asyncJobsDueRunnable;
+    }
+
     public void setAsyncJobsDueRunnable(AcquireAsyncJobsDueRunnable asyncJobsDueRunnable) {
         this.asyncJobsDueRunnable = asyncJobsDueRunnable;
     }
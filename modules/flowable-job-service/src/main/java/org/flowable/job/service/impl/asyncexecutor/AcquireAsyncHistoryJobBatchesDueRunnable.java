@@ -0,0 +1,58 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
+import org.flowable.job.service.impl.persistence.entity.JobInfoEntityManager;
+
+/**
+ * Acquires history jobs like the {@link AcquireAsyncJobsDueRunnable}, but hands them to the {@link DefaultAsyncHistoryJobExecutor}
+ * in batches, to be executed together.
+ */
+public class AcquireAsyncHistoryJobBatchesDueRunnable extends AcquireAsyncJobsDueRunnable {
+
+    protected final DefaultAsyncHistoryJobExecutor asyncHistoryExecutor;
+
+    public AcquireAsyncHistoryJobBatchesDueRunnable(String name, DefaultAsyncHistoryJobExecutor asyncHistoryExecutor,
+            JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager) {
+        super(name, asyncHistoryExecutor, jobEntityManager);
+        this.asyncHistoryExecutor = asyncHistoryExecutor;
+    }
+
+    @Override
+    protected long acquireAndExecuteJobs(CommandExecutor commandExecutor, int remainingCapacity) {
+        // The remaining capacity of the executor is expressed in runnables, and each runnable executes a batch of jobs
+        long remainingJobCapacity = (long) remainingCapacity * asyncHistoryExecutor.getHistoryJobBatchSize();
+        return super.acquireAndExecuteJobs(commandExecutor, (int) Math.min(remainingJobCapacity, Integer.MAX_VALUE));
+    }
+
+    @Override
+    protected List<JobInfoEntity> offerJobs(AcquiredJobEntities acquiredJobs) {
+        List<JobInfoEntity> rejected = new ArrayList<>();
+        List<JobInfoEntity> jobs = new ArrayList<>(acquiredJobs.getJobs());
+        int batchSize = asyncHistoryExecutor.getHistoryJobBatchSize();
+        for (int i = 0; i < jobs.size(); i += batchSize) {
+            List<JobInfoEntity> batch = jobs.subList(i, Math.min(i + batchSize, jobs.size()));
+            boolean batchSuccessFullyOffered = asyncHistoryExecutor.executeAsyncHistoryJobBatch(new ArrayList<>(batch));
+            if (!batchSuccessFullyOffered) {
+                rejected.addAll(batch);
+            }
+        }
+        return rejected;
+    }
+
+}
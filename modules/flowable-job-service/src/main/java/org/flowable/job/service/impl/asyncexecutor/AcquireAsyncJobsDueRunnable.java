@@ -35,6 +35,7 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     protected String name;
     protected final AsyncExecutor asyncExecutor;
     protected final JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager;
+    protected AdaptiveAsyncJobAcquisition adaptiveAcquisition;
 
     protected volatile boolean isInterrupted;
     protected final Object MONITOR = new Object();
@@ -80,6 +81,10 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     }
 
     protected long acquireAndExecuteJobs(CommandExecutor commandExecutor, int remainingCapacity) {
+        if (adaptiveAcquisition != null) {
+            return acquireAndExecuteJobsAdaptively(commandExecutor, remainingCapacity);
+        }
+
         try {
             AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, remainingCapacity, jobEntityManager));
 
@@ -110,6 +115,26 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         return asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
     }
 
+    protected long acquireAndExecuteJobsAdaptively(CommandExecutor commandExecutor, int remainingCapacity) {
+        try {
+            int batchSize = adaptiveAcquisition.getBatchSize(remainingCapacity);
+            AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, remainingCapacity, batchSize, jobEntityManager));
+
+            List<JobInfoEntity> rejectedJobs = offerJobs(acquiredJobs);
+
+            LOGGER.debug("Jobs acquired: {} (batch size {}), rejected: {}", acquiredJobs.size(), batchSize, rejectedJobs.size());
+            return adaptiveAcquisition.jobsAcquired(batchSize, acquiredJobs.size(), rejectedJobs.size(), asyncExecutor.getRemainingCapacity());
+
+        } catch (FlowableOptimisticLockingException optimisticLockingException) {
+            LOGGER.debug("Optimistic locking exception during async job acquisition, backing off. Exception message: {}", optimisticLockingException.getMessage());
+            return adaptiveAcquisition.optimisticLockingCollision();
+
+        } catch (Throwable e) {
+            LOGGER.error("exception during async job acquisition: {}", e.getMessage(), e);
+            return adaptiveAcquisition.acquisitionFailed();
+        }
+    }
+
     protected List<JobInfoEntity> offerJobs(AcquiredJobEntities acquiredJobs) {
         List<JobInfoEntity> rejected = new ArrayList<>();
         for (JobInfoEntity job : acquiredJobs.getJobs()) {
@@ -121,6 +146,14 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         return rejected;
     }
 
+    public AdaptiveAsyncJobAcquisition getAdaptiveAcquisition() {
+        return adaptiveAcquisition;
+    }
+
+    public void setAdaptiveAcquisition(AdaptiveAsyncJobAcquisition adaptiveAcquisition) {
+        this.adaptiveAcquisition = adaptiveAcquisition;
+    }
+
     public void stop() {
         synchronized (MONITOR) {
             isInterrupted = true;
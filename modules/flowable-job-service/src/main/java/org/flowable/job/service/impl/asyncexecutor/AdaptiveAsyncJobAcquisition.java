@@ -0,0 +1,177 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import java.util.Random;
+
+/**
+ * Decides the batch size and the wait time of the {@link AcquireAsyncJobsDueRunnable} based on the outcome of the previous acquisitions,
+ * instead of using the static settings of the {@link AsyncExecutor}:
+ *
+ * <ul>
+ * <li>When an acquisition returns a full batch, more jobs are expected: the batch size is doubled and the next acquisition happens immediately.</li>
+ * <li>When an acquisition returns nothing, the wait time is doubled (starting from the default async job acquire wait time) up to the maximum wait time.</li>
+ * <li>When an acquisition collides with another executor (optimistic locking exception), the batch size is halved and the wait time is doubled.</li>
+ * <li>The batch size is never larger than the number of jobs the thread pool was observed to execute during one default acquire wait time,
+ * as jobs acquired beyond that only sit in the queue while holding a lock that another executor could have used.</li>
+ * </ul>
+ *
+ * A random jitter is applied to the backed off wait times, so executors of a cluster that collided don't retry at the same moment.
+ *
+ * Instances are not thread-safe: they are only used by the acquisition thread.
+ */
+public class AdaptiveAsyncJobAcquisition {
+
+    protected final AsyncExecutor asyncExecutor;
+    protected final int maxBatchSize;
+    protected final long maxWaitTimeInMillis;
+    protected final double jitterFactor;
+    protected final Random random;
+
+    protected int batchSize;
+    protected long waitTimeInMillis;
+
+    /** Observed number of jobs executed by the thread pool per millisecond, -1 as long as nothing has been observed */
+    protected double drainRate = -1;
+    protected long lastAcquisitionTime = -1;
+    protected int remainingCapacityAfterLastAcquisition = -1;
+
+    public AdaptiveAsyncJobAcquisition(AsyncExecutor asyncExecutor, int maxBatchSize, long maxWaitTimeInMillis, double jitterFactor) {
+        this(asyncExecutor, maxBatchSize, maxWaitTimeInMillis, jitterFactor, new Random());
+    }
+
+    public AdaptiveAsyncJobAcquisition(AsyncExecutor asyncExecutor, int maxBatchSize, long maxWaitTimeInMillis, double jitterFactor, Random random) {
+        this.asyncExecutor = asyncExecutor;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxWaitTimeInMillis = Math.max(asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis(), maxWaitTimeInMillis);
+        this.jitterFactor = jitterFactor;
+        this.random = random;
+
+        this.batchSize = Math.min(this.maxBatchSize, Math.max(1, asyncExecutor.getMaxAsyncJobsDuePerAcquisition()));
+        this.waitTimeInMillis = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
+    }
+
+    /**
+     * Returns the number of jobs to acquire in the next acquisition, given the remaining capacity of the queue.
+     */
+    public int getBatchSize(int remainingCapacity) {
+        updateDrainRate(remainingCapacity);
+
+        int size = Math.min(batchSize, remainingCapacity);
+        if (drainRate > 0) {
+            long drainedPerWaitTime = (long) Math.ceil(drainRate * asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis());
+            size = (int) Math.min(size, Math.max(1L, drainedPerWaitTime));
+        }
+        return Math.max(1, size);
+    }
+
+    /**
+     * Called after the acquired jobs were offered to the executor. Returns the time to wait before the next acquisition.
+     */
+    public long jobsAcquired(int requestedJobs, int acquiredJobs, int rejectedJobs, int remainingCapacity) {
+        lastAcquisitionTime = currentTimeMillis();
+        remainingCapacityAfterLastAcquisition = remainingCapacity;
+
+        if (rejectedJobs > 0) {
+            // the queue is full: the batch was too large for what the thread pool can handle
+            batchSize = Math.max(1, batchSize / 2);
+            waitTimeInMillis = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
+            return asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis();
+        }
+
+        if (acquiredJobs == 0) {
+            return backOff();
+        }
+
+        waitTimeInMillis = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
+        if (acquiredJobs >= requestedJobs) {
+            // a full batch was acquired, so we can expect more
+            batchSize = Math.min(maxBatchSize, batchSize * 2);
+            return 0L;
+        }
+        return waitTimeInMillis;
+    }
+
+    /**
+     * Called when the acquisition failed because another executor acquired one of the jobs first. Returns the time to wait before the next acquisition.
+     */
+    public long optimisticLockingCollision() {
+        lastAcquisitionTime = -1;
+        batchSize = Math.max(1, batchSize / 2);
+        return backOff();
+    }
+
+    /**
+     * Called when the acquisition failed for another reason. Returns the time to wait before the next acquisition.
+     */
+    public long acquisitionFailed() {
+        lastAcquisitionTime = -1;
+        return asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
+    }
+
+    protected long backOff() {
+        long currentWaitTime = waitTimeInMillis;
+        waitTimeInMillis = Math.min(maxWaitTimeInMillis, waitTimeInMillis * 2);
+        return applyJitter(currentWaitTime);
+    }
+
+    protected long applyJitter(long millis) {
+        if (jitterFactor <= 0 || millis <= 0) {
+            return millis;
+        }
+        double jitter = (random.nextDouble() * 2 - 1) * jitterFactor; // between -jitterFactor and +jitterFactor
+        return Math.max(0L, Math.round(millis * (1 + jitter)));
+    }
+
+    protected void updateDrainRate(int remainingCapacity) {
+        if (lastAcquisitionTime < 0 || remainingCapacityAfterLastAcquisition < 0) {
+            return;
+        }
+
+        long elapsed = currentTimeMillis() - lastAcquisitionTime;
+        int drainedJobs = remainingCapacity - remainingCapacityAfterLastAcquisition;
+
+        // Only a queue that still holds jobs tells how fast the thread pool executes them:
+        // an emptied queue only tells that the pool is faster than the jobs were supplied.
+        if (elapsed > 0 && drainedJobs > 0 && !isQueueEmpty(remainingCapacity)) {
+            double observedRate = (double) drainedJobs / elapsed;
+            drainRate = drainRate < 0 ? observedRate : 0.5 * drainRate + 0.5 * observedRate;
+        }
+    }
+
+    protected boolean isQueueEmpty(int remainingCapacity) {
+        if (asyncExecutor instanceof DefaultAsyncJobExecutor) {
+            DefaultAsyncJobExecutor defaultAsyncJobExecutor = (DefaultAsyncJobExecutor) asyncExecutor;
+            int capacity = defaultAsyncJobExecutor.isUseVirtualThreads() ? defaultAsyncJobExecutor.getConcurrentJobsLimit() : defaultAsyncJobExecutor.getQueueSize();
+            return remainingCapacity >= capacity;
+        }
+        return true;
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getWaitTimeInMillis() {
+        return waitTimeInMillis;
+    }
+
+    public double getDrainRate() {
+        return drainRate;
+    }
+
+}
@@ -12,6 +12,9 @@
  */
 package org.flowable.job.service.impl.asyncexecutor;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.flowable.common.engine.impl.cfg.TransactionPropagation;
 import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandConfig;
@@ -24,35 +27,54 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Hands off the jobs created in a command context to the async executor once that context is closed.
+ * All jobs of the same context are handed off together (see {@link #addJob(JobInfoEntity)}), using one command.
+ *
  * @author Joram Barrez
  */
 public class AsyncJobAddedNotification implements CommandContextCloseListener {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AsyncJobAddedNotification.class);
 
-    protected JobInfoEntity job;
+    protected List<JobInfoEntity> jobs = new ArrayList<>();
     protected AsyncExecutor asyncExecutor;
+    protected boolean executed;
 
     public AsyncJobAddedNotification(JobInfoEntity job, AsyncExecutor asyncExecutor) {
-        this.job = job;
+        this.jobs.add(job);
         this.asyncExecutor = asyncExecutor;
     }
 
+    /**
+     * Adds a job to hand off when the command context is closed.
+     * Returns false when this notification has already been executed, in which case a new notification is needed.
+     */
+    public boolean addJob(JobInfoEntity job) {
+        if (executed) {
+            return false;
+        }
+        jobs.add(job);
+        return true;
+    }
+
     @Override
     public void closed(CommandContext commandContext) {
         execute(commandContext);
     }
 
     public void execute(CommandContext commandContext) {
+        executed = true;
         CommandExecutor commandExecutor = CommandContextUtil.getJobServiceConfiguration(commandContext).getCommandExecutor();
         CommandConfig commandConfig = new CommandConfig(false, TransactionPropagation.REQUIRES_NEW);
         commandExecutor.execute(commandConfig, new Command<Void>() {
             @Override
             public Void execute(CommandContext commandContext) {
                 if (LOGGER.isTraceEnabled()) {
-                    LOGGER.trace("notifying job executor of new job");
+                    LOGGER.trace("notifying job executor of {} new job(s)", jobs.size());
+                }
+                for (JobInfoEntity job : jobs) {
+                    asyncExecutor.executeAsyncJob(job);
                 }
-                asyncExecutor.executeAsyncJob(job);
                 return null;
             }
         });
@@ -70,4 +92,8 @@ public class AsyncJobAddedNotification implements CommandContextCloseListener {
     public void closeFailure(CommandContext commandContext) {
     }
 
+    public List<JobInfoEntity> getJobs() {
+        return jobs;
+    }
+
 }
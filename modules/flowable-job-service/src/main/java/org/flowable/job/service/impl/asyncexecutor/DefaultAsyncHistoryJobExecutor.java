@@ -12,7 +12,22 @@
  */
 package org.flowable.job.service.impl.asyncexecutor;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.job.api.JobInfo;
+
 public class DefaultAsyncHistoryJobExecutor extends DefaultAsyncJobExecutor {
+
+    /**
+     * The maximum number of history jobs that are executed together, in one transaction.
+     * Their history data is merged where possible (see {@link org.flowable.job.service.impl.history.async.HistoryJsonBatchMerger}),
+     * and the resulting entities are written with one flush.
+     * <p>
+     * The default value 1 executes each history job in its own transaction.
+     * When a batch fails, its jobs are executed again one by one.
+     */
+    protected int historyJobBatchSize = 1;
     
     public DefaultAsyncHistoryJobExecutor() {
         setTimerRunnableNeeded(false);
@@ -29,4 +44,53 @@ public class DefaultAsyncHistoryJobExecutor extends DefaultAsyncJobExecutor {
         }
     }
 
+    @Override
+    protected void initializeRunnables() {
+        if (isHistoryJobBatchingEnabled() && !isMessageQueueMode && asyncJobsDueRunnable == null) {
+            String acquireJobsRunnableName = acquireRunnableThreadName != null ? acquireRunnableThreadName : "flowable-acquire-history-jobs";
+            asyncJobsDueRunnable = new AcquireAsyncHistoryJobBatchesDueRunnable(acquireJobsRunnableName, this, jobEntityManager);
+        }
+        super.initializeRunnables();
+    }
+
+    /**
+     * Executes the given history jobs together in one transaction.
+     *
+     * @return false when the jobs could not be handed to the thread pool, in which case they are unacquired
+     */
+    public boolean executeAsyncHistoryJobBatch(List<? extends JobInfo> jobs) {
+        if (isMessageQueueMode) {
+            return true;
+        }
+
+        if (!isActive) {
+            temporaryJobQueue.addAll(jobs);
+            return true;
+        }
+
+        List<Runnable> jobRunnables = new ArrayList<>(jobs.size());
+        for (JobInfo job : jobs) {
+            jobRunnables.add(createRunnableForJob(job));
+        }
+        return executeAsyncJobs(jobs, new ExecuteAsyncHistoryJobBatchRunnable(jobs, jobRunnables, jobServiceConfiguration, jobEntityManager));
+    }
+
+    @Override
+    public int getMaxAsyncJobsDuePerAcquisition() {
+        // At least one full batch is acquired at a time
+        return Math.max(super.getMaxAsyncJobsDuePerAcquisition(), historyJobBatchSize);
+    }
+
+    public boolean isHistoryJobBatchingEnabled() {
+        return historyJobBatchSize > 1;
+    }
+
+    public int getHistoryJobBatchSize() {
+        return historyJobBatchSize;
+    }
+
+    public void setHistoryJobBatchSize(int historyJobBatchSize) {
+        this.historyJobBatchSize = historyJobBatchSize;
+    }
+
 }
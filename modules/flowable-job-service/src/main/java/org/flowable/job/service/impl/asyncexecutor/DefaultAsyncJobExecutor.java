@@ -12,10 +12,14 @@
  */
 package org.flowable.job.service.impl.asyncexecutor;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -101,19 +105,84 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
     
     protected String threadPoolNamingPattern = "flowable-async-job-executor-thread-%d";
 
+    /**
+     * If true, each job is executed on its own virtual thread instead of on the thread pool (requires a Java runtime with virtual threads,
+     * otherwise a new platform thread is used per job). The number of jobs executing at the same time is limited by {@link #maxConcurrentJobs}.
+     */
+    protected boolean useVirtualThreads;
+
+    /**
+     * The maximum number of jobs executing at the same time when {@link #useVirtualThreads} is set, typically the size of the database connection pool.
+     * If not set, the {@link #maxPoolSize} is used.
+     */
+    protected int maxConcurrentJobs;
+
+    /** Limits the number of concurrently executing jobs when {@link #useVirtualThreads} is set */
+    protected Semaphore concurrentJobsSemaphore;
+
     @Override
     protected boolean executeAsyncJob(final JobInfo job, Runnable runnable) {
+        return executeAsyncJobs(Collections.singletonList(job), runnable);
+    }
+
+    /**
+     * Executes a runnable that executes all given jobs. When the runnable is rejected, all the jobs are unacquired.
+     */
+    protected boolean executeAsyncJobs(final List<? extends JobInfo> jobs, Runnable runnable) {
+        Semaphore semaphore = concurrentJobsSemaphore;
+        if (semaphore != null) {
+            return executeAsyncJobsOnVirtualThread(jobs, runnable, semaphore);
+        }
+
         try {
             executorService.execute(runnable);
             return true;
         } catch (RejectedExecutionException e) {
-            unacquireJobAfterRejection(job);
+            unacquireJobsAfterRejection(jobs);
 
             // Job queue full, returning false so (if wanted) the acquiring can be throttled
             return false;
         }
     }
 
+    /**
+     * Executes the runnable when a permit of the given semaphore is available. The permit is released to the same semaphore,
+     * as the field is reset when the executor is shut down while the runnable is still executing.
+     */
+    protected boolean executeAsyncJobsOnVirtualThread(final List<? extends JobInfo> jobs, final Runnable runnable, final Semaphore semaphore) {
+        if (!semaphore.tryAcquire()) {
+            // All permits taken, returning false so (if wanted) the acquiring can be throttled
+            unacquireJobsAfterRejection(jobs);
+            return false;
+        }
+
+        try {
+            executorService.execute(new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        runnable.run();
+                    } finally {
+                        semaphore.release();
+                    }
+                }
+            });
+            return true;
+
+        } catch (RejectedExecutionException e) {
+            semaphore.release();
+            unacquireJobsAfterRejection(jobs);
+            return false;
+        }
+    }
+
+    protected void unacquireJobsAfterRejection(List<? extends JobInfo> jobs) {
+        for (JobInfo job : jobs) {
+            unacquireJobAfterRejection(job);
+        }
+    }
+
     protected void unacquireJobAfterRejection(final JobInfo job) {
         // When a RejectedExecutionException is caught, this means that the queue for holding the jobs
         // that are to be executed is full and can't store more.
@@ -166,6 +235,11 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
     }
 
     protected void initAsyncJobExecutionThreadPool() {
+        if (useVirtualThreads) {
+            initAsyncJobExecutionVirtualThreads();
+            return;
+        }
+
         if (threadPoolQueue == null) {
             LOGGER.info("Creating thread pool queue of size {}", queueSize);
             threadPoolQueue = new ArrayBlockingQueue<>(queueSize);
@@ -179,6 +253,38 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
         }
     }
 
+    protected void initAsyncJobExecutionVirtualThreads() {
+        int permits = getConcurrentJobsLimit();
+        concurrentJobsSemaphore = new Semaphore(permits);
+
+        if (executorService == null) {
+            executorService = createVirtualThreadPerTaskExecutor();
+            if (executorService != null) {
+                LOGGER.info("Creating virtual thread executor with at most {} concurrent jobs", permits);
+            } else {
+                LOGGER.warn("Virtual threads are not supported by this Java runtime, creating a new platform thread per job with at most {} concurrent jobs", permits);
+                BasicThreadFactory threadFactory = new BasicThreadFactory.Builder().namingPattern(threadPoolNamingPattern).build();
+                executorService = Executors.newCachedThreadPool(threadFactory);
+            }
+        }
+    }
+
+    protected int getConcurrentJobsLimit() {
+        return maxConcurrentJobs > 0 ? maxConcurrentJobs : maxPoolSize;
+    }
+
+    /**
+     * Returns Executors.newVirtualThreadPerTaskExecutor() when running on a Java runtime that supports virtual threads, null otherwise.
+     * Looked up reflectively, as the engine is compiled against an older Java version.
+     */
+    protected ExecutorService createVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
     protected void stopExecutingAsyncJobs() {
         if (executorService != null) {
 
@@ -196,6 +302,7 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
 
             executorService = null;
         }
+        concurrentJobsSemaphore = null;
     }
 
     /** Starts the acquisition thread */
@@ -317,7 +424,10 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
 
     @Override
     public int getRemainingCapacity() {
-        if (threadPoolQueue != null) {
+        Semaphore semaphore = concurrentJobsSemaphore;
+        if (semaphore != null) {
+            return semaphore.availablePermits();
+        } else if (threadPoolQueue != null) {
             return threadPoolQueue.remainingCapacity();
         } else {
             // return plenty of remaining capacity if there's no thread pool queue
@@ -385,6 +495,22 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
         this.executorService = executorService;
     }
 
+    public boolean isUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+
+    public void setUseVirtualThreads(boolean useVirtualThreads) {
+        this.useVirtualThreads = useVirtualThreads;
+    }
+
+    public int getMaxConcurrentJobs() {
+        return maxConcurrentJobs;
+    }
+
+    public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+        this.maxConcurrentJobs = maxConcurrentJobs;
+    }
+
     public String getThreadPoolNamingPattern() {
         return threadPoolNamingPattern;
     }
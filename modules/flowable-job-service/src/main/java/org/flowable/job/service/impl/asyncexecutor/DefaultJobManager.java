@@ -15,6 +15,7 @@ package org.flowable.job.service.impl.asyncexecutor;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
@@ -66,6 +67,9 @@ public class DefaultJobManager implements JobManager {
 
     public static final String CYCLE_TYPE = "cycle";
 
+    protected static final String JOB_ADDED_TRANSACTION_LISTENERS_KEY = "jobAddedTransactionListeners";
+    protected static final String ASYNC_JOB_ADDED_NOTIFICATIONS_KEY = "asyncJobAddedNotifications";
+
     protected JobServiceConfiguration jobServiceConfiguration;
 
     public DefaultJobManager() {
@@ -426,19 +430,40 @@ public class DefaultJobManager implements JobManager {
     }
     
     protected void createHintListeners(AsyncExecutor asyncExecutor, JobInfoEntity job) {
+        // All jobs created in the same transaction (or command context) are handed off to the async executor by a single listener
         CommandContext commandContext = CommandContextUtil.getCommandContext();
         if (Context.getTransactionContext() != null) {
-            JobAddedTransactionListener jobAddedTransactionListener = new JobAddedTransactionListener(job, asyncExecutor,
-                            CommandContextUtil.getJobServiceConfiguration(commandContext).getCommandExecutor());
-            Context.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, jobAddedTransactionListener);
+            Map<AsyncExecutor, JobAddedTransactionListener> jobAddedTransactionListeners = getHintListeners(commandContext, JOB_ADDED_TRANSACTION_LISTENERS_KEY);
+            JobAddedTransactionListener jobAddedTransactionListener = jobAddedTransactionListeners.get(asyncExecutor);
+            if (jobAddedTransactionListener == null || !jobAddedTransactionListener.addJob(job)) {
+                jobAddedTransactionListener = new JobAddedTransactionListener(job, asyncExecutor,
+                                CommandContextUtil.getJobServiceConfiguration(commandContext).getCommandExecutor());
+                Context.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, jobAddedTransactionListener);
+                jobAddedTransactionListeners.put(asyncExecutor, jobAddedTransactionListener);
+            }
             
         } else {
-            AsyncJobAddedNotification jobAddedNotification = new AsyncJobAddedNotification(job, asyncExecutor);
-            commandContext.addCloseListener(jobAddedNotification);
+            Map<AsyncExecutor, AsyncJobAddedNotification> jobAddedNotifications = getHintListeners(commandContext, ASYNC_JOB_ADDED_NOTIFICATIONS_KEY);
+            AsyncJobAddedNotification jobAddedNotification = jobAddedNotifications.get(asyncExecutor);
+            if (jobAddedNotification == null || !jobAddedNotification.addJob(job)) {
+                jobAddedNotification = new AsyncJobAddedNotification(job, asyncExecutor);
+                commandContext.addCloseListener(jobAddedNotification);
+                jobAddedNotifications.put(asyncExecutor, jobAddedNotification);
+            }
             
         }
     }
 
+    @SuppressWarnings("unchecked")
+    protected <T> Map<AsyncExecutor, T> getHintListeners(CommandContext commandContext, String key) {
+        Map<AsyncExecutor, T> hintListeners = (Map<AsyncExecutor, T>) commandContext.getAttribute(key);
+        if (hintListeners == null) {
+            hintListeners = new HashMap<>();
+            commandContext.addAttribute(key, hintListeners);
+        }
+        return hintListeners;
+    }
+
     @Override
     public String getBusinessCalendarName(JobEntity timerEntity, VariableScope variableScope) {
         String calendarValue = null;
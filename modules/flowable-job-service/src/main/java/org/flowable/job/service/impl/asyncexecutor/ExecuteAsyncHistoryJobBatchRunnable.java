@@ -0,0 +1,74 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.job.api.JobInfo;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.cmd.ExecuteAsyncHistoryJobBatchCmd;
+import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
+import org.flowable.job.service.impl.persistence.entity.JobInfoEntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes a batch of history jobs in one transaction. When that fails (for example because the history data of one
+ * of the jobs can't be applied yet), the transaction is rolled back and every job is executed by its own runnable instead,
+ * so failures are handled per job, exactly like without batching.
+ */
+public class ExecuteAsyncHistoryJobBatchRunnable implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecuteAsyncHistoryJobBatchRunnable.class);
+
+    protected List<String> jobIds;
+    protected List<Runnable> jobRunnables;
+    protected JobServiceConfiguration jobServiceConfiguration;
+    protected JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager;
+
+    public ExecuteAsyncHistoryJobBatchRunnable(List<? extends JobInfo> jobs, List<Runnable> jobRunnables,
+            JobServiceConfiguration jobServiceConfiguration, JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager) {
+
+        this.jobIds = new ArrayList<>(jobs.size());
+        for (JobInfo job : jobs) {
+            jobIds.add(job.getId());
+        }
+        this.jobRunnables = jobRunnables;
+        this.jobServiceConfiguration = jobServiceConfiguration;
+        this.jobEntityManager = jobEntityManager;
+    }
+
+    @Override
+    public void run() {
+        try {
+            jobServiceConfiguration.getCommandExecutor().execute(new ExecuteAsyncHistoryJobBatchCmd(jobIds, jobEntityManager));
+
+        } catch (Throwable exception) {
+            LOGGER.debug("Could not execute history jobs {} together, executing them one by one. Exception message: {}", jobIds, exception.getMessage());
+            executeJobsSeparately();
+        }
+    }
+
+    protected void executeJobsSeparately() {
+        for (Runnable jobRunnable : jobRunnables) {
+            try {
+                jobRunnable.run();
+            } catch (Throwable exception) {
+                // Don't let one job prevent the others from being executed
+                LOGGER.error("Error while executing history job", exception);
+            }
+        }
+    }
+
+}
@@ -12,6 +12,9 @@
  */
 package org.flowable.job.service.impl.asyncexecutor;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.flowable.common.engine.impl.cfg.TransactionListener;
 import org.flowable.common.engine.impl.cfg.TransactionPropagation;
 import org.flowable.common.engine.impl.interceptor.Command;
@@ -23,34 +26,58 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Hands off the jobs created in a transaction to the async executor once that transaction is committed.
+ * All jobs of the same transaction are handed off together (see {@link #addJob(JobInfoEntity)}), using one command.
+ *
  * @author Tijs Rademakers
  */
 public class JobAddedTransactionListener implements TransactionListener {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JobAddedTransactionListener.class);
 
-    protected JobInfoEntity job;
+    protected List<JobInfoEntity> jobs = new ArrayList<>();
     protected AsyncExecutor asyncExecutor;
     protected CommandExecutor commandExecutor;
+    protected boolean executed;
 
     public JobAddedTransactionListener(JobInfoEntity job, AsyncExecutor asyncExecutor, CommandExecutor commandExecutor) {
-        this.job = job;
+        this.jobs.add(job);
         this.asyncExecutor = asyncExecutor;
         this.commandExecutor = commandExecutor;
     }
 
+    /**
+     * Adds a job to hand off when the transaction is committed.
+     * Returns false when this listener has already been executed, in which case a new listener is needed.
+     */
+    public boolean addJob(JobInfoEntity job) {
+        if (executed) {
+            return false;
+        }
+        jobs.add(job);
+        return true;
+    }
+
     @Override
     public void execute(CommandContext commandContext) {
+        executed = true;
         CommandConfig commandConfig = new CommandConfig(false, TransactionPropagation.REQUIRES_NEW);
         commandExecutor.execute(commandConfig, new Command<Void>() {
             @Override
             public Void execute(CommandContext commandContext) {
                 if (LOGGER.isTraceEnabled()) {
-                    LOGGER.trace("notifying job executor of new job");
+                    LOGGER.trace("notifying job executor of {} new job(s)", jobs.size());
+                }
+                for (JobInfoEntity job : jobs) {
+                    asyncExecutor.executeAsyncJob(job);
                 }
-                asyncExecutor.executeAsyncJob(job);
                 return null;
             }
         });
     }
+
+    public List<JobInfoEntity> getJobs() {
+        return jobs;
+    }
+
 }
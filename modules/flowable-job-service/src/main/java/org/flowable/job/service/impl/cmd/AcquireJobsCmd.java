@@ -12,7 +12,9 @@
  */
 package org.flowable.job.service.impl.cmd;
 
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 
@@ -32,40 +34,79 @@ public class AcquireJobsCmd implements Command<AcquiredJobEntities> {
 
     private final AsyncExecutor asyncExecutor;
     private final int remainingCapacity;
+    private final int maxJobs;
     private final JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager;
     
     public AcquireJobsCmd(AsyncExecutor asyncExecutor) {
         this.asyncExecutor = asyncExecutor;
         this.remainingCapacity = Integer.MAX_VALUE;
+        this.maxJobs = -1;
         this.jobEntityManager = asyncExecutor.getJobServiceConfiguration().getJobEntityManager(); // backwards compatibility
     }
 
     public AcquireJobsCmd(AsyncExecutor asyncExecutor, int remainingCapacity, JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager) {
+        this(asyncExecutor, remainingCapacity, -1, jobEntityManager);
+    }
+
+    /**
+     * @param maxJobs the maximum number of jobs to acquire, or -1 to use the max async jobs due per acquisition of the async executor
+     */
+    public AcquireJobsCmd(AsyncExecutor asyncExecutor, int remainingCapacity, int maxJobs, JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager) {
         this.asyncExecutor = asyncExecutor;
         this.remainingCapacity = remainingCapacity;
+        this.maxJobs = maxJobs;
         this.jobEntityManager = jobEntityManager;
     }
 
     @Override
     public AcquiredJobEntities execute(CommandContext commandContext) {
-        int maxResults = Math.min(remainingCapacity, asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
+        int maxResults = Math.min(remainingCapacity, maxJobs >= 0 ? maxJobs : asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
 
         List<? extends JobInfoEntity> jobs = jobEntityManager.findJobsToExecute(new Page(0, maxResults)); 
         AcquiredJobEntities acquiredJobs = new AcquiredJobEntities();
 
-        for (JobInfoEntity job : jobs) {
-            lockJob(commandContext, job, asyncExecutor.getAsyncJobLockTimeInMillis());
-            acquiredJobs.addJob(job);
+        if (CommandContextUtil.getJobServiceConfiguration(commandContext).isAsyncExecutorBulkLockEnabled()) {
+            lockJobsInBulk(commandContext, jobs, acquiredJobs);
+
+        } else {
+            for (JobInfoEntity job : jobs) {
+                lockJob(commandContext, job, asyncExecutor.getAsyncJobLockTimeInMillis());
+                acquiredJobs.addJob(job);
+            }
         }
 
         return acquiredJobs;
     }
 
     protected void lockJob(CommandContext commandContext, JobInfoEntity job, int lockTimeInMillis) {
+        job.setLockOwner(asyncExecutor.getLockOwner());
+        job.setLockExpirationTime(getLockExpirationTime(commandContext, lockTimeInMillis));
+    }
+
+    /**
+     * Locks all jobs with one update statement. Jobs locked by another executor in the meantime are skipped,
+     * instead of failing the whole acquisition with an optimistic locking exception.
+     */
+    protected void lockJobsInBulk(CommandContext commandContext, List<? extends JobInfoEntity> jobs, AcquiredJobEntities acquiredJobs) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        List<String> jobIds = new ArrayList<>(jobs.size());
+        for (JobInfoEntity job : jobs) {
+            jobIds.add(job.getId());
+        }
+
+        Date lockExpirationTime = getLockExpirationTime(commandContext, asyncExecutor.getAsyncJobLockTimeInMillis());
+        for (JobInfoEntity lockedJob : jobEntityManager.lockJobs(jobIds, asyncExecutor.getLockOwner(), lockExpirationTime)) {
+            acquiredJobs.addJob(lockedJob);
+        }
+    }
+
+    protected Date getLockExpirationTime(CommandContext commandContext, int lockTimeInMillis) {
         GregorianCalendar gregorianCalendar = new GregorianCalendar();
         gregorianCalendar.setTime(CommandContextUtil.getJobServiceConfiguration(commandContext).getClock().getCurrentTime());
         gregorianCalendar.add(Calendar.MILLISECOND, lockTimeInMillis);
-        job.setLockOwner(asyncExecutor.getLockOwner());
-        job.setLockExpirationTime(gregorianCalendar.getTime());
+        return gregorianCalendar.getTime();
     }
 }
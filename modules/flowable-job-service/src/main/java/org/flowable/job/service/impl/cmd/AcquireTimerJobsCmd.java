@@ -12,7 +12,9 @@
  */
 package org.flowable.job.service.impl.cmd;
 
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 
@@ -41,9 +43,14 @@ public class AcquireTimerJobsCmd implements Command<AcquiredTimerJobEntities> {
         List<TimerJobEntity> timerJobs = CommandContextUtil.getTimerJobEntityManager(commandContext)
                 .findTimerJobsToExecute(new Page(0, asyncExecutor.getMaxAsyncJobsDuePerAcquisition()));
 
-        for (TimerJobEntity job : timerJobs) {
-            lockJob(commandContext, job, asyncExecutor.getAsyncJobLockTimeInMillis());
-            acquiredJobs.addJob(job);
+        if (CommandContextUtil.getJobServiceConfiguration(commandContext).isAsyncExecutorBulkLockEnabled()) {
+            lockJobsInBulk(commandContext, timerJobs, acquiredJobs);
+
+        } else {
+            for (TimerJobEntity job : timerJobs) {
+                lockJob(commandContext, job, asyncExecutor.getAsyncJobLockTimeInMillis());
+                acquiredJobs.addJob(job);
+            }
         }
 
         return acquiredJobs;
@@ -54,10 +61,36 @@ public class AcquireTimerJobsCmd implements Command<AcquiredTimerJobEntities> {
         // This will trigger an optimistic locking exception when two concurrent executors
         // try to lock, as the revision will not match.
 
+        job.setLockOwner(asyncExecutor.getLockOwner());
+        job.setLockExpirationTime(getLockExpirationTime(commandContext, lockTimeInMillis));
+    }
+
+    /**
+     * Locks all timer jobs with one update statement. Timer jobs locked by another executor in the meantime are skipped,
+     * instead of failing the whole acquisition with an optimistic locking exception.
+     */
+    protected void lockJobsInBulk(CommandContext commandContext, List<TimerJobEntity> timerJobs, AcquiredTimerJobEntities acquiredJobs) {
+        if (timerJobs.isEmpty()) {
+            return;
+        }
+
+        List<String> jobIds = new ArrayList<>(timerJobs.size());
+        for (TimerJobEntity timerJob : timerJobs) {
+            jobIds.add(timerJob.getId());
+        }
+
+        Date lockExpirationTime = getLockExpirationTime(commandContext, asyncExecutor.getAsyncJobLockTimeInMillis());
+        List<TimerJobEntity> lockedTimerJobs = CommandContextUtil.getTimerJobEntityManager(commandContext)
+                .lockTimerJobs(jobIds, asyncExecutor.getLockOwner(), lockExpirationTime);
+        for (TimerJobEntity lockedTimerJob : lockedTimerJobs) {
+            acquiredJobs.addJob(lockedTimerJob);
+        }
+    }
+
+    protected Date getLockExpirationTime(CommandContext commandContext, int lockTimeInMillis) {
         GregorianCalendar gregorianCalendar = new GregorianCalendar();
         gregorianCalendar.setTime(CommandContextUtil.getJobServiceConfiguration(commandContext).getClock().getCurrentTime());
         gregorianCalendar.add(Calendar.MILLISECOND, lockTimeInMillis);
-        job.setLockOwner(asyncExecutor.getLockOwner());
-        job.setLockExpirationTime(gregorianCalendar.getTime());
+        return gregorianCalendar.getTime();
     }
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.api.delegate.event.FlowableEngineEventType;
+import org.flowable.common.engine.api.delegate.event.FlowableEventDispatcher;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.job.service.HistoryJobHandler;
+import org.flowable.job.service.HistoryJobProcessor;
+import org.flowable.job.service.HistoryJobProcessorContext;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.event.impl.FlowableJobEventBuilder;
+import org.flowable.job.service.impl.HistoryJobProcessorContextImpl;
+import org.flowable.job.service.impl.history.async.AbstractAsyncHistoryJobHandler;
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
+import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
+import org.flowable.job.service.impl.persistence.entity.JobInfoEntityManager;
+import org.flowable.job.service.impl.util.CommandContextUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes a batch of history jobs in one transaction. The jobs of an {@link AbstractAsyncHistoryJobHandler} are executed together
+ * (see {@link AbstractAsyncHistoryJobHandler#executeBatch(List, CommandContext)}), other jobs one after the other.
+ */
+public class ExecuteAsyncHistoryJobBatchCmd implements Command<Object> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecuteAsyncHistoryJobBatchCmd.class);
+
+    protected List<String> jobIds;
+    protected JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager;
+
+    public ExecuteAsyncHistoryJobBatchCmd(List<String> jobIds, JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager) {
+        this.jobIds = jobIds;
+        this.jobEntityManager = jobEntityManager;
+    }
+
+    @Override
+    public Object execute(CommandContext commandContext) {
+        if (jobIds == null || jobIds.isEmpty()) {
+            throw new FlowableIllegalArgumentException("jobIds is null or empty");
+        }
+
+        JobServiceConfiguration jobServiceConfiguration = CommandContextUtil.getJobServiceConfiguration(commandContext);
+        if (jobEntityManager == null) {
+            jobEntityManager = jobServiceConfiguration.getHistoryJobEntityManager();
+        }
+
+        List<HistoryJobEntity> jobs = new ArrayList<>(jobIds.size());
+        for (String jobId : jobIds) {
+            // Refetched, as the job could have been deleted in the meantime (see ExecuteAsyncJobCmd)
+            JobInfoEntity job = jobEntityManager.findById(jobId);
+            if (job instanceof HistoryJobEntity) {
+                jobs.add((HistoryJobEntity) job);
+            } else if (job != null) {
+                CommandContextUtil.getJobManager(commandContext).execute(job);
+            } else {
+                LOGGER.debug("History job {} does not exist anymore and will not be executed.", jobId);
+            }
+        }
+
+        // The history data of older jobs is applied first. The sort is stable: jobs created at the same time keep their acquisition order.
+        jobs.sort(Comparator.comparing(HistoryJobEntity::getCreateTime, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        for (Map.Entry<String, List<HistoryJobEntity>> jobsForType : groupByJobHandlerType(jobs).entrySet()) {
+            executeHistoryJobs(commandContext, jobServiceConfiguration, jobsForType.getKey(), jobsForType.getValue());
+        }
+
+        FlowableEventDispatcher eventDispatcher = CommandContextUtil.getEventDispatcher(commandContext);
+        for (HistoryJobEntity job : jobs) {
+            jobServiceConfiguration.getHistoryJobEntityManager().delete(job);
+
+            if (eventDispatcher != null && eventDispatcher.isEnabled()) {
+                eventDispatcher.dispatchEvent(FlowableJobEventBuilder.createEntityEvent(FlowableEngineEventType.JOB_EXECUTION_SUCCESS, job));
+            }
+        }
+
+        return null;
+    }
+
+    protected Map<String, List<HistoryJobEntity>> groupByJobHandlerType(List<HistoryJobEntity> jobs) {
+        Map<String, List<HistoryJobEntity>> jobsByType = new LinkedHashMap<>();
+        for (HistoryJobEntity job : jobs) {
+            if (job.getJobHandlerType() == null) {
+                throw new FlowableException("Async history job has no job handler type");
+            }
+            jobsByType.computeIfAbsent(job.getJobHandlerType(), type -> new ArrayList<>()).add(job);
+        }
+        return jobsByType;
+    }
+
+    protected void executeHistoryJobs(CommandContext commandContext, JobServiceConfiguration jobServiceConfiguration,
+            String jobHandlerType, List<HistoryJobEntity> jobs) {
+
+        HistoryJobHandler jobHandler = jobServiceConfiguration.getHistoryJobHandlers().get(jobHandlerType);
+        if (jobHandler == null) {
+            throw new FlowableException("No history job handler registered for type " + jobHandlerType);
+        }
+
+        for (HistoryJobEntity job : jobs) {
+            callHistoryJobProcessors(jobServiceConfiguration, job);
+        }
+
+        if (jobHandler instanceof AbstractAsyncHistoryJobHandler) {
+            ((AbstractAsyncHistoryJobHandler) jobHandler).executeBatch(jobs, commandContext);
+        } else {
+            for (HistoryJobEntity job : jobs) {
+                jobHandler.execute(job, job.getJobHandlerConfiguration(), commandContext);
+            }
+        }
+    }
+
+    protected void callHistoryJobProcessors(JobServiceConfiguration jobServiceConfiguration, HistoryJobEntity job) {
+        if (jobServiceConfiguration.getHistoryJobProcessors() != null) {
+            HistoryJobProcessorContextImpl historyJobProcessorContext = new HistoryJobProcessorContextImpl(HistoryJobProcessorContext.Phase.BEFORE_EXECUTE, job);
+            for (HistoryJobProcessor historyJobProcessor : jobServiceConfiguration.getHistoryJobProcessors()) {
+                historyJobProcessor.process(historyJobProcessorContext);
+            }
+        }
+    }
+
+}
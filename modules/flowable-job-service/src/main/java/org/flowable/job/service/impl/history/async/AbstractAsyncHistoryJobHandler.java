@@ -12,6 +12,13 @@
  */
 package org.flowable.job.service.impl.history.async;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.job.service.HistoryJobHandler;
@@ -20,15 +27,17 @@ import org.flowable.job.service.impl.util.CommandContextUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 
 public abstract class AbstractAsyncHistoryJobHandler implements HistoryJobHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractAsyncHistoryJobHandler.class);
     
     protected boolean isAsyncHistoryJsonGroupingEnabled;
+    protected HistoryJsonBatchMerger historyJsonBatchMerger;
     protected String jobType;
     
     public AbstractAsyncHistoryJobHandler(String jobType) {
@@ -46,16 +55,7 @@ public abstract class AbstractAsyncHistoryJobHandler implements HistoryJobHandle
         if (job.getAdvancedJobHandlerConfigurationByteArrayRef() != null) {
             try {
 
-                byte[] bytes = getJobBytes(job);
-                JsonNode historyNode = objectMapper.readTree(bytes);
-                if (isAsyncHistoryJsonGroupingEnabled() && historyNode.isArray()) {
-                    ArrayNode arrayNode = (ArrayNode) historyNode;
-                    for (JsonNode jsonNode : arrayNode) {
-                        processHistoryJson(commandContext, job, jsonNode);
-                    }
-                } else {
-                    processHistoryJson(commandContext, job, historyNode);
-                }
+                readHistoryNodes(job, objectMapper, historyNode -> processHistoryJson(commandContext, job, historyNode));
                 
             } catch (AsyncHistoryJobNotApplicableException e) {
                 throw e;
@@ -71,6 +71,72 @@ public abstract class AbstractAsyncHistoryJobHandler implements HistoryJobHandle
         }
     }
 
+    /**
+     * Executes jobs of this handler that are executed together in one transaction. When a {@link HistoryJsonBatchMerger} is set,
+     * the history data of all jobs is merged before being processed.
+     */
+    public void executeBatch(List<HistoryJobEntity> jobs, CommandContext commandContext) {
+        if (historyJsonBatchMerger == null) {
+            for (HistoryJobEntity job : jobs) {
+                execute(job, job.getJobHandlerConfiguration(), commandContext);
+            }
+            return;
+        }
+
+        ObjectMapper objectMapper = CommandContextUtil.getJobServiceConfiguration(commandContext).getObjectMapper();
+        List<JsonNode> historyNodes = new ArrayList<>();
+        Map<JsonNode, HistoryJobEntity> historyNodeJobs = new IdentityHashMap<>();
+        for (HistoryJobEntity job : jobs) {
+            if (job.getAdvancedJobHandlerConfigurationByteArrayRef() != null) {
+                try {
+                    readHistoryNodes(job, objectMapper, historyNode -> {
+                        historyNodes.add(historyNode);
+                        historyNodeJobs.put(historyNode, job);
+                    });
+                } catch (Exception e) {
+                    throw new FlowableException("Could not deserialize async history json for job (id=" + job.getId() + ")", e);
+                }
+            }
+        }
+
+        for (JsonNode historyNode : historyJsonBatchMerger.merge(historyNodes)) {
+            // Nodes created by the merger are attributed to the first job
+            HistoryJobEntity job = historyNodeJobs.containsKey(historyNode) ? historyNodeJobs.get(historyNode) : jobs.get(0);
+            processHistoryJson(commandContext, job, historyNode);
+        }
+    }
+
+    /**
+     * Processes history data that is not stored in the given job, like the data written to an {@link AsyncHistorySink}.
+     * An array is processed as a group of history data.
+     */
+    public void executeHistoryData(HistoryJobEntity job, JsonNode historyNode, CommandContext commandContext) {
+        if (historyNode.isArray()) {
+            for (JsonNode jsonNode : historyNode) {
+                processHistoryJson(commandContext, job, jsonNode);
+            }
+        } else {
+            processHistoryJson(commandContext, job, historyNode);
+        }
+    }
+
+    /**
+     * Reads the history data of the job and hands it to the given consumer. When grouping is enabled, the elements of grouped history data
+     * are parsed and handed over one at a time, instead of first parsing the whole group into one tree.
+     */
+    protected void readHistoryNodes(HistoryJobEntity job, ObjectMapper objectMapper, Consumer<JsonNode> historyNodeConsumer) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(getJobBytes(job))) {
+            if (isAsyncHistoryJsonGroupingEnabled() && parser.nextToken() == JsonToken.START_ARRAY) {
+                JsonToken token;
+                while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+                    historyNodeConsumer.accept(objectMapper.readTree(parser));
+                }
+            } else {
+                historyNodeConsumer.accept(objectMapper.readTree(parser));
+            }
+        }
+    }
+
     protected byte[] getJobBytes(HistoryJobEntity job) {
         return job.getAdvancedJobHandlerConfigurationByteArrayRef().getBytes();
     }
@@ -84,5 +150,13 @@ public abstract class AbstractAsyncHistoryJobHandler implements HistoryJobHandle
     public void setAsyncHistoryJsonGroupingEnabled(boolean isAsyncHistoryJsonGroupingEnabled) {
         this.isAsyncHistoryJsonGroupingEnabled = isAsyncHistoryJsonGroupingEnabled;
     }
+
+    public HistoryJsonBatchMerger getHistoryJsonBatchMerger() {
+        return historyJsonBatchMerger;
+    }
+
+    public void setHistoryJsonBatchMerger(HistoryJsonBatchMerger historyJsonBatchMerger) {
+        this.historyJsonBatchMerger = historyJsonBatchMerger;
+    }
     
 }
@@ -0,0 +1,164 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.flowable.common.engine.api.FlowableException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Reads the json nodes written by an {@link AsyncHistoryBinaryWriter}, directly from the underlying stream.
+ * With {@link #readNodes(Consumer)}, the elements of grouped history data are handed over one by one while reading,
+ * so that the whole group never needs to be in memory as one tree.
+ */
+public class AsyncHistoryBinaryReader {
+
+    protected DataInputStream inputStream;
+    protected JsonNodeFactory nodeFactory;
+    protected List<String> sharedStrings = new ArrayList<>();
+
+    public AsyncHistoryBinaryReader(InputStream inputStream, JsonNodeFactory nodeFactory) throws IOException {
+        this.inputStream = new DataInputStream(new BufferedInputStream(inputStream));
+        this.nodeFactory = nodeFactory;
+
+        byte[] magic = new byte[AsyncHistoryBinaryWriter.MAGIC.length];
+        this.inputStream.readFully(magic);
+        int version = this.inputStream.read();
+        if (magic[0] != AsyncHistoryBinaryWriter.MAGIC[0] || magic[1] != AsyncHistoryBinaryWriter.MAGIC[1] || version != AsyncHistoryBinaryWriter.VERSION) {
+            throw new FlowableException("Unsupported binary async history data (version " + version + ")");
+        }
+    }
+
+    public JsonNode readNode() throws IOException {
+        return readNode(inputStream.readUnsignedByte());
+    }
+
+    /**
+     * Reads the next node and hands it to the given consumer. When the node is an array, its elements are read and handed over one at a time instead.
+     */
+    public void readNodes(Consumer<JsonNode> nodeConsumer) throws IOException {
+        int type = inputStream.readUnsignedByte();
+        if (type == AsyncHistoryBinaryWriter.TYPE_ARRAY) {
+            int size = readLength();
+            for (int i = 0; i < size; i++) {
+                nodeConsumer.accept(readNode());
+            }
+        } else {
+            nodeConsumer.accept(readNode(type));
+        }
+    }
+
+    protected JsonNode readNode(int type) throws IOException {
+        switch (type) {
+            case AsyncHistoryBinaryWriter.TYPE_NULL:
+                return nodeFactory.nullNode();
+            case AsyncHistoryBinaryWriter.TYPE_TRUE:
+                return nodeFactory.booleanNode(true);
+            case AsyncHistoryBinaryWriter.TYPE_FALSE:
+                return nodeFactory.booleanNode(false);
+            case AsyncHistoryBinaryWriter.TYPE_LONG:
+                long value = unZigZag(readVarLong());
+                if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                    return nodeFactory.numberNode((int) value);
+                }
+                return nodeFactory.numberNode(value);
+            case AsyncHistoryBinaryWriter.TYPE_DOUBLE:
+                return nodeFactory.numberNode(inputStream.readDouble());
+            case AsyncHistoryBinaryWriter.TYPE_DECIMAL:
+                return nodeFactory.numberNode(new BigDecimal(readString()));
+            case AsyncHistoryBinaryWriter.TYPE_BIG_INTEGER:
+                return nodeFactory.numberNode(new BigInteger(readString()));
+            case AsyncHistoryBinaryWriter.TYPE_STRING:
+                return nodeFactory.textNode(readString());
+            case AsyncHistoryBinaryWriter.TYPE_BINARY:
+                byte[] bytes = new byte[readLength()];
+                inputStream.readFully(bytes);
+                return nodeFactory.binaryNode(bytes);
+            case AsyncHistoryBinaryWriter.TYPE_ARRAY:
+                int size = readLength();
+                ArrayNode arrayNode = nodeFactory.arrayNode();
+                for (int i = 0; i < size; i++) {
+                    arrayNode.add(readNode());
+                }
+                return arrayNode;
+            case AsyncHistoryBinaryWriter.TYPE_OBJECT:
+                int fieldCount = readLength();
+                ObjectNode objectNode = nodeFactory.objectNode();
+                for (int i = 0; i < fieldCount; i++) {
+                    String fieldName = readString();
+                    objectNode.set(fieldName, readNode());
+                }
+                return objectNode;
+            default:
+                throw new FlowableException("Unknown binary async history node type " + type);
+        }
+    }
+
+    protected String readString() throws IOException {
+        int index = readLength();
+        if (index > 0) {
+            return sharedStrings.get(index - 1);
+        }
+
+        byte[] bytes = new byte[readLength()];
+        inputStream.readFully(bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+
+        if (value.length() <= AsyncHistoryBinaryWriter.MAX_SHARED_STRING_LENGTH && sharedStrings.size() < AsyncHistoryBinaryWriter.MAX_SHARED_STRINGS) {
+            sharedStrings.add(value);
+        }
+        return value;
+    }
+
+    protected int readLength() throws IOException {
+        long length = readVarLong();
+        if (length > Integer.MAX_VALUE) {
+            throw new FlowableException("Invalid length in binary async history data: " + length);
+        }
+        return (int) length;
+    }
+
+    protected long readVarLong() throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift > 63) {
+                throw new FlowableException("Invalid variable length number in binary async history data");
+            }
+            b = inputStream.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    protected long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+}
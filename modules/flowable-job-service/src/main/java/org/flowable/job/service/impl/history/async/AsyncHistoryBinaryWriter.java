@@ -0,0 +1,157 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Writes async history json nodes in a compact binary format, directly to the underlying stream. Compared to json:
+ * <ul>
+ * <li>every field name and short string is written once: repeated occurrences (like the field names and ids of grouped history data)
+ * refer to the first one by its index</li>
+ * <li>lengths and integral numbers are written as variable length integers</li>
+ * <li>no quotes, separators or escaping are needed</li>
+ * </ul>
+ * The nodes are read back with an {@link AsyncHistoryBinaryReader}. Output is buffered: call {@link #flush()} when done writing.
+ */
+public class AsyncHistoryBinaryWriter {
+
+    public static final byte[] MAGIC = { 'F', 'H' };
+    public static final int VERSION = 1;
+
+    public static final int TYPE_NULL = 0;
+    public static final int TYPE_TRUE = 1;
+    public static final int TYPE_FALSE = 2;
+    public static final int TYPE_LONG = 3;
+    public static final int TYPE_DOUBLE = 4;
+    public static final int TYPE_DECIMAL = 5;
+    public static final int TYPE_BIG_INTEGER = 6;
+    public static final int TYPE_STRING = 7;
+    public static final int TYPE_BINARY = 8;
+    public static final int TYPE_ARRAY = 9;
+    public static final int TYPE_OBJECT = 10;
+
+    // Longer strings (like serialized variable values) are unlikely to be repeated
+    public static final int MAX_SHARED_STRING_LENGTH = 256;
+    public static final int MAX_SHARED_STRINGS = 65536;
+
+    protected DataOutputStream outputStream;
+    protected Map<String, Integer> sharedStrings = new HashMap<>();
+
+    public AsyncHistoryBinaryWriter(OutputStream outputStream) throws IOException {
+        this.outputStream = new DataOutputStream(new BufferedOutputStream(outputStream));
+        this.outputStream.write(MAGIC);
+        this.outputStream.write(VERSION);
+    }
+
+    public void writeNode(JsonNode node) throws IOException {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            outputStream.write(TYPE_NULL);
+
+        } else if (node.isBoolean()) {
+            outputStream.write(node.booleanValue() ? TYPE_TRUE : TYPE_FALSE);
+
+        } else if (node.isIntegralNumber()) {
+            if (node.canConvertToLong()) {
+                outputStream.write(TYPE_LONG);
+                writeVarLong(zigZag(node.longValue()));
+            } else {
+                outputStream.write(TYPE_BIG_INTEGER);
+                writeString(node.bigIntegerValue().toString());
+            }
+
+        } else if (node.isBigDecimal()) {
+            outputStream.write(TYPE_DECIMAL);
+            writeString(node.decimalValue().toString());
+
+        } else if (node.isNumber()) {
+            outputStream.write(TYPE_DOUBLE);
+            outputStream.writeDouble(node.doubleValue());
+
+        } else if (node.isTextual()) {
+            outputStream.write(TYPE_STRING);
+            writeString(node.textValue());
+
+        } else if (node.isBinary()) {
+            byte[] bytes = node.binaryValue();
+            outputStream.write(TYPE_BINARY);
+            writeVarLong(bytes.length);
+            outputStream.write(bytes);
+
+        } else if (node.isArray()) {
+            outputStream.write(TYPE_ARRAY);
+            writeVarLong(node.size());
+            for (JsonNode element : node) {
+                writeNode(element);
+            }
+
+        } else if (node.isObject()) {
+            outputStream.write(TYPE_OBJECT);
+            writeVarLong(node.size());
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                writeString(field.getKey());
+                writeNode(field.getValue());
+            }
+
+        } else {
+            // POJO nodes are written as their textual representation, like json would
+            outputStream.write(TYPE_STRING);
+            writeString(node.asText());
+        }
+    }
+
+    protected void writeString(String value) throws IOException {
+        Integer index = sharedStrings.get(value);
+        if (index != null) {
+            writeVarLong(index + 1);
+            return;
+        }
+
+        writeVarLong(0);
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        outputStream.write(bytes);
+
+        if (value.length() <= MAX_SHARED_STRING_LENGTH && sharedStrings.size() < MAX_SHARED_STRINGS) {
+            sharedStrings.put(value, sharedStrings.size());
+        }
+    }
+
+    protected void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            outputStream.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        outputStream.write((int) value);
+    }
+
+    protected long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    public void flush() throws IOException {
+        outputStream.flush();
+    }
+
+}
@@ -0,0 +1,59 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Handles the history jobs with data written by an {@link AsyncHistoryBinaryWriter}, gzipped or not.
+ * The data is decoded while it is being decompressed, and grouped history data is processed element by element while decoding.
+ */
+public class AsyncHistoryJobBinaryHandler extends AsyncHistoryJobHandler {
+
+    public AsyncHistoryJobBinaryHandler(String jobType) {
+        super(jobType);
+    }
+
+    @Override
+    protected void readHistoryNodes(HistoryJobEntity job, ObjectMapper objectMapper, Consumer<JsonNode> historyNodeConsumer) throws IOException {
+        byte[] bytes = getJobBytes(job);
+        InputStream inputStream = new ByteArrayInputStream(bytes);
+        if (isGzipped(bytes)) {
+            inputStream = new GZIPInputStream(inputStream);
+        }
+
+        try (InputStream historyInputStream = inputStream) {
+            AsyncHistoryBinaryReader reader = new AsyncHistoryBinaryReader(historyInputStream, objectMapper.getNodeFactory());
+            if (isAsyncHistoryJsonGroupingEnabled()) {
+                reader.readNodes(historyNodeConsumer);
+            } else {
+                historyNodeConsumer.accept(reader.readNode());
+            }
+        }
+    }
+
+    protected boolean isGzipped(byte[] bytes) {
+        return bytes.length >= 2 && (bytes[0] & 0xFF) == (GZIPInputStream.GZIP_MAGIC & 0xFF) 
+                && (bytes[1] & 0xFF) == ((GZIPInputStream.GZIP_MAGIC >> 8) & 0xFF);
+    }
+
+}
@@ -0,0 +1,36 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async;
+
+import java.util.List;
+
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.history.async.log.AsyncHistoryLogSink;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A destination for async history data other than history jobs in the runtime database, see {@link AsyncHistorySinkListener}.
+ * The data written to a sink needs to be applied to the history tables by something else, like the consumer of an {@link AsyncHistoryLogSink}.
+ */
+public interface AsyncHistorySink {
+
+    /**
+     * Called with the history data of a transaction, after that transaction has been committed.
+     * 
+     * @param jobServiceConfiguration the job service configuration of the engine the data belongs to
+     * @param historyObjectNodes the history data, with the same structure as the data of an async history job
+     */
+    void write(JobServiceConfiguration jobServiceConfiguration, List<ObjectNode> historyObjectNodes);
+
+}
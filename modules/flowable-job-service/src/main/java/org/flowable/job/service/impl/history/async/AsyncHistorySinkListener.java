@@ -0,0 +1,79 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.flowable.common.engine.impl.cfg.TransactionContext;
+import org.flowable.common.engine.impl.cfg.TransactionState;
+import org.flowable.common.engine.impl.context.Context;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * An {@link AsyncHistoryListener} that hands the history data to an {@link AsyncHistorySink} instead of storing it
+ * as history jobs in the runtime database.
+ * 
+ * The data is written when the transaction has been committed, so data of a transaction that is rolled back never reaches the sink.
+ * The flip side is that the data of a transaction is lost when the engine stops between the commit and the write.
+ */
+public class AsyncHistorySinkListener implements AsyncHistoryListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncHistorySinkListener.class);
+
+    protected AsyncHistorySink asyncHistorySink;
+
+    public AsyncHistorySinkListener() {
+        
+    }
+
+    public AsyncHistorySinkListener(AsyncHistorySink asyncHistorySink) {
+        this.asyncHistorySink = asyncHistorySink;
+    }
+
+    @Override
+    public List<HistoryJobEntity> historyDataGenerated(final JobServiceConfiguration jobServiceConfiguration, final List<ObjectNode> historyObjectNodes) {
+        // The transaction context is gone when the command context is closing, but the async history session still has it
+        AsyncHistorySession asyncHistorySession = Context.getCommandContext().getSession(AsyncHistorySession.class);
+        TransactionContext transactionContext = asyncHistorySession.getTransactionContext();
+        if (transactionContext != null) {
+            transactionContext.addTransactionListener(TransactionState.COMMITTED, commandContext -> writeHistoryData(jobServiceConfiguration, historyObjectNodes));
+        } else {
+            writeHistoryData(jobServiceConfiguration, historyObjectNodes);
+        }
+        return Collections.emptyList();
+    }
+
+    protected void writeHistoryData(JobServiceConfiguration jobServiceConfiguration, List<ObjectNode> historyObjectNodes) {
+        try {
+            asyncHistorySink.write(jobServiceConfiguration, historyObjectNodes);
+        } catch (RuntimeException e) {
+            // The transaction is committed already, failing here would only hide that from the caller
+            LOGGER.error("Could not write history data to {}: {}", asyncHistorySink, historyObjectNodes, e);
+        }
+    }
+
+    public AsyncHistorySink getAsyncHistorySink() {
+        return asyncHistorySink;
+    }
+
+    public void setAsyncHistorySink(AsyncHistorySink asyncHistorySink) {
+        this.asyncHistorySink = asyncHistorySink;
+    }
+
+}
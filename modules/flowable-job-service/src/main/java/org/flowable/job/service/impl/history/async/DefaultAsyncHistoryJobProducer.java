@@ -14,6 +14,7 @@ package org.flowable.job.service.impl.history.async;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -44,21 +45,29 @@ public class DefaultAsyncHistoryJobProducer implements AsyncHistoryListener {
         
         AsyncHistorySession asyncHistorySession = commandContext.getSession(AsyncHistorySession.class);
         if (jobServiceConfiguration.isAsyncHistoryJsonGroupingEnabled() && historyObjectNodes.size() >= jobServiceConfiguration.getAsyncHistoryJsonGroupingThreshold()) {
-            String jobType = jobServiceConfiguration.isAsyncHistoryJsonGzipCompressionEnabled() ? 
-                    jobServiceConfiguration.getJobTypeAsyncHistoryZipped() : jobServiceConfiguration.getJobTypeAsyncHistory();
+            String jobType;
+            if (jobServiceConfiguration.isAsyncHistoryBinaryEncodingEnabled()) {
+                jobType = jobServiceConfiguration.getJobTypeAsyncHistoryBinary();
+            } else if (jobServiceConfiguration.isAsyncHistoryJsonGzipCompressionEnabled()) {
+                jobType = jobServiceConfiguration.getJobTypeAsyncHistoryZipped();
+            } else {
+                jobType = jobServiceConfiguration.getJobTypeAsyncHistory();
+            }
             HistoryJobEntity jobEntity = createAndInsertJobEntity(commandContext, asyncHistorySession, jobServiceConfiguration, jobType);
             ArrayNode arrayNode = jobServiceConfiguration.getObjectMapper().createArrayNode();
             for (ObjectNode historyJsonNode : historyObjectNodes) {
                 arrayNode.add(historyJsonNode);
             }
-            addJsonToJob(commandContext, jobServiceConfiguration, jobEntity, arrayNode, jobServiceConfiguration.isAsyncHistoryJsonGzipCompressionEnabled());
+            addHistoryDataToJob(commandContext, jobServiceConfiguration, jobEntity, arrayNode, jobServiceConfiguration.isAsyncHistoryJsonGzipCompressionEnabled());
             return Collections.singletonList(jobEntity);
             
         } else {
             List<HistoryJobEntity> historyJobEntities = new ArrayList<>(historyObjectNodes.size());
             for (ObjectNode historyJsonNode : historyObjectNodes) {
-                HistoryJobEntity jobEntity = createAndInsertJobEntity(commandContext, asyncHistorySession, jobServiceConfiguration, jobServiceConfiguration.getJobTypeAsyncHistory());
-                addJsonToJob(commandContext, jobServiceConfiguration, jobEntity, historyJsonNode, false);
+                String jobType = jobServiceConfiguration.isAsyncHistoryBinaryEncodingEnabled() ? 
+                        jobServiceConfiguration.getJobTypeAsyncHistoryBinary() : jobServiceConfiguration.getJobTypeAsyncHistory();
+                HistoryJobEntity jobEntity = createAndInsertJobEntity(commandContext, asyncHistorySession, jobServiceConfiguration, jobType);
+                addHistoryDataToJob(commandContext, jobServiceConfiguration, jobEntity, historyJsonNode, false);
                 historyJobEntities.add(jobEntity);
             }
             return historyJobEntities;
@@ -78,6 +87,15 @@ public class DefaultAsyncHistoryJobProducer implements AsyncHistoryListener {
         return currentJobEntity;
     }
 
+    protected void addHistoryDataToJob(CommandContext commandContext, JobServiceConfiguration jobServiceConfiguration, 
+            HistoryJobEntity jobEntity, JsonNode rootObjectNode, boolean applyCompression) {
+        if (jobServiceConfiguration.isAsyncHistoryBinaryEncodingEnabled()) {
+            addBinaryToJob(commandContext, jobServiceConfiguration, jobEntity, rootObjectNode, applyCompression);
+        } else {
+            addJsonToJob(commandContext, jobServiceConfiguration, jobEntity, rootObjectNode, applyCompression);
+        }
+    }
+
     protected void addJsonToJob(CommandContext commandContext, JobServiceConfiguration jobServiceConfiguration, HistoryJobEntity jobEntity, JsonNode rootObjectNode, boolean applyCompression) {
         try {
             byte[] bytes = jobServiceConfiguration.getObjectMapper().writeValueAsBytes(rootObjectNode);
@@ -90,6 +108,31 @@ public class DefaultAsyncHistoryJobProducer implements AsyncHistoryListener {
         }
     }
 
+    /**
+     * Writes the history data with an {@link AsyncHistoryBinaryWriter}, streaming straight into the (compressed) job bytes
+     * instead of creating the uncompressed payload first.
+     */
+    protected void addBinaryToJob(CommandContext commandContext, JobServiceConfiguration jobServiceConfiguration, HistoryJobEntity jobEntity, JsonNode rootObjectNode, boolean applyCompression) {
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            if (applyCompression) {
+                try (GZIPOutputStream gos = new GZIPOutputStream(baos)) {
+                    writeBinary(gos, rootObjectNode);
+                }
+            } else {
+                writeBinary(baos, rootObjectNode);
+            }
+            jobEntity.setAdvancedJobHandlerConfigurationBytes(baos.toByteArray());
+        } catch (IOException e) {
+            throw new FlowableException("Could not serialize historic data for async history", e);
+        }
+    }
+
+    protected void writeBinary(OutputStream outputStream, JsonNode rootObjectNode) throws IOException {
+        AsyncHistoryBinaryWriter writer = new AsyncHistoryBinaryWriter(outputStream);
+        writer.writeNode(rootObjectNode);
+        writer.flush();
+    }
+
     protected byte[] compress(final byte[] bytes) {
         try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
             try (GZIPOutputStream gos = new GZIPOutputStream(baos)) {
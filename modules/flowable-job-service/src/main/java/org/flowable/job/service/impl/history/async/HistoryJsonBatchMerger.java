@@ -0,0 +1,34 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Merges the history data of the history jobs that are executed together in one transaction
+ * (see {@link org.flowable.job.service.impl.asyncexecutor.DefaultAsyncHistoryJobExecutor#setHistoryJobBatchSize(int)}),
+ * for example to replace the start and end data of the same activity with one piece of data.
+ * <p>
+ * The merged data must have the same result as applying the given data one after the other.
+ */
+public interface HistoryJsonBatchMerger {
+
+    /**
+     * @param historyNodes the history nodes (with a type and data field) in the order they would be applied in
+     * @return the history nodes to apply instead. Nodes can be changed in place.
+     */
+    List<JsonNode> merge(List<JsonNode> historyNodes);
+
+}
@@ -0,0 +1,472 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.log;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only log of records on the local file system, used to store async history data outside of the runtime database
+ * (see {@link AsyncHistoryLogSink}) until an {@link AsyncHistoryLogConsumer} applies it.
+ * 
+ * The log is split in segment files that are memory mapped. A record is appended to the active segment and when it doesn't fit anymore,
+ * a new segment is started. Each segment file is named after the offset of its first byte, so the offset of a record is the same
+ * for as long as the log exists. Segments that are consumed can be deleted with {@link #deleteSegmentsBefore(long)}.
+ * 
+ * Every record starts with its length and a CRC32 checksum of its data, with the length written last. When the log is opened again
+ * after a crash, the active segment is scanned and anything after the last complete record is discarded.
+ * 
+ * Consumers keep their position in the log in an offset file per consumer, which is replaced atomically when an offset is committed.
+ */
+public class AsyncHistoryLog implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncHistoryLog.class);
+
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    protected static final String SEGMENT_FILE_SUFFIX = ".log";
+    protected static final String OFFSET_FILE_SUFFIX = ".offset";
+    protected static final Pattern CONSUMER_NAME = Pattern.compile("[A-Za-z0-9_.-]+");
+
+    // The length and checksum of the data of a record
+    protected static final int RECORD_HEADER_SIZE = 8;
+
+    protected File directory;
+    protected int segmentSize;
+    protected boolean syncOnAppend;
+
+    protected NavigableMap<Long, Segment> segments = new TreeMap<>();
+    protected Segment activeSegment;
+    protected boolean closed;
+
+    public AsyncHistoryLog(File directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE, true);
+    }
+
+    /**
+     * @param directory the directory with the segment and offset files, which is created when it doesn't exist
+     * @param segmentSize the size of a segment file. A segment is larger when a single record doesn't fit.
+     * @param syncOnAppend whether every appended record is forced to disk. When false, the operating system decides
+     *      when data is written and records can be lost when the machine (not only the JVM) crashes.
+     */
+    public AsyncHistoryLog(File directory, int segmentSize, boolean syncOnAppend) {
+        if (segmentSize <= RECORD_HEADER_SIZE) {
+            throw new FlowableIllegalArgumentException("The segment size of an async history log needs to be larger than " + RECORD_HEADER_SIZE);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncOnAppend = syncOnAppend;
+        open();
+    }
+
+    protected void open() {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new FlowableException("Could not create async history log directory " + directory);
+        }
+
+        try {
+            TreeMap<Long, File> segmentFiles = new TreeMap<>();
+            for (File file : directory.listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_SUFFIX))) {
+                String baseOffset = file.getName().substring(0, file.getName().length() - SEGMENT_FILE_SUFFIX.length());
+                try {
+                    segmentFiles.put(Long.parseLong(baseOffset), file);
+                } catch (NumberFormatException e) {
+                    LOGGER.warn("Ignoring file {} in async history log directory {}", file.getName(), directory);
+                }
+            }
+
+            for (Map.Entry<Long, File> segmentFile : segmentFiles.entrySet()) {
+                long fileLength = segmentFile.getValue().length();
+                // The last segment is the active one, which might not have been extended yet when the engine stopped
+                int capacity = (int) (segmentFile.getKey().equals(segmentFiles.lastKey()) ? Math.max(fileLength, segmentSize) : fileLength);
+                Segment segment = new Segment(segmentFile.getValue(), segmentFile.getKey(), capacity);
+                segment.recover();
+                segments.put(segment.baseOffset, segment);
+            }
+
+            if (segments.isEmpty()) {
+                activeSegment = createSegment(0L, segmentSize);
+            } else {
+                activeSegment = segments.lastEntry().getValue();
+            }
+
+        } catch (IOException e) {
+            close();
+            throw new FlowableException("Could not open async history log in " + directory, e);
+        }
+    }
+
+    /**
+     * Appends a record to the log.
+     * 
+     * @return the offset of the record
+     */
+    public synchronized long append(byte[] data) {
+        ensureOpen();
+        if (data.length == 0) {
+            throw new FlowableIllegalArgumentException("An async history log record can't be empty");
+        }
+        if (data.length > Integer.MAX_VALUE - RECORD_HEADER_SIZE) {
+            throw new FlowableIllegalArgumentException("An async history log record of " + data.length + " bytes is too large");
+        }
+
+        int recordSize = RECORD_HEADER_SIZE + data.length;
+        try {
+            if (activeSegment.getCapacity() - activeSegment.writePosition < recordSize) {
+                rollSegment(recordSize);
+            }
+        } catch (IOException e) {
+            throw new FlowableException("Could not create a new async history log segment in " + directory, e);
+        }
+
+        int position = activeSegment.writePosition;
+        activeSegment.write(position, data);
+        if (syncOnAppend) {
+            activeSegment.sync();
+        }
+        return activeSegment.baseOffset + position;
+    }
+
+    protected void rollSegment(int recordSize) throws IOException {
+        activeSegment.sync();
+        // Offsets continue after the end of the previous segment, so there is a segment for every offset
+        long baseOffset = activeSegment.baseOffset + activeSegment.getCapacity();
+        activeSegment = createSegment(baseOffset, Math.max(segmentSize, recordSize));
+    }
+
+    protected Segment createSegment(long baseOffset, int capacity) throws IOException {
+        File file = new File(directory, String.format("%020d%s", baseOffset, SEGMENT_FILE_SUFFIX));
+        Segment segment = new Segment(file, baseOffset, capacity);
+        segments.put(baseOffset, segment);
+        return segment;
+    }
+
+    /**
+     * Reads the records starting at the given offset. An offset before the start of the log is read from the start of the log.
+     * 
+     * @param offset the offset of a record, or the offset after the last record
+     * @param maxRecords the maximum number of records to read
+     * @return the records, or an empty list when there are no records at or after the offset
+     */
+    public synchronized List<AsyncHistoryLogRecord> read(long offset, int maxRecords) {
+        ensureOpen();
+        List<AsyncHistoryLogRecord> records = new ArrayList<>();
+        long currentOffset = Math.max(offset, getStartOffset());
+        Map.Entry<Long, Segment> segmentEntry = segments.floorEntry(currentOffset);
+        while (segmentEntry != null && records.size() < maxRecords) {
+            Segment segment = segmentEntry.getValue();
+            long position = currentOffset - segment.baseOffset;
+            if (position < segment.writePosition) {
+                byte[] data = segment.read((int) position);
+                long nextOffset = currentOffset + RECORD_HEADER_SIZE + data.length;
+                records.add(new AsyncHistoryLogRecord(currentOffset, nextOffset, data));
+                currentOffset = nextOffset;
+
+            } else {
+                segmentEntry = segments.higherEntry(segment.baseOffset);
+                if (segmentEntry != null) {
+                    currentOffset = segmentEntry.getKey();
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * The offset of the first segment that hasn't been deleted.
+     */
+    public synchronized long getStartOffset() {
+        ensureOpen();
+        return segments.firstKey();
+    }
+
+    /**
+     * The offset at which the next record will be appended, unless it needs a new segment.
+     */
+    public synchronized long getEndOffset() {
+        ensureOpen();
+        return activeSegment.baseOffset + activeSegment.writePosition;
+    }
+
+    /**
+     * Deletes the segments of which all records are before the given offset. The active segment is never deleted.
+     */
+    public synchronized void deleteSegmentsBefore(long offset) {
+        ensureOpen();
+        Iterator<Segment> segmentIterator = segments.values().iterator();
+        while (segmentIterator.hasNext()) {
+            Segment segment = segmentIterator.next();
+            if (segment == activeSegment || segment.baseOffset + segment.getCapacity() > offset) {
+                break;
+            }
+            segmentIterator.remove();
+            segment.close();
+            if (!segment.file.delete()) {
+                LOGGER.warn("Could not delete async history log segment {}", segment.file);
+            }
+        }
+    }
+
+    /**
+     * Forces the appended records to disk, which is only needed when the log doesn't sync on every append.
+     */
+    public synchronized void sync() {
+        ensureOpen();
+        activeSegment.sync();
+    }
+
+    /**
+     * The offset committed by the given consumer, or the start of the log when the consumer hasn't committed an offset yet.
+     */
+    public long getCommittedOffset(String consumerName) {
+        Path offsetPath = getOffsetPath(consumerName);
+        if (!Files.exists(offsetPath)) {
+            return getStartOffset();
+        }
+
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(offsetPath), StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException e) {
+            throw new FlowableException("Could not read the offset of async history log consumer " + consumerName, e);
+        }
+    }
+
+    /**
+     * Stores the offset up to which the given consumer has handled the records.
+     */
+    public void commitOffset(String consumerName, long offset) {
+        Path offsetPath = getOffsetPath(consumerName);
+        Path temporaryOffsetPath = offsetPath.resolveSibling(offsetPath.getFileName() + ".tmp");
+        try {
+            // Replacing the offset file with a completely written one leaves either the previous or the new offset after a crash
+            try (FileChannel channel = FileChannel.open(temporaryOffsetPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(ByteBuffer.wrap(Long.toString(offset).getBytes(StandardCharsets.UTF_8)));
+                channel.force(true);
+            }
+            Files.move(temporaryOffsetPath, offsetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException e) {
+            throw new FlowableException("Could not commit the offset of async history log consumer " + consumerName, e);
+        }
+    }
+
+    protected Path getOffsetPath(String consumerName) {
+        if (consumerName == null || !CONSUMER_NAME.matcher(consumerName).matches()) {
+            throw new FlowableIllegalArgumentException("Invalid async history log consumer name: " + consumerName);
+        }
+        return new File(directory, consumerName + OFFSET_FILE_SUFFIX).toPath();
+    }
+
+    protected void ensureOpen() {
+        if (closed) {
+            throw new FlowableException("The async history log in " + directory + " is closed");
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (activeSegment != null) {
+            activeSegment.sync();
+        }
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public boolean isSyncOnAppend() {
+        return syncOnAppend;
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    protected static class Segment {
+
+        protected File file;
+        protected long baseOffset;
+        protected FileChannel channel;
+        protected MappedByteBuffer buffer;
+        protected int writePosition;
+
+        public Segment(File file, long baseOffset, int capacity) throws IOException {
+            this.file = file;
+            this.baseOffset = baseOffset;
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(MapMode.READ_WRITE, 0, capacity);
+        }
+
+        public int getCapacity() {
+            return buffer.capacity();
+        }
+
+        /**
+         * Finds the end of the complete records. Whatever comes after it, like a record that was only partially written, is cleared
+         * so that it can't be mistaken for a record once new records are appended.
+         */
+        public void recover() {
+            int position = 0;
+            int length;
+            while ((length = getValidRecordLength(position)) > 0) {
+                position += RECORD_HEADER_SIZE + length;
+            }
+            writePosition = position;
+
+            if (position + RECORD_HEADER_SIZE <= buffer.capacity() && (buffer.getInt(position) != 0 || buffer.getInt(position + 4) != 0)) {
+                LOGGER.warn("Discarding the incomplete data at offset {} of async history log segment {}", baseOffset + position, file);
+                for (int i = position; i < buffer.capacity(); i++) {
+                    buffer.put(i, (byte) 0);
+                }
+                buffer.force();
+            }
+        }
+
+        protected int getValidRecordLength(int position) {
+            if (position > buffer.capacity() - RECORD_HEADER_SIZE) {
+                return -1;
+            }
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.capacity() - position - RECORD_HEADER_SIZE) {
+                return -1;
+            }
+            if (buffer.getInt(position + 4) != checksum(position + RECORD_HEADER_SIZE, length)) {
+                return -1;
+            }
+            return length;
+        }
+
+        protected int checksum(int position, int length) {
+            ByteBuffer data = buffer.duplicate();
+            data.position(position);
+            data.limit(position + length);
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            return (int) crc.getValue();
+        }
+
+        public void write(int position, byte[] data) {
+            ByteBuffer target = buffer.duplicate();
+            target.position(position + RECORD_HEADER_SIZE);
+            target.put(data);
+            buffer.putInt(position + 4, checksum(position + RECORD_HEADER_SIZE, data.length));
+            // The length is written last, without it the record doesn't exist
+            buffer.putInt(position, data.length);
+            writePosition = position + RECORD_HEADER_SIZE + data.length;
+        }
+
+        public byte[] read(int position) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER_SIZE + length > writePosition) {
+                throw new FlowableIllegalArgumentException("There is no async history log record at offset " + (baseOffset + position));
+            }
+            byte[] data = new byte[length];
+            ByteBuffer source = buffer.duplicate();
+            source.position(position + RECORD_HEADER_SIZE);
+            source.get(data);
+            return data;
+        }
+
+        public void sync() {
+            buffer.force();
+        }
+
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.warn("Could not close async history log segment {}", file, e);
+            }
+            unmap();
+        }
+
+        /**
+         * Releases the mapping of the segment file right away, instead of when the buffer is garbage collected.
+         * A file that is still mapped can't be deleted on Windows.
+         */
+        protected void unmap() {
+            MappedByteBuffer mappedBuffer = buffer;
+            buffer = null;
+            if (mappedBuffer == null) {
+                return;
+            }
+
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Method invokeCleaner;
+                try {
+                    invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                } catch (NoSuchMethodException e) {
+                    invokeCleaner = null;
+                }
+
+                if (invokeCleaner != null) {
+                    // Java 9 and later
+                    Field unsafeField = unsafeClass.getDeclaredField("theUnsafe");
+                    unsafeField.setAccessible(true);
+                    invokeCleaner.invoke(unsafeField.get(null), mappedBuffer);
+
+                } else {
+                    // Java 8
+                    Method cleanerMethod = mappedBuffer.getClass().getMethod("cleaner");
+                    cleanerMethod.setAccessible(true);
+                    Object cleaner = cleanerMethod.invoke(mappedBuffer);
+                    if (cleaner != null) {
+                        cleaner.getClass().getMethod("clean").invoke(cleaner);
+                    }
+                }
+
+            } catch (Exception e) {
+                LOGGER.debug("Could not unmap async history log segment {}, it is unmapped when garbage collected", file, e);
+            }
+        }
+    }
+
+}
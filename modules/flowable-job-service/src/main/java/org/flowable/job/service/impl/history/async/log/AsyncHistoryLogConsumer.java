@@ -0,0 +1,351 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.log;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+import org.flowable.job.service.HistoryJobHandler;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.history.async.AbstractAsyncHistoryJobHandler;
+import org.flowable.job.service.impl.history.async.transformer.HistoryJsonTransformer;
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Applies the history data of an {@link AsyncHistoryLog}, as written by an {@link AsyncHistoryLogSink}, to the history tables.
+ * 
+ * The records are applied in the order of the log, with the async history job handlers of the engine the command executor belongs to.
+ * Multiple records are applied in one transaction, after which the offset of the consumer is committed. When the engine stops
+ * between the two, the records are applied again on restart.
+ * 
+ * A record that can't be applied, typically because the history data it depends on was appended later, is retried on the next
+ * {@link #drain()}. After {@link #getMaxRetries()} attempts, its data is stored as regular async history jobs
+ * and the consumer moves on, so the async history executor can handle it instead.
+ * 
+ * {@link #drain()} can be called whenever suitable, or {@link #start()} runs it in a separate thread.
+ */
+public class AsyncHistoryLogConsumer implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncHistoryLogConsumer.class);
+
+    public static final String DEFAULT_CONSUMER_NAME = "history";
+
+    protected CommandExecutor commandExecutor;
+    protected JobServiceConfiguration jobServiceConfiguration;
+    protected AsyncHistoryLog asyncHistoryLog;
+
+    protected String consumerName = DEFAULT_CONSUMER_NAME;
+    protected int maxRecordsPerTransaction = 100;
+    protected int maxRetries = 3;
+    protected long pollInterval = 1000L;
+    protected boolean deleteConsumedSegments;
+
+    // The offset of the next record to apply and the number of times applying it failed
+    protected long offset = -1L;
+    protected int retries;
+
+    protected Thread thread;
+    protected volatile boolean isInterrupted;
+    protected final Object monitor = new Object();
+
+    public AsyncHistoryLogConsumer(CommandExecutor commandExecutor, JobServiceConfiguration jobServiceConfiguration, AsyncHistoryLog asyncHistoryLog) {
+        this.commandExecutor = commandExecutor;
+        this.jobServiceConfiguration = jobServiceConfiguration;
+        this.asyncHistoryLog = asyncHistoryLog;
+    }
+
+    /**
+     * Applies the records after the committed offset, until the end of the log or a record that can't be applied.
+     * 
+     * @return the number of records that were applied
+     */
+    public synchronized int drain() {
+        if (offset < 0) {
+            offset = asyncHistoryLog.getCommittedOffset(consumerName);
+        }
+
+        int appliedRecords = 0;
+        List<AsyncHistoryLogRecord> records;
+        while (!(records = asyncHistoryLog.read(offset, maxRecordsPerTransaction)).isEmpty()) {
+            int applied = applyRecords(records);
+            appliedRecords += applied;
+            if (applied < records.size()) {
+                break;
+            }
+        }
+        return appliedRecords;
+    }
+
+    /**
+     * Sets the position of the consumer, so the records from the given offset are applied (again) on the next {@link #drain()}.
+     * Records that were applied before will be inserted again, so this is meant to rebuild history that has been deleted.
+     */
+    public synchronized void replayFrom(long offset) {
+        commitOffset(offset);
+        retries = 0;
+    }
+
+    protected int applyRecords(List<AsyncHistoryLogRecord> records) {
+        if (records.size() > 1) {
+            try {
+                commandExecutor.execute(commandContext -> {
+                    for (AsyncHistoryLogRecord record : records) {
+                        applyRecord(record, commandContext);
+                    }
+                    return null;
+                });
+                retries = 0;
+                commitOffset(records.get(records.size() - 1).getNextOffset());
+                return records.size();
+
+            } catch (RuntimeException e) {
+                LOGGER.debug("Could not apply {} async history log records together, applying them one by one. Exception message: {}", records.size(), e.getMessage());
+            }
+        }
+
+        int applied = 0;
+        for (AsyncHistoryLogRecord record : records) {
+            if (!applySingleRecord(record)) {
+                break;
+            }
+            applied++;
+        }
+        return applied;
+    }
+
+    /**
+     * @return whether the consumer can move on to the next record
+     */
+    protected boolean applySingleRecord(AsyncHistoryLogRecord record) {
+        try {
+            commandExecutor.execute(commandContext -> {
+                applyRecord(record, commandContext);
+                return null;
+            });
+
+        } catch (RuntimeException e) {
+            retries++;
+            if (retries < maxRetries) {
+                LOGGER.debug("Could not apply async history log record at offset {}, it will be retried. Exception message: {}", record.getOffset(), e.getMessage());
+                return false;
+            }
+
+            LOGGER.warn("Could not apply async history log record at offset {} after {} attempts, storing it as async history jobs", record.getOffset(), retries, e);
+            commandExecutor.execute(commandContext -> {
+                createHistoryJobs(record, commandContext);
+                return null;
+            });
+        }
+
+        retries = 0;
+        commitOffset(record.getNextOffset());
+        return true;
+    }
+
+    protected void applyRecord(AsyncHistoryLogRecord record, CommandContext commandContext) {
+        JsonNode recordNode = readRecord(record);
+        String jobHandlerType = recordNode.path(HistoryJsonTransformer.FIELD_NAME_TYPE).asText(null);
+        HistoryJobHandler historyJobHandler = jobServiceConfiguration.getHistoryJobHandlers().get(jobHandlerType);
+        if (!(historyJobHandler instanceof AbstractAsyncHistoryJobHandler)) {
+            throw new FlowableException("No async history job handler found for type " + jobHandlerType + " of async history log record at offset " + record.getOffset());
+        }
+
+        // The job is not stored, the handler only needs it for logging
+        HistoryJobEntity historyJob = createHistoryJob(jobHandlerType);
+        ((AbstractAsyncHistoryJobHandler) historyJobHandler).executeHistoryData(historyJob, recordNode.get(HistoryJsonTransformer.FIELD_NAME_DATA), commandContext);
+    }
+
+    protected void createHistoryJobs(AsyncHistoryLogRecord record, CommandContext commandContext) {
+        JsonNode recordNode = readRecord(record);
+        String jobHandlerType = recordNode.path(HistoryJsonTransformer.FIELD_NAME_TYPE).asText(jobServiceConfiguration.getJobTypeAsyncHistory());
+        try {
+            for (JsonNode historyNode : recordNode.path(HistoryJsonTransformer.FIELD_NAME_DATA)) {
+                HistoryJobEntity historyJob = createHistoryJob(jobHandlerType);
+                historyJob.setRetries(jobServiceConfiguration.getAsyncHistoryExecutorNumberOfRetries());
+                historyJob.setScopeType(jobServiceConfiguration.getHistoryJobExecutionScope());
+                historyJob.setAdvancedJobHandlerConfigurationBytes(jobServiceConfiguration.getObjectMapper().writeValueAsBytes(historyNode));
+                jobServiceConfiguration.getJobManager().scheduleHistoryJob(historyJob);
+            }
+        } catch (JsonProcessingException e) {
+            throw new FlowableException("Could not serialize historic data of async history log record at offset " + record.getOffset(), e);
+        }
+    }
+
+    protected HistoryJobEntity createHistoryJob(String jobHandlerType) {
+        HistoryJobEntity historyJob = jobServiceConfiguration.getHistoryJobEntityManager().create();
+        historyJob.setJobHandlerType(jobHandlerType);
+        historyJob.setCreateTime(jobServiceConfiguration.getClock().getCurrentTime());
+        return historyJob;
+    }
+
+    protected JsonNode readRecord(AsyncHistoryLogRecord record) {
+        try {
+            return jobServiceConfiguration.getObjectMapper().readTree(record.getPayload());
+        } catch (IOException e) {
+            throw new FlowableException("Could not deserialize async history log record at offset " + record.getOffset(), e);
+        }
+    }
+
+    protected void commitOffset(long offset) {
+        this.offset = offset;
+        asyncHistoryLog.commitOffset(consumerName, offset);
+        if (deleteConsumedSegments) {
+            asyncHistoryLog.deleteSegmentsBefore(offset);
+        }
+    }
+
+    /**
+     * Starts a thread that drains the log every {@link #getPollInterval()} milliseconds.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        isInterrupted = false;
+        thread = new Thread(this, "flowable-async-history-log-consumer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void shutdown() {
+        Thread consumerThread;
+        synchronized (this) {
+            consumerThread = thread;
+            thread = null;
+        }
+        if (consumerThread == null) {
+            return;
+        }
+
+        isInterrupted = true;
+        synchronized (monitor) {
+            monitor.notifyAll();
+        }
+        try {
+            consumerThread.join();
+        } catch (InterruptedException e) {
+            LOGGER.warn("Interrupted while waiting for the async history log consumer to stop", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        LOGGER.info("starting to consume async history log {}", asyncHistoryLog.getDirectory());
+        while (!isInterrupted) {
+            int applied = 0;
+            try {
+                applied = drain();
+            } catch (Throwable e) {
+                LOGGER.error("Exception while consuming async history log {}", asyncHistoryLog.getDirectory(), e);
+            }
+
+            // Records are appended all the time, but a record that can't be applied yet needs some time as well
+            if (applied == 0 || retries > 0) {
+                synchronized (monitor) {
+                    if (!isInterrupted) {
+                        try {
+                            monitor.wait(pollInterval);
+                        } catch (InterruptedException e) {
+                            isInterrupted = true;
+                        }
+                    }
+                }
+            }
+        }
+        LOGGER.info("stopped consuming async history log {}", asyncHistoryLog.getDirectory());
+    }
+
+    public CommandExecutor getCommandExecutor() {
+        return commandExecutor;
+    }
+
+    public void setCommandExecutor(CommandExecutor commandExecutor) {
+        this.commandExecutor = commandExecutor;
+    }
+
+    public JobServiceConfiguration getJobServiceConfiguration() {
+        return jobServiceConfiguration;
+    }
+
+    public void setJobServiceConfiguration(JobServiceConfiguration jobServiceConfiguration) {
+        this.jobServiceConfiguration = jobServiceConfiguration;
+    }
+
+    public AsyncHistoryLog getAsyncHistoryLog() {
+        return asyncHistoryLog;
+    }
+
+    public void setAsyncHistoryLog(AsyncHistoryLog asyncHistoryLog) {
+        this.asyncHistoryLog = asyncHistoryLog;
+    }
+
+    public String getConsumerName() {
+        return consumerName;
+    }
+
+    /**
+     * The name under which the offset of this consumer is stored. Different consumers of the same log need a different name.
+     */
+    public void setConsumerName(String consumerName) {
+        this.consumerName = consumerName;
+    }
+
+    public int getMaxRecordsPerTransaction() {
+        return maxRecordsPerTransaction;
+    }
+
+    public void setMaxRecordsPerTransaction(int maxRecordsPerTransaction) {
+        this.maxRecordsPerTransaction = maxRecordsPerTransaction;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public long getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(long pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public boolean isDeleteConsumedSegments() {
+        return deleteConsumedSegments;
+    }
+
+    /**
+     * Whether segments of which all records have been applied are deleted. When enabled, records can't be replayed from before the current offset.
+     */
+    public void setDeleteConsumedSegments(boolean deleteConsumedSegments) {
+        this.deleteConsumedSegments = deleteConsumedSegments;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+}
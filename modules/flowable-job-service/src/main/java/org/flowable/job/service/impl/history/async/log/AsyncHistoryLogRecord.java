@@ -0,0 +1,48 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.log;
+
+/**
+ * A record read from an {@link AsyncHistoryLog}.
+ */
+public class AsyncHistoryLogRecord {
+
+    protected long offset;
+    protected long nextOffset;
+    protected byte[] payload;
+
+    public AsyncHistoryLogRecord(long offset, long nextOffset, byte[] payload) {
+        this.offset = offset;
+        this.nextOffset = nextOffset;
+        this.payload = payload;
+    }
+
+    /**
+     * The offset of this record in the log.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * The offset right after this record, which is where reading continues and what a consumer commits once it has handled this record.
+     */
+    public long getNextOffset() {
+        return nextOffset;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+}
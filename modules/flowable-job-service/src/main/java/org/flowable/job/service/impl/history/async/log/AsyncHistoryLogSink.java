@@ -0,0 +1,62 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.log;
+
+import java.util.List;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.history.async.AsyncHistorySink;
+import org.flowable.job.service.impl.history.async.transformer.HistoryJsonTransformer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * An {@link AsyncHistorySink} that appends the history data of every transaction as one record to an {@link AsyncHistoryLog}.
+ * 
+ * A record is the json of an object with the async history job handler type that can apply the data and the history data itself.
+ * Use a separate log for every engine, as the {@link AsyncHistoryLogConsumer} of the log applies the data with the handlers of one engine.
+ */
+public class AsyncHistoryLogSink implements AsyncHistorySink {
+
+    protected AsyncHistoryLog asyncHistoryLog;
+
+    public AsyncHistoryLogSink(AsyncHistoryLog asyncHistoryLog) {
+        this.asyncHistoryLog = asyncHistoryLog;
+    }
+
+    @Override
+    public void write(JobServiceConfiguration jobServiceConfiguration, List<ObjectNode> historyObjectNodes) {
+        ObjectMapper objectMapper = jobServiceConfiguration.getObjectMapper();
+        ObjectNode recordNode = objectMapper.createObjectNode();
+        recordNode.put(HistoryJsonTransformer.FIELD_NAME_TYPE, jobServiceConfiguration.getJobTypeAsyncHistory());
+        recordNode.putArray(HistoryJsonTransformer.FIELD_NAME_DATA).addAll(historyObjectNodes);
+
+        try {
+            asyncHistoryLog.append(objectMapper.writeValueAsBytes(recordNode));
+        } catch (JsonProcessingException e) {
+            throw new FlowableException("Could not serialize historic data for async history", e);
+        }
+    }
+
+    public AsyncHistoryLog getAsyncHistoryLog() {
+        return asyncHistoryLog;
+    }
+
+    public void setAsyncHistoryLog(AsyncHistoryLog asyncHistoryLog) {
+        this.asyncHistoryLog = asyncHistoryLog;
+    }
+
+}
@@ -19,6 +19,7 @@ import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.common.engine.impl.persistence.entity.AbstractEntity;
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.job.api.JobInfo;
 import org.flowable.job.service.JobServiceConfiguration;
 
@@ -27,7 +28,7 @@ import org.flowable.job.service.JobServiceConfiguration;
  *
  * @author Tijs Rademakers
  */
-public abstract class AbstractJobEntityImpl extends AbstractEntity implements AbstractRuntimeJobEntity, Serializable {
+public abstract class AbstractJobEntityImpl extends AbstractEntity implements AbstractRuntimeJobEntity, DirtyTrackingEntity, Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -91,6 +92,7 @@ public abstract class AbstractJobEntityImpl extends AbstractEntity implements Ab
 
     @Override
     public void setCreateTime(Date createTime) {
+        markDirty("createTime", this.createTime, createTime);
         this.createTime = createTime;
     }
 
@@ -101,6 +103,7 @@ public abstract class AbstractJobEntityImpl extends AbstractEntity implements Ab
 
     @Override
     public void setDuedate(Date duedate) {
+        markDirty("duedate", this.duedate, duedate);
         this.duedate = duedate;
     }
 
@@ -121,6 +124,7 @@ public abstract class AbstractJobEntityImpl extends AbstractEntity implements Ab
 
     @Override
     public void setRetries(int retries) {
+        markDirty("retries", this.retries, retries);
         this.retries = retries;
     }
 
@@ -151,6 +155,7 @@ public abstract class AbstractJobEntityImpl extends AbstractEntity implements Ab
 
     @Override
     public void setProcessDefinitionId(String processDefinitionId) {
+        markDirty("processDefinitionId", this.processDefinitionId, processDefinitionId);
         this.processDefinitionId = processDefinitionId;
     }
     
@@ -231,6 +236,7 @@ public abstract class AbstractJobEntityImpl extends AbstractEntity implements Ab
 
     @Override
     public void setJobHandlerType(String jobHandlerType) {
+        markDirty("jobHandlerType", this.jobHandlerType, jobHandlerType);
         this.jobHandlerType = jobHandlerType;
     }
 
@@ -258,6 +264,7 @@ public abstract class AbstractJobEntityImpl extends AbstractEntity implements Ab
     public void setCustomValues(String customValues) {
         if(customValuesByteArrayRef == null) {
             customValuesByteArrayRef = new JobByteArrayRef();
+            markDirty();
         }
         customValuesByteArrayRef.setValue("jobCustomValues", customValues);
     }
@@ -291,6 +298,7 @@ public abstract class AbstractJobEntityImpl extends AbstractEntity implements Ab
     public void setExceptionStacktrace(String exception) {
         if (exceptionByteArrayRef == null) {
             exceptionByteArrayRef = new JobByteArrayRef();
+            markDirty();
         }
         exceptionByteArrayRef.setValue("stacktrace", exception);
     }
@@ -302,7 +310,9 @@ public abstract class AbstractJobEntityImpl extends AbstractEntity implements Ab
 
     @Override
     public void setExceptionMessage(String exceptionMessage) {
-        this.exceptionMessage = StringUtils.abbreviate(exceptionMessage, JobInfo.MAX_EXCEPTION_MESSAGE_LENGTH);
+        String abbreviatedExceptionMessage = StringUtils.abbreviate(exceptionMessage, JobInfo.MAX_EXCEPTION_MESSAGE_LENGTH);
+        markDirty("exceptionMessage", this.exceptionMessage, abbreviatedExceptionMessage);
+        this.exceptionMessage = abbreviatedExceptionMessage;
     }
 
     @Override
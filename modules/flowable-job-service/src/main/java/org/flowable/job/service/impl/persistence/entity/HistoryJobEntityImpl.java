@@ -19,6 +19,7 @@ import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.common.engine.impl.persistence.entity.AbstractEntity;
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.job.api.JobInfo;
 import org.flowable.job.service.JobServiceConfiguration;
 
@@ -28,7 +29,7 @@ import org.flowable.job.service.JobServiceConfiguration;
  * @author Joram Barrez
  * @author Tijs Rademakers
  */
-public class HistoryJobEntityImpl extends AbstractEntity implements HistoryJobEntity, Serializable {
+public class HistoryJobEntityImpl extends AbstractEntity implements HistoryJobEntity, DirtyTrackingEntity, Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -84,6 +85,7 @@ public class HistoryJobEntityImpl extends AbstractEntity implements HistoryJobEn
 
     @Override
     public void setRetries(int retries) {
+        markDirty("retries", this.retries, retries);
         this.retries = retries;
     }
 
@@ -94,6 +96,7 @@ public class HistoryJobEntityImpl extends AbstractEntity implements HistoryJobEn
 
     @Override
     public void setJobHandlerType(String jobHandlerType) {
+        markDirty("jobHandlerType", this.jobHandlerType, jobHandlerType);
         this.jobHandlerType = jobHandlerType;
     }
 
@@ -118,6 +121,7 @@ public class HistoryJobEntityImpl extends AbstractEntity implements HistoryJobEn
             customValuesByteArrayRef = new JobByteArrayRef();
         }
         customValuesByteArrayRef.setValue("jobCustomValues", customValues);
+        markDirty();
     }
 
     @Override
@@ -128,6 +132,7 @@ public class HistoryJobEntityImpl extends AbstractEntity implements HistoryJobEn
     @Override
     public void setCustomValuesByteArrayRef(JobByteArrayRef customValuesByteArrayRef) {
         this.customValuesByteArrayRef = customValuesByteArrayRef;
+        markDirty();
     }
 
     @Override
@@ -143,6 +148,7 @@ public class HistoryJobEntityImpl extends AbstractEntity implements HistoryJobEn
     @Override
     public void setAdvancedJobHandlerConfigurationByteArrayRef(JobByteArrayRef configurationByteArrayRef) {
          this.advancedJobHandlerConfigurationByteArrayRef = configurationByteArrayRef;
+        markDirty();
     }
 
     @Override
@@ -151,6 +157,7 @@ public class HistoryJobEntityImpl extends AbstractEntity implements HistoryJobEn
             advancedJobHandlerConfigurationByteArrayRef = new JobByteArrayRef();
         }
         advancedJobHandlerConfigurationByteArrayRef.setValue("cfg", jobHandlerConfiguration);
+        markDirty();
     }
 
     @Override
@@ -159,11 +166,13 @@ public class HistoryJobEntityImpl extends AbstractEntity implements HistoryJobEn
             advancedJobHandlerConfigurationByteArrayRef = new JobByteArrayRef();
         }
         advancedJobHandlerConfigurationByteArrayRef.setValue("cfg", bytes);
+        markDirty();
     }
 
     @Override
     public void setExceptionByteArrayRef(JobByteArrayRef exceptionByteArrayRef) {
         this.exceptionByteArrayRef = exceptionByteArrayRef;
+        markDirty();
     }
 
     @Override
@@ -182,6 +191,7 @@ public class HistoryJobEntityImpl extends AbstractEntity implements HistoryJobEn
             exceptionByteArrayRef = new JobByteArrayRef();
         }
         exceptionByteArrayRef.setValue("stacktrace", exception);
+        markDirty();
     }
 
     @Override
@@ -191,7 +201,9 @@ public class HistoryJobEntityImpl extends AbstractEntity implements HistoryJobEn
 
     @Override
     public void setExceptionMessage(String exceptionMessage) {
-        this.exceptionMessage = StringUtils.abbreviate(exceptionMessage, JobInfo.MAX_EXCEPTION_MESSAGE_LENGTH);
+        String abbreviatedExceptionMessage = StringUtils.abbreviate(exceptionMessage, JobInfo.MAX_EXCEPTION_MESSAGE_LENGTH);
+        markDirty("exceptionMessage", this.exceptionMessage, abbreviatedExceptionMessage);
+        this.exceptionMessage = abbreviatedExceptionMessage;
     }
 
     @Override
@@ -221,6 +233,7 @@ public class HistoryJobEntityImpl extends AbstractEntity implements HistoryJobEn
 
     @Override
     public void setLockOwner(String claimedBy) {
+        markDirty("lockOwner", this.lockOwner, claimedBy);
         this.lockOwner = claimedBy;
     }
 
@@ -231,6 +244,7 @@ public class HistoryJobEntityImpl extends AbstractEntity implements HistoryJobEn
 
     @Override
     public void setLockExpirationTime(Date claimedUntil) {
+        markDirty("lockExpirationTime", this.lockExpirationTime, claimedUntil);
         this.lockExpirationTime = claimedUntil;
     }
     
@@ -239,6 +253,7 @@ public class HistoryJobEntityImpl extends AbstractEntity implements HistoryJobEn
     }
 
     public void setScopeType(String scopeType) {
+        markDirty("scopeType", this.scopeType, scopeType);
         this.scopeType = scopeType;
     }
 
@@ -47,6 +47,7 @@ public class JobEntityImpl extends AbstractJobEntityImpl implements JobEntity {
 
     @Override
     public void setLockOwner(String claimedBy) {
+        markDirty("lockOwner", this.lockOwner, claimedBy);
         this.lockOwner = claimedBy;
     }
 
@@ -57,6 +58,7 @@ public class JobEntityImpl extends AbstractJobEntityImpl implements JobEntity {
 
     @Override
     public void setLockExpirationTime(Date claimedUntil) {
+        markDirty("lockExpirationTime", this.lockExpirationTime, claimedUntil);
         this.lockExpirationTime = claimedUntil;
     }
 
@@ -12,6 +12,8 @@
  */
 package org.flowable.job.service.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.flowable.common.engine.impl.Page;
@@ -26,6 +28,12 @@ public interface JobInfoEntityManager <T extends JobInfoEntity> extends EntityMa
      */
     List<T> findJobsToExecute(Page page);
 
+    /**
+     * Locks the jobs with the given ids for the given lock owner using one bulk update, skipping the jobs that have been locked by someone else in the meantime.
+     * Returns the jobs that were effectively locked, freshly loaded from the database.
+     */
+    List<T> lockJobs(Collection<String> jobIds, String lockOwner, Date lockExpirationTime);
+
     /**
      * Returns all {@link JobEntity} instances related to on ExecutionEntity.
      */
@@ -13,6 +13,9 @@
 
 package org.flowable.job.service.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 
 import org.flowable.common.engine.impl.Page;
@@ -44,6 +47,14 @@ public abstract class JobInfoEntityManagerImpl<T extends JobInfoEntity> extends
         return jobDataManager.findJobsToExecute(page);
     }
 
+    @Override
+    public List<T> lockJobs(Collection<String> jobIds, String lockOwner, Date lockExpirationTime) {
+        if (jobIds.isEmpty() || jobDataManager.updateJobLocks(jobIds, lockOwner, lockExpirationTime) == 0) {
+            return Collections.emptyList();
+        }
+        return jobDataManager.findJobsByLockOwnerAndIds(jobIds, lockOwner);
+    }
+
     @Override
     public List<T> findJobsByExecutionId(String executionId) {
         return jobDataManager.findJobsByExecutionId(executionId);
@@ -46,6 +46,7 @@ public class TimerJobEntityImpl extends AbstractJobEntityImpl implements TimerJo
 
     @Override
     public void setLockOwner(String claimedBy) {
+        markDirty("lockOwner", this.lockOwner, claimedBy);
         this.lockOwner = claimedBy;
     }
 
@@ -56,6 +57,7 @@ public class TimerJobEntityImpl extends AbstractJobEntityImpl implements TimerJo
 
     @Override
     public void setLockExpirationTime(Date claimedUntil) {
+        markDirty("lockExpirationTime", this.lockExpirationTime, claimedUntil);
         this.lockExpirationTime = claimedUntil;
     }
 
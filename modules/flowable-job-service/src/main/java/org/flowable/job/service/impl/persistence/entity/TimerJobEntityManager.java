@@ -12,6 +12,8 @@
  */
 package org.flowable.job.service.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.flowable.common.engine.impl.Page;
@@ -40,6 +42,12 @@ public interface TimerJobEntityManager extends EntityManager<TimerJobEntity> {
      */
     List<TimerJobEntity> findTimerJobsToExecute(Page page);
 
+    /**
+     * Locks the timer jobs with the given ids for the given lock owner using one bulk update, skipping the timer jobs that have been locked by someone else in the meantime.
+     * Returns the timer jobs that were effectively locked, freshly loaded from the database.
+     */
+    List<TimerJobEntity> lockTimerJobs(Collection<String> jobIds, String lockOwner, Date lockExpirationTime);
+
     /**
      * Returns the {@link TimerJobEntity} for a given process definition.
      * <p>
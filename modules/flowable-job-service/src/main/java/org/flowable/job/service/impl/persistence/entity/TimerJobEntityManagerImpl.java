@@ -14,6 +14,8 @@
 package org.flowable.job.service.impl.persistence.entity;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -66,6 +68,14 @@ public class TimerJobEntityManagerImpl extends AbstractEntityManager<TimerJobEnt
         return jobDataManager.findTimerJobsToExecute(page);
     }
 
+    @Override
+    public List<TimerJobEntity> lockTimerJobs(Collection<String> jobIds, String lockOwner, Date lockExpirationTime) {
+        if (jobIds.isEmpty() || jobDataManager.updateTimerJobLocks(jobIds, lockOwner, lockExpirationTime) == 0) {
+            return Collections.emptyList();
+        }
+        return jobDataManager.findTimerJobsByLockOwnerAndIds(jobIds, lockOwner);
+    }
+
     @Override
     public List<TimerJobEntity> findJobsByTypeAndProcessDefinitionId(String jobHandlerType, String processDefinitionId) {
         return jobDataManager.findJobsByTypeAndProcessDefinitionId(jobHandlerType, processDefinitionId);
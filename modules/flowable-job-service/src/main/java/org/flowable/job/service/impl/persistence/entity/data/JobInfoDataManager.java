@@ -12,6 +12,8 @@
  */
 package org.flowable.job.service.impl.persistence.entity.data;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.flowable.common.engine.impl.Page;
@@ -32,4 +34,8 @@ public interface JobInfoDataManager<T extends JobInfoEntity> extends DataManager
 
     void resetExpiredJob(String jobId);
 
+    int updateJobLocks(Collection<String> jobIds, String lockOwner, Date lockExpirationTime);
+
+    List<T> findJobsByLockOwnerAndIds(Collection<String> jobIds, String lockOwner);
+
 }
@@ -12,6 +12,7 @@
  */
 package org.flowable.job.service.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -66,6 +67,26 @@ public class MybatisHistoryJobDataManager extends AbstractDataManager<HistoryJob
         return getDbSqlSession().selectList("selectHistoryJobsToExecute", params);
     }
 
+    @Override
+    public int updateJobLocks(Collection<String> jobIds, String lockOwner, Date lockExpirationTime) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("jobIds", jobIds);
+        params.put("lockOwner", lockOwner);
+        params.put("lockExpirationTime", lockExpirationTime);
+        return getDbSqlSession().update("updateHistoryJobLocks", params);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<HistoryJobEntity> findJobsByLockOwnerAndIds(Collection<String> jobIds, String lockOwner) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("jobIds", jobIds);
+        params.put("lockOwner", lockOwner);
+
+        // Not using the cache: jobs loaded before the lock update are outdated
+        return getDbSqlSession().selectListNoCacheCheck("selectHistoryJobsByLockOwnerAndIds", params);
+    }
+
     @Override
     public List<HistoryJobEntity> findJobsByExecutionId(final String executionId) {
         return getDbSqlSession().selectList("selectHistoryJobsByExecutionId", executionId);
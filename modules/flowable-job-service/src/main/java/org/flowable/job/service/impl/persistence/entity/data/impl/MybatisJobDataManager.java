@@ -12,6 +12,7 @@
  */
 package org.flowable.job.service.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -124,6 +125,26 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
         getDbSqlSession().update("resetExpiredJob", params);
     }
     
+    @Override
+    public int updateJobLocks(Collection<String> jobIds, String lockOwner, Date lockExpirationTime) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("jobIds", jobIds);
+        params.put("lockOwner", lockOwner);
+        params.put("lockExpirationTime", lockExpirationTime);
+        return getDbSqlSession().update("updateJobLocks", params);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<JobEntity> findJobsByLockOwnerAndIds(Collection<String> jobIds, String lockOwner) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("jobIds", jobIds);
+        params.put("lockOwner", lockOwner);
+
+        // Not using the cache: jobs loaded before the lock update are outdated
+        return getDbSqlSession().selectListNoCacheCheck("selectJobsByLockOwnerAndIds", params);
+    }
+
     @Override
     public void deleteJobsByExecutionId(String executionId) {
         DbSqlSession dbSqlSession = getDbSqlSession();
@@ -12,6 +12,7 @@
  */
 package org.flowable.job.service.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -78,6 +79,26 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
         return getDbSqlSession().selectList("selectTimerJobsToExecute", params, page);
     }
 
+    @Override
+    public int updateTimerJobLocks(Collection<String> jobIds, String lockOwner, Date lockExpirationTime) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("jobIds", jobIds);
+        params.put("lockOwner", lockOwner);
+        params.put("lockExpirationTime", lockExpirationTime);
+        return getDbSqlSession().update("updateTimerJobLocks", params);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TimerJobEntity> findTimerJobsByLockOwnerAndIds(Collection<String> jobIds, String lockOwner) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("jobIds", jobIds);
+        params.put("lockOwner", lockOwner);
+
+        // Not using the cache: jobs loaded before the lock update are outdated
+        return getDbSqlSession().selectListNoCacheCheck("selectTimerJobsByLockOwnerAndIds", params);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public List<TimerJobEntity> findJobsByTypeAndProcessDefinitionId(String jobHandlerType, String processDefinitionId) {
@@ -13,6 +13,9 @@
 package org.flowable.ldap;
 
 import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.delegate.event.AbstractFlowableEventListener;
+import org.flowable.common.engine.api.delegate.event.FlowableEngineEventType;
+import org.flowable.common.engine.api.delegate.event.FlowableEvent;
 import org.flowable.common.engine.impl.AbstractEngineConfiguration;
 import org.flowable.common.engine.impl.EngineConfigurator;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
@@ -27,6 +30,8 @@ import org.flowable.idm.engine.configurator.IdmEngineConfigurator;
  * 
  * Check the docs (specifically the setters) to see how this class can be tweaked.
  * 
+ * When connection pooling is enabled, the pool is closed when the engine is closed (which requires the event dispatcher to be enabled).
+ * 
  * @author Joram Barrez
  */
 public class LDAPConfigurator extends IdmEngineConfigurator {
@@ -51,6 +56,7 @@ public class LDAPConfigurator extends IdmEngineConfigurator {
         if (ldapConfiguration.getGroupCacheSize() > 0) {
             ldapGroupCache = new LDAPGroupCache(ldapConfiguration.getGroupCacheSize(), 
                     ldapConfiguration.getGroupCacheExpirationTime(), engineConfiguration.getClock());
+            ldapGroupCache.setEmptyGroupsExpirationTime(ldapConfiguration.getGroupCacheEmptyGroupsExpirationTime());
             
             if (ldapConfiguration.getGroupCacheListener() != null) {
                 ldapGroupCache.setLdapCacheListener(ldapConfiguration.getGroupCacheListener());
@@ -61,6 +67,11 @@ public class LDAPConfigurator extends IdmEngineConfigurator {
         
         getIdmEngineConfiguration(engineConfiguration)
                 .setIdmIdentityService(new LDAPIdentityServiceImpl(ldapConfiguration, ldapGroupCache));
+
+        if (ldapConfiguration.getConnectionPoolSize() > 0 && engineConfiguration.getEventDispatcher() != null) {
+            engineConfiguration.getEventDispatcher().addEventListener(new LDAPConnectionPoolCloseListener(ldapConfiguration),
+                    FlowableEngineEventType.ENGINE_CLOSED);
+        }
     }
 
     // Getters and Setters //////////////////////////////////////////////////
@@ -73,6 +84,30 @@ public class LDAPConfigurator extends IdmEngineConfigurator {
         this.ldapConfiguration = ldapConfiguration;
     }
 
+    /**
+     * Closes the LDAP connection pool of the configuration when the engine is closed.
+     */
+    public static class LDAPConnectionPoolCloseListener extends AbstractFlowableEventListener {
+
+        protected LDAPConfiguration ldapConfiguration;
+
+        public LDAPConnectionPoolCloseListener(LDAPConfiguration ldapConfiguration) {
+            this.ldapConfiguration = ldapConfiguration;
+        }
+
+        @Override
+        public void onEvent(FlowableEvent event) {
+            if (event.getType() == FlowableEngineEventType.ENGINE_CLOSED) {
+                ldapConfiguration.closeConnectionPool();
+            }
+        }
+
+        @Override
+        public boolean isFailOnException() {
+            return false;
+        }
+    }
+
     protected static IdmEngineConfiguration getIdmEngineConfiguration(AbstractEngineConfiguration engineConfiguration) {
         return (IdmEngineConfiguration) engineConfiguration.getEngineConfigurations().get(EngineConfigurationConstants.KEY_IDM_ENGINE_CONFIG);
     }
@@ -0,0 +1,214 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.test.ldap;
+
+import javax.naming.CommunicationException;
+import javax.naming.NamingException;
+import javax.naming.directory.Attributes;
+import javax.naming.directory.BasicAttributes;
+import javax.naming.directory.InitialDirContext;
+
+import org.flowable.common.engine.api.delegate.event.FlowableEngineEventType;
+import org.flowable.common.engine.impl.event.FlowableEngineEventImpl;
+import org.flowable.ldap.LDAPConfiguration;
+import org.flowable.ldap.LDAPConfigurator.LDAPConnectionPoolCloseListener;
+import org.flowable.ldap.LDAPConnectionPool;
+import org.flowable.ldap.LDAPTemplate;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the {@link LDAPConnectionPool} with stub contexts, so no LDAP server is needed.
+ */
+public class LdapConnectionPoolTest extends TestCase {
+
+    protected LDAPConfiguration ldapConfiguration;
+    protected TestLDAPConnectionPool connectionPool;
+
+    @Override
+    protected void setUp() throws Exception {
+        ldapConfiguration = new LDAPConfiguration();
+        ldapConfiguration.setConnectionPoolSize(2);
+        ldapConfiguration.setConnectionPoolMaxIdleTime(10000L);
+        ldapConfiguration.setConnectionPoolValidationInterval(1000L);
+
+        connectionPool = new TestLDAPConnectionPool(ldapConfiguration);
+        ldapConfiguration.setConnectionPool(connectionPool);
+    }
+
+    public void testBorrowAndReturn() {
+        InitialDirContext context = connectionPool.borrowContext();
+        assertEquals(1, connectionPool.createdContexts);
+        assertEquals(0, connectionPool.getIdleContextCount());
+
+        connectionPool.returnContext(context);
+        assertEquals(1, connectionPool.getIdleContextCount());
+
+        // The idle context is reused
+        assertSame(context, connectionPool.borrowContext());
+        assertEquals(1, connectionPool.createdContexts);
+        assertEquals(0, connectionPool.getIdleContextCount());
+        assertFalse(((TestDirContext) context).closed);
+    }
+
+    public void testReturnToFullPool() {
+        TestDirContext context1 = (TestDirContext) connectionPool.borrowContext();
+        TestDirContext context2 = (TestDirContext) connectionPool.borrowContext();
+        TestDirContext context3 = (TestDirContext) connectionPool.borrowContext();
+        assertEquals(3, connectionPool.createdContexts);
+
+        connectionPool.returnContext(context1);
+        connectionPool.returnContext(context2);
+        connectionPool.returnContext(context3);
+        assertEquals(2, connectionPool.getIdleContextCount());
+        assertFalse(context1.closed);
+        assertFalse(context2.closed);
+        assertTrue(context3.closed);
+    }
+
+    public void testIdleExpiry() {
+        TestDirContext context = (TestDirContext) connectionPool.borrowContext();
+        connectionPool.returnContext(context);
+
+        connectionPool.currentTime += 10001L;
+        TestDirContext newContext = (TestDirContext) connectionPool.borrowContext();
+        assertNotSame(context, newContext);
+        assertTrue(context.closed);
+        assertEquals(2, connectionPool.createdContexts);
+
+        // An expired context is not validated
+        assertEquals(0, context.validationCount);
+    }
+
+    public void testValidation() {
+        TestDirContext context = (TestDirContext) connectionPool.borrowContext();
+        connectionPool.returnContext(context);
+
+        // Not validated within the validation interval
+        connectionPool.currentTime += 1000L;
+        assertSame(context, connectionPool.borrowContext());
+        assertEquals(0, context.validationCount);
+        connectionPool.returnContext(context);
+
+        // Validated and reused after the validation interval
+        connectionPool.currentTime += 1001L;
+        assertSame(context, connectionPool.borrowContext());
+        assertEquals(1, context.validationCount);
+        connectionPool.returnContext(context);
+
+        // Closed when the validation fails
+        context.valid = false;
+        connectionPool.currentTime += 1001L;
+        TestDirContext newContext = (TestDirContext) connectionPool.borrowContext();
+        assertNotSame(context, newContext);
+        assertEquals(2, context.validationCount);
+        assertTrue(context.closed);
+        assertEquals(2, connectionPool.createdContexts);
+    }
+
+    public void testTemplateReturnsContextOnSuccess() {
+        LDAPTemplate ldapTemplate = new LDAPTemplate(ldapConfiguration);
+        InitialDirContext context = ldapTemplate.execute(initialDirContext -> initialDirContext);
+        assertEquals(1, connectionPool.getIdleContextCount());
+        assertFalse(((TestDirContext) context).closed);
+
+        assertSame(context, ldapTemplate.execute(initialDirContext -> initialDirContext));
+        assertEquals(1, connectionPool.createdContexts);
+    }
+
+    public void testTemplateInvalidatesContextOnException() {
+        LDAPTemplate ldapTemplate = new LDAPTemplate(ldapConfiguration);
+        TestDirContext[] usedContext = new TestDirContext[1];
+        try {
+            ldapTemplate.execute(initialDirContext -> {
+                usedContext[0] = (TestDirContext) initialDirContext;
+                throw new IllegalStateException("LDAP failure");
+            });
+            fail();
+        } catch (IllegalStateException e) {
+        }
+
+        assertTrue(usedContext[0].closed);
+        assertEquals(0, connectionPool.getIdleContextCount());
+
+        assertNotSame(usedContext[0], ldapTemplate.execute(initialDirContext -> initialDirContext));
+        assertEquals(2, connectionPool.createdContexts);
+    }
+
+    public void testClose() {
+        TestDirContext idleContext = (TestDirContext) connectionPool.borrowContext();
+        TestDirContext borrowedContext = (TestDirContext) connectionPool.borrowContext();
+        connectionPool.returnContext(idleContext);
+
+        new LDAPConnectionPoolCloseListener(ldapConfiguration).onEvent(new FlowableEngineEventImpl(FlowableEngineEventType.ENGINE_CLOSED));
+        assertTrue(connectionPool.isClosed());
+        assertTrue(idleContext.closed);
+        assertEquals(0, connectionPool.getIdleContextCount());
+
+        // A context returned after closing is not pooled anymore
+        connectionPool.returnContext(borrowedContext);
+        assertTrue(borrowedContext.closed);
+        assertEquals(0, connectionPool.getIdleContextCount());
+    }
+
+    protected static class TestLDAPConnectionPool extends LDAPConnectionPool {
+
+        protected long currentTime = 1000000L;
+        protected int createdContexts;
+
+        public TestLDAPConnectionPool(LDAPConfiguration ldapConfigurator) {
+            super(ldapConfigurator);
+        }
+
+        @Override
+        protected InitialDirContext createContext() {
+            createdContexts++;
+            try {
+                return new TestDirContext();
+            } catch (NamingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        protected long getCurrentTime() {
+            return currentTime;
+        }
+    }
+
+    protected static class TestDirContext extends InitialDirContext {
+
+        protected boolean valid = true;
+        protected boolean closed;
+        protected int validationCount;
+
+        public TestDirContext() throws NamingException {
+            super(true);
+        }
+
+        @Override
+        public Attributes getAttributes(String name, String[] attrIds) throws NamingException {
+            validationCount++;
+            if (!valid) {
+                throw new CommunicationException("Connection closed");
+            }
+            return new BasicAttributes();
+        }
+
+        @Override
+        public void close() throws NamingException {
+            closed = true;
+        }
+    }
+
+}
@@ -12,10 +12,20 @@
  */
 package org.flowable.test.ldap;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.flowable.engine.impl.util.EngineServiceUtil;
 import org.flowable.engine.test.Deployment;
+import org.flowable.idm.api.Group;
+import org.flowable.idm.engine.impl.persistence.entity.GroupEntityImpl;
 import org.flowable.ldap.LDAPGroupCache;
 import org.flowable.ldap.LDAPGroupCache.LDAPGroupCacheListener;
 import org.flowable.ldap.LDAPIdentityServiceImpl;
@@ -93,6 +103,62 @@ public class LdapGroupCacheTest extends LDAPTestCase {
         assertEquals("fozzie", cacheListener.getLastCacheMiss());
     }
 
+    public void testLdapGroupCacheConcurrentMisses() throws Exception {
+        LDAPGroupCache ldapGroupCache = new LDAPGroupCache(10, 60 * 1000, processEngineConfiguration.getClock());
+
+        AtomicInteger lookups = new AtomicInteger();
+        CountDownLatch lookupStarted = new CountDownLatch(1);
+        CountDownLatch finishLookup = new CountDownLatch(1);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<List<Group>>> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                results.add(executorService.submit(() -> ldapGroupCache.get("kermit", userId -> {
+                    lookups.incrementAndGet();
+                    lookupStarted.countDown();
+                    try {
+                        finishLookup.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new ArrayList<>();
+                })));
+            }
+
+            assertTrue(lookupStarted.await(10, TimeUnit.SECONDS));
+            Thread.sleep(200L);
+            finishLookup.countDown();
+
+            for (Future<List<Group>> result : results) {
+                assertTrue(result.get(10, TimeUnit.SECONDS).isEmpty());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        // One lookup for all threads, and the user without groups is cached too
+        assertEquals(1, lookups.get());
+        assertNotNull(ldapGroupCache.get("kermit"));
+    }
+
+    public void testLdapGroupCacheEmptyGroupsExpiration() {
+        Date now = new Date();
+        processEngineConfiguration.getClock().setCurrentTime(now);
+
+        LDAPGroupCache ldapGroupCache = new LDAPGroupCache(10, 60 * 60 * 1000, processEngineConfiguration.getClock());
+        ldapGroupCache.setEmptyGroupsExpirationTime(60 * 1000);
+        ldapGroupCache.add("kermit", new ArrayList<>());
+        List<Group> groups = new ArrayList<>();
+        groups.add(new GroupEntityImpl());
+        ldapGroupCache.add("pepe", groups);
+
+        // Only the user without groups expires with the shorter expiration time
+        processEngineConfiguration.getClock().setCurrentTime(new Date(now.getTime() + (2 * 60 * 1000)));
+        assertNull(ldapGroupCache.get("kermit"));
+        assertEquals(1, ldapGroupCache.get("pepe").size());
+    }
+
     // Test cache listener
     static class TestLDAPGroupCacheListener implements LDAPGroupCacheListener {
 
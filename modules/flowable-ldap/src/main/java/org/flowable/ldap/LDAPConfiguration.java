@@ -47,6 +47,12 @@ public class LDAPConfiguration {
     // For parameters like connection pooling settings, etc.
     protected Map<String, String> customConnectionParameters = new HashMap<>();
 
+    // Connection pooling of the LDAPTemplate
+    protected int connectionPoolSize = 0; // Default '0' == no pooling
+    protected long connectionPoolMaxIdleTime = 300000L; // default: five minutes
+    protected long connectionPoolValidationInterval = 30000L; // default: thirty seconds
+    protected volatile LDAPConnectionPool connectionPool;
+
     // Query configuration
     protected String baseDn;
     protected String userBaseDn;
@@ -75,6 +81,7 @@ public class LDAPConfiguration {
     // Group caching
     protected int groupCacheSize = -1;
     protected long groupCacheExpirationTime = 3600000L; // default: one hour
+    protected long groupCacheEmptyGroupsExpirationTime = -1L; // default: same as groupCacheExpirationTime
 
     // Cache listener (experimental)
     protected LDAPGroupCacheListener groupCacheListener;
@@ -431,6 +438,92 @@ public class LDAPConfiguration {
         this.groupCacheExpirationTime = groupCacheExpirationTime;
     }
 
+    public long getGroupCacheEmptyGroupsExpirationTime() {
+        return groupCacheEmptyGroupsExpirationTime;
+    }
+
+    /**
+     * Sets the expiration time in milliseconds of the entries of the {@link LDAPGroupCache} for users that have no groups. Such users are cached too, so
+     * that looking them up again does not hit the LDAP system. A shorter expiration time makes groups that are added later for such a user visible sooner.
+     * <p>
+     * By default set to -1, meaning the expiration time of {@link #setGroupCacheExpirationTime(long)} is used.
+     */
+    public void setGroupCacheEmptyGroupsExpirationTime(long groupCacheEmptyGroupsExpirationTime) {
+        this.groupCacheEmptyGroupsExpirationTime = groupCacheEmptyGroupsExpirationTime;
+    }
+
+    public int getConnectionPoolSize() {
+        return connectionPoolSize;
+    }
+
+    /**
+     * Sets the maximum number of idle connections kept by the {@link LDAPConnectionPool}. The queries done through the {@link LDAPTemplate} then reuse
+     * the connections of the pool instead of opening a new connection each time. Connections used to verify the password of a user are never pooled.
+     * <p>
+     * By default set to 0, so no pooling is done.
+     */
+    public void setConnectionPoolSize(int connectionPoolSize) {
+        this.connectionPoolSize = connectionPoolSize;
+    }
+
+    public long getConnectionPoolMaxIdleTime() {
+        return connectionPoolMaxIdleTime;
+    }
+
+    /**
+     * Sets the time in milliseconds after which an unused connection of the {@link LDAPConnectionPool} is closed, instead of being used again.
+     * <p>
+     * By default set to five minutes.
+     */
+    public void setConnectionPoolMaxIdleTime(long connectionPoolMaxIdleTime) {
+        this.connectionPoolMaxIdleTime = connectionPoolMaxIdleTime;
+    }
+
+    public long getConnectionPoolValidationInterval() {
+        return connectionPoolValidationInterval;
+    }
+
+    /**
+     * Sets the time in milliseconds a connection of the {@link LDAPConnectionPool} can be unused before it is checked against the LDAP system
+     * when it is used again. Connections that fail the check are closed.
+     * <p>
+     * By default set to thirty seconds.
+     */
+    public void setConnectionPoolValidationInterval(long connectionPoolValidationInterval) {
+        this.connectionPoolValidationInterval = connectionPoolValidationInterval;
+    }
+
+    /**
+     * @return the connection pool used by the {@link LDAPTemplate}, or null when no pooling is done (see {@link #setConnectionPoolSize(int)})
+     */
+    public LDAPConnectionPool getConnectionPool() {
+        if (connectionPoolSize <= 0) {
+            return null;
+        }
+        if (connectionPool == null) {
+            synchronized (this) {
+                if (connectionPool == null) {
+                    connectionPool = new LDAPConnectionPool(this);
+                }
+            }
+        }
+        return connectionPool;
+    }
+
+    public void setConnectionPool(LDAPConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    /**
+     * Closes the connections of the {@link LDAPConnectionPool}, if one was created. Called when the engine using this configuration is closed.
+     */
+    public void closeConnectionPool() {
+        LDAPConnectionPool pool = connectionPool;
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
     public LDAPGroupCacheListener getGroupCacheListener() {
         return groupCacheListener;
     }
@@ -0,0 +1,163 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.ldap;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.naming.directory.InitialDirContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of {@link InitialDirContext} instances bound with the user of the {@link LDAPConfiguration}, used by the {@link LDAPTemplate}
+ * to avoid opening a new LDAP connection for every query.
+ * <p>
+ * Idle contexts are closed when they have not been used for longer than the max idle time. A context that was idle for longer than
+ * the validation interval is checked with a lookup of the root DSE before it is handed out again.
+ * <p>
+ * The pool is closed together with the engine when it was configured through the LDAPConfigurator, see {@link LDAPConfiguration#closeConnectionPool()}.
+ * Contexts that are returned after the pool was closed are closed as well.
+ */
+public class LDAPConnectionPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LDAPConnectionPool.class);
+
+    protected LDAPConfiguration ldapConfigurator;
+    protected int maxIdleContexts;
+    protected long maxIdleTime;
+    protected long validationInterval;
+
+    // Most recently returned contexts first
+    protected Deque<PooledContext> idleContexts = new ArrayDeque<>();
+    protected boolean closed;
+
+    public LDAPConnectionPool(LDAPConfiguration ldapConfigurator) {
+        this.ldapConfigurator = ldapConfigurator;
+        this.maxIdleContexts = ldapConfigurator.getConnectionPoolSize();
+        this.maxIdleTime = ldapConfigurator.getConnectionPoolMaxIdleTime();
+        this.validationInterval = ldapConfigurator.getConnectionPoolValidationInterval();
+    }
+
+    /**
+     * Returns an idle context of the pool that is still valid, or a new context when there is none.
+     */
+    public InitialDirContext borrowContext() {
+        PooledContext pooledContext;
+        while ((pooledContext = pollIdleContext()) != null) {
+            long idleTime = getCurrentTime() - pooledContext.getReturnTime();
+            if (idleTime > maxIdleTime) {
+                LDAPConnectionUtil.closeDirectoryContext(pooledContext.getContext());
+
+            } else if (idleTime > validationInterval && !isValid(pooledContext.getContext())) {
+                LDAPConnectionUtil.closeDirectoryContext(pooledContext.getContext());
+
+            } else {
+                return pooledContext.getContext();
+            }
+        }
+
+        return createContext();
+    }
+
+    /**
+     * Gives a context back to the pool after it was used successfully. The context is closed when the pool is full or closed.
+     */
+    public void returnContext(InitialDirContext context) {
+        synchronized (idleContexts) {
+            if (!closed && idleContexts.size() < maxIdleContexts) {
+                idleContexts.addFirst(new PooledContext(context, getCurrentTime()));
+                return;
+            }
+        }
+        LDAPConnectionUtil.closeDirectoryContext(context);
+    }
+
+    /**
+     * Closes a context that must not be used again, for example because an exception happened while using it.
+     */
+    public void invalidateContext(InitialDirContext context) {
+        LDAPConnectionUtil.closeDirectoryContext(context);
+    }
+
+    /**
+     * Closes all idle contexts of the pool. Contexts that are still borrowed are closed when they are returned.
+     */
+    public void close() {
+        synchronized (idleContexts) {
+            closed = true;
+        }
+
+        PooledContext pooledContext;
+        while ((pooledContext = pollIdleContext()) != null) {
+            LDAPConnectionUtil.closeDirectoryContext(pooledContext.getContext());
+        }
+    }
+
+    public int getIdleContextCount() {
+        synchronized (idleContexts) {
+            return idleContexts.size();
+        }
+    }
+
+    public boolean isClosed() {
+        synchronized (idleContexts) {
+            return closed;
+        }
+    }
+
+    protected InitialDirContext createContext() {
+        return LDAPConnectionUtil.creatDirectoryContext(ldapConfigurator);
+    }
+
+    protected long getCurrentTime() {
+        return System.currentTimeMillis();
+    }
+
+    protected PooledContext pollIdleContext() {
+        synchronized (idleContexts) {
+            return idleContexts.pollFirst();
+        }
+    }
+
+    protected boolean isValid(InitialDirContext context) {
+        try {
+            context.getAttributes("", new String[] { "objectClass" });
+            return true;
+        } catch (Exception e) {
+            LOGGER.debug("Pooled LDAP connection is no longer valid : {}", e.getMessage());
+            return false;
+        }
+    }
+
+    protected static class PooledContext {
+
+        protected InitialDirContext context;
+        protected long returnTime;
+
+        public PooledContext(InitialDirContext context, long returnTime) {
+            this.context = context;
+            this.returnTime = returnTime;
+        }
+
+        public InitialDirContext getContext() {
+            return context;
+        }
+
+        public long getReturnTime() {
+            return returnTime;
+        }
+    }
+
+}
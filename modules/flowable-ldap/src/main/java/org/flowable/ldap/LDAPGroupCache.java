@@ -16,6 +16,10 @@ import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.flowable.common.engine.impl.runtime.ClockReader;
@@ -26,6 +30,10 @@ import org.flowable.idm.api.Group;
  * candidateUser. Configured through the {@link LDAPConfiguration}.
  * 
  * Cached entries have an expiration time. For example when set to one hour, changes to the ldap system around the groups of a user will be visible after that hour.
+ * Users without groups are cached too, and can be given a shorter expiration time.
+ * 
+ * The cache can be used concurrently. When the groups of a user are loaded through {@link #get(String, Function)}, concurrent misses for the same user
+ * wait for the one lookup in progress instead of all hitting the LDAP system.
  * 
  * Experimental: can have a listener for cache events, and instance of {@link LDAPGroupCacheListener}.
  * 
@@ -36,6 +44,10 @@ public class LDAPGroupCache {
     private final Supplier<ClockReader> clockReader;
     protected Map<String, LDAPGroupCacheEntry> groupCache;
     protected long expirationTime;
+    protected long emptyGroupsExpirationTime = -1;
+
+    // The lookups in progress, per user
+    protected Map<String, CompletableFuture<List<Group>>> loadingGroups = new ConcurrentHashMap<>();
 
     protected LDAPGroupCacheListener ldapCacheListener;
 
@@ -67,14 +79,24 @@ public class LDAPGroupCache {
         this.expirationTime = expirationTime;
     }
 
-    public void add(String userId, List<Group> groups) {
+    public synchronized void add(String userId, List<Group> groups) {
         this.groupCache.put(userId, new LDAPGroupCacheEntry(clockReader.get().getCurrentTime(), groups));
     }
 
     public List<Group> get(String userId) {
-        LDAPGroupCacheEntry cacheEntry = groupCache.get(userId);
+        LDAPGroupCacheEntry cacheEntry;
+        boolean expired = false;
+        synchronized (this) {
+            // An access ordered map is changed by a get
+            cacheEntry = groupCache.get(userId);
+            if (cacheEntry != null && isExpired(cacheEntry)) {
+                this.groupCache.remove(userId);
+                expired = true;
+            }
+        }
+
         if (cacheEntry != null) {
-            if ((clockReader.get().getCurrentTime().getTime() - cacheEntry.getTimestamp().getTime()) < expirationTime) {
+            if (!expired) {
 
                 if (ldapCacheListener != null) {
                     ldapCacheListener.cacheHit(userId);
@@ -84,8 +106,6 @@ public class LDAPGroupCache {
 
             } else {
 
-                this.groupCache.remove(userId);
-
                 if (ldapCacheListener != null) {
                     ldapCacheListener.cacheExpired(userId);
                     ldapCacheListener.cacheEviction(userId);
@@ -101,7 +121,53 @@ public class LDAPGroupCache {
         return null;
     }
 
-    public void clear() {
+    /**
+     * Returns the cached groups of the user, or loads and caches them with the given loader on a miss.
+     * Only one lookup per user is done at the same time: other threads missing the same user wait for its result.
+     */
+    public List<Group> get(String userId, Function<String, List<Group>> groupLoader) {
+        List<Group> groups = get(userId);
+        if (groups != null) {
+            return groups;
+        }
+
+        CompletableFuture<List<Group>> loading = new CompletableFuture<>();
+        CompletableFuture<List<Group>> existingLoading = loadingGroups.putIfAbsent(userId, loading);
+        if (existingLoading != null) {
+            try {
+                return existingLoading.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        try {
+            groups = groupLoader.apply(userId);
+            add(userId, groups);
+            loading.complete(groups);
+            return groups;
+
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            throw e;
+
+        } finally {
+            loadingGroups.remove(userId, loading);
+        }
+    }
+
+    protected boolean isExpired(LDAPGroupCacheEntry cacheEntry) {
+        long entryExpirationTime = expirationTime;
+        if (emptyGroupsExpirationTime >= 0 && (cacheEntry.getGroups() == null || cacheEntry.getGroups().isEmpty())) {
+            entryExpirationTime = emptyGroupsExpirationTime;
+        }
+        return (clockReader.get().getCurrentTime().getTime() - cacheEntry.getTimestamp().getTime()) >= entryExpirationTime;
+    }
+
+    public synchronized void clear() {
         groupCache.clear();
     }
 
@@ -121,6 +187,18 @@ public class LDAPGroupCache {
         this.expirationTime = expirationTime;
     }
 
+    public long getEmptyGroupsExpirationTime() {
+        return emptyGroupsExpirationTime;
+    }
+
+    /**
+     * Sets the expiration time in milliseconds of the cached lookups that found no groups for a user.
+     * A negative value, the default, uses the regular expiration time.
+     */
+    public void setEmptyGroupsExpirationTime(long emptyGroupsExpirationTime) {
+        this.emptyGroupsExpirationTime = emptyGroupsExpirationTime;
+    }
+
     public LDAPGroupCacheListener getLdapCacheListener() {
         return ldapCacheListener;
     }
@@ -33,15 +33,32 @@ public class LDAPTemplate {
     }
 
     public <T> T execute(LDAPCallBack<T> ldapCallBack) {
+        LDAPConnectionPool connectionPool = ldapConfigurator.getConnectionPool();
+
         InitialDirContext initialDirContext = null;
         try {
-            initialDirContext = LDAPConnectionUtil.creatDirectoryContext(ldapConfigurator);
+            initialDirContext = connectionPool != null ? connectionPool.borrowContext() : LDAPConnectionUtil.creatDirectoryContext(ldapConfigurator);
         } catch (Exception e) {
             LOGGER.info("Could not create LDAP connection : {}", e.getMessage(), e);
         }
-        T result = ldapCallBack.executeInContext(initialDirContext);
-        LDAPConnectionUtil.closeDirectoryContext(initialDirContext);
-        return result;
+
+        boolean success = false;
+        try {
+            T result = ldapCallBack.executeInContext(initialDirContext);
+            success = true;
+            return result;
+
+        } finally {
+            if (initialDirContext != null) {
+                if (connectionPool == null) {
+                    LDAPConnectionUtil.closeDirectoryContext(initialDirContext);
+                } else if (success) {
+                    connectionPool.returnContext(initialDirContext);
+                } else {
+                    connectionPool.invalidateContext(initialDirContext);
+                }
+            }
+        }
     }
 
     public LDAPConfiguration getLdapConfigurator() {
@@ -64,23 +64,17 @@ public class LDAPGroupQueryImpl extends GroupQueryImpl {
 
     protected List<Group> findGroupsByUser(String userId) {
 
-        // First try the cache (if one is defined)
+        // Use the cache (if one is defined), which does one lookup at a time for the same user
         if (ldapGroupCache != null) {
-            List<Group> groups = ldapGroupCache.get(userId);
-            if (groups != null) {
-                return groups;
-            }
+            return ldapGroupCache.get(userId, this::executeGroupsForUserQuery);
         }
 
-        String searchExpression = ldapConfigurator.getLdapQueryBuilder().buildQueryGroupsForUser(ldapConfigurator, userId);
-        List<Group> groups = executeGroupQuery(searchExpression);
-
-        // Cache results for later
-        if (ldapGroupCache != null) {
-            ldapGroupCache.add(userId, groups);
-        }
+        return executeGroupsForUserQuery(userId);
+    }
 
-        return groups;
+    protected List<Group> executeGroupsForUserQuery(String userId) {
+        String searchExpression = ldapConfigurator.getLdapQueryBuilder().buildQueryGroupsForUser(ldapConfigurator, userId);
+        return executeGroupQuery(searchExpression);
     }
 
     protected List<Group> findAllGroups() {
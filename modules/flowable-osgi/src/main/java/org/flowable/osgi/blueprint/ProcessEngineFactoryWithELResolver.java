@@ -51,8 +51,12 @@ public class ProcessEngineFactoryWithELResolver extends ProcessEngineFactory {
 
         @Override
         protected ELResolver createElResolver(VariableContainer variableContainer) {
+            return createVariableBoundElResolver(variableContainer);
+        }
+
+        @Override
+        protected ELResolver createSharedElResolver() {
             CompositeELResolver compositeElResolver = new CompositeELResolver();
-            compositeElResolver.add(createVariableElResolver(variableContainer));
             if (blueprintContextELResolver != null) {
                 compositeElResolver.add(blueprintContextELResolver);
             }
@@ -77,6 +77,8 @@ public class ContentEngineAutoConfiguration extends AbstractEngineAutoConfigurat
         FlowableContentProperties.Storage storage = contentProperties.getStorage();
         configuration.setContentRootFolder(storage.getRootFolder());
         configuration.setCreateContentRootFolder(storage.getCreateRoot());
+        configuration.setContentUploadFolder(storage.getUploadFolder());
+        configuration.setContentUploadExpirationTime(storage.getUploadExpiration());
 
         return configuration;
     }
@@ -12,6 +12,9 @@
  */
 package org.flowable.spring.boot.content;
 
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
 import org.flowable.spring.boot.FlowableServlet;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
@@ -72,6 +75,16 @@ public class FlowableContentProperties {
          */
         private boolean createRoot = true;
 
+        /**
+         * Folder in which chunked uploads of the Content Rest API are assembled. Defaults to the 'uploads' folder in the root folder.
+         */
+        private String uploadFolder;
+
+        /**
+         * The time in milliseconds after which the data of an abandoned chunked upload is deleted.
+         */
+        private long uploadExpiration = Duration.of(1, ChronoUnit.DAYS).toMillis();
+
         public String getRootFolder() {
             return rootFolder;
         }
@@ -87,5 +100,21 @@ public class FlowableContentProperties {
         public void setCreateRoot(Boolean createRoot) {
             this.createRoot = createRoot;
         }
+
+        public String getUploadFolder() {
+            return uploadFolder;
+        }
+
+        public void setUploadFolder(String uploadFolder) {
+            this.uploadFolder = uploadFolder;
+        }
+
+        public long getUploadExpiration() {
+            return uploadExpiration;
+        }
+
+        public void setUploadExpiration(long uploadExpiration) {
+            this.uploadExpiration = uploadExpiration;
+        }
     }
 }
@@ -90,6 +90,7 @@ public class FlowableLdapAutoConfiguration {
             // We need to use a supplier for the clock as the clock would be created later
             ldapGroupCache = new LDAPGroupCache(ldapConfiguration.getGroupCacheSize(),
                 ldapConfiguration.getGroupCacheExpirationTime(), engineConfiguration::getClock);
+            ldapGroupCache.setEmptyGroupsExpirationTime(ldapConfiguration.getGroupCacheEmptyGroupsExpirationTime());
 
             if (ldapConfiguration.getGroupCacheListener() != null) {
                 ldapGroupCache.setLdapCacheListener(ldapConfiguration.getGroupCacheListener());
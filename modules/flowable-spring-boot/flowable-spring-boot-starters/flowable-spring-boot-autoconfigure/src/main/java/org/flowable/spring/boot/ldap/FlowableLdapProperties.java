@@ -70,6 +70,12 @@ public class FlowableLdapProperties {
      */
     private Map<String, String> customConnectionParameters = new HashMap<>();
 
+    /**
+     * The maximum number of idle connections kept for the queries of the IDM Service, so that a query does not need to open a new connection.
+     * By default set to '0', which means no pooling is done.
+     */
+    private int connectionPoolSize = 0;
+
     /**
      * The base 'distinguished name' (DN) from which the searches for users and groups are started.
      * <p>
@@ -174,6 +180,14 @@ public class FlowableLdapProperties {
         this.customConnectionParameters = customConnectionParameters;
     }
 
+    public int getConnectionPoolSize() {
+        return connectionPoolSize;
+    }
+
+    public void setConnectionPoolSize(int connectionPoolSize) {
+        this.connectionPoolSize = connectionPoolSize;
+    }
+
     public String getBaseDn() {
         return baseDn;
     }
@@ -226,6 +240,7 @@ public class FlowableLdapProperties {
         configuration.setInitialContextFactory(getInitialContextFactory());
         configuration.setSecurityAuthentication(getSecurityAuthentication());
         configuration.setCustomConnectionParameters(getCustomConnectionParameters());
+        configuration.setConnectionPoolSize(getConnectionPoolSize());
         configuration.setBaseDn(getBaseDn());
         configuration.setUserBaseDn(getUserBaseDn());
         configuration.setGroupBaseDn(getGroupBaseDn());
@@ -489,6 +504,13 @@ public class FlowableLdapProperties {
         //TODO once we move to Boot 2.0 we can use Duration as a parameter’
         private long groupExpiration = Duration.of(1, ChronoUnit.HOURS).toMillis();
 
+        /**
+         * Sets the expiration time of the {@link org.flowable.ldap.LDAPGroupCache} in milliseconds for users that have no groups.
+         * <p>
+         * By default set to -1, which means the {@link #groupExpiration} is used.
+         */
+        private long groupEmptyExpiration = -1;
+
         public int getGroupSize() {
             return groupSize;
         }
@@ -505,9 +527,18 @@ public class FlowableLdapProperties {
             this.groupExpiration = groupExpiration;
         }
 
+        public long getGroupEmptyExpiration() {
+            return groupEmptyExpiration;
+        }
+
+        public void setGroupEmptyExpiration(long groupEmptyExpiration) {
+            this.groupEmptyExpiration = groupEmptyExpiration;
+        }
+
         public void customize(LDAPConfiguration configuration) {
             configuration.setGroupCacheSize(getGroupSize());
             configuration.setGroupCacheExpirationTime(getGroupExpiration());
+            configuration.setGroupCacheEmptyGroupsExpirationTime(getGroupEmptyExpiration());
         }
     }
 }
@@ -52,9 +52,12 @@ public class SpringExpressionManager extends ProcessExpressionManager {
     
     @Override
     protected ELResolver createElResolver(VariableContainer variableContainer) {
-        CompositeELResolver compositeElResolver = new CompositeELResolver();
-        compositeElResolver.add(createVariableElResolver(variableContainer));
+        return createVariableBoundElResolver(variableContainer);
+    }
 
+    @Override
+    protected ELResolver createSharedElResolver() {
+        CompositeELResolver compositeElResolver = new CompositeELResolver();
         compositeElResolver.add(createSpringElResolver());
         compositeElResolver.add(new ArrayELResolver());
         compositeElResolver.add(new ListELResolver());
@@ -28,6 +28,7 @@ import org.flowable.common.engine.api.scope.ScopeTypes;
 import org.flowable.common.engine.impl.context.Context;
 import org.flowable.common.engine.impl.db.SuspensionState;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.identitylink.api.IdentityLink;
 import org.flowable.identitylink.api.IdentityLinkType;
 import org.flowable.identitylink.service.impl.persistence.entity.IdentityLinkEntity;
@@ -48,7 +49,7 @@ import org.flowable.variable.service.impl.persistence.entity.VariableScopeImpl;
  * @author Falko Menge
  * @author Tijs Rademakers
  */
-public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, CountingTaskEntity, Serializable {
+public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, CountingTaskEntity, DirtyTrackingEntity, Serializable {
 
     public static final String DELETE_REASON_COMPLETED = "completed";
     public static final String DELETE_REASON_DELETED = "deleted";
@@ -184,6 +185,18 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
     @Override
     public void forceUpdate() {
         this.forcedUpdate = true;
+        markDirty();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void resetDirty() {
+        super.resetDirty();
+
+        // The original assignee and owner are needed to detect assignment changes (see the history managers)
+        Map<String, Object> originalState = (Map<String, Object>) originalPersistentState;
+        originalState.put("assignee", this.assignee);
+        originalState.put("owner", this.owner);
     }
 
     // variables //////////////////////////////////////////////////////////////////
@@ -258,17 +271,20 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setName(String taskName) {
+        markDirty("name", this.name, taskName);
         this.name = taskName;
     }
 
     @Override
     public void setDescription(String description) {
+        markDirty("description", this.description, description);
         this.description = description;
     }
 
     @Override
     public void setAssignee(String assignee) {
         this.originalAssignee = this.assignee;
+        markDirty("assignee", this.assignee, assignee);
         this.assignee = assignee;
         assigneeUpdatedCount++;
     }
@@ -280,6 +296,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
             taskAssignmentManager.changeAssignee(this, assignee);
         } else {
             this.originalAssignee = this.assignee;
+            markDirty("assignee", this.assignee, assignee);
             this.assignee = assignee;
             assigneeUpdatedCount++;
         }
@@ -287,6 +304,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setOwner(String owner) {
+        markDirty("owner", this.owner, owner);
         this.owner = owner;
     }
     
@@ -296,22 +314,26 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
         if (taskAssignmentManager != null) {
             taskAssignmentManager.changeOwner(this, owner);
         } else {
+            markDirty("owner", this.owner, owner);
             this.owner = owner;
         }
     }
 
     @Override
     public void setDueDate(Date dueDate) {
+        markDirty("dueDate", this.dueDate, dueDate);
         this.dueDate = dueDate;
     }
 
     @Override
     public void setPriority(int priority) {
+        markDirty("priority", this.priority, priority);
         this.priority = priority;
     }
 
     @Override
     public void setCategory(String category) {
+        markDirty("category", this.category, category);
         this.category = category;
     }
 
@@ -359,6 +381,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setParentTaskId(String parentTaskId) {
+        markDirty("parentTaskId", this.parentTaskId, parentTaskId);
         this.parentTaskId = parentTaskId;
     }
 
@@ -369,6 +392,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setFormKey(String formKey) {
+        markDirty("formKey", this.formKey, formKey);
         this.formKey = formKey;
     }
 
@@ -455,6 +479,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setCreateTime(Date createTime) {
+        markDirty("createTime", this.createTime, createTime);
         this.createTime = createTime;
     }
 
@@ -475,6 +500,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setProcessDefinitionId(String processDefinitionId) {
+        markDirty("processDefinitionId", this.processDefinitionId, processDefinitionId);
         this.processDefinitionId = processDefinitionId;
     }
 
@@ -485,6 +511,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setTaskDefinitionId(String taskDefinitionId) {
+        markDirty("taskDefinitionId", this.taskDefinitionId, taskDefinitionId);
         this.taskDefinitionId = taskDefinitionId;
     }
 
@@ -495,6 +522,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setScopeId(String scopeId) {
+        markDirty("scopeId", this.scopeId, scopeId);
         this.scopeId = scopeId;
     }
 
@@ -505,6 +533,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setSubScopeId(String subScopeId) {
+        markDirty("subScopeId", this.subScopeId, subScopeId);
         this.subScopeId = subScopeId;
     }
 
@@ -515,6 +544,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setScopeType(String scopeType) {
+        markDirty("scopeType", this.scopeType, scopeType);
         this.scopeType = scopeType;
     }
 
@@ -525,6 +555,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setScopeDefinitionId(String scopeDefinitionId) {
+        markDirty("scopeDefinitionId", this.scopeDefinitionId, scopeDefinitionId);
         this.scopeDefinitionId = scopeDefinitionId;
     }
 
@@ -574,11 +605,13 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setExecutionId(String executionId) {
+        markDirty("executionId", this.executionId, executionId);
         this.executionId = executionId;
     }
 
     @Override
     public void setProcessInstanceId(String processInstanceId) {
+        markDirty("processInstanceId", this.processInstanceId, processInstanceId);
         this.processInstanceId = processInstanceId;
     }
 
@@ -651,6 +684,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setDelegationState(DelegationState delegationState) {
+        markDirty("delegationStateString", getDelegationStateString(), delegationState != null ? delegationState.toString() : null);
         this.delegationState = delegationState;
     }
 
@@ -659,7 +693,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
     }
 
     public void setDelegationStateString(String delegationStateString) {
-        this.delegationState = (delegationStateString != null ? DelegationState.valueOf(DelegationState.class, delegationStateString) : null);
+        setDelegationState(delegationStateString != null ? DelegationState.valueOf(DelegationState.class, delegationStateString) : null);
     }
 
     @Override
@@ -700,6 +734,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setSuspensionState(int suspensionState) {
+        markDirty("suspensionState", this.suspensionState, suspensionState);
         this.suspensionState = suspensionState;
     }
 
@@ -778,6 +813,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setClaimTime(Date claimTime) {
+        markDirty("claimTime", this.claimTime, claimTime);
         this.claimTime = claimTime;
     }
 
@@ -793,11 +829,13 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setCountEnabled(boolean isCountEnabled) {
+        markDirty("isCountEnabled", this.isCountEnabled, isCountEnabled);
         this.isCountEnabled = isCountEnabled;
     }
 
     @Override
     public void setVariableCount(int variableCount) {
+        markDirty("variableCount", this.variableCount, variableCount);
         this.variableCount = variableCount;
     }
 
@@ -808,6 +846,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setIdentityLinkCount(int identityLinkCount) {
+        markDirty("identityLinkCount", this.identityLinkCount, identityLinkCount);
         this.identityLinkCount = identityLinkCount;
     }
 
@@ -823,6 +862,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
 
     @Override
     public void setSubTaskCount(int subTaskCount) {
+        markDirty("subTaskCount", this.subTaskCount, subTaskCount);
         this.subTaskCount = subTaskCount;
     }
     
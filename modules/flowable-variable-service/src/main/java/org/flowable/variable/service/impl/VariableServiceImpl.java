@@ -78,6 +78,11 @@ public class VariableServiceImpl extends CommonServiceImpl<VariableServiceConfig
         return getVariableInstanceEntityManager().findVariableInstancesByExecutionAndNames(executionId, taskNames);
     }
 
+    @Override
+    public List<VariableInstanceEntity> findVariableInstancesByExecutionIdsAndNames(Collection<String> executionIds, Collection<String> names) {
+        return getVariableInstanceEntityManager().findVariableInstancesByExecutionIdsAndNames(executionIds, names);
+    }
+
     @Override
     public List<VariableInstanceEntity> findVariableInstanceByScopeIdAndScopeType(String scopeId, String scopeType) {
         return getVariableInstanceEntityManager().findVariableInstanceByScopeIdAndScopeType(scopeId, scopeType);
@@ -18,6 +18,7 @@ import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.common.engine.impl.persistence.entity.AbstractEntity;
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.variable.api.types.ValueFields;
 import org.flowable.variable.api.types.VariableType;
 
@@ -26,7 +27,7 @@ import org.flowable.variable.api.types.VariableType;
  * @author Marcus Klimstra (CGI)
  * @author Joram Barrez
  */
-public class VariableInstanceEntityImpl extends AbstractEntity implements VariableInstanceEntity, ValueFields, Serializable {
+public class VariableInstanceEntityImpl extends AbstractEntity implements VariableInstanceEntity, ValueFields, DirtyTrackingEntity, Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -83,10 +84,12 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
     @Override
     public void forceUpdate() {
         forcedUpdate = true;
+        markDirty();
     }
     
     @Override
     public void setExecutionId(String executionId) {
+        markDirty("executionId", this.executionId, executionId);
         this.executionId = executionId;
     }
 
@@ -111,7 +114,9 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
     @Override
     public void setBytes(byte[] bytes) {
         ensureByteArrayRefInitialized();
+        String oldByteArrayId = byteArrayRef.getId();
         byteArrayRef.setValue("var-" + name, bytes);
+        markDirty("byteArrayValueId", oldByteArrayId, byteArrayRef.getId());
     }
 
     @Override
@@ -146,6 +151,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
 
     @Override
     public void setName(String name) {
+        markDirty("name", this.name, name);
         this.name = name;
     }
 
@@ -177,6 +183,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
 
     @Override
     public void setType(VariableType type) {
+        markDirty("typeName", this.type != null ? this.type.getTypeName() : null, type != null ? type.getTypeName() : null);
         this.type = type;
     }
 
@@ -212,6 +219,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
 
     @Override
     public void setScopeId(String scopeId) {
+        markDirty("scopeId", this.scopeId, scopeId);
         this.scopeId = scopeId;
     }
     
@@ -222,6 +230,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
     
     @Override
     public void setSubScopeId(String subScopeId) {
+        markDirty("subScopeId", this.subScopeId, subScopeId);
         this.subScopeId = subScopeId;
     }
 
@@ -232,6 +241,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
 
     @Override
     public void setScopeType(String scopeType) {
+        markDirty("scopeType", this.scopeType, scopeType);
         this.scopeType = scopeType;
     }
 
@@ -242,6 +252,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
 
     @Override
     public void setLongValue(Long longValue) {
+        markDirty("longValue", this.longValue, longValue);
         this.longValue = longValue;
     }
 
@@ -252,6 +263,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
 
     @Override
     public void setDoubleValue(Double doubleValue) {
+        markDirty("doubleValue", this.doubleValue, doubleValue);
         this.doubleValue = doubleValue;
     }
 
@@ -262,6 +274,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
 
     @Override
     public void setTextValue(String textValue) {
+        markDirty("textValue", this.textValue, textValue);
         this.textValue = textValue;
     }
 
@@ -272,6 +285,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
 
     @Override
     public void setTextValue2(String textValue2) {
+        markDirty("textValue2", this.textValue2, textValue2);
         this.textValue2 = textValue2;
     }
 
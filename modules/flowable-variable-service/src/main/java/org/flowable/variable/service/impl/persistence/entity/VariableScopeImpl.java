@@ -52,6 +52,9 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
     // The cache is used when fetching/setting specific variables
     protected Map<String, VariableInstanceEntity> usedVariablesCache = new HashMap<>();
 
+    // The names of the prefetched variables: when they are not in the usedVariablesCache, they don't exist on this scope
+    protected Set<String> prefetchedVariableNames;
+
     protected Map<String, VariableInstance> transientVariabes;
 
     protected ELContext cachedElContext;
@@ -84,6 +87,46 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
         this.variableInstances = variableInstances;
     }
 
+    /**
+     * Only to be used when prefetching variables: returns the given variable names of which it is not known yet whether they exist on this scope.
+     */
+    public Set<String> internalGetVariableNamesToPrefetch(Collection<String> variableNames) {
+        Set<String> variableNamesToPrefetch = new HashSet<>();
+        if (variableInstances == null) {
+            for (String variableName : variableNames) {
+                if (!usedVariablesCache.containsKey(variableName) && (prefetchedVariableNames == null || !prefetchedVariableNames.contains(variableName))) {
+                    variableNamesToPrefetch.add(variableName);
+                }
+            }
+        }
+        return variableNamesToPrefetch;
+    }
+
+    /**
+     * Only to be used when prefetching variables: caches the variables of this scope that were fetched for the given variable names.
+     * Until all variables are fetched, the names without variable are known not to exist on this scope.
+     */
+    public void internalSetPrefetchedVariableInstances(Collection<String> variableNames, Collection<VariableInstanceEntity> variableInstances) {
+        if (this.variableInstances != null) {
+            return;
+        }
+
+        for (VariableInstanceEntity variableInstance : variableInstances) {
+            if (!usedVariablesCache.containsKey(variableInstance.getName())) {
+                usedVariablesCache.put(variableInstance.getName(), variableInstance);
+            }
+        }
+
+        if (prefetchedVariableNames == null) {
+            prefetchedVariableNames = new HashSet<>();
+        }
+        prefetchedVariableNames.addAll(variableNames);
+    }
+
+    protected boolean isPrefetchedVariable(String variableName) {
+        return variableInstances == null && prefetchedVariableNames != null && prefetchedVariableNames.contains(variableName);
+    }
+
     @Override
     public Map<String, Object> getVariables() {
         return collectVariables(new HashMap<>());
@@ -287,10 +330,14 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
         }
 
         if (fetchAllVariables) {
-            ensureVariableInstancesInitialized();
-            VariableInstanceEntity variableInstance = variableInstances.get(variableName);
-            if (variableInstance != null) {
-                return variableInstance;
+
+            // A prefetched variable that is not cached doesn't exist on this scope
+            if (!isPrefetchedVariable(variableName)) {
+                ensureVariableInstancesInitialized();
+                VariableInstanceEntity variableInstance = variableInstances.get(variableName);
+                if (variableInstance != null) {
+                    return variableInstance;
+                }
             }
 
             // Go up the hierarchy
@@ -359,6 +406,10 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
         if (fetchAllVariables) {
 
+            if (isPrefetchedVariable(variableName)) {
+                return null;
+            }
+
             ensureVariableInstancesInitialized();
 
             VariableInstanceEntity variableInstance = variableInstances.get(variableName);
@@ -429,6 +480,9 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
         if (transientVariabes != null && transientVariabes.containsKey(variableName)) {
             return true;
         }
+        if (isPrefetchedVariable(variableName)) {
+            return usedVariablesCache.containsKey(variableName);
+        }
         ensureVariableInstancesInitialized();
         return variableInstances.containsKey(variableName);
     }
@@ -822,6 +876,7 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
         ensureVariableInstancesInitialized();
         VariableInstanceEntity variableInstance = variableInstances.remove(variableName);
         if (variableInstance != null) {
+            usedVariablesCache.remove(variableName);
             deleteVariableInstanceForExplicitUserCall(variableInstance);
         }
     }
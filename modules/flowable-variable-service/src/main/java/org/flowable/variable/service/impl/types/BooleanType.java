@@ -13,12 +13,11 @@
 package org.flowable.variable.service.impl.types;
 
 import org.flowable.variable.api.types.ValueFields;
-import org.flowable.variable.api.types.VariableType;
 
 /**
  * @author Frederik Heremans
  */
-public class BooleanType implements VariableType {
+public class BooleanType implements ClassBasedVariableType {
 
     private static final long serialVersionUID = 1L;
 
@@ -61,4 +60,9 @@ public class BooleanType implements VariableType {
         }
         return Boolean.class.isAssignableFrom(value.getClass()) || boolean.class.isAssignableFrom(value.getClass());
     }
+
+    @Override
+    public boolean isDeterminedByClass(Class<?> valueClass) {
+        return true;
+    }
 }
@@ -13,12 +13,11 @@
 package org.flowable.variable.service.impl.types;
 
 import org.flowable.variable.api.types.ValueFields;
-import org.flowable.variable.api.types.VariableType;
 
 /**
  * @author Tom Baeyens
  */
-public class ByteArrayType implements VariableType {
+public class ByteArrayType implements ClassBasedVariableType {
 
     private static final long serialVersionUID = 1L;
 
@@ -49,4 +48,9 @@ public class ByteArrayType implements VariableType {
         }
         return byte[].class.isAssignableFrom(value.getClass());
     }
+
+    @Override
+    public boolean isDeterminedByClass(Class<?> valueClass) {
+        return true;
+    }
 }
@@ -0,0 +1,31 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.variable.service.impl.types;
+
+import org.flowable.variable.api.types.VariableType;
+
+/**
+ * A {@link VariableType} of which {@link #isAbleToStore(Object)} gives the same result for all non-null values of a class.
+ * For those classes the {@link DefaultVariableTypes} remembers the resolved type, instead of asking every type again for each value.
+ * <p>
+ * Subclasses that change {@link #isAbleToStore(Object)} must also change {@link #isDeterminedByClass(Class)},
+ * otherwise the type is not resolved by class.
+ */
+public interface ClassBasedVariableType extends VariableType {
+
+    /**
+     * @return whether {@link #isAbleToStore(Object)} gives the same result for all non-null values of the given class
+     */
+    boolean isDeterminedByClass(Class<?> valueClass);
+
+}
@@ -13,14 +13,13 @@
 package org.flowable.variable.service.impl.types;
 
 import org.flowable.variable.api.types.ValueFields;
-import org.flowable.variable.api.types.VariableType;
 
 /**
  * Custom object type
  * 
  * @author Esteban Robles Luna
  */
-public class CustomObjectType implements VariableType {
+public class CustomObjectType implements ClassBasedVariableType {
 
     protected String typeName;
     protected Class<?> theClass;
@@ -48,6 +47,11 @@ public class CustomObjectType implements VariableType {
         return this.theClass.isAssignableFrom(value.getClass());
     }
 
+    @Override
+    public boolean isDeterminedByClass(Class<?> valueClass) {
+        return true;
+    }
+
     @Override
     public boolean isCachable() {
         return true;
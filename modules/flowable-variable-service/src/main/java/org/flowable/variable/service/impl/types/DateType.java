@@ -15,12 +15,11 @@ package org.flowable.variable.service.impl.types;
 import java.util.Date;
 
 import org.flowable.variable.api.types.ValueFields;
-import org.flowable.variable.api.types.VariableType;
 
 /**
  * @author Tom Baeyens
  */
-public class DateType implements VariableType {
+public class DateType implements ClassBasedVariableType {
 
     @Override
     public String getTypeName() {
@@ -40,6 +39,11 @@ public class DateType implements VariableType {
         return Date.class.isAssignableFrom(value.getClass());
     }
 
+    @Override
+    public boolean isDeterminedByClass(Class<?> valueClass) {
+        return true;
+    }
+
     @Override
     public Object getValue(ValueFields valueFields) {
         Long longValue = valueFields.getLongValue();
@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.variable.api.types.VariableType;
@@ -31,6 +32,13 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
 
     private final List<VariableType> typesList = new ArrayList<>();
     private final Map<String, VariableType> typesMap = new HashMap<>();
+    private final Map<VariableType, Integer> typeIndexes = new HashMap<>();
+
+    // The types resolved for values of a class, see ClassBasedVariableType
+    private final Map<Class<?>, VariableType> classTypes = new ConcurrentHashMap<>();
+
+    // Per index in the types list, whether the type can be resolved by the class of a value
+    private boolean[] classBasedTypes = new boolean[0];
 
     @Override
     public DefaultVariableTypes addType(VariableType type) {
@@ -41,6 +49,7 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
     public DefaultVariableTypes addType(VariableType type, int index) {
         typesList.add(index, type);
         typesMap.put(type.getTypeName(), type);
+        typesChanged();
         return this;
     }
 
@@ -51,6 +60,21 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
         for (VariableType type : typesList) {
             typesMap.put(type.getTypeName(), type);
         }
+        typesChanged();
+    }
+
+    protected void typesChanged() {
+        typeIndexes.clear();
+        for (int i = typesList.size() - 1; i >= 0; i--) {
+            // Like List.indexOf, the first index of a type wins
+            typeIndexes.put(typesList.get(i), i);
+        }
+        boolean[] classBasedTypes = new boolean[typesList.size()];
+        for (int i = 0; i < classBasedTypes.length; i++) {
+            classBasedTypes[i] = isClassBasedType(typesList.get(i));
+        }
+        this.classBasedTypes = classBasedTypes;
+        classTypes.clear();
     }
 
     @Override
@@ -60,17 +84,47 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
 
     @Override
     public VariableType findVariableType(Object value) {
-        for (VariableType type : typesList) {
+        Class<?> valueClass = value != null ? value.getClass() : null;
+        if (valueClass != null) {
+            VariableType classType = classTypes.get(valueClass);
+            if (classType != null) {
+                return classType;
+            }
+        }
+
+        boolean determinedByClass = valueClass != null;
+        for (int i = 0; i < typesList.size(); i++) {
+            VariableType type = typesList.get(i);
+            determinedByClass = determinedByClass && classBasedTypes[i] && ((ClassBasedVariableType) type).isDeterminedByClass(valueClass);
             if (type.isAbleToStore(value)) {
+                if (determinedByClass) {
+                    classTypes.put(valueClass, type);
+                }
                 return type;
             }
         }
         throw new FlowableException("couldn't find a variable type that is able to serialize " + value);
     }
 
+    protected boolean isClassBasedType(VariableType type) {
+        if (!(type instanceof ClassBasedVariableType)) {
+            return false;
+        }
+
+        try {
+            // A subclass that only changes isAbleToStore can't be resolved by class
+            Class<?> isAbleToStoreClass = type.getClass().getMethod("isAbleToStore", Object.class).getDeclaringClass();
+            Class<?> isDeterminedByClassClass = type.getClass().getMethod("isDeterminedByClass", Class.class).getDeclaringClass();
+            return isAbleToStoreClass.isAssignableFrom(isDeterminedByClassClass);
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
     @Override
     public int getTypeIndex(VariableType type) {
-        return typesList.indexOf(type);
+        Integer index = typeIndexes.get(type);
+        return index != null ? index : -1;
     }
 
     @Override
@@ -87,6 +141,7 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
     public VariableTypes removeType(VariableType type) {
         typesList.remove(type);
         typesMap.remove(type.getTypeName());
+        typesChanged();
         return this;
     }
 }
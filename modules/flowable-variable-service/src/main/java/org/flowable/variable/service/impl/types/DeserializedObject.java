@@ -37,8 +37,9 @@ public class DeserializedObject {
     public void verifyIfBytesOfSerializedObjectChanged() {
         // this first check verifies if the variable value was not overwritten with another object
         if (deserializedObject == variableInstanceEntity.getCachedValue() && !variableInstanceEntity.isDeleted()) {
-            byte[] bytes = type.serialize(deserializedObject, variableInstanceEntity);
-            if (!Arrays.equals(originalBytes, bytes)) {
+            // Comparing while serializing avoids copying the bytes of the (usually unchanged) object
+            if (!type.isSerializedFormEqual(deserializedObject, originalBytes, variableInstanceEntity)) {
+                byte[] bytes = type.serialize(deserializedObject, variableInstanceEntity);
 
                 // Add an additional check to prevent byte differences due to JDK changes etc
                 Object originalObject = type.deserialize(originalBytes, variableInstanceEntity);
@@ -13,12 +13,11 @@
 package org.flowable.variable.service.impl.types;
 
 import org.flowable.variable.api.types.ValueFields;
-import org.flowable.variable.api.types.VariableType;
 
 /**
  * @author Tom Baeyens
  */
-public class DoubleType implements VariableType {
+public class DoubleType implements ClassBasedVariableType {
 
     private static final long serialVersionUID = 1L;
 
@@ -49,4 +48,9 @@ public class DoubleType implements VariableType {
         }
         return Double.class.isAssignableFrom(value.getClass());
     }
+
+    @Override
+    public boolean isDeterminedByClass(Class<?> valueClass) {
+        return true;
+    }
 }
@@ -13,12 +13,11 @@
 package org.flowable.variable.service.impl.types;
 
 import org.flowable.variable.api.types.ValueFields;
-import org.flowable.variable.api.types.VariableType;
 
 /**
  * @author Joram Barrez
  */
-public class IntegerType implements VariableType {
+public class IntegerType implements ClassBasedVariableType {
 
     private static final long serialVersionUID = 1L;
 
@@ -58,4 +57,9 @@ public class IntegerType implements VariableType {
         }
         return Integer.class.isAssignableFrom(value.getClass()) || int.class.isAssignableFrom(value.getClass());
     }
+
+    @Override
+    public boolean isDeterminedByClass(Class<?> valueClass) {
+        return true;
+    }
 }
@@ -24,7 +24,6 @@ import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
 import org.flowable.common.engine.impl.context.Context;
 import org.flowable.variable.api.types.ValueFields;
-import org.flowable.variable.api.types.VariableType;
 
 /**
  * Variable type capable of storing a list of reference to JPA-entities. Only JPA-Entities which are configured by annotations are supported. Use of compound primary keys is not supported. <br>
@@ -32,7 +31,7 @@ import org.flowable.variable.api.types.VariableType;
  * 
  * @author Frederik Heremans
  */
-public class JPAEntityListVariableType implements VariableType, CacheableVariable {
+public class JPAEntityListVariableType implements ClassBasedVariableType, CacheableVariable {
 
     public static final String TYPE_NAME = "jpa-entity-list";
 
@@ -85,6 +84,12 @@ public class JPAEntityListVariableType implements VariableType, CacheableVariabl
         return canStore;
     }
 
+    @Override
+    public boolean isDeterminedByClass(Class<?> valueClass) {
+        // Lists are stored depending on their elements
+        return !List.class.isAssignableFrom(valueClass);
+    }
+
     @Override
     public void setValue(Object value, ValueFields valueFields) {
         EntityManagerSession entityManagerSession = Context.getCommandContext().getSession(EntityManagerSession.class);
@@ -16,14 +16,13 @@ package org.flowable.variable.service.impl.types;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.impl.context.Context;
 import org.flowable.variable.api.types.ValueFields;
-import org.flowable.variable.api.types.VariableType;
 
 /**
  * Variable type capable of storing reference to JPA-entities. Only JPA-Entities which are configured by annotations are supported. Use of compound primary keys is not supported.
  * 
  * @author Frederik Heremans
  */
-public class JPAEntityVariableType implements VariableType, CacheableVariable {
+public class JPAEntityVariableType implements ClassBasedVariableType, CacheableVariable {
 
     public static final String TYPE_NAME = "jpa-entity";
 
@@ -53,6 +52,12 @@ public class JPAEntityVariableType implements VariableType, CacheableVariable {
         return mappings.isJPAEntity(value);
     }
 
+    @Override
+    public boolean isDeterminedByClass(Class<?> valueClass) {
+        // Entities are recognized by the annotations of their class
+        return true;
+    }
+
     @Override
     public void setValue(Object value, ValueFields valueFields) {
         EntityManagerSession entityManagerSession = Context.getCommandContext().getSession(EntityManagerSession.class);
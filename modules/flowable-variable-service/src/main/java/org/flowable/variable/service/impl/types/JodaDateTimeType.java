@@ -13,13 +13,12 @@
 package org.flowable.variable.service.impl.types;
 
 import org.flowable.variable.api.types.ValueFields;
-import org.flowable.variable.api.types.VariableType;
 import org.joda.time.DateTime;
 
 /**
  * @author Tijs Rademakers
  */
-public class JodaDateTimeType implements VariableType {
+public class JodaDateTimeType implements ClassBasedVariableType {
 
     @Override
     public String getTypeName() {
@@ -39,6 +38,11 @@ public class JodaDateTimeType implements VariableType {
         return DateTime.class.isAssignableFrom(value.getClass());
     }
 
+    @Override
+    public boolean isDeterminedByClass(Class<?> valueClass) {
+        return true;
+    }
+
     @Override
     public Object getValue(ValueFields valueFields) {
         Long longValue = valueFields.getLongValue();
@@ -13,13 +13,12 @@
 package org.flowable.variable.service.impl.types;
 
 import org.flowable.variable.api.types.ValueFields;
-import org.flowable.variable.api.types.VariableType;
 import org.joda.time.LocalDate;
 
 /**
  * @author Tijs Rademakers
  */
-public class JodaDateType implements VariableType {
+public class JodaDateType implements ClassBasedVariableType {
 
     @Override
     public String getTypeName() {
@@ -39,6 +38,11 @@ public class JodaDateType implements VariableType {
         return LocalDate.class.isAssignableFrom(value.getClass());
     }
 
+    @Override
+    public boolean isDeterminedByClass(Class<?> valueClass) {
+        return true;
+    }
+
     @Override
     public Object getValue(ValueFields valueFields) {
         Long longValue = valueFields.getLongValue();
@@ -13,7 +13,6 @@
 package org.flowable.variable.service.impl.types;
 
 import org.flowable.variable.api.types.ValueFields;
-import org.flowable.variable.api.types.VariableType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,7 +22,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 /**
  * @author Tijs Rademakers
  */
-public class JsonType implements VariableType {
+public class JsonType implements ClassBasedVariableType {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JsonType.class);
 
@@ -74,4 +73,9 @@ public class JsonType implements VariableType {
         }
         return false;
     }
+
+    @Override
+    public boolean isDeterminedByClass(Class<?> valueClass) {
+        return !JsonNode.class.isAssignableFrom(valueClass);
+    }
 }
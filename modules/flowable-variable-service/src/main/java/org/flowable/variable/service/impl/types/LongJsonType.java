@@ -12,6 +12,10 @@
  */
 package org.flowable.variable.service.impl.types;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.variable.api.types.ValueFields;
 
@@ -48,6 +52,11 @@ public class LongJsonType extends SerializableType {
         return false;
     }
 
+    @Override
+    public boolean isDeterminedByClass(Class<?> valueClass) {
+        return !JsonNode.class.isAssignableFrom(valueClass);
+    }
+
     @Override
     public byte[] serialize(Object value, ValueFields valueFields) {
         if (value == null) {
@@ -61,6 +70,11 @@ public class LongJsonType extends SerializableType {
         }
     }
 
+    @Override
+    protected void serialize(Object value, OutputStream outputStream) throws IOException {
+        outputStream.write(((JsonNode) value).toString().getBytes(StandardCharsets.UTF_8));
+    }
+
     @Override
     public Object deserialize(byte[] bytes, ValueFields valueFields) {
         JsonNode valueNode = null;
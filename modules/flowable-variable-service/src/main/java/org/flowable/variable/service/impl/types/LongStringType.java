@@ -39,4 +39,9 @@ public class LongStringType extends SerializableType {
         }
         return false;
     }
+
+    @Override
+    public boolean isDeterminedByClass(Class<?> valueClass) {
+        return !String.class.isAssignableFrom(valueClass);
+    }
 }
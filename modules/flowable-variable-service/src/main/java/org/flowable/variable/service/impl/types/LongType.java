@@ -13,12 +13,11 @@
 package org.flowable.variable.service.impl.types;
 
 import org.flowable.variable.api.types.ValueFields;
-import org.flowable.variable.api.types.VariableType;
 
 /**
  * @author Tom Baeyens
  */
-public class LongType implements VariableType {
+public class LongType implements ClassBasedVariableType {
 
     private static final long serialVersionUID = 1L;
 
@@ -54,4 +53,9 @@ public class LongType implements VariableType {
         }
         return Long.class.isAssignableFrom(value.getClass()) || long.class.isAssignableFrom(value.getClass());
     }
+
+    @Override
+    public boolean isDeterminedByClass(Class<?> valueClass) {
+        return true;
+    }
 }
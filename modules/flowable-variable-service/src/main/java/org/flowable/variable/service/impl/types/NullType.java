@@ -13,12 +13,11 @@
 package org.flowable.variable.service.impl.types;
 
 import org.flowable.variable.api.types.ValueFields;
-import org.flowable.variable.api.types.VariableType;
 
 /**
  * @author Tom Baeyens
  */
-public class NullType implements VariableType {
+public class NullType implements ClassBasedVariableType {
 
     private static final long serialVersionUID = 1L;
 
@@ -42,6 +41,12 @@ public class NullType implements VariableType {
         return (value == null);
     }
 
+    @Override
+    public boolean isDeterminedByClass(Class<?> valueClass) {
+        // Only null values are stored
+        return true;
+    }
+
     @Override
     public void setValue(Object value, ValueFields valueFields) {
     }
@@ -37,7 +37,11 @@ public class SerializableType extends ByteArrayType {
 
     public static final String TYPE_NAME = "serializable";
 
+    // Marks the values written by a VariableSerializer, Java serialization always starts with 0xACED
+    protected static final byte[] VARIABLE_SERIALIZER_HEADER = { 'F', 'V' };
+
     protected boolean trackDeserializedObjects;
+    protected VariableSerializer variableSerializer;
 
     @Override
     public String getTypeName() {
@@ -52,6 +56,11 @@ public class SerializableType extends ByteArrayType {
         this.trackDeserializedObjects = trackDeserializedObjects;
     }
 
+    public SerializableType(boolean trackDeserializedObjects, VariableSerializer variableSerializer) {
+        this.trackDeserializedObjects = trackDeserializedObjects;
+        this.variableSerializer = variableSerializer;
+    }
+
     @Override
     public Object getValue(ValueFields valueFields) {
         Object cachedObject = valueFields.getCachedValue();
@@ -94,21 +103,37 @@ public class SerializableType extends ByteArrayType {
             return null;
         }
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ObjectOutputStream oos = null;
         try {
-            oos = createObjectOutputStream(baos);
-            oos.writeObject(value);
+            serialize(value, baos);
         } catch (Exception e) {
             throw new FlowableException("Couldn't serialize value '" + value + "' in variable '" + valueFields.getName() + "'", e);
-        } finally {
-            IoUtil.closeSilently(oos);
         }
         return baos.toByteArray();
     }
 
+    protected void serialize(Object value, OutputStream outputStream) throws IOException {
+        if (variableSerializer != null) {
+            outputStream.write(VARIABLE_SERIALIZER_HEADER);
+            variableSerializer.serialize(value, outputStream);
+        } else {
+            ObjectOutputStream oos = null;
+            try {
+                oos = createObjectOutputStream(outputStream);
+                oos.writeObject(value);
+            } finally {
+                IoUtil.closeSilently(oos);
+            }
+        }
+    }
+
     public Object deserialize(byte[] bytes, ValueFields valueFields) {
         ByteArrayInputStream bais = new ByteArrayInputStream(bytes);
         try {
+            if (variableSerializer != null && isWrittenByVariableSerializer(bytes)) {
+                bais.skip(VARIABLE_SERIALIZER_HEADER.length);
+                return variableSerializer.deserialize(bais);
+            }
+
             ObjectInputStream ois = createObjectInputStream(bais);
             Object deserializedObject = ois.readObject();
 
@@ -120,12 +145,46 @@ public class SerializableType extends ByteArrayType {
         }
     }
 
+    protected boolean isWrittenByVariableSerializer(byte[] bytes) {
+        if (bytes.length < VARIABLE_SERIALIZER_HEADER.length) {
+            return false;
+        }
+        for (int i = 0; i < VARIABLE_SERIALIZER_HEADER.length; i++) {
+            if (bytes[i] != VARIABLE_SERIALIZER_HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether serializing the value gives exactly the given bytes. The serialized form is compared while it is written,
+     * so an unchanged value is verified without a copy of its bytes.
+     */
+    public boolean isSerializedFormEqual(Object value, byte[] bytes, ValueFields valueFields) {
+        if (value == null || bytes == null) {
+            return value == null && bytes == null;
+        }
+        ComparingOutputStream comparingOutputStream = new ComparingOutputStream(bytes);
+        try {
+            serialize(value, comparingOutputStream);
+        } catch (Exception e) {
+            throw new FlowableException("Couldn't serialize value '" + value + "' in variable '" + valueFields.getName() + "'", e);
+        }
+        return comparingOutputStream.isEqual();
+    }
+
     @Override
     public boolean isAbleToStore(Object value) {
         // TODO don't we need null support here?
         return value instanceof Serializable;
     }
 
+    @Override
+    public boolean isDeterminedByClass(Class<?> valueClass) {
+        return true;
+    }
+
     protected ObjectInputStream createObjectInputStream(InputStream is) throws IOException {
         return new ObjectInputStream(is) {
             @Override
@@ -138,4 +197,55 @@ public class SerializableType extends ByteArrayType {
     protected ObjectOutputStream createObjectOutputStream(OutputStream os) throws IOException {
         return new ObjectOutputStream(os);
     }
+
+    public VariableSerializer getVariableSerializer() {
+        return variableSerializer;
+    }
+
+    public void setVariableSerializer(VariableSerializer variableSerializer) {
+        this.variableSerializer = variableSerializer;
+    }
+
+    /**
+     * Compares what is written with the expected bytes, without keeping what is written.
+     */
+    protected static class ComparingOutputStream extends OutputStream {
+
+        protected byte[] expectedBytes;
+        protected int position;
+        protected boolean equal = true;
+
+        public ComparingOutputStream(byte[] expectedBytes) {
+            this.expectedBytes = expectedBytes;
+        }
+
+        @Override
+        public void write(int b) {
+            if (equal) {
+                equal = position < expectedBytes.length && expectedBytes[position] == (byte) b;
+            }
+            position++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (equal) {
+                if (position + len > expectedBytes.length) {
+                    equal = false;
+                } else {
+                    for (int i = 0; i < len; i++) {
+                        if (expectedBytes[position + i] != b[off + i]) {
+                            equal = false;
+                            break;
+                        }
+                    }
+                }
+            }
+            position += len;
+        }
+
+        public boolean isEqual() {
+            return equal && position == expectedBytes.length;
+        }
+    }
 }
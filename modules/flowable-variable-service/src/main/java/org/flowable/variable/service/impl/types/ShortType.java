@@ -13,12 +13,11 @@
 package org.flowable.variable.service.impl.types;
 
 import org.flowable.variable.api.types.ValueFields;
-import org.flowable.variable.api.types.VariableType;
 
 /**
  * @author Joram Barrez
  */
-public class ShortType implements VariableType {
+public class ShortType implements ClassBasedVariableType {
 
     private static final long serialVersionUID = 1L;
 
@@ -58,4 +57,9 @@ public class ShortType implements VariableType {
         }
         return Short.class.isAssignableFrom(value.getClass()) || short.class.isAssignableFrom(value.getClass());
     }
+
+    @Override
+    public boolean isDeterminedByClass(Class<?> valueClass) {
+        return true;
+    }
 }
@@ -13,12 +13,11 @@
 package org.flowable.variable.service.impl.types;
 
 import org.flowable.variable.api.types.ValueFields;
-import org.flowable.variable.api.types.VariableType;
 
 /**
  * @author Tom Baeyens
  */
-public class StringType implements VariableType {
+public class StringType implements ClassBasedVariableType {
 
     private final int maxLength;
 
@@ -57,4 +56,9 @@ public class StringType implements VariableType {
         }
         return false;
     }
+
+    @Override
+    public boolean isDeterminedByClass(Class<?> valueClass) {
+        return !String.class.isAssignableFrom(valueClass);
+    }
 }
@@ -15,12 +15,11 @@ package org.flowable.variable.service.impl.types;
 import java.util.UUID;
 
 import org.flowable.variable.api.types.ValueFields;
-import org.flowable.variable.api.types.VariableType;
 
 /**
  * @author Birger Zimmermann
  */
-public class UUIDType implements VariableType {
+public class UUIDType implements ClassBasedVariableType {
 
     private static final long serialVersionUID = 1L;
 
@@ -58,4 +57,9 @@ public class UUIDType implements VariableType {
         }
         return UUID.class.isAssignableFrom(value.getClass());
     }
+
+    @Override
+    public boolean isDeterminedByClass(Class<?> valueClass) {
+        return true;
+    }
 }
\ No newline at end of file
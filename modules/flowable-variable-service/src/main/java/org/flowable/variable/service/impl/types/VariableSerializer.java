@@ -0,0 +1,34 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.variable.service.impl.types;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Serializes the values of {@link SerializableType serializable} variables, instead of Java serialization.
+ * 
+ * The serialized form only needs to be readable by the same serializer. Values that were stored with Java serialization
+ * before a serializer was configured are still read with Java serialization.
+ * 
+ * The serialized form is stored durably, so a serializer must keep reading the values it wrote before when the classes
+ * of those values change. The json and longJson variable types store the JSON text of their values and don't use a serializer.
+ */
+public interface VariableSerializer {
+
+    void serialize(Object value, OutputStream outputStream) throws IOException;
+
+    Object deserialize(InputStream inputStream) throws IOException;
+
+}